@@ -2,21 +2,47 @@ package lorenzo.galacticcommandsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
 
 /**
  * Main application class for the Galactic Command System.
  */
 @SpringBootApplication
 public class GalacticCommandSystemApplication {
-    
-    static {
-        System.setProperty("java.awt.headless", "false");
-    }
+
+    /**
+     * Profile running the system as a headless service: no GUI, no AWT, REST API only.
+     */
+    public static final String SERVER_PROFILE = "server";
+
+    /**
+     * Maximum number of startup steps kept for the startup report.
+     */
+    private static final int STARTUP_STEPS = 10_000;
 
     /**
     * Main method that serves as the entry point for the Spring Boot application.
     */
     public static void main(String[] args) {
-        SpringApplication.run(GalacticCommandSystemApplication.class, args);
+        SpringApplication application = new SpringApplication(GalacticCommandSystemApplication.class);
+        // the GUI needs a display, the server must never load one
+        application.setHeadless(isServer(args));
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
+    }
+
+    /**
+     * Checks whether the server profile is active, before the application environment exists.
+     *
+     * @param args the command line arguments
+     * @return true if the server profile is active on the command line, in a system property or in the environment
+     */
+    static boolean isServer(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.acceptsProfiles(Profiles.of(SERVER_PROFILE));
     }
 }
@@ -2,9 +2,13 @@ package lorenzo.galacticcommandsystem;
 
 import lorenzo.galacticcommandsystem.model.*;
 import lorenzo.galacticcommandsystem.repository.*;
+import lorenzo.galacticcommandsystem.service.GalaxyClock;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
 
 import java.util.EnumSet;
@@ -19,7 +23,12 @@ import java.time.LocalDate;
  */
 @Component
 @RequiredArgsConstructor
-public class GalaxyDataInitializer {
+public class GalaxyDataInitializer implements ApplicationStartupAware {
+
+    /**
+     * Name of the startup step covering the data initialization.
+     */
+    public static final String STARTUP_STEP = "galaxy.data-initializer";
 
     private final SpaceShipRepository spaceShipRepository;
     private final EngineerRepository engineerRepository;
@@ -30,17 +39,36 @@ public class GalaxyDataInitializer {
     private final MissionAssignmentRepository missionAssignmentRepository;
     private final ResourcesRepository resourcesRepository;
     private final CrewHistoryRepository crewHistoryRepository;
+    private final GalaxyClock galaxyClock;
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
 
     /**
      * Event listener method that initializes the galaxy with sample data when the application context is refreshed.
      * This method only runs if no spaceships exist in the database, preventing duplicate data creation.
+     * Its duration is recorded as the {@value #STARTUP_STEP} startup step.
      */
     @EventListener
     public void onGalaxyBoot(ContextRefreshedEvent event) {
+        StartupStep step = applicationStartup.start(STARTUP_STEP);
+        try {
+            createSampleData();
+        } finally {
+            step.end();
+        }
+    }
+
+    private void createSampleData() {
         // Only initialize if no spaceships exist
         if (spaceShipRepository.count() > 0) {
             return;
         }
+        LocalDate today = galaxyClock.today();
         // Create planets
         Planet earth = Planet.builder()
                 .name("Earth")
@@ -129,22 +157,22 @@ public class GalaxyDataInitializer {
         CrewHistory scottyHistory = CrewHistory.builder()
                 .crewMember(scotty)
                 .spaceShip(eagle)
-                .assignmentDate(LocalDate.now().minusYears(5))
+                .assignmentDate(today.minusYears(5))
                 .build();
         CrewHistory torresHistory = CrewHistory.builder()
                 .crewMember(torres)
                 .spaceShip(voyager)
-                .assignmentDate(LocalDate.now().minusYears(3))
+                .assignmentDate(today.minusYears(3))
                 .build();
         CrewHistory suluHistory = CrewHistory.builder()
                 .crewMember(sulu)
                 .spaceShip(eagle)
-                .assignmentDate(LocalDate.now().minusYears(4))
+                .assignmentDate(today.minusYears(4))
                 .build();
         CrewHistory parisHistory = CrewHistory.builder()
                 .crewMember(paris)
                 .spaceShip(voyager)
-                .assignmentDate(LocalDate.now().minusYears(2))
+                .assignmentDate(today.minusYears(2))
                 .build();
 
         crewHistoryRepository.saveAll(List.of(scottyHistory, torresHistory, suluHistory, parisHistory));
@@ -187,9 +215,9 @@ public class GalaxyDataInitializer {
         objectiveRepository.saveAll(List.of(explorationObjective, diplomaticObjective, rescueObjective));
 
         // Create and save mission assignments
-        MissionAssignment enterpriseAssignment = new MissionAssignment(eagle, exploration, LocalDate.now().plusMonths(3));
-        MissionAssignment defiantAssignment = new MissionAssignment(defiant, diplomatic, LocalDate.now().plusMonths(2));
-        MissionAssignment voyagerAssignment = new MissionAssignment(voyager, rescue, LocalDate.now().plusMonths(1));
+        MissionAssignment enterpriseAssignment = new MissionAssignment(eagle, exploration, today, today.plusMonths(3));
+        MissionAssignment defiantAssignment = new MissionAssignment(defiant, diplomatic, today, today.plusMonths(2));
+        MissionAssignment voyagerAssignment = new MissionAssignment(voyager, rescue, today, today.plusMonths(1));
 
         missionAssignmentRepository.saveAll(List.of(enterpriseAssignment, defiantAssignment, voyagerAssignment));
 
@@ -209,7 +237,7 @@ public class GalaxyDataInitializer {
 
         //TRY TO REMOVE FROM SPACESHIP AND ASSIGN TO ANOTHER
         scotty.removeFromSpaceShip();
-        scotty.assignToSpaceShip(defiant);
+        scotty.assignToSpaceShip(defiant, today);
         engineerRepository.save(scotty);
     }
 }
\ No newline at end of file
@@ -1,30 +1,59 @@
 package lorenzo.galacticcommandsystem;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.controller.AsyncMainController;
 import lorenzo.galacticcommandsystem.controller.MainController;
+import lorenzo.galacticcommandsystem.instrumentation.EdtBlockingMonitor;
+import lorenzo.galacticcommandsystem.view.MainView;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import javax.swing.*;
+import java.awt.GraphicsEnvironment;
+
 
 /**
  * GUI launcher component responsible for initializing the graphical user interface
  * after the Spring Boot application has fully started and is ready to serve requests.
+ * Not created in the server profile, so a headless service never loads AWT.
  */
+@Slf4j
 @Component
+@Profile("!" + GalacticCommandSystemApplication.SERVER_PROFILE)
 @RequiredArgsConstructor
 public class GuiLauncher {
 
     /**
-     * Main controller responsible for initializing and managing the GUI components.
+     * Main controller used by the GUI for writes.
      */
     private final MainController mainController;
 
+    /**
+     * Controller used by the GUI to load data off the event dispatch thread.
+     */
+    private final AsyncMainController asyncMainController;
+
+    /**
+     * Measures how long the event dispatch thread is kept busy.
+     */
+    private final EdtBlockingMonitor edtBlockingMonitor;
+
     /**
      * Launches the graphical user interface after the Spring Boot application is fully ready.
      */
      @EventListener(ApplicationReadyEvent.class)
         public void launchGUI() {
-            mainController.init();
+            if (GraphicsEnvironment.isHeadless()) {
+                log.warn("No display available, the GUI is not started");
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                edtBlockingMonitor.install();
+                MainView view = new MainView(mainController, asyncMainController);
+                view.setVisible(true);
+            });
         }
     }
@@ -0,0 +1,30 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.MissionState;
+
+import java.time.LocalDate;
+
+/**
+ * A mission assigned to a spaceship.
+ *
+ * @param missionId the mission ID
+ * @param missionName the mission name
+ * @param missionState the state of the mission
+ * @param startDate the start of the assignment
+ * @param endDate the end of the assignment, or null while it is open
+ */
+public record AssignmentDetails(Long missionId, String missionName, MissionState missionState,
+                                LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * Copies an assignment whose mission is loaded.
+     *
+     * @param assignment the assignment
+     * @return the details
+     */
+    public static AssignmentDetails of(MissionAssignment assignment) {
+        return new AssignmentDetails(assignment.getMission().getId(), assignment.getMission().getName(),
+                assignment.getMission().getMissionState(), assignment.getStartDate(), assignment.getEndDate());
+    }
+}
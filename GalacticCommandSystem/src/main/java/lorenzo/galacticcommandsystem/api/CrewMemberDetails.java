@@ -0,0 +1,33 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import org.hibernate.Hibernate;
+
+/**
+ * A crew member, with the IDs of its spaceship and planet.
+ *
+ * @param id the crew member ID
+ * @param role the kind of crew member, such as Engineer or Navigator
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param fullName the full name, with the title of the role
+ * @param credits the credits
+ * @param spaceShipId the spaceship ID, or null
+ * @param planetId the planet ID, or null
+ */
+public record CrewMemberDetails(Long id, String role, String firstName, String lastName, String fullName,
+                                double credits, Long spaceShipId, Long planetId) {
+
+    /**
+     * Copies a crew member. Its spaceship and planet are not loaded, only their IDs are read.
+     *
+     * @param crewMember the crew member
+     * @return the details
+     */
+    public static CrewMemberDetails of(CrewMember crewMember) {
+        return new CrewMemberDetails(crewMember.getId(), Hibernate.getClass(crewMember).getSimpleName(),
+                crewMember.getFirstName(), crewMember.getLastName(), crewMember.getFullName(), crewMember.getCredits(),
+                crewMember.getSpaceShip() != null ? crewMember.getSpaceShip().getId() : null,
+                crewMember.getPlanet() != null ? crewMember.getPlanet().getId() : null);
+    }
+}
@@ -0,0 +1,51 @@
+package lorenzo.galacticcommandsystem.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.instrumentation.GalaxyMetrics;
+import lorenzo.galacticcommandsystem.instrumentation.MetricsReport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Latency percentiles, counters and gauges of the application, for monitoring tools on the same host.
+ * Requests from other hosts are refused, since the figures describe the inside of the application.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "galaxy.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsRestController {
+
+    private final GalaxyMetrics galaxyMetrics;
+
+    /**
+     * Gets a snapshot of every metric.
+     * @param request the request, which must come from the loopback interface
+     * @return the metrics
+     */
+    @GetMapping(value = "/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public MetricsReport getMetrics(HttpServletRequest request) {
+        if (!isLoopback(request.getRemoteAddr())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Metrics are only served to local clients");
+        }
+        return galaxyMetrics.report();
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            // a literal address is parsed without any lookup
+            return address != null && InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionState;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A mission with its objectives and the names of its spaceships.
+ *
+ * @param id the mission ID
+ * @param name the mission name
+ * @param funding the funding
+ * @param missionState the state
+ * @param activationInfo the activation information, or null
+ * @param deactivationInfo the deactivation information, or null
+ * @param planetId the planet of the mission, or null
+ * @param objectives the objectives, ordered by ID
+ * @param spaceShips the names of the assigned spaceships
+ */
+public record MissionDetails(Long id, String name, double funding, MissionState missionState, String activationInfo,
+                             String deactivationInfo, Long planetId, List<ObjectiveDetails> objectives,
+                             List<String> spaceShips) {
+
+    /**
+     * Copies a mission whose objectives are loaded.
+     *
+     * @param mission the mission
+     * @param spaceShips the names of the assigned spaceships
+     * @return the details
+     */
+    public static MissionDetails of(Mission mission, List<String> spaceShips) {
+        return new MissionDetails(mission.getId(), mission.getName(), mission.getFunding(), mission.getMissionState(),
+                mission.getActivationInfo(), mission.getDeactivationInfo(),
+                mission.getPlanet() != null ? mission.getPlanet().getId() : null,
+                mission.getObjectives().stream()
+                        .map(ObjectiveDetails::of)
+                        .sorted(Comparator.comparingLong(ObjectiveDetails::id))
+                        .toList(),
+                spaceShips.stream().sorted().toList());
+    }
+}
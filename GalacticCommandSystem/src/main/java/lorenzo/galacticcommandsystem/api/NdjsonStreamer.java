@@ -0,0 +1,71 @@
+package lorenzo.galacticcommandsystem.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the rows of a repository stream as NDJSON, one JSON object per line.
+ * <p>
+ * The query runs in a read-only transaction opened when the response body is written,
+ * and every row is serialized as soon as it is read, so only a row and the output buffer
+ * are in memory at any time.
+ */
+@Component
+public class NdjsonStreamer {
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Creates a streamer.
+     *
+     * @param objectMapper the mapper used to serialize the rows
+     * @param transactionManager the transaction manager of the repositories
+     */
+    public NdjsonStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Creates a response streaming the rows of a query.
+     *
+     * @param query opens the stream of rows; called when the response body is written
+     * @return the response
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<T>> query) {
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> write(query, out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private <T> void write(Supplier<Stream<T>> query, OutputStream out) {
+        try (Stream<T> rows = query.get();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An objective of a mission.
+ *
+ * @param id the objective ID
+ * @param title the title
+ * @param description the description
+ * @param place the place of an exploration objective, or null
+ * @param structure the structure of a building objective, or null
+ * @param types the types of the objective
+ */
+public record ObjectiveDetails(long id, String title, String description, String place, String structure,
+                               Set<ObjectiveType> types) {
+
+    /**
+     * Copies an objective.
+     *
+     * @param objective the objective
+     * @return the details
+     */
+    public static ObjectiveDetails of(Objective objective) {
+        return new ObjectiveDetails(objective.getId(), objective.getTitle(), objective.getDescription(),
+                objective.getPlace(), objective.getStructure(), new TreeSet<>(objective.getTypes()));
+    }
+}
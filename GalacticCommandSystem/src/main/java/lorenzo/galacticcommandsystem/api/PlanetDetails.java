@@ -0,0 +1,37 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.model.Resource;
+
+import java.util.List;
+
+/**
+ * A planet with its buildings and resources.
+ *
+ * @param id the planet ID
+ * @param name the planet name
+ * @param atmosphereType the atmosphere type
+ * @param x the X coordinate
+ * @param y the Y coordinate
+ * @param z the Z coordinate
+ * @param buildings the buildings
+ * @param resources the names of the available resources, sorted
+ * @param primaryResource the name of the primary resource, or null
+ */
+public record PlanetDetails(Long id, String name, String atmosphereType, double x, double y, double z,
+                            List<String> buildings, List<String> resources, String primaryResource) {
+
+    /**
+     * Copies a planet, loading its buildings and resources from the second-level cache when possible.
+     *
+     * @param planet the planet
+     * @return the details
+     */
+    public static PlanetDetails of(Planet planet) {
+        return new PlanetDetails(planet.getId(), planet.getName(), planet.getAtmosphereType(),
+                planet.getX(), planet.getY(), planet.getZ(),
+                List.copyOf(planet.getBuildings()),
+                planet.getResources().stream().map(Resource::getName).sorted().toList(),
+                planet.getPrimaryResource() != null ? planet.getPrimaryResource().getName() : null);
+    }
+}
@@ -0,0 +1,162 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewHistoryRepository;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Read-only HTTP access to the registry, for integration jobs.
+ * <p>
+ * List endpoints stream NDJSON straight from a database cursor over summary projections,
+ * so exporting the whole registry takes constant memory whatever its size.
+ * Single-entity endpoints load the entity and its collections with the fetch-join queries
+ * behind the screens, in a fixed number of statements.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class RegistryRestController {
+
+    private final SpaceShipRepository spaceShipRepository;
+    private final MissionRepository missionRepository;
+    private final MissionAssignmentRepository missionAssignmentRepository;
+    private final PlanetRepository planetRepository;
+    private final CrewMemberRepository crewMemberRepository;
+    private final CrewHistoryRepository crewHistoryRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+
+    /**
+     * Streams all spaceships.
+     * @return the spaceship summaries, one per line, ordered by id
+     */
+    @GetMapping(value = "/ships", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSpaceShips() {
+        return ndjsonStreamer.stream(spaceShipRepository::streamAllSummaries);
+    }
+
+    /**
+     * Gets a spaceship with its crew and assignments.
+     * The crew and the assignments are fetched by separate queries, so their rows do not multiply.
+     * @param id the spaceship ID
+     * @return the spaceship
+     */
+    @GetMapping("/ships/{id}")
+    @Transactional(readOnly = true)
+    public SpaceShipDetails getSpaceShip(@PathVariable Long id) {
+        SpaceShip ship = spaceShipRepository.findByIdWithCrew(id)
+                .orElseThrow(() -> notFound("Spaceship", id));
+        spaceShipRepository.findByIdWithAssignments(id);
+        return SpaceShipDetails.of(ship);
+    }
+
+    /**
+     * Streams the crew history of a spaceship.
+     * @param id the spaceship ID
+     * @return the history records, one per line, most recent first
+     */
+    @GetMapping(value = "/ships/{id}/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSpaceShipHistory(@PathVariable Long id) {
+        if (!spaceShipRepository.existsById(id)) {
+            throw notFound("Spaceship", id);
+        }
+        return ndjsonStreamer.stream(() -> crewHistoryRepository.streamSummariesBySpaceShipId(id));
+    }
+
+    /**
+     * Streams all missions.
+     * @return the mission summaries, one per line, ordered by id
+     */
+    @GetMapping(value = "/missions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getMissions() {
+        return ndjsonStreamer.stream(missionRepository::streamAllSummaries);
+    }
+
+    /**
+     * Gets a mission with its objectives and the names of its spaceships.
+     * @param id the mission ID
+     * @return the mission
+     */
+    @GetMapping("/missions/{id}")
+    @Transactional(readOnly = true)
+    public MissionDetails getMission(@PathVariable Long id) {
+        Mission mission = missionRepository.findAllByIdsWithData(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> notFound("Mission", id));
+        return MissionDetails.of(mission, missionAssignmentRepository.findSpaceShipNamesByMissionId(id));
+    }
+
+    /**
+     * Streams all planets.
+     * @return the planet summaries, one per line, ordered by id
+     */
+    @GetMapping(value = "/planets", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPlanets() {
+        return ndjsonStreamer.stream(planetRepository::streamAllSummaries);
+    }
+
+    /**
+     * Gets a planet with its buildings and resources.
+     * @param id the planet ID
+     * @return the planet
+     */
+    @GetMapping("/planets/{id}")
+    @Transactional(readOnly = true)
+    public PlanetDetails getPlanet(@PathVariable Long id) {
+        return planetRepository.findById(id)
+                .map(PlanetDetails::of)
+                .orElseThrow(() -> notFound("Planet", id));
+    }
+
+    /**
+     * Streams all crew members.
+     * @return the crew member summaries, one per line, ordered by id
+     */
+    @GetMapping(value = "/crew", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCrewMembers() {
+        return ndjsonStreamer.stream(crewMemberRepository::streamAllSummaries);
+    }
+
+    /**
+     * Gets a crew member.
+     * @param id the crew member ID
+     * @return the crew member
+     */
+    @GetMapping("/crew/{id}")
+    @Transactional(readOnly = true)
+    public CrewMemberDetails getCrewMember(@PathVariable Long id) {
+        return crewMemberRepository.findById(id)
+                .map(CrewMemberDetails::of)
+                .orElseThrow(() -> notFound("Crew member", id));
+    }
+
+    /**
+     * Streams the crew history of all spaceships.
+     * @return the history records, one per line, ordered by id
+     */
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getHistory() {
+        return ndjsonStreamer.stream(crewHistoryRepository::streamAllSummaries);
+    }
+
+    private static ResponseStatusException notFound(String kind, Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, kind + " not found with id: " + id);
+    }
+}
@@ -0,0 +1,37 @@
+package lorenzo.galacticcommandsystem.api;
+
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A spaceship with its crew and mission assignments.
+ *
+ * @param id the spaceship ID
+ * @param name the spaceship name
+ * @param operational whether the spaceship is operational
+ * @param crew the crew, ordered by ID
+ * @param assignments the assigned missions, ordered by mission ID
+ */
+public record SpaceShipDetails(Long id, String name, boolean operational, List<CrewMemberDetails> crew,
+                               List<AssignmentDetails> assignments) {
+
+    /**
+     * Copies a spaceship whose crew and assignments, with their missions, are loaded.
+     *
+     * @param ship the spaceship
+     * @return the details
+     */
+    public static SpaceShipDetails of(SpaceShip ship) {
+        return new SpaceShipDetails(ship.getId(), ship.getName(), ship.isOperational(),
+                ship.getCrew().stream()
+                        .map(CrewMemberDetails::of)
+                        .sorted(Comparator.comparing(CrewMemberDetails::id))
+                        .toList(),
+                ship.getAssignments().stream()
+                        .map(AssignmentDetails::of)
+                        .sorted(Comparator.comparing(AssignmentDetails::missionId))
+                        .toList());
+    }
+}
@@ -0,0 +1,25 @@
+package lorenzo.galacticcommandsystem.config;
+
+import lorenzo.galacticcommandsystem.instrumentation.RepositoryCallMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Records a Java Flight Recorder event for every repository call, when a recording enables it.
+ * Enabled unless {@code galaxy.jfr.repository-events} is false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "galaxy.jfr.repository-events", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderConfig {
+
+    /**
+     * Created eagerly even with lazy initialization, so the repositories are advised from the start.
+     */
+    @Bean
+    @Lazy(false)
+    public RepositoryCallMonitor repositoryCallMonitor() {
+        return new RepositoryCallMonitor();
+    }
+}
@@ -0,0 +1,80 @@
+package lorenzo.galacticcommandsystem.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Second-level cache region factory backed by a local, in-heap Ehcache.
+ * <p>
+ * Every session factory gets its own cache manager, so separate application contexts
+ * (such as the test contexts) never share cached entities. Each region is bounded
+ * to a number of entries, evicting the least valuable entries when full, and expires
+ * entries after a time to live; only the update timestamps used to validate cached queries never
+ * expire, since a missing timestamp would make stale query results look valid.
+ * The limits are read from the Hibernate properties:
+ * <ul>
+ *     <li>{@value #MAX_ENTRIES} and {@value #TIME_TO_LIVE} for every region,</li>
+ *     <li>{@code galaxy.cache.<region>.max-entries} and {@code galaxy.cache.<region>.time-to-live}
+ *     for a single region.</li>
+ * </ul>
+ */
+public class GalaxyCacheRegionFactory extends JCacheRegionFactory {
+
+    public static final String MAX_ENTRIES = "galaxy.cache.max-entries";
+    public static final String TIME_TO_LIVE = "galaxy.cache.time-to-live";
+
+    private static final long DEFAULT_MAX_ENTRIES = 10_000;
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private Map<String, Object> properties = Map.of();
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        this.properties = properties;
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) getCachingProvider(properties);
+        URI uri = URI.create("urn:galaxy:hibernate-cache:" + UUID.randomUUID());
+        return provider.getCacheManager(uri, new DefaultConfiguration(getClassLoader(provider)));
+    }
+
+    @Override
+    protected CachingProvider getCachingProvider(Map<String, Object> properties) {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        long maxEntries = Long.parseLong(property(regionName, "max-entries", MAX_ENTRIES, String.valueOf(DEFAULT_MAX_ENTRIES)));
+        Duration timeToLive = Duration.parse(property(regionName, "time-to-live", TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE.toString()));
+        boolean timestamps = regionName.endsWith(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        return getCacheManager().createCache(regionName, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(timestamps ? ExpiryPolicyBuilder.noExpiration()
+                                : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+                        .build()));
+    }
+
+    private String property(String regionName, String suffix, String defaultKey, String defaultValue) {
+        Object value = properties.get("galaxy.cache." + regionName + "." + suffix);
+        if (value == null) {
+            value = properties.get(defaultKey);
+        }
+        return value != null ? value.toString().trim() : defaultValue;
+    }
+}
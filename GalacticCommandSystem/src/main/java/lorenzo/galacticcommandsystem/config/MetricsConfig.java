@@ -0,0 +1,126 @@
+package lorenzo.galacticcommandsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.instrumentation.GalaxyMetrics;
+import lorenzo.galacticcommandsystem.instrumentation.MBeanRegistration;
+import lorenzo.galacticcommandsystem.instrumentation.OperationMetricsMonitor;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.repository.CrudRepository;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Latency percentiles of every {@code MainController} method, counters of the main operations,
+ * and gauges of the entity counts, Hibernate statistics and connection pool.
+ * They are reported by {@code GET /api/metrics} and the {@code lorenzo.galacticcommandsystem:type=GalaxyMetrics}
+ * MBean. Enabled unless {@code galaxy.metrics.enabled} is false.
+ * <p>
+ * The MBean is registered on the platform MBean server directly, so {@code spring.jmx.enabled} does not
+ * apply to it: it is turned off with {@code galaxy.metrics.jmx.enabled}, as the server profile does.
+ */
+@Configuration
+@ConditionalOnProperty(name = "galaxy.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    public static final String OBJECT_NAME = "lorenzo.galacticcommandsystem:type=GalaxyMetrics";
+
+    /**
+     * Entity counts are read from the database, at most once per {@code galaxy.metrics.entity-count-ttl}.
+     */
+    @Bean
+    public GalaxyMetrics galaxyMetrics(PlanetRepository planetRepository, SpaceShipRepository spaceShipRepository,
+                                       MissionRepository missionRepository, ObjectiveRepository objectiveRepository,
+                                       MissionAssignmentRepository missionAssignmentRepository,
+                                       CrewMemberRepository crewMemberRepository,
+                                       EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                       @Value("${galaxy.metrics.entity-count-ttl:PT10S}") Duration entityCountTtl) {
+        GalaxyMetrics metrics = new GalaxyMetrics();
+        Map<String, CrudRepository<?, ?>> entities = Map.of(
+                "planets", planetRepository,
+                "spaceships", spaceShipRepository,
+                "missions", missionRepository,
+                "objectives", objectiveRepository,
+                "assignments", missionAssignmentRepository,
+                "crew-members", crewMemberRepository);
+        entities.forEach((name, repository) ->
+                metrics.gauge("entities." + name, GalaxyMetrics.cached(repository::count, entityCountTtl)));
+        registerHibernateGauges(metrics, entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+        registerPoolGauges(metrics, dataSource);
+        return metrics;
+    }
+
+    /**
+     * Created eagerly even with lazy initialization, so calls are measured from the first one.
+     */
+    @Bean
+    @Lazy(false)
+    public OperationMetricsMonitor operationMetricsMonitor(GalaxyMetrics galaxyMetrics) {
+        return new OperationMetricsMonitor(galaxyMetrics);
+    }
+
+    /**
+     * Registered unless {@code galaxy.metrics.jmx.enabled} is false, whatever {@code spring.jmx.enabled} says.
+     */
+    @Bean
+    @Lazy(false)
+    @ConditionalOnProperty(name = "galaxy.metrics.jmx.enabled", havingValue = "true", matchIfMissing = true)
+    public MBeanRegistration galaxyMetricsMBean(GalaxyMetrics galaxyMetrics) {
+        return MBeanRegistration.register(galaxyMetrics, OBJECT_NAME);
+    }
+
+    private static void registerHibernateGauges(GalaxyMetrics metrics, Statistics statistics) {
+        Map<String, ToLongFunction<Statistics>> gauges = Map.of(
+                "hibernate.statements.prepared", Statistics::getPrepareStatementCount,
+                "hibernate.queries.executed", Statistics::getQueryExecutionCount,
+                "hibernate.queries.max-time-ms", Statistics::getQueryExecutionMaxTime,
+                "hibernate.entities.loaded", Statistics::getEntityLoadCount,
+                "hibernate.entities.fetched", Statistics::getEntityFetchCount,
+                "hibernate.cache.second-level.hits", Statistics::getSecondLevelCacheHitCount,
+                "hibernate.cache.second-level.misses", Statistics::getSecondLevelCacheMissCount,
+                "hibernate.transactions.successful", Statistics::getSuccessfulTransactionCount,
+                "hibernate.optimistic-failures", Statistics::getOptimisticFailureCount);
+        gauges.forEach((name, gauge) -> metrics.gauge(name, () -> gauge.applyAsLong(statistics)));
+    }
+
+    private static void registerPoolGauges(GalaxyMetrics metrics, DataSource dataSource) {
+        HikariDataSource hikari;
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return;
+        }
+        Map<String, ToIntFunction<HikariPoolMXBean>> gauges = Map.of(
+                "pool.connections.active", HikariPoolMXBean::getActiveConnections,
+                "pool.connections.idle", HikariPoolMXBean::getIdleConnections,
+                "pool.connections.total", HikariPoolMXBean::getTotalConnections,
+                "pool.threads.awaiting", HikariPoolMXBean::getThreadsAwaitingConnection);
+        // the pool is started by the first connection, until then it reports nothing
+        gauges.forEach((name, gauge) -> metrics.gauge(name, () -> {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? gauge.applyAsInt(pool) : 0;
+        }));
+        metrics.gauge("pool.connections.max", hikari::getMaximumPoolSize);
+    }
+}
@@ -0,0 +1,50 @@
+package lorenzo.galacticcommandsystem.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.instrumentation.ControllerSqlMonitor;
+import lorenzo.galacticcommandsystem.instrumentation.CountingDataSource;
+import lorenzo.galacticcommandsystem.instrumentation.EntityLoadCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the statements, rows and entities of every {@code MainController} call.
+ * Enabled unless {@code galaxy.sql-instrumentation.enabled} is false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "galaxy.sql-instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    /**
+     * Wraps the data sources so their statements and rows are counted.
+     */
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Created eagerly even with lazy initialization, so entity loads are counted from the first call.
+     */
+    @Bean
+    @Lazy(false)
+    public ControllerSqlMonitor controllerSqlMonitor(EntityManagerFactory entityManagerFactory,
+                                                     @Value("${galaxy.sql-instrumentation.warn-statements:20}") long warnStatements) {
+        EntityLoadCounter.register(entityManagerFactory);
+        return new ControllerSqlMonitor(warnStatements);
+    }
+}
@@ -0,0 +1,265 @@
+package lorenzo.galacticcommandsystem.controller;
+
+import jakarta.annotation.PreDestroy;
+import lorenzo.galacticcommandsystem.model.CrewHistory;
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewSummary;
+import lorenzo.galacticcommandsystem.repository.MissionSummary;
+import lorenzo.galacticcommandsystem.repository.PlanetSummary;
+import lorenzo.galacticcommandsystem.repository.SpaceShipSummary;
+import lorenzo.galacticcommandsystem.service.AssignmentPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variants of the {@link MainController} reads behind the screens.
+ * <p>
+ * Every call runs on a small pool with a bounded queue, so the Swing event dispatch thread
+ * never waits for the database. When the queue is full the returned future fails with a
+ * {@link RejectedExecutionException} instead of piling up work. Cancelling a returned future
+ * removes the call from the queue if it has not started yet; a query already running is left
+ * to finish and its result is dropped.
+ */
+@Component
+public class AsyncMainController {
+
+    private final MainController controller;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the asynchronous controller and its pool.
+     *
+     * @param controller the controller doing the work
+     * @param threads the number of calls running at the same time
+     * @param queueCapacity the number of calls waiting for a thread before new calls are rejected
+     */
+    public AsyncMainController(MainController controller,
+                               @Value("${galaxy.controller.threads:4}") int threads,
+                               @Value("${galaxy.controller.queue-capacity:64}") int queueCapacity) {
+        this.controller = controller;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "controller-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops the pool, dropping the calls still waiting.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Counts all spaceships.
+     * @return the number of spaceships
+     */
+    public CompletableFuture<Long> countSpaceShips() {
+        return submit(controller::countSpaceShips);
+    }
+
+    /**
+     * Retrieves a page of spaceships ordered by id, starting after the given id.
+     * @param afterId the id of the last spaceship already loaded, 0 for the first page
+     * @param limit the maximum number of spaceships to return
+     * @return summaries of the spaceships in the page
+     */
+    public CompletableFuture<List<SpaceShipSummary>> getSpaceShipsPage(long afterId, int limit) {
+        return submit(() -> controller.getSpaceShipsPage(afterId, limit));
+    }
+
+    /**
+     * Gets spaceship by ID with crew, assignments, missions and their objectives.
+     * @param id the spaceship ID
+     * @return the spaceship, failing if it does not exist
+     */
+    public CompletableFuture<SpaceShip> getSpaceShipById(Long id) {
+        return submit(() -> controller.getSpaceShipById(id));
+    }
+
+    /**
+     * Gets crew members by spaceship ID.
+     * @param shipId the spaceship ID
+     * @return list of crew members
+     */
+    public CompletableFuture<List<CrewMember>> getCrewMembersByShipId(Long shipId) {
+        return submit(() -> controller.getCrewMembersByShipId(shipId));
+    }
+
+    /**
+     * Gets missions by spaceship ID.
+     * @param shipId the spaceship ID
+     * @return list of missions, failing if the spaceship does not exist
+     */
+    public CompletableFuture<List<Mission>> getMissionsByShipId(Long shipId) {
+        return submit(() -> controller.getMissionsByShipId(shipId));
+    }
+
+    /**
+     * Gets unassigned missions for a specific spaceship.
+     * @param shipId the spaceship ID
+     * @return list of unassigned missions
+     */
+    public CompletableFuture<List<Mission>> getUnassignedMissionsForShip(Long shipId) {
+        return submit(() -> controller.getUnassignedMissionsForShip(shipId));
+    }
+
+    /**
+     * Counts all missions.
+     * @return the number of missions
+     */
+    public CompletableFuture<Long> countMissions() {
+        return submit(controller::countMissions);
+    }
+
+    /**
+     * Retrieves a page of missions ordered by id, starting after the given id.
+     * @param afterId the id of the last mission already loaded, 0 for the first page
+     * @param limit the maximum number of missions to return
+     * @return summaries of the missions in the page
+     */
+    public CompletableFuture<List<MissionSummary>> getMissionsPage(long afterId, int limit) {
+        return submit(() -> controller.getMissionsPage(afterId, limit));
+    }
+
+    /**
+     * Gets mission by ID.
+     * @param id the mission ID
+     * @return the mission, or null if not found
+     */
+    public CompletableFuture<Mission> getMissionById(Long id) {
+        return submit(() -> controller.getMissionById(id));
+    }
+
+    /**
+     * Gets objectives for a specific mission.
+     * @param missionId the mission ID
+     * @return list of objectives
+     */
+    public CompletableFuture<List<Objective>> getObjectivesByMissionId(Long missionId) {
+        return submit(() -> controller.getObjectivesByMissionId(missionId));
+    }
+
+    /**
+     * Gets spaceship names assigned to a mission.
+     * @param missionId the mission ID
+     * @return list of spaceship names
+     */
+    public CompletableFuture<List<String>> getSpaceShipNamesByMissionId(Long missionId) {
+        return submit(() -> controller.getSpaceShipNamesByMissionId(missionId));
+    }
+
+    /**
+     * Assigns missions to spaceships in bulk, maximizing the total score of the new assignments.
+     * @param activationInfo activation status information for the assigned missions
+     * @return the assignments saved
+     */
+    public CompletableFuture<AssignmentPlan> optimizeMissionAssignments(String activationInfo) {
+        return submit(() -> controller.optimizeMissionAssignments(activationInfo));
+    }
+
+    /**
+     * Counts all planets.
+     * @return the number of planets
+     */
+    public CompletableFuture<Long> countPlanets() {
+        return submit(controller::countPlanets);
+    }
+
+    /**
+     * Retrieves a page of planets ordered by id, starting after the given id.
+     * @param afterId the id of the last planet already loaded, 0 for the first page
+     * @param limit the maximum number of planets to return
+     * @return summaries of the planets in the page
+     */
+    public CompletableFuture<List<PlanetSummary>> getPlanetsPage(long afterId, int limit) {
+        return submit(() -> controller.getPlanetsPage(afterId, limit));
+    }
+
+    /**
+     * Counts all crew members.
+     * @return the number of crew members
+     */
+    public CompletableFuture<Long> countCrewMembers() {
+        return submit(controller::countCrewMembers);
+    }
+
+    /**
+     * Retrieves a page of crew members ordered by id, starting after the given id.
+     * @param afterId the id of the last crew member already loaded, 0 for the first page
+     * @param limit the maximum number of crew members to return
+     * @return summaries of the crew members in the page
+     */
+    public CompletableFuture<List<CrewSummary>> getCrewMembersPage(long afterId, int limit) {
+        return submit(() -> controller.getCrewMembersPage(afterId, limit));
+    }
+
+    /**
+     * Get spaceship history by spaceship ID
+     * @param spaceShipId the ID of the spaceship
+     * @return List of CrewHistory records for the specified spaceship
+     */
+    public CompletableFuture<List<CrewHistory>> getSpaceShipHistory(Long spaceShipId) {
+        return submit(() -> controller.getSpaceShipHistory(spaceShipId));
+    }
+
+    /**
+     * Runs a call on the pool.
+     *
+     * @param call the call
+     * @return the future result, failing with the exception thrown by the call or if the pool is full
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> call) {
+        QueuedCall<T> future = new QueuedCall<>(call);
+        try {
+            executor.execute(future.task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Result of a call that takes its task off the queue when cancelled.
+     */
+    private final class QueuedCall<T> extends CompletableFuture<T> {
+        private final FutureTask<Void> task;
+
+        QueuedCall(Supplier<T> call) {
+            task = new FutureTask<>(() -> {
+                try {
+                    complete(call.get());
+                } catch (Throwable e) {
+                    completeExceptionally(e);
+                }
+            }, null);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && task.cancel(false)) {
+                executor.remove(task);
+            }
+            return cancelled;
+        }
+    }
+}
@@ -1,17 +1,55 @@
 package lorenzo.galacticcommandsystem.controller;
 
 import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.importer.BulkImportService;
+import lorenzo.galacticcommandsystem.importer.ImportReport;
+import lorenzo.galacticcommandsystem.importer.ImportTarget;
+import lorenzo.galacticcommandsystem.instrumentation.FlightRecordingService;
+import lorenzo.galacticcommandsystem.instrumentation.MissionAssignmentEvent;
 import lorenzo.galacticcommandsystem.model.*;
 import lorenzo.galacticcommandsystem.repository.*;
-import lorenzo.galacticcommandsystem.view.MainView;
+import lorenzo.galacticcommandsystem.service.AssignmentOutcome;
+import lorenzo.galacticcommandsystem.service.AssignmentPlan;
+import lorenzo.galacticcommandsystem.service.BulkAssignmentReport;
+import lorenzo.galacticcommandsystem.service.BulkAssignmentService;
+import lorenzo.galacticcommandsystem.service.CacheReport;
+import lorenzo.galacticcommandsystem.service.CacheStatisticsService;
+import lorenzo.galacticcommandsystem.service.EngineerScope;
+import lorenzo.galacticcommandsystem.service.EngineerSkillIndex;
+import lorenzo.galacticcommandsystem.service.FleetOperationsService;
+import lorenzo.galacticcommandsystem.service.LedgerAccount;
+import lorenzo.galacticcommandsystem.service.LedgerService;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentIndex;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentOptimizer;
+import lorenzo.galacticcommandsystem.service.NavigatorLeaderboard;
+import lorenzo.galacticcommandsystem.service.ObjectiveService;
+import lorenzo.galacticcommandsystem.service.PayrollRunReport;
+import lorenzo.galacticcommandsystem.service.PayrollService;
+import lorenzo.galacticcommandsystem.service.PayrollSummary;
+import lorenzo.galacticcommandsystem.service.PlanetDistance;
+import lorenzo.galacticcommandsystem.service.PlanetSpatialIndex;
+import lorenzo.galacticcommandsystem.service.Route;
+import lorenzo.galacticcommandsystem.service.RoutePlanner;
+import lorenzo.galacticcommandsystem.service.SearchHit;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.swing.*;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
 
 
 @Component
@@ -22,26 +60,47 @@ public class MainController {
     private final CrewMemberRepository crewMemberRepository;
     private final MissionAssignmentRepository missionAssignmentRepository;
     private final MissionRepository missionRepository;
-    private final ObjectiveRepository objectiveRepository;
     private final PlanetRepository planetRepository;
     private final CrewHistoryRepository crewHistoryRepository;
+    private final BulkImportService bulkImportService;
+    private final PlanetSpatialIndex planetSpatialIndex;
+    private final RoutePlanner routePlanner;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final ObjectiveService objectiveService;
+    private final MissionAssignmentOptimizer missionAssignmentOptimizer;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final FleetOperationsService fleetOperationsService;
+    private final LedgerService ledgerService;
+    private final PayrollService payrollService;
+    private final MissionAssignmentIndex missionAssignmentIndex;
+    private final EngineerSkillIndex engineerSkillIndex;
+    private final NavigatorLeaderboard navigatorLeaderboard;
+    private final FlightRecordingService flightRecordingService;
 
     /**
-     * Initializes the main UI view.
+     * Retrieves the list columns of all spaceships.
+     * @return summaries of all spaceships
      */
-    public void init() {
-        SwingUtilities.invokeLater(() -> {
-            MainView view = new MainView(this);
-            view.setVisible(true);
-        });
+    public List<SpaceShipSummary> getAllSpaceShips() {
+        return spaceShipRepository.findAllSummaries();
     }
 
     /**
-     * Retrieves all spaceships.
-     * @return list of all spaceships
+     * Retrieves a page of spaceships ordered by id, starting after the given id.
+     * @param afterId the id of the last spaceship already loaded, 0 for the first page
+     * @param limit the maximum number of spaceships to return
+     * @return summaries of the spaceships in the page
      */
-    public List<SpaceShip> getAllSpaceShips() {
-        return (List<SpaceShip>) spaceShipRepository.findAll();
+    public List<SpaceShipSummary> getSpaceShipsPage(long afterId, int limit) {
+        return spaceShipRepository.findSummaryPageAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Counts all spaceships.
+     * @return the number of spaceships
+     */
+    public long countSpaceShips() {
+        return spaceShipRepository.count();
     }
 
     /**
@@ -71,9 +130,7 @@ public class MainController {
      * @return list of crew members
      */
     public List<CrewMember> getCrewForSpaceShip(Long spaceShipId) {
-        return spaceShipRepository.findByIdWithCrew(spaceShipId)
-                .map(s -> s.getCrew().stream().collect(Collectors.toList()))
-                .orElse(Collections.emptyList());
+        return crewMemberRepository.findBySpaceShipId(spaceShipId);
     }
 
     /**
@@ -82,21 +139,22 @@ public class MainController {
      * @return list of missions
      */
     public List<Mission> getMissionsForSpaceShip(Long spaceShipId) {
-        List<MissionAssignment> assignments = missionAssignmentRepository.findBySpaceShip_Id(spaceShipId);
-        return assignments.stream()
-                .map(MissionAssignment::getMission)
-                .distinct()
-                .collect(Collectors.toList());
+        return missionRepository.findBySpaceShipId(spaceShipId);
     }
 
     /**
-     * Gets spaceship by ID with crew and assignments.
+     * Gets spaceship by ID with crew, assignments, missions and their objectives.
+     * Each collection is loaded by its own query, so the rows do not multiply.
      * @param id the spaceship ID
      * @return spaceship or null if not found
      */
+    @Transactional(readOnly = true)
     public SpaceShip getSpaceShipById(Long id) {
-        return spaceShipRepository.findByIdWithAllData(id)
+        SpaceShip ship = spaceShipRepository.findByIdWithCrew(id)
                 .orElseThrow(() -> new RuntimeException("Spaceship not found with id: " + id));
+        spaceShipRepository.findByIdWithAssignments(id);
+        ship.getAssignments().forEach(assignment -> Hibernate.initialize(assignment.getMission().getObjectives()));
+        return ship;
     }
 
     /**
@@ -114,14 +172,10 @@ public class MainController {
      * @return list of missions
      */
     public List<Mission> getMissionsByShipId(Long shipId) {
-        SpaceShip ship = spaceShipRepository.findByIdWithCrewAndAssignments(shipId)
-                .orElseThrow(() -> new RuntimeException("Spaceship not found with id: " + shipId));
-        
-        List<Long> missionIds = ship.getAssignments().stream()
-                .map(assignment -> assignment.getMission().getId())
-                .collect(Collectors.toList());
-        
-        return missionRepository.findAllByIdsWithData(missionIds);
+        if (!spaceShipRepository.existsById(shipId)) {
+            throw new RuntimeException("Spaceship not found with id: " + shipId);
+        }
+        return missionRepository.findBySpaceShipIdWithData(shipId);
     }
 
     /**
@@ -129,26 +183,118 @@ public class MainController {
      * @param missionId the mission ID
      * @param shipId the spaceship ID
      * @param activationInfo activation status information
+     * @throws IllegalArgumentException if the mission or the spaceship does not exist, or the spaceship
+     * is already assigned to the mission
      */
-    @Transactional //salva, se qualcosa va male, rollback
     public void assignMissionToShip(Long missionId, Long shipId, String activationInfo) {
-        Mission mission = missionRepository.findById(missionId).orElseThrow(() ->
-                new IllegalArgumentException("Mission not found"));
-        SpaceShip ship = spaceShipRepository.findById(shipId).orElseThrow(() ->
-                new IllegalArgumentException("Ship not found"));
+        MissionAssignmentEvent event = new MissionAssignmentEvent();
+        event.begin();
+        Object recorded = MissionAssignmentEvent.FAILED;
+        try {
+            AssignmentOutcome outcome = bulkAssignmentService
+                    .assign(List.of(new AssignmentPair(shipId, missionId)), activationInfo)
+                    .results().get(0).outcome();
+            recorded = outcome;
+            switch (outcome) {
+                case MISSION_NOT_FOUND -> throw new IllegalArgumentException("Mission not found");
+                case SPACESHIP_NOT_FOUND -> throw new IllegalArgumentException("Ship not found");
+                case ALREADY_ASSIGNED -> throw new IllegalArgumentException("Ship already assigned to the mission");
+                default -> { }
+            }
+        } finally {
+            event.complete(missionId, shipId, recorded);
+        }
+    }
 
-        MissionAssignment assignment = new MissionAssignment(ship, mission, null);
-        mission.setActiveStatus(activationInfo);
-        missionRepository.save(mission);
-        missionAssignmentRepository.save(assignment);
+    /**
+     * Assigns many spaceships to a mission at once.
+     * Existing assignments are checked with one query and only the new ones are inserted, in batches.
+     * @param missionId the mission ID
+     * @param shipIds the spaceship IDs
+     * @param activationInfo activation status information
+     * @return the outcome for every spaceship, in the given order
+     */
+    public BulkAssignmentReport assignMissionToShips(Long missionId, List<Long> shipIds, String activationInfo) {
+        return bulkAssignmentService.assign(shipIds.stream()
+                .map(shipId -> new AssignmentPair(shipId, missionId))
+                .toList(), activationInfo);
     }
 
     /**
-     * Retrieves all missions.
-     * @return list of all missions
+     * Assigns spaceships to missions at once, reporting the pairs that could not be assigned
+     * instead of failing the whole batch.
+     * @param pairs the spaceship and mission pairs
+     * @param activationInfo activation status information
+     * @return the outcome for every pair, in the given order
+     */
+    public BulkAssignmentReport assignMissionsToShips(List<AssignmentPair> pairs, String activationInfo) {
+        return bulkAssignmentService.assign(pairs, activationInfo);
+    }
+
+    /**
+     * Assigns missions to spaceships in bulk, at most one new mission per spaceship and one spaceship
+     * per mission, maximizing the total score of the new assignments.
+     * @param activationInfo activation status information for the assigned missions
+     * @return the plan, keeping only the assignments saved
      */
-    public List<Mission> getAllMissions() {
-        return missionRepository.findAllMissions();
+    public AssignmentPlan optimizeMissionAssignments(String activationInfo) {
+        return missionAssignmentOptimizer.optimize(activationInfo);
+    }
+
+    /**
+     * Finds the mission assignments active on a date, using the in-memory assignment index.
+     * @param date the date
+     * @return the periods of the active assignments, by ID
+     */
+    public List<AssignmentInterval> getAssignmentsActiveOn(LocalDate date) {
+        return missionAssignmentIndex.findActiveOn(date);
+    }
+
+    /**
+     * Finds the mission assignments active on at least one day of a period, using the in-memory assignment index.
+     * @param from the first day of the period
+     * @param to the last day of the period
+     * @return the periods of the assignments found, by ID
+     */
+    public List<AssignmentInterval> getAssignmentsOverlapping(LocalDate from, LocalDate to) {
+        return missionAssignmentIndex.findOverlapping(from, to);
+    }
+
+    /**
+     * Finds the assignments of a spaceship that a new assignment over a period would overlap.
+     * @param shipId the spaceship ID
+     * @param start the first day of the new assignment
+     * @param end the last day of the new assignment, or null if it would be open-ended
+     * @return the periods of the conflicting assignments, by ID
+     */
+    public List<AssignmentInterval> getScheduleConflicts(Long shipId, LocalDate start, LocalDate end) {
+        return missionAssignmentIndex.findConflicts(shipId, start, end);
+    }
+
+    /**
+     * Retrieves the list columns of all missions.
+     * @return summaries of all missions
+     */
+    public List<MissionSummary> getAllMissions() {
+        return missionRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves a page of missions ordered by id, starting after the given id.
+     * @param afterId the id of the last mission already loaded, 0 for the first page
+     * @param limit the maximum number of missions to return
+     * @return summaries of the missions in the page
+     */
+    public List<MissionSummary> getMissionsPage(long afterId, int limit) {
+        return missionRepository.findSummaryPageAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Counts all missions.
+     * @return the number of missions
+     */
+    public long countMissions() {
+        return missionRepository.count();
     }
 
     /**
@@ -175,7 +321,40 @@ public class MainController {
      * @return list of objectives
      */
     public List<Objective> getObjectivesByMissionId(Long missionId) {
-        return objectiveRepository.findByMission_IdWithTypes(missionId);
+        return objectiveService.getObjectivesWithTypes(missionId);
+    }
+
+    /**
+     * Searches objectives by the words of their title, description, place and structure.
+     * @param query the words to search
+     * @param types the types an objective must have at least one of, null or empty for all objectives
+     * @param limit the maximum number of results
+     * @return the best matching objectives, best first
+     */
+    public List<Objective> searchObjectives(String query, Set<ObjectiveType> types, int limit) {
+        return objectiveService.search(query, types, limit);
+    }
+
+    /**
+     * Performs an exploration objective, which removes it from its mission.
+     * @param objectiveId the objective ID
+     * @throws IllegalArgumentException if the objective does not exist
+     * @throws UnsupportedOperationException if its mission is inactive
+     * @throws IllegalStateException if it is not an exploration objective or has no place
+     */
+    public void performExploration(Long objectiveId) {
+        objectiveService.performExploration(objectiveId);
+    }
+
+    /**
+     * Performs a building objective, which adds its structure to the planet of the mission.
+     * @param objectiveId the objective ID
+     * @throws IllegalArgumentException if the objective does not exist
+     * @throws UnsupportedOperationException if its mission is inactive
+     * @throws IllegalStateException if it is not a building objective, has no structure or its mission has no planet
+     */
+    public void performBuilding(Long objectiveId) {
+        objectiveService.performBuilding(objectiveId);
     }
 
     /**
@@ -188,11 +367,29 @@ public class MainController {
     }
 
     /**
-     * Retrieves all planets.
-     * @return list of all planets
+     * Retrieves the list columns of all planets.
+     * @return summaries of all planets
+     */
+    public List<PlanetSummary> getAllPlanets() {
+        return planetRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves a page of planets ordered by id, starting after the given id.
+     * @param afterId the id of the last planet already loaded, 0 for the first page
+     * @param limit the maximum number of planets to return
+     * @return summaries of the planets in the page
+     */
+    public List<PlanetSummary> getPlanetsPage(long afterId, int limit) {
+        return planetRepository.findSummaryPageAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Counts all planets.
+     * @return the number of planets
      */
-    public List<Planet> getAllPlanets() {
-        return planetRepository.findAllPlanets();
+    public long countPlanets() {
+        return planetRepository.count();
     }
 
     /**
@@ -220,6 +417,50 @@ public class MainController {
         planetRepository.deleteById(id);
     }
 
+    /**
+     * Finds the planets closest to a point, using the in-memory spatial index.
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param k the maximum number of planets to return
+     * @return planet IDs with their distance, closest first
+     */
+    public List<PlanetDistance> findNearestPlanets(double x, double y, double z, int k) {
+        return planetSpatialIndex.findNearest(x, y, z, k);
+    }
+
+    /**
+     * Finds the planets within a distance of a point, using the in-memory spatial index.
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param radius the maximum distance
+     * @return planet IDs with their distance, closest first
+     */
+    public List<PlanetDistance> findPlanetsWithinRadius(double x, double y, double z, double radius) {
+        return planetSpatialIndex.findWithinRadius(x, y, z, radius);
+    }
+
+    /**
+     * Finds the shortest route between two planets through planets within jump range.
+     * @param fromPlanetId the start planet ID
+     * @param toPlanetId the destination planet ID
+     * @return the route, or empty if the destination cannot be reached
+     */
+    public Optional<Route> findRoute(Long fromPlanetId, Long toPlanetId) {
+        return routePlanner.findRoute(fromPlanetId, toPlanetId);
+    }
+
+    /**
+     * Estimates the travel time between two planets along the shortest route.
+     * @param fromPlanetId the start planet ID
+     * @param toPlanetId the destination planet ID
+     * @return the estimated travel time, or empty if the destination cannot be reached
+     */
+    public Optional<Duration> estimateTravelTime(Long fromPlanetId, Long toPlanetId) {
+        return routePlanner.estimateTravelTime(fromPlanetId, toPlanetId);
+    }
+
     /**
      * Creates a new mission.
      * @param mission the mission to create
@@ -229,11 +470,193 @@ public class MainController {
     }
 
     /**
-     * Retrieves all crew members.
-     * @return list of all crew members
+     * Adds funding to a mission, recording the movement in the ledger.
+     * @param missionId the mission ID
+     * @param amount the amount to add, at most half of the current funding, rounded to the hundredth
+     * @return the funding after the change
+     */
+    public double addMissionFunding(Long missionId, double amount) {
+        ledgerService.addMissionFunding(missionId, FixedPoint.toUnits(amount), "funding added");
+        return FixedPoint.toCredits(ledgerService.balance(LedgerAccount.mission(missionId)));
+    }
+
+    /**
+     * Removes funding from a mission, recording the movement in the ledger.
+     * @param missionId the mission ID
+     * @param amount the amount to remove, rounded to the hundredth; at least 100 credits must be left
+     * @return the funding after the change
+     */
+    public double removeMissionFunding(Long missionId, double amount) {
+        ledgerService.withdraw(LedgerAccount.mission(missionId), FixedPoint.toUnits(amount), "funding removed");
+        return FixedPoint.toCredits(ledgerService.balance(LedgerAccount.mission(missionId)));
+    }
+
+    /**
+     * Moves a crew member to another spaceship, retrying if another user moves them at the same time.
+     * @param crewMemberId the crew member ID
+     * @param spaceShipId the ID of the spaceship to move to
+     * @return true if the crew member moved, false if they were already on the spaceship
+     */
+    public boolean transferCrewMember(Long crewMemberId, Long spaceShipId) {
+        return fleetOperationsService.transferCrewMember(crewMemberId, spaceShipId);
+    }
+
+    /**
+     * Adds credits to mission funding or crew credits, recording the movement in the ledger.
+     * @param account the account to give the credits to
+     * @param amount the amount of credits, rounded to the hundredth
+     * @param reason why the credits are added
+     * @return the deposit entry
+     */
+    public LedgerEntry depositCredits(LedgerAccount account, double amount, String reason) {
+        return ledgerService.deposit(account, FixedPoint.toUnits(amount), reason);
+    }
+
+    /**
+     * Takes credits from mission funding or crew credits if the balance is large enough,
+     * recording the movement in the ledger.
+     * @param account the account to take the credits from
+     * @param amount the amount of credits, rounded to the hundredth
+     * @param reason why the credits are taken
+     * @return the withdrawal entry
      */
-    public List<CrewMember> getAllCrewMembers() {
-        return crewMemberRepository.findAllCrewMembers();
+    public LedgerEntry withdrawCredits(LedgerAccount account, double amount, String reason) {
+        return ledgerService.withdraw(account, FixedPoint.toUnits(amount), reason);
+    }
+
+    /**
+     * Moves credits between mission funding and crew credits, recording both movements in the ledger.
+     * @param from the account to take the credits from
+     * @param to the account to give them to
+     * @param amount the amount of credits, rounded to the hundredth
+     * @param reason why the credits are moved
+     * @return the withdrawal and deposit entries
+     */
+    public List<LedgerEntry> transferCredits(LedgerAccount from, LedgerAccount to, double amount, String reason) {
+        return ledgerService.transfer(from, to, FixedPoint.toUnits(amount), reason);
+    }
+
+    /**
+     * Gets the latest ledger movements of a mission or crew member.
+     * @param account the account
+     * @param limit the maximum number of entries
+     * @return the entries, most recent first
+     */
+    public List<LedgerEntry> getLedgerHistory(LedgerAccount account, int limit) {
+        return ledgerService.history(account, limit);
+    }
+
+    /**
+     * Computes the payroll of the fleet by spaceship, by planet and in total, without paying it.
+     * @param basePay the base pay of every crew member, in credits
+     * @return the payroll figures
+     */
+    public PayrollSummary getPayrollSummary(double basePay) {
+        return payrollService.summarize(basePay);
+    }
+
+    /**
+     * Pays every crew member and writes the payroll report.
+     * If a run with this ID failed before, it resumes where it stopped and nobody is paid twice.
+     * @param runId the ID of the run, the same to resume a failed run
+     * @param basePay the base pay of every crew member, in credits
+     * @param reportFile the CSV report file to write
+     * @return the outcome of the payroll run
+     */
+    public PayrollRunReport runPayroll(UUID runId, double basePay, Path reportFile) {
+        try {
+            return payrollService.pay(runId, basePay, reportFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retrieves the list columns of all crew members.
+     * @return summaries of all crew members
+     */
+    public List<CrewSummary> getAllCrewMembers() {
+        return crewMemberRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves a page of crew members ordered by id, starting after the given id.
+     * @param afterId the id of the last crew member already loaded, 0 for the first page
+     * @param limit the maximum number of crew members to return
+     * @return summaries of the crew members in the page
+     */
+    public List<CrewSummary> getCrewMembersPage(long afterId, int limit) {
+        return crewMemberRepository.findSummaryPageAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Counts all crew members.
+     * @return the number of crew members
+     */
+    public long countCrewMembers() {
+        return crewMemberRepository.count();
+    }
+
+    /**
+     * Finds the engineers having at least some of a set of skills, for staffing.
+     * @param skills the skills
+     * @param minimum how many of the skills an engineer must have: 1 for any, their number for all
+     * @param scope the engineers to search: all, the unassigned ones, or the crew of a spaceship
+     * @return the engineers found, ordered by id
+     */
+    public List<CrewMember> findEngineersWithSkills(Set<String> skills, int minimum, EngineerScope scope) {
+        List<Long> ids = engineerSkillIndex.findWithAtLeast(skills, minimum, scope);
+        List<CrewMember> engineers = new ArrayList<>(ids.size());
+        crewMemberRepository.findAllById(ids).forEach(engineers::add);
+        engineers.sort(Comparator.comparing(CrewMember::getId));
+        return engineers;
+    }
+
+    /**
+     * Finds the best navigators on no spaceship and no planet, by skill score.
+     * @param limit the maximum number of navigators
+     * @return the navigators, best first
+     */
+    public List<CrewMember> findBestAvailableNavigators(int limit) {
+        List<SearchHit> best = navigatorLeaderboard.findBestAvailable(limit);
+        Map<Long, CrewMember> navigators = new HashMap<>(best.size() * 2);
+        crewMemberRepository.findAllById(best.stream().map(SearchHit::id).toList())
+                .forEach(navigator -> navigators.put(navigator.getId(), navigator));
+        return best.stream().map(hit -> navigators.get(hit.id())).filter(navigator -> navigator != null).toList();
+    }
+
+    /**
+     * Gets the rank of a navigator by skill score among all navigators.
+     * @param navigatorId the navigator ID
+     * @return the 1-based rank, empty if there is no such navigator
+     */
+    public OptionalInt getNavigatorRank(Long navigatorId) {
+        return navigatorLeaderboard.getRank(navigatorId);
+    }
+
+    /**
+     * Starts a flight recording of the application and the JVM, to investigate latency spikes.
+     * @return true if a recording was started, false if one was already running
+     */
+    public boolean startFlightRecording() {
+        return flightRecordingService.start();
+    }
+
+    /**
+     * Writes the flight recording so far to a file, which JDK Mission Control can open.
+     * @param file the file to write
+     * @return the file
+     * @throws IllegalStateException if no recording is running
+     */
+    public Path dumpFlightRecording(Path file) {
+        return flightRecordingService.dump(file);
+    }
+
+    /**
+     * Stops the flight recording, if one is running.
+     */
+    public void stopFlightRecording() {
+        flightRecordingService.stop();
     }
 
     /**
@@ -244,4 +667,26 @@ public class MainController {
     public List<CrewHistory> getSpaceShipHistory(Long spaceShipId) {
         return crewHistoryRepository.findBySpaceShipIdOrderByAssignmentDateDesc(spaceShipId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Imports a catalog file (CSV, or NDJSON if the file ends with .ndjson or .jsonl).
+     * @param target the kind of catalog
+     * @param file the catalog file
+     * @return the import report with counts, throughput and rejected records
+     */
+    public ImportReport importCatalog(ImportTarget target, Path file) {
+        try {
+            return bulkImportService.importCatalog(target, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the hit and miss statistics of the second-level cache.
+     * @return the cache report
+     */
+    public CacheReport getCacheReport() {
+        return cacheStatisticsService.report();
+    }
+}
@@ -0,0 +1,9 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when an engineer is deleted.
+ *
+ * @param engineerId the engineer ID
+ */
+public record EngineerDeletedEvent(long engineerId) {
+}
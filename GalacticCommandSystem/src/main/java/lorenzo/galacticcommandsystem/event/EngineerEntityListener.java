@@ -0,0 +1,41 @@
+package lorenzo.galacticcommandsystem.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * JPA entity listener that turns engineer changes into application events,
+ * like {@link PlanetEntityListener} does for planets. Skills are an element collection:
+ * adding or removing one bumps the engineer version, so it is reported as an update.
+ */
+@Component
+@RequiredArgsConstructor
+public class EngineerEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Engineer engineer) {
+        // the skills are not loaded during a flush just to report them
+        Set<String> skills = Hibernate.isInitialized(engineer.getSkills()) ? Set.copyOf(engineer.getSkills()) : null;
+        SpaceShip spaceShip = engineer.getSpaceShip();
+        eventPublisher.publishEvent(new EngineerSavedEvent(engineer.getId(),
+                spaceShip != null ? spaceShip.getId() : null,
+                spaceShip != null || engineer.getPlanet() != null, skills));
+    }
+
+    @PostRemove
+    public void onRemove(Engineer engineer) {
+        eventPublisher.publishEvent(new EngineerDeletedEvent(engineer.getId()));
+    }
+}
@@ -0,0 +1,14 @@
+package lorenzo.galacticcommandsystem.event;
+
+import java.util.Set;
+
+/**
+ * Published when an engineer is created or updated.
+ *
+ * @param engineerId the engineer ID
+ * @param spaceShipId the ID of the spaceship the engineer is on, or null
+ * @param assigned whether the engineer is on a spaceship or a planet
+ * @param skills the skills, or null if they were not loaded and did not change
+ */
+public record EngineerSavedEvent(long engineerId, Long spaceShipId, boolean assigned, Set<String> skills) {
+}
@@ -0,0 +1,10 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a synthetic galaxy has been written straight to the database,
+ * bypassing the entity listeners: in-memory views of the data must be rebuilt.
+ *
+ * @param planets the number of planets added
+ */
+public record GalaxyGeneratedEvent(int planets) {
+}
@@ -0,0 +1,9 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a mission assignment is deleted.
+ *
+ * @param assignmentId the assignment ID
+ */
+public record MissionAssignmentDeletedEvent(long assignmentId) {
+}
@@ -0,0 +1,35 @@
+package lorenzo.galacticcommandsystem.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns mission assignment changes into application events,
+ * like {@link PlanetEntityListener} does for planets. Assignments removed through the cascade
+ * of their spaceship or mission are reported too.
+ */
+@Component
+@RequiredArgsConstructor
+public class MissionAssignmentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(MissionAssignment assignment) {
+        // the IDs of lazy references are read without initializing them
+        eventPublisher.publishEvent(new MissionAssignmentSavedEvent(assignment.getId(),
+                assignment.getSpaceShip().getId(), assignment.getMission().getId(),
+                assignment.getStartDate(), assignment.getEndDate()));
+    }
+
+    @PostRemove
+    public void onRemove(MissionAssignment assignment) {
+        eventPublisher.publishEvent(new MissionAssignmentDeletedEvent(assignment.getId()));
+    }
+}
@@ -0,0 +1,16 @@
+package lorenzo.galacticcommandsystem.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a mission assignment is created or updated.
+ *
+ * @param assignmentId the assignment ID
+ * @param spaceShipId the ID of the assigned spaceship
+ * @param missionId the ID of the mission
+ * @param startDate the first day of the assignment
+ * @param endDate the last day of the assignment, or null if it is open-ended
+ */
+public record MissionAssignmentSavedEvent(long assignmentId, long spaceShipId, long missionId,
+                                          LocalDate startDate, LocalDate endDate) {
+}
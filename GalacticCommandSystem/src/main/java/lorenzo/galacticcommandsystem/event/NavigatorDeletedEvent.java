@@ -0,0 +1,9 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a navigator is deleted.
+ *
+ * @param navigatorId the navigator ID
+ */
+public record NavigatorDeletedEvent(long navigatorId) {
+}
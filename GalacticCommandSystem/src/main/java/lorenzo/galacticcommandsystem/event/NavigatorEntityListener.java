@@ -0,0 +1,32 @@
+package lorenzo.galacticcommandsystem.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.Navigator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns navigator changes into application events,
+ * like {@link PlanetEntityListener} does for planets.
+ */
+@Component
+@RequiredArgsConstructor
+public class NavigatorEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Navigator navigator) {
+        eventPublisher.publishEvent(new NavigatorSavedEvent(navigator.getId(), navigator.calculateSkillLevel(),
+                navigator.getSpaceShip() == null && navigator.getPlanet() == null));
+    }
+
+    @PostRemove
+    public void onRemove(Navigator navigator) {
+        eventPublisher.publishEvent(new NavigatorDeletedEvent(navigator.getId()));
+    }
+}
@@ -0,0 +1,11 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a navigator is created or updated.
+ *
+ * @param navigatorId the navigator ID
+ * @param skillScore the skill level of the navigator
+ * @param available whether the navigator is on no spaceship and no planet, so it can be assigned to one
+ */
+public record NavigatorSavedEvent(long navigatorId, double skillScore, boolean available) {
+}
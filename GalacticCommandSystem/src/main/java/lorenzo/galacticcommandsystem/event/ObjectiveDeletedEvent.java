@@ -0,0 +1,9 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when an objective is deleted, which is also how a completed objective leaves its mission.
+ *
+ * @param objectiveId the objective ID
+ */
+public record ObjectiveDeletedEvent(long objectiveId) {
+}
@@ -0,0 +1,41 @@
+package lorenzo.galacticcommandsystem.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * JPA entity listener that turns objective changes into application events,
+ * like {@link PlanetEntityListener} does for planets. Completed objectives are removed
+ * from their mission as orphans, so they are reported as deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class ObjectiveEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Objective objective) {
+        // the types are not loaded during a flush just to report them
+        Set<ObjectiveType> types = Hibernate.isInitialized(objective.getTypes()) && !objective.getTypes().isEmpty()
+                ? EnumSet.copyOf(objective.getTypes()) : null;
+        eventPublisher.publishEvent(new ObjectiveSavedEvent(objective.getId(), objective.getTitle(),
+                objective.getDescription(), objective.getPlace(), objective.getStructure(), types));
+    }
+
+    @PostRemove
+    public void onRemove(Objective objective) {
+        eventPublisher.publishEvent(new ObjectiveDeletedEvent(objective.getId()));
+    }
+}
@@ -0,0 +1,19 @@
+package lorenzo.galacticcommandsystem.event;
+
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+
+import java.util.Set;
+
+/**
+ * Published when an objective is created or updated.
+ *
+ * @param objectiveId the objective ID
+ * @param title the title
+ * @param description the description, may be null
+ * @param place the place to explore, may be null
+ * @param structure the structure to build, may be null
+ * @param types the types, or null if they were not loaded and did not change
+ */
+public record ObjectiveSavedEvent(long objectiveId, String title, String description, String place, String structure,
+                                  Set<ObjectiveType> types) {
+}
@@ -0,0 +1,9 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a planet is deleted.
+ *
+ * @param planetId the planet ID
+ */
+public record PlanetDeletedEvent(long planetId) {
+}
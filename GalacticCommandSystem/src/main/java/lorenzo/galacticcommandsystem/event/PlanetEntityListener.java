@@ -0,0 +1,35 @@
+package lorenzo.galacticcommandsystem.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.model.Planet;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns planet changes into application events,
+ * so in-memory structures built over planets can follow every write path
+ * (controller, import, data initializer) without the writers knowing about them.
+ * <p>
+ * Events are published during the flush; listeners interested only in committed data
+ * should use {@link org.springframework.transaction.event.TransactionalEventListener}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanetEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Planet planet) {
+        eventPublisher.publishEvent(new PlanetSavedEvent(planet.getId(), planet.getX(), planet.getY(), planet.getZ()));
+    }
+
+    @PostRemove
+    public void onRemove(Planet planet) {
+        eventPublisher.publishEvent(new PlanetDeletedEvent(planet.getId()));
+    }
+}
@@ -0,0 +1,12 @@
+package lorenzo.galacticcommandsystem.event;
+
+/**
+ * Published when a planet is created or updated.
+ *
+ * @param planetId the planet ID
+ * @param x the X coordinate
+ * @param y the Y coordinate
+ * @param z the Z coordinate
+ */
+public record PlanetSavedEvent(long planetId, double x, double y, double z) {
+}
@@ -0,0 +1,64 @@
+package lorenzo.galacticcommandsystem.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates a synthetic galaxy at startup when the "generate" profile is active,
+ * with the sizes from the {@code galaxy.generator.*} properties.
+ * Nothing is generated if the galaxy of the configured seed is already in the database.
+ */
+@Slf4j
+@Component
+@Profile("generate")
+@RequiredArgsConstructor
+public class GalaxyGenerationRunner {
+
+    private final GalaxyGenerator galaxyGenerator;
+    private final SpaceShipRepository spaceShipRepository;
+
+    @Value("${galaxy.generator.seed:42}")
+    private long seed;
+    @Value("${galaxy.generator.planets:0}")
+    private int planets;
+    @Value("${galaxy.generator.ships:0}")
+    private int ships;
+    @Value("${galaxy.generator.crew-per-ship:0}")
+    private int crewPerShip;
+    @Value("${galaxy.generator.missions:0}")
+    private int missions;
+    @Value("${galaxy.generator.objectives-per-mission:0}")
+    private int objectivesPerMission;
+    @Value("${galaxy.generator.assignments:0}")
+    private int assignments;
+    @Value("${galaxy.generator.history-depth:0}")
+    private int historyDepth;
+
+    /**
+     * Generates the galaxy once the context is started, before the in-memory indexes are built.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void generate() {
+        GalaxySpec spec = GalaxySpec.builder()
+                .seed(seed)
+                .planets(planets)
+                .ships(ships)
+                .crewPerShip(crewPerShip)
+                .missions(missions)
+                .objectivesPerMission(objectivesPerMission)
+                .assignments(assignments)
+                .historyDepth(historyDepth)
+                .build();
+        if (ships > 0 && !spaceShipRepository.findByName(GalaxyGenerator.shipName(spec, 0)).isEmpty()) {
+            log.info("Galaxy with seed {} is already in the database", seed);
+            return;
+        }
+        galaxyGenerator.generate(spec);
+    }
+}
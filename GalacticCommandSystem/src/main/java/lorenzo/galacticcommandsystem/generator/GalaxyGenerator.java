@@ -0,0 +1,363 @@
+package lorenzo.galacticcommandsystem.generator;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates synthetic galaxies of any size, for load tests, benchmarks and reproducing
+ * performance issues locally.
+ * <p>
+ * Every entity is derived only from the seed, its kind and its index, so chunks can be generated
+ * and written in parallel and the result does not depend on the scheduling. Each chunk is written
+ * in its own transaction through a stateless session with JDBC batching: there is no persistence
+ * context to flush, and neither the second-level cache nor the entity listeners are involved.
+ * A {@link GalaxyGeneratedEvent} is published at the end so in-memory indexes can be rebuilt.
+ * <p>
+ * If a chunk fails, the remaining chunks are skipped but the chunks already written stay
+ * in the database. Names are unique per seed, so generating the same seed twice into the same
+ * database fails.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GalaxyGenerator {
+
+    private static final double GALAXY_SIZE = 10_000;
+    private static final LocalDate EPOCH = LocalDate.of(2300, 1, 1);
+
+    private static final String[] ATMOSPHERES = {"Nitrogen-Oxygen", "Nitrogen-Methane", "Carbon Dioxide",
+            "Hydrogen-Helium", "Argon", "None"};
+    private static final String[] BUILDINGS = {"Space Dock", "Research Station", "Mining Outpost",
+            "Command Center", "Shipyard", "Colony Dome"};
+    private static final String[] FIRST_NAMES = {"Ada", "Boris", "Chiara", "Dmitri", "Elena", "Farid", "Giulia",
+            "Hiro", "Ines", "Jonas", "Kira", "Lorenzo", "Mara", "Nikolai", "Olga", "Pavel"};
+    private static final String[] LAST_NAMES = {"Rossi", "Ivanova", "Tanaka", "Okafor", "Novak", "Garcia",
+            "Larsen", "Moreau", "Kowalski", "Silva", "Haddad", "Weber"};
+    private static final String[] SPECIALTIES = {"Warp Drive", "Shields", "Life Support", "Weapons", "Sensors"};
+    private static final String[] SKILLS = {"welding", "plasma", "diagnostics", "robotics", "quantum",
+            "hydraulics", "software", "navigation", "medicine", "cryogenics"};
+
+    private static final int PLANETS = 0;
+    private static final int SHIPS = 1;
+    private static final int CREW = 2;
+    private static final int MISSIONS = 3;
+    private static final int OBJECTIVES = 4;
+    private static final int ASSIGNMENTS = 5;
+    private static final int HISTORY = 6;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Number of entities generated and written in a single transaction.
+     */
+    @Value("${galaxy.generator.chunk-size:2000}")
+    private int chunkSize = 2000;
+
+    /**
+     * Number of chunks written at the same time; 0 uses one per processor.
+     */
+    @Value("${galaxy.generator.threads:0}")
+    private int threads;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    /**
+     * Gets the name of a generated spaceship, for example to check whether a galaxy was already generated.
+     *
+     * @param spec the galaxy
+     * @param index the index of the spaceship
+     * @return the spaceship name
+     */
+    public static String shipName(GalaxySpec spec, long index) {
+        return "Ship " + tag(spec) + "-" + index;
+    }
+
+    /**
+     * Generates a galaxy and writes it to the database.
+     *
+     * @param spec the size and seed of the galaxy
+     * @return the counts and timing of the generation
+     */
+    public GalaxyReport generate(GalaxySpec spec) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        try {
+            Run run = new Run(spec, executor);
+            run.planetIds = run.insert(PLANETS, spec.planets(), true, run::planet);
+            run.shipIds = run.insert(SHIPS, spec.ships(), true, run::ship);
+            run.crewIds = run.insert(CREW, spec.crew(), spec.historyDepth() > 0, run::crewMember);
+            run.missionIds = run.insert(MISSIONS, spec.missions(), true, run::mission);
+            run.insert(OBJECTIVES, spec.objectives(), false, run::objective);
+            run.insert(ASSIGNMENTS, spec.assignments(), false, run::assignment);
+            run.insert(HISTORY, spec.history(), false, run::history);
+
+            GalaxyReport report = new GalaxyReport(spec, run.entities.sum(), run.rows.sum(),
+                    Duration.ofNanos(System.nanoTime() - start));
+            log.info("Galaxy generated with seed {}: {}", spec.seed(), report);
+            eventPublisher.publishEvent(new GalaxyGeneratedEvent(spec.planets()));
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String tag(GalaxySpec spec) {
+        return Long.toString(spec.seed(), 36);
+    }
+
+    /**
+     * Creates the entity of a given index, from a random generator seeded for that index only.
+     */
+    @FunctionalInterface
+    private interface EntityFactory {
+        Object create(long index, SplittableRandom random);
+    }
+
+    /**
+     * State of a single generation: the seeds and the IDs of the entities referenced by later kinds.
+     */
+    private class Run {
+        private final GalaxySpec spec;
+        private final ExecutorService executor;
+        private final String tag;
+        private final long[] kindSeeds = new long[HISTORY + 1];
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private long[] planetIds;
+        private long[] shipIds;
+        private long[] crewIds;
+        private long[] missionIds;
+
+        Run(GalaxySpec spec, ExecutorService executor) {
+            this.spec = spec;
+            this.executor = executor;
+            this.tag = tag(spec);
+            SplittableRandom seeds = new SplittableRandom(spec.seed());
+            for (int kind = 0; kind < kindSeeds.length; kind++) {
+                kindSeeds[kind] = seeds.nextLong();
+            }
+        }
+
+        /**
+         * Generates and writes the entities of a kind, in parallel chunks.
+         *
+         * @return the IDs of the entities by index, or null if they are not needed
+         */
+        long[] insert(int kind, long count, boolean keepIds, EntityFactory factory) {
+            long kindStart = System.nanoTime();
+            long[] ids = keepIds ? new long[Math.toIntExact(count)] : null;
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (long from = 0; from < count; from += chunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(count, from + chunkSize);
+                chunks.add(CompletableFuture.runAsync(
+                        () -> insertChunk(kind, chunkStart, chunkEnd, factory, ids), executor));
+            }
+            try {
+                CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            log.debug("Generated {} entities of kind {} in {} ms", count, kind,
+                    Duration.ofNanos(System.nanoTime() - kindStart).toMillis());
+            return ids;
+        }
+
+        private void insertChunk(int kind, long from, long to, EntityFactory factory, long[] ids) {
+            if (failed.get()) {
+                return;
+            }
+            long chunkRows = 0;
+            try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+                session.setJdbcBatchSize(batchSize);
+                Transaction transaction = session.beginTransaction();
+                try {
+                    for (long i = from; i < to; i++) {
+                        Object entity = factory.create(i, new SplittableRandom(kindSeeds[kind] + i));
+                        Object id = session.insert(entity);
+                        if (ids != null) {
+                            ids[(int) i] = ((Number) id).longValue();
+                        }
+                        chunkRows += rowsOf(entity);
+                    }
+                    transaction.commit();
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                    throw e;
+                }
+            }
+            entities.add(to - from);
+            rows.add(chunkRows);
+        }
+
+        Planet planet(long index, SplittableRandom random) {
+            Planet planet = Planet.builder()
+                    .name("Planet " + tag + "-" + index)
+                    .atmosphereType(pick(ATMOSPHERES, random))
+                    .x(coordinate(random)).y(coordinate(random)).z(coordinate(random))
+                    .build();
+            int buildings = random.nextInt(3);
+            for (int i = 0; i < buildings; i++) {
+                planet.addBuilding(pick(BUILDINGS, random));
+            }
+            return planet;
+        }
+
+        SpaceShip ship(long index, SplittableRandom random) {
+            return SpaceShip.builder()
+                    .name(shipName(spec, index))
+                    .isOperational(random.nextInt(10) != 0)
+                    .build();
+        }
+
+        CrewMember crewMember(long index, SplittableRandom random) {
+            SpaceShip ship = shipReference(shipIds[(int) (index / spec.crewPerShip())]);
+            String firstName = pick(FIRST_NAMES, random);
+            String lastName = pick(LAST_NAMES, random);
+            double credits = random.nextInt(100_000) / 100.0;
+            if (random.nextBoolean()) {
+                Engineer engineer = Engineer.builder()
+                        .firstName(firstName).lastName(lastName).credits(credits).spaceShip(ship)
+                        .techSpecialty(pick(SPECIALTIES, random))
+                        .build();
+                int skills = 1 + random.nextInt(3);
+                for (int i = 0; i < skills; i++) {
+                    engineer.addSkill(pick(SKILLS, random));
+                }
+                return engineer;
+            }
+            return Navigator.builder()
+                    .firstName(firstName).lastName(lastName).credits(credits).spaceShip(ship)
+                    .navigationBonus(100.0 + random.nextInt(200))
+                    .navigationExperienceYears(random.nextInt(40))
+                    .successfulNavigations(random.nextInt(500))
+                    .build();
+        }
+
+        Mission mission(long index, SplittableRandom random) {
+            String name = "Mission " + tag + "-" + index;
+            double funding = 100 + random.nextInt(1_000_000);
+            Mission mission = random.nextInt(3) == 0
+                    ? new Mission(name, funding, MissionState.ACTIVE, "Launched on stardate " + random.nextInt(100_000))
+                    : new Mission(name, funding);
+            if (planetIds.length > 0) {
+                mission.setPlanet(planetReference(planetIds[random.nextInt(planetIds.length)]));
+            }
+            return mission;
+        }
+
+        Objective objective(long index, SplittableRandom random) {
+            long missionIndex = index / spec.objectivesPerMission();
+            EnumSet<ObjectiveType> types = switch (random.nextInt(3)) {
+                case 0 -> EnumSet.of(ObjectiveType.EXPLORATION);
+                case 1 -> EnumSet.of(ObjectiveType.BUILDING);
+                default -> EnumSet.allOf(ObjectiveType.class);
+            };
+            return Objective.builder()
+                    .mission(missionReference(missionIds[(int) missionIndex]))
+                    .title("Objective " + (index % spec.objectivesPerMission() + 1) + " of mission " + missionIndex)
+                    .types(types)
+                    .place(types.contains(ObjectiveType.EXPLORATION) ? "Sector " + random.nextInt(1000) : null)
+                    .structure(types.contains(ObjectiveType.BUILDING) ? pick(BUILDINGS, random) : null)
+                    .build();
+        }
+
+        /**
+         * Assignment k goes to ship k % ships, and each ship gets consecutive missions from its own offset,
+         * so no pair is repeated.
+         */
+        MissionAssignment assignment(long index, SplittableRandom random) {
+            int ship = (int) (index % spec.ships());
+            long round = index / spec.ships();
+            long offset = new SplittableRandom(kindSeeds[ASSIGNMENTS] ^ ship).nextInt(spec.missions());
+            int mission = (int) ((offset + round) % spec.missions());
+            return new MissionAssignment(shipReference(shipIds[ship]), missionReference(missionIds[mission]),
+                    EPOCH.minusDays(random.nextInt(3650)), null);
+        }
+
+        CrewHistory history(long index, SplittableRandom random) {
+            long member = index / spec.historyDepth();
+            long step = spec.historyDepth() - index % spec.historyDepth();
+            return CrewHistory.builder()
+                    .crewMember(crewReference(crewIds[(int) member]))
+                    .spaceShip(shipReference(shipIds[random.nextInt(shipIds.length)]))
+                    .assignmentDate(EPOCH.minusDays(step * 365 + random.nextInt(365)))
+                    .build();
+        }
+    }
+
+    private static double coordinate(SplittableRandom random) {
+        return Math.round((random.nextDouble() - 0.5) * GALAXY_SIZE * 100) / 100.0;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long rowsOf(Object entity) {
+        if (entity instanceof Planet planet) {
+            return 1 + planet.getBuildings().size();
+        }
+        if (entity instanceof Engineer engineer) {
+            return 2 + engineer.getSkills().size();
+        }
+        if (entity instanceof CrewMember) {
+            return 2;
+        }
+        if (entity instanceof Objective objective) {
+            return 1 + objective.getTypes().size();
+        }
+        return 1;
+    }
+
+    // references only carry the ID written to the foreign key, and a version so that Hibernate
+    // takes them for saved entities rather than transient ones
+
+    private static Planet planetReference(long id) {
+        return Planet.builder().id(id).build();
+    }
+
+    private static SpaceShip shipReference(long id) {
+        return SpaceShip.builder().id(id).version(0L).build();
+    }
+
+    private static Mission missionReference(long id) {
+        Mission mission = new Mission();
+        mission.setId(id);
+        mission.setVersion(0L);
+        return mission;
+    }
+
+    private static CrewMember crewReference(long id) {
+        return Navigator.builder().id(id).version(0L).build();
+    }
+}
@@ -0,0 +1,30 @@
+package lorenzo.galacticcommandsystem.generator;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a galaxy generation.
+ *
+ * @param spec the generated galaxy
+ * @param entities the number of entities inserted
+ * @param rows the number of rows inserted, including collection and subclass tables
+ * @param elapsed the time taken
+ */
+public record GalaxyReport(GalaxySpec spec, long entities, long rows, Duration elapsed) {
+
+    /**
+     * Gets the inserted rows per second.
+     *
+     * @return the throughput
+     */
+    public double throughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? rows / seconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d entities, %d rows in %d ms (%.0f rows/s)",
+                entities, rows, elapsed.toMillis(), throughput());
+    }
+}
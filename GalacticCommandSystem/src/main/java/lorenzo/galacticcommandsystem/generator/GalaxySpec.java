@@ -0,0 +1,62 @@
+package lorenzo.galacticcommandsystem.generator;
+
+import lombok.Builder;
+
+/**
+ * Size and seed of a synthetic galaxy. The same spec always produces the same galaxy,
+ * apart from the IDs assigned by the database.
+ *
+ * @param seed the seed of every random choice
+ * @param planets the number of planets
+ * @param ships the number of spaceships
+ * @param crewPerShip the number of crew members on each spaceship
+ * @param missions the number of missions
+ * @param objectivesPerMission the number of objectives of each mission
+ * @param assignments the number of mission assignments, at most ships times missions
+ * @param historyDepth the number of crew history entries of each crew member
+ */
+@Builder
+public record GalaxySpec(long seed, int planets, int ships, int crewPerShip, int missions,
+                         int objectivesPerMission, int assignments, int historyDepth) {
+
+    public GalaxySpec {
+        if (planets < 0 || ships < 0 || crewPerShip < 0 || missions < 0
+                || objectivesPerMission < 0 || assignments < 0 || historyDepth < 0) {
+            throw new IllegalArgumentException("Galaxy sizes cannot be negative");
+        }
+        if (assignments > (long) ships * missions) {
+            throw new IllegalArgumentException("Cannot make " + assignments + " distinct assignments of "
+                    + ships + " ships to " + missions + " missions");
+        }
+        if (ships == 0 && historyDepth > 0 && crewPerShip > 0) {
+            throw new IllegalArgumentException("Crew history needs at least one ship");
+        }
+    }
+
+    /**
+     * Gets the number of crew members.
+     *
+     * @return the number of crew members
+     */
+    public long crew() {
+        return (long) ships * crewPerShip;
+    }
+
+    /**
+     * Gets the number of objectives.
+     *
+     * @return the number of objectives
+     */
+    public long objectives() {
+        return (long) missions * objectivesPerMission;
+    }
+
+    /**
+     * Gets the number of crew history entries.
+     *
+     * @return the number of crew history entries
+     */
+    public long history() {
+        return crew() * historyDepth;
+    }
+}
@@ -0,0 +1,235 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large catalogs of planets, spaceships, crew members and missions.
+ * <p>
+ * The input is parsed as a stream and processed in chunks. Each chunk is mapped and validated
+ * in parallel while the previous chunk is being written, and is written in its own transaction
+ * with JDBC batching, then the persistence context is flushed and cleared so memory stays bounded.
+ * If a chunk cannot be written (for example because a row refers to a missing entity),
+ * its rows are written one by one so only the offending rows are rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final long LOG_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    /**
+     * Number of records validated and written together.
+     */
+    @Value("${galaxy.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Imports a catalog file, guessing its format from the file name.
+     *
+     * @param target the kind of catalog
+     * @param file the catalog file
+     * @return the import report
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public ImportReport importCatalog(ImportTarget target, Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return importCatalog(target, ImportFormat.fromFileName(file.getFileName().toString()), reader, progress -> { });
+        }
+    }
+
+    /**
+     * Imports a catalog.
+     *
+     * @param target the kind of catalog
+     * @param format the format of the input
+     * @param input the catalog input, read as a stream
+     * @param progressListener notified after every chunk is written
+     * @return the import report
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    public ImportReport importCatalog(ImportTarget target, ImportFormat format, Reader input,
+                                      Consumer<ImportProgress> progressListener) throws IOException {
+        Run run = new Run(target, progressListener);
+        try (RecordReader reader = format.open(input)) {
+            CompletableFuture<List<PreparedRow>> pending = null;
+            List<ImportRecord> chunk;
+            while (!(chunk = readChunk(reader)).isEmpty()) {
+                run.read += chunk.size();
+                List<ImportRecord> records = chunk;
+                CompletableFuture<List<PreparedRow>> prepared = CompletableFuture.supplyAsync(() -> prepare(target, records));
+                if (pending != null) {
+                    run.write(pending.join());
+                }
+                pending = prepared;
+            }
+            if (pending != null) {
+                run.write(pending.join());
+            }
+        }
+        ImportProgress progress = run.progress();
+        log.info("Import finished: {}", progress);
+        return new ImportReport(progress, List.copyOf(run.rejections));
+    }
+
+    private List<ImportRecord> readChunk(RecordReader reader) throws IOException {
+        List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+        ImportRecord record;
+        while (chunk.size() < chunkSize && (record = reader.next()) != null) {
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    /**
+     * Maps and validates a chunk in parallel.
+     */
+    private List<PreparedRow> prepare(ImportTarget target, List<ImportRecord> records) {
+        return records.parallelStream()
+                .map(record -> {
+                    try {
+                        Object entity = target.toEntity(record);
+                        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+                        if (!violations.isEmpty()) {
+                            return new PreparedRow(record, null, violations.stream()
+                                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                    .sorted()
+                                    .collect(Collectors.joining(", ")));
+                        }
+                        return new PreparedRow(record, entity, null);
+                    } catch (IllegalArgumentException e) {
+                        return new PreparedRow(record, null, e.getMessage());
+                    }
+                })
+                .toList();
+    }
+
+    /**
+     * Persists the rows in a single transaction, then flushes and clears the persistence context.
+     */
+    private void persist(ImportTarget target, List<PreparedRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // imported rows would only churn the second-level cache
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            Map<Class<?>, Map<Long, Object>> referenceCache = new HashMap<>();
+            ImportTarget.References references = new ImportTarget.References() {
+                @Override
+                public <T> T get(Class<T> type, Long id) {
+                    return type.cast(referenceCache.computeIfAbsent(type, t -> new HashMap<>())
+                            .computeIfAbsent(id, key -> entityManager.getReference(type, key)));
+                }
+            };
+            for (PreparedRow row : rows) {
+                target.link(row.entity(), row.record(), references);
+                entityManager.persist(row.entity());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * A record after mapping and validation: either an entity to persist or the reason it was rejected.
+     */
+    private record PreparedRow(ImportRecord record, Object entity, String error) {
+    }
+
+    /**
+     * Counters and rejections of a single import.
+     */
+    private class Run {
+        private final ImportTarget target;
+        private final Consumer<ImportProgress> progressListener;
+        private final long start = System.nanoTime();
+        private final List<ImportReport.Rejection> rejections = new ArrayList<>();
+        private long lastLog = start;
+        private long read;
+        private long imported;
+        private long rejected;
+
+        Run(ImportTarget target, Consumer<ImportProgress> progressListener) {
+            this.target = target;
+            this.progressListener = progressListener;
+        }
+
+        void write(List<PreparedRow> rows) {
+            List<PreparedRow> valid = new ArrayList<>(rows.size());
+            for (PreparedRow row : rows) {
+                if (row.error() == null) {
+                    valid.add(row);
+                } else {
+                    reject(row.record(), row.error());
+                }
+            }
+            try {
+                persist(target, valid);
+                imported += valid.size();
+            } catch (RuntimeException chunkFailure) {
+                log.debug("Chunk write failed, retrying row by row", chunkFailure);
+                for (PreparedRow row : valid) {
+                    try {
+                        // the rolled back chunk left its entities with generated ids, so map the record again
+                        persist(target, List.of(new PreparedRow(row.record(), target.toEntity(row.record()), null)));
+                        imported++;
+                    } catch (RuntimeException e) {
+                        reject(row.record(), rootMessage(e));
+                    }
+                }
+            }
+
+            ImportProgress progress = progress();
+            progressListener.accept(progress);
+            long now = System.nanoTime();
+            if (now - lastLog >= LOG_INTERVAL_NANOS) {
+                log.info("Import progress: {}", progress);
+                lastLog = now;
+            }
+        }
+
+        void reject(ImportRecord record, String reason) {
+            rejected++;
+            if (rejections.size() < ImportReport.MAX_REPORTED_REJECTIONS) {
+                rejections.add(new ImportReport.Rejection(record.getLine(), reason));
+            }
+        }
+
+        ImportProgress progress() {
+            return new ImportProgress(target, read, imported, rejected, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,113 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads CSV records with a header row. Fields may be quoted with double quotes,
+ * in which case they can contain commas, line breaks and doubled quotes.
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long line = 1;
+
+    /**
+     * Creates a reader and reads the header row.
+     *
+     * @param reader the CSV input
+     * @throws IOException if the header cannot be read
+     */
+    public CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> names = readRow();
+        if (names == null) {
+            throw new IOException("CSV input has no header row");
+        }
+        this.header = names.stream().map(String::trim).toList();
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        List<String> row;
+        long start;
+        do {
+            start = line;
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isBlank());
+
+        if (row.size() > header.size()) {
+            throw new IOException("Line " + start + " has " + row.size() + " fields, header has " + header.size());
+        }
+        Map<String, Object> values = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < row.size(); i++) {
+            values.put(header.get(i), row.get(i));
+        }
+        return new ImportRecord(start, values);
+    }
+
+    /**
+     * Reads one row, following quoted fields across line breaks.
+     *
+     * @return the fields of the row, or null at the end of the input
+     */
+    private List<String> readRow() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field at line " + line);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,37 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Supported catalog file formats.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Opens a streaming record reader for this format.
+     *
+     * @param reader the input
+     * @return a record reader over the input
+     * @throws IOException if the input cannot be opened
+     */
+    public RecordReader open(Reader reader) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvRecordReader(reader);
+            case NDJSON -> new NdjsonRecordReader(reader);
+        };
+    }
+
+    /**
+     * Guesses the format from a file name.
+     *
+     * @param fileName the file name
+     * @return NDJSON for .ndjson and .jsonl files, CSV otherwise
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,31 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a running (or finished) import.
+ *
+ * @param target the kind of catalog being imported
+ * @param read the number of records read so far
+ * @param imported the number of entities persisted so far
+ * @param rejected the number of records rejected so far
+ * @param elapsed the time since the import started
+ */
+public record ImportProgress(ImportTarget target, long read, long imported, long rejected, Duration elapsed) {
+
+    /**
+     * Gets the persisted entities per second since the import started.
+     *
+     * @return the throughput
+     */
+    public double throughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? imported / seconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d read, %d imported, %d rejected in %d ms (%.0f rows/s)",
+                target, read, imported, rejected, elapsed.toMillis(), throughput());
+    }
+}
@@ -0,0 +1,178 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single parsed row of a catalog file, with its field values and the line it started on.
+ * Values are kept as parsed (strings, or lists of strings for multi-valued fields)
+ * and converted only when a field is read.
+ */
+public class ImportRecord {
+
+    /**
+     * Separator of multi-valued fields (such as skills or buildings) in CSV files.
+     */
+    public static final String LIST_SEPARATOR = ";";
+
+    private final long line;
+    private final Map<String, Object> values;
+
+    /**
+     * Creates a record.
+     *
+     * @param line the line number the record started on
+     * @param values the field values by field name
+     */
+    public ImportRecord(long line, Map<String, Object> values) {
+        this.line = line;
+        this.values = values;
+    }
+
+    /**
+     * Gets the line number the record started on.
+     *
+     * @return the line number
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Gets a text field.
+     *
+     * @param field the field name
+     * @return the trimmed value, or null if the field is missing or blank
+     */
+    public String text(String field) {
+        Object value = values.get(field);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * Gets a mandatory text field.
+     *
+     * @param field the field name
+     * @return the trimmed value
+     * @throws IllegalArgumentException if the field is missing or blank
+     */
+    public String requiredText(String field) {
+        String text = text(field);
+        if (text == null) {
+            throw new IllegalArgumentException("Field '" + field + "' is required");
+        }
+        return text;
+    }
+
+    /**
+     * Gets a decimal field.
+     *
+     * @param field the field name
+     * @return the value, or null if the field is missing or blank
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    public Double decimal(String field) {
+        String text = text(field);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a number");
+        }
+    }
+
+    /**
+     * Gets a mandatory decimal field.
+     *
+     * @param field the field name
+     * @return the value
+     * @throws IllegalArgumentException if the field is missing, blank or not a number
+     */
+    public double requiredDecimal(String field) {
+        Double value = decimal(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Field '" + field + "' is required");
+        }
+        return value;
+    }
+
+    /**
+     * Gets an integer field.
+     *
+     * @param field the field name
+     * @return the value, or null if the field is missing or blank
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public Integer integer(String field) {
+        Long value = id(field);
+        if (value == null) {
+            return null;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Field '" + field + "' is out of range");
+        }
+        return value.intValue();
+    }
+
+    /**
+     * Gets an identifier (or any long) field.
+     *
+     * @param field the field name
+     * @return the value, or null if the field is missing or blank
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public Long id(String field) {
+        String text = text(field);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an integer");
+        }
+    }
+
+    /**
+     * Gets a boolean field.
+     *
+     * @param field the field name
+     * @param defaultValue the value to return if the field is missing or blank
+     * @return the value
+     */
+    public boolean flag(String field, boolean defaultValue) {
+        String text = text(field);
+        return text == null ? defaultValue : Boolean.parseBoolean(text);
+    }
+
+    /**
+     * Gets a multi-valued field, either a JSON array or a {@value #LIST_SEPARATOR}-separated string.
+     *
+     * @param field the field name
+     * @return the non-blank values, empty if the field is missing
+     */
+    public List<String> list(String field) {
+        Object value = values.get(field);
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream()
+                    .filter(item -> item != null && !item.toString().isBlank())
+                    .map(item -> item.toString().trim())
+                    .toList();
+        }
+        return Arrays.stream(value.toString().split(LIST_SEPARATOR))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+}
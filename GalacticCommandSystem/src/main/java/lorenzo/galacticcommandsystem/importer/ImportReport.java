@@ -0,0 +1,26 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.util.List;
+
+/**
+ * Final outcome of an import.
+ *
+ * @param progress the counters and timing of the whole import
+ * @param rejections the first rejected records, at most {@link #MAX_REPORTED_REJECTIONS}
+ */
+public record ImportReport(ImportProgress progress, List<Rejection> rejections) {
+
+    /**
+     * Maximum number of rejected records kept in the report; the rest are only counted.
+     */
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+
+    /**
+     * A record that was not imported.
+     *
+     * @param line the line the record started on
+     * @param reason why the record was rejected
+     */
+    public record Rejection(long line, String reason) {
+    }
+}
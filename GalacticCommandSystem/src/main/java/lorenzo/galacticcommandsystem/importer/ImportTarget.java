@@ -0,0 +1,149 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import lorenzo.galacticcommandsystem.model.*;
+
+import java.util.Locale;
+
+/**
+ * The kinds of catalog that can be imported, and how a record of each kind becomes an entity.
+ * <p>
+ * Mapping is split in two steps: {@link #toEntity} builds the entity from the record fields only,
+ * so it can run in parallel before validation, while {@link #link} attaches references to
+ * existing entities and runs inside the transaction that persists the entity.
+ */
+public enum ImportTarget {
+
+    /**
+     * Fields: name, atmosphereType, position ("x,y,z"), buildings.
+     */
+    PLANETS {
+        @Override
+        public Object toEntity(ImportRecord record) {
+            Planet planet = Planet.builder()
+                    .name(record.text("name"))
+                    .atmosphereType(record.text("atmosphereType"))
+                    .position(record.text("position"))
+                    .build();
+            record.list("buildings").forEach(planet::addBuilding);
+            return planet;
+        }
+    },
+
+    /**
+     * Fields: name, operational.
+     */
+    SPACESHIPS {
+        @Override
+        public Object toEntity(ImportRecord record) {
+            return SpaceShip.builder()
+                    .name(record.text("name"))
+                    .isOperational(record.flag("operational", true))
+                    .build();
+        }
+    },
+
+    /**
+     * Fields: role (ENGINEER or NAVIGATOR), firstName, lastName, credits, spaceShipId, planetId;
+     * techSpecialty and skills for engineers;
+     * navigationBonus, navigationExperienceYears and successfulNavigations for navigators.
+     */
+    CREW {
+        @Override
+        public Object toEntity(ImportRecord record) {
+            if (record.id("spaceShipId") != null && record.id("planetId") != null) {
+                throw new IllegalArgumentException("A crew member cannot be assigned to both a spaceship and a planet");
+            }
+            Double credits = record.decimal("credits");
+            String role = record.requiredText("role").toUpperCase(Locale.ROOT);
+            switch (role) {
+                case "ENGINEER" -> {
+                    Engineer engineer = Engineer.builder()
+                            .firstName(record.text("firstName"))
+                            .lastName(record.text("lastName"))
+                            .credits(credits != null ? credits : 0.0)
+                            .techSpecialty(record.text("techSpecialty"))
+                            .build();
+                    record.list("skills").forEach(engineer::addSkill);
+                    return engineer;
+                }
+                case "NAVIGATOR" -> {
+                    Integer years = record.integer("navigationExperienceYears");
+                    Double successes = record.decimal("successfulNavigations");
+                    return Navigator.builder()
+                            .firstName(record.text("firstName"))
+                            .lastName(record.text("lastName"))
+                            .credits(credits != null ? credits : 0.0)
+                            .navigationBonus(record.decimal("navigationBonus"))
+                            .navigationExperienceYears(years != null ? years : 0)
+                            .successfulNavigations(successes != null ? successes : 0.0)
+                            .build();
+                }
+                default -> throw new IllegalArgumentException("Unknown crew role: " + role);
+            }
+        }
+
+        @Override
+        public void link(Object entity, ImportRecord record, References references) {
+            CrewMember crewMember = (CrewMember) entity;
+            Long spaceShipId = record.id("spaceShipId");
+            if (spaceShipId != null) {
+                crewMember.setSpaceShip(references.get(SpaceShip.class, spaceShipId));
+            }
+            Long planetId = record.id("planetId");
+            if (planetId != null) {
+                crewMember.setPlanet(references.get(Planet.class, planetId));
+            }
+        }
+    },
+
+    /**
+     * Fields: name, funding, state (ACTIVE or INACTIVE), info, planetId.
+     */
+    MISSIONS {
+        @Override
+        public Object toEntity(ImportRecord record) {
+            String name = record.requiredText("name");
+            double funding = record.requiredDecimal("funding");
+            String state = record.text("state");
+            if (state == null) {
+                return new Mission(name, funding);
+            }
+            return new Mission(name, funding, MissionState.valueOf(state.toUpperCase(Locale.ROOT)), record.text("info"));
+        }
+
+        @Override
+        public void link(Object entity, ImportRecord record, References references) {
+            Long planetId = record.id("planetId");
+            if (planetId != null) {
+                ((Mission) entity).setPlanetReference(references.get(Planet.class, planetId));
+            }
+        }
+    };
+
+    /**
+     * Resolves references to entities that already exist in the database.
+     */
+    @FunctionalInterface
+    public interface References {
+        <T> T get(Class<T> type, Long id);
+    }
+
+    /**
+     * Builds an entity from the fields of a record.
+     *
+     * @param record the record
+     * @return the new, unlinked entity
+     * @throws IllegalArgumentException if the record is not a valid entity of this kind
+     */
+    public abstract Object toEntity(ImportRecord record);
+
+    /**
+     * Attaches the entity to the existing entities the record refers to.
+     *
+     * @param entity the entity built by {@link #toEntity}
+     * @param record the record
+     * @param references resolver of existing entities
+     */
+    public void link(Object entity, ImportRecord record, References references) {
+    }
+}
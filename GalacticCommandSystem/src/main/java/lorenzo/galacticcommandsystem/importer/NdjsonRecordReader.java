@@ -0,0 +1,48 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Reads newline-delimited JSON records, one JSON object per line.
+ * Arrays are kept as lists, so multi-valued fields can be written as JSON arrays.
+ */
+public class NdjsonRecordReader implements RecordReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MappingIterator<Map<String, Object>> iterator;
+
+    /**
+     * Creates a reader.
+     *
+     * @param reader the NDJSON input
+     * @throws IOException if the input cannot be opened
+     */
+    public NdjsonRecordReader(Reader reader) throws IOException {
+        this.iterator = MAPPER.readerForMapOf(Object.class).readValues(reader);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        try {
+            if (!iterator.hasNextValue()) {
+                return null;
+            }
+            long line = iterator.getParser().currentLocation().getLineNr();
+            return new ImportRecord(line, iterator.nextValue());
+        } catch (JsonProcessingException e) {
+            throw new IOException("Malformed JSON at line " + e.getLocation().getLineNr(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+    }
+}
@@ -0,0 +1,18 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streaming reader of catalog records: only the record being read is held in memory.
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null at the end of the input
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    ImportRecord next() throws IOException;
+}
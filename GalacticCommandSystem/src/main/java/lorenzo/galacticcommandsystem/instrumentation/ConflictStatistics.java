@@ -0,0 +1,26 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+/**
+ * Optimistic locking conflicts of an operation, since startup or the last reset.
+ *
+ * @param calls the number of calls
+ * @param conflicts the number of attempts that lost to a concurrent update
+ * @param retries the number of attempts made again after a conflict
+ * @param exhausted the number of calls that still conflicted after their last attempt
+ */
+public record ConflictStatistics(long calls, long conflicts, long retries, long exhausted) {
+
+    /**
+     * Gets the average number of conflicts per call.
+     *
+     * @return the average, 0 if there were no calls
+     */
+    public double averageConflicts() {
+        return calls == 0 ? 0 : (double) conflicts / calls;
+    }
+
+    @Override
+    public String toString() {
+        return calls + " calls, " + conflicts + " conflicts, " + retries + " retries, " + exhausted + " gave up";
+    }
+}
@@ -0,0 +1,102 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the statements, rows and entities of every public {@code MainController} call,
+ * per method. Calls over the warning threshold are logged, as they usually hide an N+1 query.
+ */
+@Slf4j
+@Aspect
+public class ControllerSqlMonitor {
+
+    private final Map<String, Accumulator> methods = new ConcurrentHashMap<>();
+    private final long warnStatements;
+
+    /**
+     * Creates a monitor.
+     *
+     * @param warnStatements the number of statements above which a call is logged as a warning
+     */
+    public ControllerSqlMonitor(long warnStatements) {
+        this.warnStatements = warnStatements;
+    }
+
+    @Around("execution(public * lorenzo.galacticcommandsystem.controller.MainController.*(..))")
+    public Object measure(ProceedingJoinPoint call) throws Throwable {
+        SqlUsage before = SqlCounter.current();
+        try {
+            return call.proceed();
+        } finally {
+            SqlUsage usage = SqlCounter.current().since(before);
+            String method = call.getSignature().getName();
+            methods.computeIfAbsent(method, m -> new Accumulator()).add(usage);
+            if (usage.statements() > warnStatements) {
+                log.warn("MainController.{}: {}", method, usage);
+            } else {
+                log.debug("MainController.{}: {}", method, usage);
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of every method called so far.
+     *
+     * @return the statistics, by method name
+     */
+    public Map<String, MethodSqlStatistics> report() {
+        Map<String, MethodSqlStatistics> report = new TreeMap<>();
+        methods.forEach((method, accumulator) -> report.put(method, accumulator.snapshot()));
+        return report;
+    }
+
+    /**
+     * Gets the statistics of a method.
+     *
+     * @param method the method name
+     * @return the statistics, with no calls if the method was not called
+     */
+    public MethodSqlStatistics report(String method) {
+        Accumulator accumulator = methods.get(method);
+        return accumulator != null ? accumulator.snapshot() : new MethodSqlStatistics(0, SqlUsage.NONE, SqlUsage.NONE);
+    }
+
+    /**
+     * Clears the statistics of all methods.
+     */
+    public void reset() {
+        methods.clear();
+    }
+
+    private static final class Accumulator {
+        private long calls;
+        private long statements;
+        private long rows;
+        private long entities;
+        private long maxStatements;
+        private long maxRows;
+        private long maxEntities;
+
+        synchronized void add(SqlUsage usage) {
+            calls++;
+            statements += usage.statements();
+            rows += usage.rows();
+            entities += usage.entities();
+            maxStatements = Math.max(maxStatements, usage.statements());
+            maxRows = Math.max(maxRows, usage.rows());
+            maxEntities = Math.max(maxEntities, usage.entities());
+        }
+
+        synchronized MethodSqlStatistics snapshot() {
+            return new MethodSqlStatistics(calls, new SqlUsage(statements, rows, entities),
+                    new SqlUsage(maxStatements, maxRows, maxEntities));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source that counts, on the calling thread, the statements executed and the rows read
+ * through its connections. Everything else is passed to the target data source unchanged.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), CountingDataSource::wrapStatement);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), CountingDataSource::wrapStatement);
+    }
+
+    private static Object wrapStatement(Method method, Object result) {
+        return switch (method.getName()) {
+            case "createStatement" -> wrap(Statement.class, (Statement) result, CountingDataSource::countStatement);
+            case "prepareStatement" -> wrap(PreparedStatement.class, (PreparedStatement) result,
+                    CountingDataSource::countStatement);
+            case "prepareCall" -> wrap(CallableStatement.class, (CallableStatement) result,
+                    CountingDataSource::countStatement);
+            default -> result;
+        };
+    }
+
+    private static Object countStatement(Method method, Object result) {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            SqlCounter.statementExecuted();
+        }
+        if (result instanceof ResultSet resultSet) {
+            return wrap(ResultSet.class, resultSet, CountingDataSource::countRow);
+        }
+        return result;
+    }
+
+    private static Object countRow(Method method, Object result) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            SqlCounter.rowRead();
+        }
+        return result;
+    }
+
+    /**
+     * Calls made on the proxy are passed to the target, then their result goes through the handler.
+     */
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+
+    private static <T> T wrap(Class<T> type, T target, ResultHandler handler) {
+        if (target == null) {
+            return null;
+        }
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(method, target, args);
+            }
+            return handler.handle(method, invoke(method, target, args));
+        };
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a crew member joining a spaceship.
+ */
+@Name(CrewAssignmentEvent.NAME)
+@Label("Crew Assignment")
+@Category({"Galactic Command", "Domain"})
+@Description("A crew member assigned to a spaceship, with a new crew history record")
+public class CrewAssignmentEvent extends Event {
+
+    public static final String NAME = "lorenzo.galacticcommandsystem.CrewAssignment";
+
+    @Label("Crew Member ID")
+    long crewMemberId;
+
+    @Label("Spaceship ID")
+    long spaceShipId;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param crewMemberId the crew member ID, null if the crew member is not saved yet
+     * @param spaceShipId the spaceship ID, null if the spaceship is not saved yet
+     */
+    public void complete(Long crewMemberId, Long spaceShipId) {
+        if (shouldCommit()) {
+            this.crewMemberId = FlightEvents.id(crewMemberId);
+            this.spaceShipId = FlightEvents.id(spaceShipId);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.GalacticCommandSystemApplication;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.time.Duration;
+
+/**
+ * Measures how long every event keeps the Swing event dispatch thread busy.
+ * While an event is being handled the window can neither repaint nor react to input,
+ * so events slower than the warning threshold are logged, usually pointing at a database
+ * call made from a listener.
+ */
+@Slf4j
+@Component
+@Profile("!" + GalacticCommandSystemApplication.SERVER_PROFILE)
+public class EdtBlockingMonitor {
+
+    private final long warnNanos;
+    private long events;
+    private long totalNanos;
+    private long maxNanos;
+    private long slowEvents;
+
+    /**
+     * Creates a monitor.
+     *
+     * @param warnMillis the time above which an event is logged as a warning
+     */
+    public EdtBlockingMonitor(@Value("${galaxy.edt.warn-millis:100}") long warnMillis) {
+        this.warnNanos = Duration.ofMillis(warnMillis).toNanos();
+    }
+
+    /**
+     * Replaces the system event queue with one timing every event. Must be called once, before the first window is shown.
+     */
+    public void install() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimedEventQueue());
+    }
+
+    void record(AWTEvent event, long nanos) {
+        boolean slow = nanos > warnNanos;
+        synchronized (this) {
+            events++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (slow) {
+                slowEvents++;
+            }
+        }
+        if (slow) {
+            log.warn("Event dispatch thread blocked for {} ms by {}", nanos / 1_000_000, describe(event));
+        }
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event instanceof InvocationEvent) {
+            return event.paramString();
+        }
+        return event.getClass().getSimpleName() + " on " + event.getSource().getClass().getSimpleName();
+    }
+
+    /**
+     * Gets the time spent dispatching events so far.
+     *
+     * @return the statistics
+     */
+    public synchronized EdtBlockingStatistics report() {
+        return new EdtBlockingStatistics(events, Duration.ofNanos(totalNanos), Duration.ofNanos(maxNanos), slowEvents);
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    public synchronized void reset() {
+        events = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        slowEvents = 0;
+    }
+
+    @PreDestroy
+    void logReport() {
+        EdtBlockingStatistics report = report();
+        if (report.events() > 0) {
+            log.info("Event dispatch thread: {}", report);
+        }
+    }
+
+    /**
+     * Event queue reporting the time spent on every event it dispatches.
+     */
+    private final class TimedEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long start = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                record(event, System.nanoTime() - start);
+            }
+        }
+    }
+}
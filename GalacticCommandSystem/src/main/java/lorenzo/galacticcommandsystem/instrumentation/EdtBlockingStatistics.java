@@ -0,0 +1,20 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import java.time.Duration;
+
+/**
+ * Time the Swing event dispatch thread spent handling events, since startup or the last reset.
+ *
+ * @param events the number of events dispatched
+ * @param total the time spent dispatching all the events
+ * @param max the longest time spent on a single event
+ * @param slowEvents the number of events over the warning threshold
+ */
+public record EdtBlockingStatistics(long events, Duration total, Duration max, long slowEvents) {
+
+    @Override
+    public String toString() {
+        return events + " events, " + total.toMillis() + " ms busy, longest " + max.toMillis() + " ms, "
+                + slowEvents + " over the threshold";
+    }
+}
@@ -0,0 +1,32 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Counts the entities loaded by Hibernate on the calling thread, including those read from
+ * the second-level cache.
+ */
+public class EntityLoadCounter implements PostLoadEventListener {
+
+    /**
+     * Registers a counter on the session factory behind an entity manager factory.
+     *
+     * @param entityManagerFactory the entity manager factory
+     */
+    public static void register(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new EntityLoadCounter());
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlCounter.entityLoaded();
+    }
+}
@@ -0,0 +1,20 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+/**
+ * Helpers shared by the Flight Recorder events of the application.
+ */
+final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Converts an entity ID to an event field, which cannot be null.
+     *
+     * @param id the ID, null for an entity not saved yet
+     * @return the ID, or 0 for an entity not saved yet
+     */
+    static long id(Long id) {
+        return id != null ? id : 0;
+    }
+}
@@ -0,0 +1,112 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Starts and dumps a Java Flight Recorder recording from inside the application, so latency spikes
+ * can be read next to the garbage collections and lock contention of the same period.
+ * <p>
+ * The recording uses a JDK configuration ({@code galaxy.jfr.settings}, the low-overhead "default" unless set)
+ * and adds the events of the application. It keeps the last {@code galaxy.jfr.max-age} of data on disk
+ * until it is stopped, and can be dumped any number of times meanwhile.
+ */
+@Slf4j
+@Component
+public class FlightRecordingService {
+
+    private static final List<String> DOMAIN_EVENTS = List.of(MissionAssignmentEvent.NAME, MissionFundingEvent.NAME,
+            CrewAssignmentEvent.NAME, ObjectiveCompletionEvent.NAME);
+
+    @Value("${galaxy.jfr.settings:default}")
+    private String settings = "default";
+
+    @Value("${galaxy.jfr.max-age:PT30M}")
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * Shortest repository call recorded; shorter calls are counted by the metrics only.
+     */
+    @Value("${galaxy.jfr.query-threshold:PT0.001S}")
+    private Duration queryThreshold = Duration.ofMillis(1);
+
+    private Recording recording;
+
+    /**
+     * Starts recording, unless a recording started by this service is already running.
+     *
+     * @return true if a recording was started
+     * @throws IllegalStateException if the JDK configuration cannot be read
+     */
+    public synchronized boolean start() {
+        if (recording != null) {
+            return false;
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot read the flight recorder settings " + settings, e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName("GalacticCommandSystem");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        DOMAIN_EVENTS.forEach(event -> started.enable(event).withThreshold(Duration.ZERO));
+        started.enable(RepositoryCallEvent.NAME).withThreshold(queryThreshold);
+        started.start();
+        recording = started;
+        log.info("Flight recording started with the {} settings", settings);
+        return true;
+    }
+
+    /**
+     * Writes the data recorded so far to a file. The recording goes on.
+     *
+     * @param file the file to write, usually with the .jfr extension
+     * @return the file
+     * @throws IllegalStateException if no recording is running
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized Path dump(Path file) {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the flight recording to " + file, e);
+        }
+        log.info("Flight recording dumped to {}", file);
+        return file;
+    }
+
+    /**
+     * Stops and discards the recording, if one is running.
+     */
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Checks whether a recording started by this service is running.
+     *
+     * @return true if recording
+     */
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
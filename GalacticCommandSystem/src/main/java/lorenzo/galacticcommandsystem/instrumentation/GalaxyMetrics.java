@@ -0,0 +1,135 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named timers, counters and gauges of the application, for monitoring in production.
+ * <p>
+ * Timers keep a {@link LatencyHistogram} of durations, counters count events, and gauges read a
+ * value each time the metrics are reported. Timers and counters are created on first use and are
+ * safe to update from any thread.
+ */
+@Slf4j
+public class GalaxyMetrics implements GalaxyMetricsMXBean {
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a timer, creating it if needed.
+     *
+     * @param name the timer name
+     * @return the timer
+     */
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets a counter, creating it if needed.
+     *
+     * @param name the counter name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     *
+     * @param name the gauge name
+     * @param value reads the value of the gauge
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Wraps a gauge that is costly to read, such as a database count, so it is read at most once per period.
+     *
+     * @param value reads the value of the gauge
+     * @param timeToLive how long a value is reported before it is read again
+     * @return the cached gauge
+     */
+    public static DoubleSupplier cached(DoubleSupplier value, Duration timeToLive) {
+        long ttlNanos = timeToLive.toNanos();
+        return new DoubleSupplier() {
+            private double cached;
+            private long readAt;
+            private boolean read;
+
+            @Override
+            public synchronized double getAsDouble() {
+                long now = System.nanoTime();
+                if (!read || now - readAt >= ttlNanos) {
+                    cached = value.getAsDouble();
+                    readAt = now;
+                    read = true;
+                }
+                return cached;
+            }
+        };
+    }
+
+    /**
+     * Takes a snapshot of every metric. A gauge that fails to read is reported as NaN.
+     *
+     * @return the metrics, by name
+     */
+    public MetricsReport report() {
+        Map<String, TimerStatistics> timerReport = new TreeMap<>();
+        timers.forEach((name, timer) -> timerReport.put(name, timer.snapshot()));
+        return new MetricsReport(timerReport, getCounters(), getGauges());
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> report = new TreeMap<>();
+        counters.forEach((name, counter) -> report.put(name, counter.sum()));
+        return report;
+    }
+
+    @Override
+    public Map<String, Double> getGauges() {
+        Map<String, Double> report = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                report.put(name, gauge.getAsDouble());
+            } catch (RuntimeException e) {
+                log.debug("Gauge {} could not be read", name, e);
+                report.put(name, Double.NaN);
+            }
+        });
+        return report;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyMillis() {
+        Map<String, Double> report = new TreeMap<>();
+        timers.forEach((name, timer) -> {
+            TimerStatistics statistics = timer.snapshot();
+            report.put(name + ".count", (double) statistics.count());
+            report.put(name + ".mean", statistics.meanNanos() / 1e6);
+            report.put(name + ".p50", statistics.p50Nanos() / 1e6);
+            report.put(name + ".p95", statistics.p95Nanos() / 1e6);
+            report.put(name + ".p99", statistics.p99Nanos() / 1e6);
+            report.put(name + ".max", statistics.maxNanos() / 1e6);
+        });
+        return report;
+    }
+
+    @Override
+    public void reset() {
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+}
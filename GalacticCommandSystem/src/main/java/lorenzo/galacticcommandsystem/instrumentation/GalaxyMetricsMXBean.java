@@ -0,0 +1,35 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link GalaxyMetrics}, readable with JConsole or VisualVM.
+ */
+public interface GalaxyMetricsMXBean {
+
+    /**
+     * Gets the counters.
+     *
+     * @return the count of every counter, by name
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Gets the current value of the gauges.
+     *
+     * @return the value of every gauge, by name
+     */
+    Map<String, Double> getGauges();
+
+    /**
+     * Gets the latency of every timer, in milliseconds.
+     *
+     * @return the count, mean, percentiles and maximum of every timer, by timer name and statistic
+     */
+    Map<String, Double> getLatencyMillis();
+
+    /**
+     * Clears the timers and the counters.
+     */
+    void reset();
+}
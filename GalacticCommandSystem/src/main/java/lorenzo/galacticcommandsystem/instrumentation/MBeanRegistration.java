@@ -0,0 +1,56 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * An MBean registered in the platform MBean server, unregistered when closed.
+ */
+@Slf4j
+public final class MBeanRegistration implements AutoCloseable {
+
+    private final MBeanServer server;
+    private final ObjectName name;
+
+    private MBeanRegistration(MBeanServer server, ObjectName name) {
+        this.server = server;
+        this.name = name;
+    }
+
+    /**
+     * Registers an MBean, replacing the one of an earlier application context in the same JVM.
+     *
+     * @param mbean the MBean
+     * @param objectName the object name
+     * @return the registration
+     * @throws IllegalStateException if the MBean cannot be registered
+     */
+    public static MBeanRegistration register(Object mbean, String objectName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            return new MBeanRegistration(server, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register MBean " + objectName, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            log.warn("Cannot unregister MBean {}", name, e);
+        }
+    }
+}
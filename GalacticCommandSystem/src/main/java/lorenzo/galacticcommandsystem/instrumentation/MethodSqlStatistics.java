@@ -0,0 +1,25 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+/**
+ * Database work of the calls to a method, since startup or the last reset.
+ *
+ * @param calls the number of calls
+ * @param total the work done by all the calls
+ * @param max the largest counts seen in a single call, each taken separately
+ */
+public record MethodSqlStatistics(long calls, SqlUsage total, SqlUsage max) {
+
+    /**
+     * Gets the average number of statements per call.
+     *
+     * @return the average, 0 if there were no calls
+     */
+    public double averageStatements() {
+        return calls == 0 ? 0 : (double) total.statements() / calls;
+    }
+
+    @Override
+    public String toString() {
+        return calls + " calls, " + total + ", at most " + max + " per call";
+    }
+}
@@ -0,0 +1,14 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import java.util.Map;
+
+/**
+ * Snapshot of all the {@link GalaxyMetrics}.
+ *
+ * @param timers the statistics of every timer, by name
+ * @param counters the count of every counter, by name
+ * @param gauges the value of every gauge, by name
+ */
+public record MetricsReport(Map<String, TimerStatistics> timers, Map<String, Long> counters,
+                           Map<String, Double> gauges) {
+}
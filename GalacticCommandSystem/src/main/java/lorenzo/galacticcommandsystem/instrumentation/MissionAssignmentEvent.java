@@ -0,0 +1,49 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of an assignment of a mission to a spaceship from the screens.
+ */
+@Name(MissionAssignmentEvent.NAME)
+@Label("Mission Assignment")
+@Category({"Galactic Command", "Domain"})
+@Description("A mission assigned to a spaceship through MainController.assignMissionToShip")
+public class MissionAssignmentEvent extends Event {
+
+    public static final String NAME = "lorenzo.galacticcommandsystem.MissionAssignment";
+
+    /**
+     * Outcome recorded when the assignment failed with an exception.
+     */
+    public static final String FAILED = "FAILED";
+
+    @Label("Mission ID")
+    long missionId;
+
+    @Label("Spaceship ID")
+    long spaceShipId;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param missionId the mission ID
+     * @param spaceShipId the spaceship ID
+     * @param outcome what happened to the assignment
+     */
+    public void complete(Long missionId, Long spaceShipId, Object outcome) {
+        if (shouldCommit()) {
+            this.missionId = FlightEvents.id(missionId);
+            this.spaceShipId = FlightEvents.id(spaceShipId);
+            this.outcome = String.valueOf(outcome);
+            commit();
+        }
+    }
+}
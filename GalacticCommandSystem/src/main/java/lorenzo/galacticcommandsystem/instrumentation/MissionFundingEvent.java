@@ -0,0 +1,51 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+
+/**
+ * Flight Recorder event of a movement of mission funding or crew credits, written with its ledger entry.
+ */
+@Name(MissionFundingEvent.NAME)
+@Label("Mission Funding")
+@Category({"Galactic Command", "Domain"})
+@Description("Mission funding or crew credits added or taken through the ledger")
+public class MissionFundingEvent extends Event {
+
+    public static final String NAME = "lorenzo.galacticcommandsystem.MissionFunding";
+
+    @Label("Account Type")
+    @Description("MISSION for mission funding, CREW_MEMBER for crew credits")
+    String accountType;
+
+    @Label("Account ID")
+    @Description("The ID of the mission or crew member")
+    long accountId;
+
+    @Label("Change")
+    @Description("The amount added, negative when credits are taken")
+    double change;
+
+    @Label("Reason")
+    String reason;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param entry the ledger entry of the movement
+     */
+    public void complete(LedgerEntry entry) {
+        if (shouldCommit()) {
+            this.accountType = entry.getAccountType().name();
+            this.accountId = FlightEvents.id(entry.getAccountId());
+            this.change = FixedPoint.toCredits(entry.getAmount());
+            this.reason = entry.getReason();
+            commit();
+        }
+    }
+}
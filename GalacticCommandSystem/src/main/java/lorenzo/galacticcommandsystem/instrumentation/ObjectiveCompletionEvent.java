@@ -0,0 +1,44 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of an objective performed and removed from its mission.
+ */
+@Name(ObjectiveCompletionEvent.NAME)
+@Label("Objective Completion")
+@Category({"Galactic Command", "Domain"})
+@Description("An exploration or building objective performed")
+public class ObjectiveCompletionEvent extends Event {
+
+    public static final String NAME = "lorenzo.galacticcommandsystem.ObjectiveCompletion";
+
+    @Label("Objective ID")
+    long objectiveId;
+
+    @Label("Mission ID")
+    long missionId;
+
+    @Label("Operation")
+    String operation;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param objectiveId the objective ID
+     * @param missionId the ID of the mission the objective belonged to
+     * @param operation "exploration" or "building"
+     */
+    public void complete(Long objectiveId, Long missionId, String operation) {
+        if (shouldCommit()) {
+            this.objectiveId = FlightEvents.id(objectiveId);
+            this.missionId = FlightEvents.id(missionId);
+            this.operation = operation;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lorenzo.galacticcommandsystem.service.BulkAssignmentReport;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Times every public {@code MainController} call, per method, and counts the assignments,
+ * funding movements and crew transfers that complete, whichever screen or service made them.
+ */
+@Aspect
+public class OperationMetricsMonitor {
+
+    public static final String CONTROLLER_TIMER_PREFIX = "controller.";
+    public static final String CONTROLLER_ERRORS_PREFIX = "controller.errors.";
+    public static final String ASSIGNMENTS = "assignments.created";
+    public static final String FUNDING_MOVEMENTS = "funding.movements";
+    public static final String CREW_TRANSFERS = "crew.transfers";
+
+    private final GalaxyMetrics metrics;
+
+    /**
+     * Creates a monitor.
+     *
+     * @param metrics the metrics to record into
+     */
+    public OperationMetricsMonitor(GalaxyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Around("execution(public * lorenzo.galacticcommandsystem.controller.MainController.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        String method = call.getSignature().getName();
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            metrics.counter(CONTROLLER_ERRORS_PREFIX + method).increment();
+            throw e;
+        } finally {
+            metrics.timer(CONTROLLER_TIMER_PREFIX + method).record(System.nanoTime() - start);
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(public * lorenzo.galacticcommandsystem.service.BulkAssignmentService.assign(..))",
+                    returning = "report")
+    public void countAssignments(BulkAssignmentReport report) {
+        metrics.counter(ASSIGNMENTS).add(report.assigned());
+    }
+
+    @AfterReturning("execution(public * lorenzo.galacticcommandsystem.service.LedgerService.deposit(..))" +
+                    " || execution(public * lorenzo.galacticcommandsystem.service.LedgerService.withdraw(..))" +
+                    " || execution(public * lorenzo.galacticcommandsystem.service.LedgerService.addMissionFunding(..))" +
+                    " || execution(public * lorenzo.galacticcommandsystem.service.LedgerService.transfer(..))")
+    public void countFundingMovement() {
+        metrics.counter(FUNDING_MOVEMENTS).increment();
+    }
+
+    @AfterReturning(pointcut = "execution(public boolean lorenzo.galacticcommandsystem.service.FleetOperationsService.transferCrewMember(..))",
+                    returning = "moved")
+    public void countCrewTransfer(boolean moved) {
+        if (moved) {
+            metrics.counter(CREW_TRANSFERS).increment();
+        }
+    }
+}
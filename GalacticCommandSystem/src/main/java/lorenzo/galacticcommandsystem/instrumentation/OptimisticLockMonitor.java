@@ -0,0 +1,79 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the optimistic locking conflicts and retries of every write operation, per operation name.
+ * A rising conflict rate shows which rows many users write at once.
+ */
+@Component
+public class OptimisticLockMonitor {
+
+    private final Map<String, Accumulator> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call that completed, successfully or not.
+     *
+     * @param operation the operation name
+     * @param conflicts the number of attempts that conflicted
+     * @param exhausted true if the last attempt conflicted too and the call gave up
+     */
+    public void record(String operation, int conflicts, boolean exhausted) {
+        operations.computeIfAbsent(operation, o -> new Accumulator()).add(conflicts, exhausted);
+    }
+
+    /**
+     * Gets the statistics of every operation called so far.
+     *
+     * @return the statistics, by operation name
+     */
+    public Map<String, ConflictStatistics> report() {
+        Map<String, ConflictStatistics> report = new TreeMap<>();
+        operations.forEach((operation, accumulator) -> report.put(operation, accumulator.snapshot()));
+        return report;
+    }
+
+    /**
+     * Gets the statistics of an operation.
+     *
+     * @param operation the operation name
+     * @return the statistics, with no calls if the operation was not called
+     */
+    public ConflictStatistics report(String operation) {
+        Accumulator accumulator = operations.get(operation);
+        return accumulator != null ? accumulator.snapshot() : new ConflictStatistics(0, 0, 0, 0);
+    }
+
+    /**
+     * Clears the statistics of all operations.
+     */
+    public void reset() {
+        operations.clear();
+    }
+
+    private static final class Accumulator {
+        private long calls;
+        private long conflicts;
+        private long retries;
+        private long exhausted;
+
+        synchronized void add(int conflicts, boolean exhausted) {
+            calls++;
+            this.conflicts += conflicts;
+            if (exhausted) {
+                this.exhausted++;
+                retries += conflicts - 1;
+            } else {
+                retries += conflicts;
+            }
+        }
+
+        synchronized ConflictStatistics snapshot() {
+            return new ConflictStatistics(calls, conflicts, retries, exhausted);
+        }
+    }
+}
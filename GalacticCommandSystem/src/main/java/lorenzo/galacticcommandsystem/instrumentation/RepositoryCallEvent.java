@@ -0,0 +1,44 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of a call to a Spring Data repository, recorded by the {@link RepositoryCallMonitor}.
+ * Only calls of at least 1 ms are recorded unless a recording sets a lower threshold.
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Galactic Command", "Persistence"})
+@Description("A repository method call, with the rows it returned and the SQL it ran")
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+
+    public static final String NAME = "lorenzo.galacticcommandsystem.RepositoryCall";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity ID")
+    @Description("The first argument when it is an ID, 0 otherwise")
+    long entityId;
+
+    @Label("Result Rows")
+    @Description("Entities or rows returned or updated, -1 for a stream read later")
+    long resultRows;
+
+    @Label("Statements")
+    @Description("SQL statements executed during the call, 0 without SQL instrumentation")
+    long statements;
+
+    @Label("Rows Read")
+    @Description("JDBC rows read during the call, 0 without SQL instrumentation")
+    long rowsRead;
+}
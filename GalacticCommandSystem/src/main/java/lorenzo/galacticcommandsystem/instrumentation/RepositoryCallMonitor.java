@@ -0,0 +1,101 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Records a {@link RepositoryCallEvent} for every call to a repository of the application,
+ * including the methods inherited from Spring Data, and the calls that fail.
+ * When the event is not enabled in any recording, a call only costs the check of the event state.
+ */
+@Aspect
+public class RepositoryCallMonitor {
+
+    private static final String REPOSITORY_PACKAGE = "lorenzo.galacticcommandsystem.repository";
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * lorenzo.galacticcommandsystem.repository.*Repository+.*(..))")
+    public Object record(ProceedingJoinPoint call) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        SqlUsage before = SqlCounter.current();
+        Object result = null;
+        event.begin();
+        try {
+            result = call.proceed();
+            return result;
+        } finally {
+            event.end();
+            commit(event, call, before, result);
+        }
+    }
+
+    private void commit(RepositoryCallEvent event, ProceedingJoinPoint call, SqlUsage before, Object result) {
+        if (event.shouldCommit()) {
+            SqlUsage usage = SqlCounter.current().since(before);
+            MethodSignature signature = (MethodSignature) call.getSignature();
+            Object[] args = call.getArgs();
+            event.repository = repositoryName(call.getThis());
+            event.method = signature.getName();
+            event.entityId = args.length > 0 && args[0] instanceof Number id ? id.longValue() : 0;
+            event.resultRows = rows(result, signature.getMethod().isAnnotationPresent(Modifying.class));
+            event.statements = usage.statements();
+            event.rowsRead = usage.rows();
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts the rows of a repository result.
+     *
+     * @param result the result
+     * @param modifying whether the method is an update, whose number result is the rows updated
+     * @return the number of rows, -1 for a stream that is read after the call
+     */
+    static long rows(Object result, boolean modifying) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Number number && modifying) {
+            return number.longValue();
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> repository : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (repository.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    return repository.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+/**
+ * Counts the database work done by each thread.
+ * <p>
+ * The counters only grow, so the work done by a call is the difference between two readings
+ * taken on the same thread, and nested measurements do not interfere with each other.
+ */
+public final class SqlCounter {
+
+    private static final int STATEMENTS = 0;
+    private static final int ROWS = 1;
+    private static final int ENTITIES = 2;
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[3]);
+
+    private SqlCounter() {
+    }
+
+    static void statementExecuted() {
+        COUNTS.get()[STATEMENTS]++;
+    }
+
+    static void rowRead() {
+        COUNTS.get()[ROWS]++;
+    }
+
+    static void entityLoaded() {
+        COUNTS.get()[ENTITIES]++;
+    }
+
+    /**
+     * Reads the counters of the current thread.
+     *
+     * @return the work done by the current thread so far
+     */
+    public static SqlUsage current() {
+        long[] counts = COUNTS.get();
+        return new SqlUsage(counts[STATEMENTS], counts[ROWS], counts[ENTITIES]);
+    }
+}
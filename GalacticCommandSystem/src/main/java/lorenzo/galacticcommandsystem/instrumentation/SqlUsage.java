@@ -0,0 +1,31 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+/**
+ * Database work done by a piece of code.
+ *
+ * @param statements the number of SQL statements executed
+ * @param rows the number of rows read from result sets
+ * @param entities the number of entities loaded by Hibernate
+ */
+public record SqlUsage(long statements, long rows, long entities) {
+
+    /**
+     * No database work.
+     */
+    public static final SqlUsage NONE = new SqlUsage(0, 0, 0);
+
+    /**
+     * Gets the work done since an earlier reading of the same counters.
+     *
+     * @param earlier the earlier reading
+     * @return the difference
+     */
+    public SqlUsage since(SqlUsage earlier) {
+        return new SqlUsage(statements - earlier.statements, rows - earlier.rows, entities - earlier.entities);
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + entities + " entities";
+    }
+}
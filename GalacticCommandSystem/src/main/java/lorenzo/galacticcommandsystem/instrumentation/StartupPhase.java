@@ -0,0 +1,17 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import java.time.Duration;
+
+/**
+ * Time spent in a phase of the application startup.
+ *
+ * @param name the phase
+ * @param duration the time spent in it
+ */
+public record StartupPhase(String name, Duration duration) {
+
+    @Override
+    public String toString() {
+        return name + " " + duration.toMillis() + " ms";
+    }
+}
@@ -0,0 +1,114 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.GalaxyDataInitializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs how long the application took to start, phase by phase, once it is ready.
+ * <p>
+ * The phases come from the startup steps recorded by the {@link BufferingApplicationStartup} set up in
+ * {@code main}: the time the JVM took to reach {@code main}, the preparation of the environment,
+ * the refresh of the context, and within it the JPA metamodel and the {@link GalaxyDataInitializer}.
+ * When the application is started without it, as in tests, only the total is reported.
+ */
+@Slf4j
+@Component
+public class StartupReport implements ApplicationStartupAware {
+
+    static final String JVM = "jvm";
+    static final String ENVIRONMENT = "environment";
+    static final String CONTEXT = "context";
+    static final String JPA_METAMODEL = "jpa-metamodel";
+    static final String DATA_INITIALIZER = "data-initializer";
+    static final String TOTAL = "total";
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    private volatile List<StartupPhase> phases = List.of();
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Reports the startup after the other ready listeners have run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady() {
+        Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        List<StartupPhase> report = new ArrayList<>();
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            report.addAll(phases(buffering.getBufferedTimeline(), jvmStart));
+        }
+        report.add(new StartupPhase(TOTAL, Duration.between(jvmStart, Instant.now())));
+        phases = List.copyOf(report);
+        log.info("Startup: {}", phases);
+    }
+
+    /**
+     * Gets the phases of the last startup.
+     *
+     * @return the phases, the total last, or an empty list before the application is ready
+     */
+    public List<StartupPhase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Extracts the phases from a startup timeline. Phases with no recorded step are left out.
+     *
+     * @param timeline the recorded startup steps
+     * @param jvmStart when the JVM started
+     * @return the phases, in startup order
+     */
+    static List<StartupPhase> phases(StartupTimeline timeline, Instant jvmStart) {
+        List<StartupPhase> phases = new ArrayList<>();
+        phases.add(new StartupPhase(JVM, Duration.between(jvmStart, timeline.getStartTime())));
+        find(timeline, "spring.boot.application.environment-prepared", null)
+                .ifPresent(duration -> phases.add(new StartupPhase(ENVIRONMENT, duration)));
+        find(timeline, "spring.context.refresh", null)
+                .ifPresent(duration -> phases.add(new StartupPhase(CONTEXT, duration)));
+        find(timeline, "spring.beans.instantiate", "entityManagerFactory")
+                .ifPresent(duration -> phases.add(new StartupPhase(JPA_METAMODEL, duration)));
+        find(timeline, GalaxyDataInitializer.STARTUP_STEP, null)
+                .ifPresent(duration -> phases.add(new StartupPhase(DATA_INITIALIZER, duration)));
+        return phases;
+    }
+
+    /**
+     * Finds the duration of the first step with the given name, and bean name tag if not null.
+     */
+    private static Optional<Duration> find(StartupTimeline timeline, String name, String beanName) {
+        return timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getName().equals(name))
+                .filter(event -> beanName == null || hasBeanName(event.getStartupStep(), beanName))
+                .map(StartupTimeline.TimelineEvent::getDuration)
+                .findFirst();
+    }
+
+    private static boolean hasBeanName(StartupStep step, String beanName) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                // a factory bean is instantiated under its own name, prefixed with "&"
+                .anyMatch(tag -> tag.getKey().equals("beanName")
+                        && (tag.getValue().equals(beanName) || tag.getValue().equals("&" + beanName)));
+    }
+}
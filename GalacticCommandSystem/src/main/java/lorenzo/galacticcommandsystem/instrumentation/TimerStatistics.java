@@ -0,0 +1,31 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import java.util.Locale;
+
+/**
+ * Durations of the calls to an operation, since startup or the last reset.
+ *
+ * @param count the number of calls
+ * @param totalNanos the time spent in all the calls
+ * @param maxNanos the longest call
+ * @param p50Nanos the median duration
+ * @param p95Nanos the duration 95% of the calls did not exceed
+ * @param p99Nanos the duration 99% of the calls did not exceed
+ */
+public record TimerStatistics(long count, long totalNanos, long maxNanos, long p50Nanos, long p95Nanos, long p99Nanos) {
+
+    /**
+     * Gets the average duration of a call.
+     *
+     * @return the average in nanoseconds, 0 if there were no calls
+     */
+    public long meanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d calls, mean %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms",
+                count, meanNanos() / 1e6, p50Nanos / 1e6, p95Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+    }
+}
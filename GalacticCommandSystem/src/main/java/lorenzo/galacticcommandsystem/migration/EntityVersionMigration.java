@@ -0,0 +1,47 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sets the optimistic locking version of the missions, spaceships and crew members written before
+ * they were versioned. The schema update adds the VERSION column empty, and Hibernate cannot update
+ * a row whose version is null: every change to those rows would be reported as a conflict.
+ */
+@Component
+@Order(2)
+public class EntityVersionMigration implements SchemaMigration {
+
+    private static final List<String> VERSIONED_TABLES = List.of("MISSION", "SPACE_SHIP", "CREW_MEMBER");
+
+    @Override
+    public String getDescription() {
+        return "set the VERSION of existing missions, spaceships and crew members";
+    }
+
+    @Override
+    public boolean isPending(JdbcTemplate jdbcTemplate) {
+        for (String table : VERSIONED_TABLES) {
+            if (SchemaMigration.columnExists(jdbcTemplate, table, "VERSION")) {
+                Integer unversioned = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM " + table + " WHERE version IS NULL", Integer.class);
+                if (unversioned != null && unversioned > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        for (String table : VERSIONED_TABLES) {
+            if (SchemaMigration.columnExists(jdbcTemplate, table, "VERSION")) {
+                jdbcTemplate.update("UPDATE " + table + " SET version = 0 WHERE version IS NULL");
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves mission funding and crew credits from the old floating point FUNDING and CREDITS columns to
+ * FUNDING_UNITS and CREDITS_UNITS, in whole hundredths of a credit, then drops the old columns.
+ * The schema update cannot add the new NOT NULL columns to a table that has rows, so they are added
+ * here when it left them out, and made NOT NULL once they are filled.
+ * Amounts are converted by {@link FixedPoint#toUnits}, rounding half to even like every other conversion,
+ * which SQL {@code ROUND} does not do. Missing or non-finite amounts are moved to 0.
+ */
+@Slf4j
+@Component
+@Order(3)
+public class FixedPointAmountMigration implements SchemaMigration {
+
+    private static final List<String[]> AMOUNT_COLUMNS = List.of(
+            new String[]{"MISSION", "FUNDING"},
+            new String[]{"CREW_MEMBER", "CREDITS"});
+
+    @Override
+    public String getDescription() {
+        return "move MISSION.FUNDING and CREW_MEMBER.CREDITS into hundredths columns";
+    }
+
+    @Override
+    public boolean isPending(JdbcTemplate jdbcTemplate) {
+        return AMOUNT_COLUMNS.stream()
+                .anyMatch(column -> SchemaMigration.columnExists(jdbcTemplate, column[0], column[1]));
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        for (String[] column : AMOUNT_COLUMNS) {
+            String table = column[0];
+            String oldColumn = column[1];
+            String newColumn = oldColumn + "_UNITS";
+            if (!SchemaMigration.columnExists(jdbcTemplate, table, oldColumn)) {
+                continue;
+            }
+            if (!SchemaMigration.columnExists(jdbcTemplate, table, newColumn)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN " + newColumn + " BIGINT");
+            }
+            List<Object[]> units = new ArrayList<>();
+            jdbcTemplate.query("SELECT id, " + oldColumn + " FROM " + table, rs -> {
+                long id = rs.getLong(1);
+                double amount = rs.getDouble(2);
+                if (rs.wasNull() || !Double.isFinite(amount)) {
+                    log.warn("{} {} has an invalid {} amount, moving it to 0", table, id, oldColumn);
+                    amount = 0;
+                }
+                units.add(new Object[]{FixedPoint.toUnits(amount), id});
+            });
+            jdbcTemplate.batchUpdate("UPDATE " + table + " SET " + newColumn + " = ? WHERE id = ?", units);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + newColumn + " SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + oldColumn);
+        }
+    }
+}
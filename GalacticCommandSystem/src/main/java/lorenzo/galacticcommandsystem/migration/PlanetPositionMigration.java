@@ -0,0 +1,53 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.model.Planet;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves planet positions from the old "x,y,z" text column to the numeric X, Y and Z columns,
+ * then drops the text column, which the entity no longer maps and which would otherwise make
+ * the migration pending again on every startup.
+ * Positions that cannot be parsed, or whose coordinates are not finite numbers, are moved to 0,0,0.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class PlanetPositionMigration implements SchemaMigration {
+
+    @Override
+    public String getDescription() {
+        return "move PLANET.POSITION into the X, Y and Z columns";
+    }
+
+    @Override
+    public boolean isPending(JdbcTemplate jdbcTemplate) {
+        return SchemaMigration.columnExists(jdbcTemplate, "PLANET", "POSITION");
+    }
+
+    @Override
+    public void migrate(JdbcTemplate jdbcTemplate) {
+        List<Object[]> coordinates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, position FROM planet", rs -> {
+            long id = rs.getLong("id");
+            String position = rs.getString("position");
+            try {
+                double[] xyz = Planet.parsePosition(position);
+                if (!Double.isFinite(xyz[0]) || !Double.isFinite(xyz[1]) || !Double.isFinite(xyz[2])) {
+                    throw new IllegalArgumentException("Position coordinates must be finite");
+                }
+                coordinates.add(new Object[]{xyz[0], xyz[1], xyz[2], id});
+            } catch (IllegalArgumentException e) {
+                log.warn("Planet {} has an invalid position '{}', moving it to 0,0,0", id, position);
+                coordinates.add(new Object[]{0.0, 0.0, 0.0, id});
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE planet SET x = ?, y = ?, z = ? WHERE id = ?", coordinates);
+        jdbcTemplate.execute("ALTER TABLE planet DROP COLUMN position");
+    }
+}
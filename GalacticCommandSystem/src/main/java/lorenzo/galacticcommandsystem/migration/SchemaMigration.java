@@ -0,0 +1,52 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A change to existing database files that Hibernate's schema update cannot do on its own,
+ * such as moving data between columns or dropping a column that is no longer mapped.
+ * <p>
+ * Migrations run at startup, after the schema update and before any data is seeded,
+ * in the order given by {@link org.springframework.core.annotation.Order}.
+ * They must be idempotent: {@link #isPending} decides from the current schema whether to run.
+ */
+public interface SchemaMigration {
+
+    /**
+     * Gets a short description of the migration, used in the logs.
+     *
+     * @return the description
+     */
+    String getDescription();
+
+    /**
+     * Checks whether the database still needs this migration.
+     *
+     * @param jdbcTemplate access to the database
+     * @return true if the migration must run
+     */
+    boolean isPending(JdbcTemplate jdbcTemplate);
+
+    /**
+     * Applies the migration.
+     *
+     * @param jdbcTemplate access to the database
+     */
+    void migrate(JdbcTemplate jdbcTemplate);
+
+    /**
+     * Checks whether a column exists in the current schema.
+     *
+     * @param jdbcTemplate access to the database
+     * @param table the table name
+     * @param column the column name
+     * @return true if the column exists
+     */
+    static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?",
+                Integer.class, table.toUpperCase(), column.toUpperCase());
+        return count != null && count > 0;
+    }
+}
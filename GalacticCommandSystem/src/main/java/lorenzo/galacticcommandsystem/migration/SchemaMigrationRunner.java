@@ -0,0 +1,41 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Runs the pending {@link SchemaMigration}s when the application starts,
+ * before the galaxy data initializer or anything else reads the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrationRunner {
+
+    private final List<SchemaMigration> migrations;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Applies every pending migration, each in its own transaction.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        for (SchemaMigration migration : migrations) {
+            if (migration.isPending(jdbcTemplate)) {
+                log.info("Applying schema migration: {}", migration.getDescription());
+                transactionTemplate.executeWithoutResult(status -> migration.migrate(jdbcTemplate));
+            }
+        }
+    }
+}
@@ -31,6 +31,15 @@ public abstract class CrewMember {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    /**
+     * Version for optimistic locking, incremented by every update of the crew member.
+     * A concurrent update of the same row fails instead of silently overwriting this one.
+     */
+    @Version
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     /**
      * The first name of the crew member.
      * Must be between 2 and 50 characters.
@@ -52,9 +61,12 @@ public abstract class CrewMember {
     /**
      * The amount of credits owned by the crew member.
      * Cannot be negative and defaults to 0.0.
+     * Stored in hundredths, so the ledger can move credits with exact set-based updates.
      */
     @Min(value = 0, message = "Credits cannot be negative")
     @NotNull(message = "Credits are required")
+    @Convert(converter = FixedPointConverter.class)
+    @Column(name = "credits_units")
     @Builder.Default
     private double credits = 0.0;
 
@@ -141,13 +153,17 @@ public abstract class CrewMember {
      * Also creates a new entry in the crew history.
      *
      * @param ship the spaceship to assign to
-     * @throws IllegalArgumentException if ship is null
+     * @param assignmentDate the date of the assignment, recorded in the crew history
+     * @throws IllegalArgumentException if ship or assignmentDate is null
      * @throws IllegalStateException if already assigned to a planet or spaceship
      */
-    public void assignToSpaceShip(SpaceShip ship) {
+    public void assignToSpaceShip(SpaceShip ship, LocalDate assignmentDate) {
         if (ship == null) {
             throw new IllegalArgumentException("Spaceship cannot be null");
         }
+        if (assignmentDate == null) {
+            throw new IllegalArgumentException("Assignment date cannot be null");
+        }
         if (this.planet != null) {
             throw new IllegalStateException("CrewMember is already assigned to a planet");
         }
@@ -162,7 +178,7 @@ public abstract class CrewMember {
         CrewHistory history = CrewHistory.builder()
                 .crewMember(this)
                 .spaceShip(ship)
-                .assignmentDate(LocalDate.now())
+                .assignmentDate(assignmentDate)
                 .build();
 
         this.crewHistoryList.add(history);
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import lorenzo.galacticcommandsystem.event.EngineerEntityListener;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -12,6 +14,7 @@ import java.util.Set;
  * Engineer have a specific technical specialty and a set of skills
  */
 @Entity
+@EntityListeners(EngineerEntityListener.class)
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
@@ -31,6 +34,7 @@ public class Engineer extends CrewMember {
      * Stored as a collection of skill names.
      */
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "engineer_skill", joinColumns = @JoinColumn(name = "engineer_id"))
     @Builder.Default
     private Set<String> skills = new HashSet<>();
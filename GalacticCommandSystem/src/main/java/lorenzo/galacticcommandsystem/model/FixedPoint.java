@@ -0,0 +1,40 @@
+package lorenzo.galacticcommandsystem.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Credit amounts as whole hundredths, the way funding and credits are stored.
+ * Sums and comparisons of stored amounts are exact, unlike those of {@code double} values.
+ */
+public final class FixedPoint {
+
+    /**
+     * Number of stored units in one credit.
+     */
+    public static final long SCALE = 100;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Converts an amount of credits to stored units, rounding half to even to the nearest hundredth.
+     *
+     * @param amount the amount of credits
+     * @return the amount in hundredths
+     * @throws ArithmeticException if the amount does not fit in the stored range
+     */
+    public static long toUnits(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts stored units to an amount of credits.
+     *
+     * @param units the amount in hundredths
+     * @return the amount of credits
+     */
+    public static double toCredits(long units) {
+        return BigDecimal.valueOf(units, 2).doubleValue();
+    }
+}
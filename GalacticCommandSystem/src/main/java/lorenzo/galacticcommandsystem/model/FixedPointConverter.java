@@ -0,0 +1,22 @@
+package lorenzo.galacticcommandsystem.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a credit amount as a whole number of hundredths (see {@link FixedPoint}),
+ * so the database can add and compare amounts exactly in set-based updates.
+ */
+@Converter
+public class FixedPointConverter implements AttributeConverter<Double, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Double amount) {
+        return amount != null ? FixedPoint.toUnits(amount) : null;
+    }
+
+    @Override
+    public Double convertToEntityAttribute(Long units) {
+        return units != null ? FixedPoint.toCredits(units) : null;
+    }
+}
@@ -0,0 +1,15 @@
+package lorenzo.galacticcommandsystem.model;
+
+/**
+ * The kinds of balance the ledger moves credits between.
+ */
+public enum LedgerAccountType {
+    /**
+     * The funding of a mission.
+     */
+    MISSION,
+    /**
+     * The credits of a crew member.
+     */
+    CREW_MEMBER
+}
@@ -0,0 +1,83 @@
+package lorenzo.galacticcommandsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A movement of credits into or out of a balance: the funding of a mission or the credits of a crew member.
+ * Entries are only ever appended, so the entries of an account explain every change of its balance.
+ * The two entries of a transfer share a transfer ID.
+ */
+@Entity
+@Immutable
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_ledger_entry_account", columnList = "accountType, accountId"))
+public class LedgerEntry {
+
+    /**
+     * Unique identifier for the entry, increasing in the order entries are written.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    /**
+     * The kind of balance moved.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LedgerAccountType accountType;
+
+    /**
+     * The ID of the mission or crew member whose balance moved.
+     */
+    @Column(nullable = false)
+    private Long accountId;
+
+    /**
+     * The amount in hundredths of a credit (see {@link FixedPoint}): positive into the balance, negative out of it.
+     */
+    @Column(nullable = false)
+    private long amount;
+
+    /**
+     * Why the credits moved.
+     */
+    @Column(length = 200)
+    private String reason;
+
+    /**
+     * Shared by the two entries of a transfer, null for a deposit or a withdrawal.
+     */
+    private UUID transferId;
+
+    /**
+     * When the entry was written.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Creates an entry.
+     *
+     * @param accountType the kind of balance moved
+     * @param accountId the ID of the mission or crew member
+     * @param amount the signed amount in hundredths of a credit
+     * @param reason why the credits moved
+     * @param transferId the transfer the entry belongs to, or null
+     */
+    public LedgerEntry(LedgerAccountType accountType, Long accountId, long amount, String reason, UUID transferId) {
+        this.accountType = accountType;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.reason = reason;
+        this.transferId = transferId;
+        this.createdAt = Instant.now();
+    }
+}
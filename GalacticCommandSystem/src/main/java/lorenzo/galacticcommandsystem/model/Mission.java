@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -24,6 +26,15 @@ public class Mission {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    /**
+     * Version for optimistic locking, incremented by every update of the mission.
+     * A concurrent update of the same row fails instead of silently overwriting this one.
+     */
+    @Version
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     /**
      * The name of the mission. Must be unique and cannot be blank.
      */
@@ -33,8 +44,11 @@ public class Mission {
 
     /**
      * The funding allocated to the mission. Must be at least 100 units.
+     * Stored in hundredths, so the ledger can move funding with exact set-based updates.
      */
     @Min(value = 100, message = "Mission funding must be at least 100")
+    @Convert(converter = FixedPointConverter.class)
+    @Column(name = "funding_units")
     private double funding;
 
     /**
@@ -43,8 +57,10 @@ public class Mission {
      * persist: salva anche gli assignments nel database
      * remove: se rimuovi la missione rimuove anche gli assignments dal database
      * lazy: carica solo i mission assignments quando sono richiesti
+     * Changes do not bump the mission version, so assigning spaceships does not conflict with funding changes.
      */
     @OneToMany(mappedBy = "mission", cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<MissionAssignment> assignments = new HashSet<>();
@@ -53,6 +69,8 @@ public class Mission {
      * Set of objectives that need to be completed for this mission.
      */
     @OneToMany(mappedBy = "mission", cascade = CascadeType.REMOVE, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @OptimisticLock(excluded = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<Objective> objectives = new HashSet<>();
@@ -217,6 +235,17 @@ public class Mission {
         }
     }
 
+    /**
+     * Points this mission at a planet without adding it to the planet's missions.
+     * Used by bulk paths so the planet's lazy missions collection is not loaded for every row;
+     * the inverse side is rebuilt from the foreign key the next time the planet is loaded.
+     *
+     * @param planet The planet to associate with the mission
+     */
+    public void setPlanetReference(Planet planet) {
+        this.planet = planet;
+    }
+
     /**
      * Removes the association with the current planet.
      */
@@ -250,21 +279,25 @@ public class Mission {
     }
 
     /**
-     * Assigns a spaceship to this mission with an optional end date.
+     * Assigns a spaceship to this mission from today with an optional end date.
      *
      * @param spaceShip The spaceship to assign
+     * @param today The current date, which the assignment starts on
      * @param endDate The date when the assignment should end (must be in the future)
-     * @throws IllegalArgumentException if spaceShip is null or endDate is not in the future
+     * @throws IllegalArgumentException if spaceShip or today is null, or endDate is not in the future
      */
-    public void assignSpaceShip(SpaceShip spaceShip, LocalDate endDate) {
+    public void assignSpaceShip(SpaceShip spaceShip, LocalDate today, LocalDate endDate) {
         if (spaceShip == null) {
             throw new IllegalArgumentException("SpaceShip cannot be null");
         }
-        if (endDate != null && !endDate.isAfter(LocalDate.now())) {
+        if (today == null) {
+            throw new IllegalArgumentException("Current date cannot be null");
+        }
+        if (endDate != null && !endDate.isAfter(today)) {
             throw new IllegalArgumentException("End date must be in the future");
         }
 
-        MissionAssignment assignment = new MissionAssignment(spaceShip, this, endDate);
+        MissionAssignment assignment = new MissionAssignment(spaceShip, this, today, endDate);
         this.assignments.add(assignment);
         spaceShip.getAssignments().add(assignment);
     }
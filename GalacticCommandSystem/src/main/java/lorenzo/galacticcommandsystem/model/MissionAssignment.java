@@ -3,13 +3,17 @@ package lorenzo.galacticcommandsystem.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import lorenzo.galacticcommandsystem.event.MissionAssignmentEntityListener;
 import java.time.LocalDate;
 
 /**
  * This class tracks the relationship between a spaceship and a mission.
  * Each assignment has a start date and an optional end date.
+ * The end date is included: the assignment is still active on that day and ends after it.
+ * The current date is given by the caller, read from the {@code GalaxyClock}.
  */
 @Entity
+@EntityListeners(MissionAssignmentEntityListener.class)
 @Data
 @Table(uniqueConstraints = {
         @UniqueConstraint(columnNames = {"spaceShip_id", "mission_id"}) //unique constraint to avoid duplicate assignments
@@ -43,11 +47,11 @@ public class MissionAssignment {
 
     /**
      * The date when the assignment started.
-     * Cannot be null and defaults to the current date.
+     * Cannot be null.
      */
     @NotNull(message = "Start date is required")
     @Column(name = "start_date", nullable = false)
-    private LocalDate startDate = LocalDate.now();
+    private LocalDate startDate;
 
     /**
      * The date when the assignment ended or will end.
@@ -57,15 +61,17 @@ public class MissionAssignment {
     private LocalDate endDate;
 
     /**
-     * Creates a new mission assignment with the specified spaceship, mission, and optional end date.
+     * Creates a new mission assignment with the specified spaceship, mission, start date and optional end date.
      *
      * @param spaceShip The spaceship to be assigned
      * @param mission The mission to assign the spaceship to
+     * @param startDate The start date of the assignment, usually today
      * @param endDate The end date of the assignment (optional)
-     * @throws IllegalArgumentException if spaceShip or mission is null, or if endDate is not after startDate
+     * @throws IllegalArgumentException if spaceShip, mission or startDate is null, or if endDate is not after startDate
      */
     public MissionAssignment(@NotNull SpaceShip spaceShip,
                            @NotNull Mission mission,
+                           @NotNull LocalDate startDate,
                            LocalDate endDate) {
         if (spaceShip == null) {
             throw new IllegalArgumentException("Spaceship cannot be null");
@@ -73,10 +79,13 @@ public class MissionAssignment {
         if (mission == null) {
             throw new IllegalArgumentException("Mission cannot be null");
         }
+        if (startDate == null) {
+            throw new IllegalArgumentException("Start date cannot be null");
+        }
 
         this.spaceShip = spaceShip;
         this.mission = mission;
-        this.startDate = LocalDate.now();
+        this.startDate = startDate;
 
         if (endDate != null && !endDate.isAfter(this.startDate)) {
             throw new IllegalArgumentException("End date must be after start date");
@@ -87,17 +96,17 @@ public class MissionAssignment {
 
     //default constructor
     public MissionAssignment() {
-        this.startDate = LocalDate.now();
     }
 
     /**
-     * Checks if the assignment is currently active.
-     * An assignment is considered active if it has no end date or if the end date is in the future.
+     * Checks if the assignment is active on a date.
+     * An assignment is considered active if it has no end date or if the end date is not before the date.
      *
+     * @param today The date to check, usually today
      * @return true if the assignment is active, false otherwise
      */
-    public boolean isActive() {
-        return endDate == null || endDate.isAfter(LocalDate.now());
+    public boolean isActive(LocalDate today) {
+        return endDate == null || !endDate.isBefore(today);
     }
 
     /**
@@ -131,18 +140,19 @@ public class MissionAssignment {
     }
 
     /**
-     * Gets a human-readable status of the assignment.
+     * Gets a human-readable status of the assignment on a date.
      * Returns "Active" for assignments without an end date,
-     * "Active until [date]" for assignments with a future end date,
+     * "Active until [date]" for assignments that have not ended,
      * or "Completed on [date]" for assignments that have ended.
      *
-     * @return A string describing the current status of the assignment
+     * @param today The date to describe the status on, usually today
+     * @return A string describing the status of the assignment
      */
-    public String getStatus() {
+    public String getStatus(LocalDate today) {
         if (endDate == null) {
             return "Active";
         }
-        if (endDate.isAfter(LocalDate.now())) {
+        if (isActive(today)) {
             return "Active until " + endDate;
         }
         return "Completed on " + endDate;
@@ -1,19 +1,29 @@
 package lorenzo.galacticcommandsystem.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import lorenzo.galacticcommandsystem.event.NavigatorEntityListener;
 
 /**
  * A Navigator have specific skills and experience in navigation, tracked through various metrics
  * such as navigation bonus, experience years, and successful navigation count.
  */
 @Entity
+@EntityListeners(NavigatorEntityListener.class)
+@Table(indexes = @Index(name = "idx_navigator_skill_score", columnList = "skillScore"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
@@ -21,6 +31,16 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 public class Navigator extends CrewMember {
 
+    /**
+     * The skill level a navigator must exceed to be eligible for critical missions.
+     */
+    public static final double CRITICAL_MISSION_SKILL_LEVEL = 50;
+
+    /**
+     * The SQL of {@link #calculateSkillLevel()}, which the database evaluates to fill the skill score column.
+     */
+    public static final String SKILL_LEVEL_FORMULA = "navigation_experience_years * 1.5 + successful_navigations * 2";
+
     /**
      * The navigation bonus of the navigator.
      * Must be at least 100 and cannot be null.
@@ -45,6 +65,44 @@ public class Navigator extends CrewMember {
     @NotNull
     private double successfulNavigations;
 
+    /**
+     * The skill level of the navigator, stored so that it can be indexed and sorted on.
+     * The database computes the column from the experience and the successful navigations,
+     * so it is also right for rows written by bulk inserts; this copy is kept up to date by their setters.
+     */
+    @Column(columnDefinition = "DOUBLE PRECISION GENERATED ALWAYS AS (" + SKILL_LEVEL_FORMULA + ")",
+            insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private double skillScore;
+
+    /**
+     * Sets the number of years of navigation experience, and updates the skill score.
+     *
+     * @param navigationExperienceYears the years of experience
+     */
+    public void setNavigationExperienceYears(int navigationExperienceYears) {
+        this.navigationExperienceYears = navigationExperienceYears;
+        updateSkillScore();
+    }
+
+    /**
+     * Sets the number of successful navigations, and updates the skill score.
+     *
+     * @param successfulNavigations the number of successful navigations
+     */
+    public void setSuccessfulNavigations(double successfulNavigations) {
+        this.successfulNavigations = successfulNavigations;
+        updateSkillScore();
+    }
+
+    /**
+     * Updates the skill score of a navigator created by the builder, which sets the fields directly.
+     */
+    @PrePersist
+    public void updateSkillScore() {
+        skillScore = calculateSkillLevel();
+    }
+
     /**
      * Calculates the overall skill level of the navigator.
      * The calculation takes into account both experience years and successful navigations.
@@ -57,10 +115,11 @@ public class Navigator extends CrewMember {
 
     /**
      * Records a successful navigation operation.
-     * Increments the successfulNavigations counter.
+     * Increments the successfulNavigations counter and updates the skill score.
      */
     public void recordSuccessfulNavigation() {
         successfulNavigations++;
+        updateSkillScore();
     }
 
     /**
@@ -70,7 +129,7 @@ public class Navigator extends CrewMember {
      * @return true if the navigator's skill level is above 50
      */
     public boolean isEligibleForCriticalMissions() {
-        return calculateSkillLevel() > 50;
+        return calculateSkillLevel() > CRITICAL_MISSION_SKILL_LEVEL;
     }
 
     /**
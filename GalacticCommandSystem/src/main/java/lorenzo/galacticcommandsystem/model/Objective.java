@@ -8,6 +8,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lorenzo.galacticcommandsystem.event.ObjectiveEntityListener;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.EnumSet;
 import java.util.Set;
 
@@ -17,6 +22,7 @@ import java.util.Set;
  * and can be performed when the mission is active.
  */
 @Entity
+@EntityListeners(ObjectiveEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -78,6 +84,8 @@ public class Objective {
     @ElementCollection(targetClass = ObjectiveType.class, fetch = FetchType.LAZY)
     @CollectionTable(name = "objective_types", joinColumns = @JoinColumn(name = "objective_id"))
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "objective-types")
+    @BatchSize(size = 50)
     @Builder.Default
     private Set<ObjectiveType> types = EnumSet.noneOf(ObjectiveType.class);
 
@@ -213,12 +221,13 @@ public class Objective {
 
     /**
      * Validates that objectives cannot be removed from inactive missions.
+     * A completed objective has already left its mission, which was active then.
      *
      * @throws PersistenceException if attempting to remove an objective from an inactive mission
      */
     @PreRemove
     public void preRemove() {
-        if (mission.getMissionState() == MissionState.INACTIVE) {
+        if (mission != null && mission.getMissionState() == MissionState.INACTIVE) {
             throw new PersistenceException("Cannot remove objectives from inactive missions");
         }
     }
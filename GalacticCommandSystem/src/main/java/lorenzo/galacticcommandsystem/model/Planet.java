@@ -2,20 +2,29 @@ package lorenzo.galacticcommandsystem.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import lorenzo.galacticcommandsystem.event.PlanetEntityListener;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * A planet is a celestial body that can have crew members, missions, buildings, and resources.
  * Each planet has a unique name, position in 3D space, and has properties such as atmosphere type.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planet")
+@EntityListeners(PlanetEntityListener.class)
+@Table(indexes = @Index(name = "idx_planet_position", columnList = "x, y, z"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -72,18 +81,30 @@ public class Planet {
     @ElementCollection
     @CollectionTable(name = "planet_buildings", joinColumns = @JoinColumn(name = "planet_id"))
     @Column(name = "building_name", length = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planet-buildings")
     @Builder.Default
     private List<String> buildings = new ArrayList<>();
 
     /**
-     * The position of the planet in 3D space.
-     * Must be in the format "x,y,z" where x, y, and z are valid numbers.
+     * The X coordinate of the planet in 3D space.
      */
-    @NotBlank(message = "Position is required in format x,y,z")
-    @Pattern(regexp = "-?\\d+(\\.\\d+)?,-?\\d+(\\.\\d+)?,-?\\d+(\\.\\d+)?", 
-            message = "Position must be in format x,y,z with valid numbers")
-    @Column(length = 50)
-    private String position;
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double x;
+
+    /**
+     * The Y coordinate of the planet in 3D space.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double y;
+
+    /**
+     * The Z coordinate of the planet in 3D space.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double z;
 
     /**
      * The resources available on this planet.
@@ -96,6 +117,7 @@ public class Planet {
             joinColumns = @JoinColumn(name = "planet_id"),
             inverseJoinColumns = @JoinColumn(name = "resource_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planet-resources")
     @Builder.Default
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -110,35 +132,29 @@ public class Planet {
     private Resource primaryResource;
 
     /**
-     * Static counter for the total number of planets in the system.
+     * Format of a textual position: "x,y,z" where x, y, and z are valid numbers.
      */
-    private static int planetCount = 0;
+    private static final Pattern POSITION_FORMAT =
+            Pattern.compile("-?\\d+(\\.\\d+)?,-?\\d+(\\.\\d+)?,-?\\d+(\\.\\d+)?");
 
     /**
-     * Gets the X coordinate of the planet's position.
+     * Gets the position of the planet in 3D space in the format "x,y,z".
      *
-     * @return the X coordinate as a double
+     * @return the position as a string
      */
-    public double getX() {
-        return Double.parseDouble(position.split(",")[0]);
+    public String getPosition() {
+        return formatPosition(x, y, z);
     }
 
     /**
-     * Gets the Y coordinate of the planet's position.
-     *
-     * @return the Y coordinate as a double
-     */
-    public double getY() {
-        return Double.parseDouble(position.split(",")[1]);
-    }
-
-    /**
-     * Gets the Z coordinate of the planet's position.
+     * Sets the position of the planet in 3D space.
      *
-     * @return the Z coordinate as a double
+     * @param position the position in the format "x,y,z"
+     * @throws IllegalArgumentException if the position is not in the format "x,y,z" with valid numbers
      */
-    public double getZ() {
-        return Double.parseDouble(position.split(",")[2]);
+    public void setPosition(String position) {
+        double[] coordinates = parsePosition(position);
+        setPosition(coordinates[0], coordinates[1], coordinates[2]);
     }
 
     /**
@@ -149,32 +165,48 @@ public class Planet {
      * @param z the Z coordinate
      */
     public void setPosition(double x, double y, double z) {
-        this.position = x + "," + y + "," + z;
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
-     * Gets the total number of planets in the system.
+     * Parses a position in the format "x,y,z".
      *
-     * @return the number of planets
+     * @param position the position to parse
+     * @return the X, Y and Z coordinates
+     * @throws IllegalArgumentException if the position is not in the format "x,y,z" with valid numbers
      */
-    public static int getPlanetCount() {
-        return planetCount;
+    public static double[] parsePosition(String position) {
+        if (position == null || !POSITION_FORMAT.matcher(position.trim()).matches()) {
+            throw new IllegalArgumentException("Position must be in format x,y,z with valid numbers");
+        }
+        String[] parts = position.trim().split(",");
+        return new double[]{
+                Double.parseDouble(parts[0]),
+                Double.parseDouble(parts[1]),
+                Double.parseDouble(parts[2])
+        };
     }
 
     /**
-     * Increments the planet count when a new planet is created.
+     * Formats coordinates as a position "x,y,z", without trailing zeros.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     * @return the position as a string
      */
-    @PostPersist
-    public void onCreate() {
-        planetCount++;
+    public static String formatPosition(double x, double y, double z) {
+        return formatCoordinate(x) + "," + formatCoordinate(y) + "," + formatCoordinate(z);
     }
 
-    /**
-     * Decrements the planet count when a planet is deleted.
-     */
-    @PostRemove
-    public void onDelete() {
-        planetCount--;
+    private static String formatCoordinate(double value) {
+        if (value == 0 || !Double.isFinite(value)) {
+            // BigDecimal cannot represent NaN or infinity
+            return value == 0 ? "0" : String.valueOf(value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
     }
 
     /**
@@ -257,9 +289,27 @@ public class Planet {
      * @return the distance between the planets in the same units as the coordinates
      */
     public double getDistanceTo(Planet other) {
-        double dx = this.getX() - other.getX();
-        double dy = this.getY() - other.getY();
-        double dz = this.getZ() - other.getZ();
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
         return Math.sqrt(dx * dx + dy * dy + dz * dz);
     }
-}
\ No newline at end of file
+
+    /**
+     * Builder for planets; the position can be given either as "x,y,z" or as separate coordinates.
+     */
+    public static class PlanetBuilder {
+
+        /**
+         * Sets the position of the planet in 3D space.
+         *
+         * @param position the position in the format "x,y,z"
+         * @return this builder
+         * @throws IllegalArgumentException if the position is not in the format "x,y,z" with valid numbers
+         */
+        public PlanetBuilder position(String position) {
+            double[] coordinates = parsePosition(position);
+            return x(coordinates[0]).y(coordinates[1]).z(coordinates[2]);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -29,6 +30,15 @@ public class SpaceShip {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    /**
+     * Version for optimistic locking, incremented by every update of the spaceship.
+     * A concurrent update of the same row fails instead of silently overwriting this one.
+     */
+    @Version
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     /**
      * The name of the spaceship.
      * Must be unique and between 2 and 100 characters.
@@ -40,8 +50,10 @@ public class SpaceShip {
 
     /**
      * The current crew members assigned to this spaceship.
+     * Changes do not bump the spaceship version: the crew member owns the link and is versioned itself.
      */
     @OneToMany(mappedBy = "spaceShip", fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     @Builder.Default
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -52,6 +64,7 @@ public class SpaceShip {
      * Assignments are persisted and removed with the spaceship.
      */
     @OneToMany(mappedBy = "spaceShip", cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @Builder.Default
@@ -64,6 +77,7 @@ public class SpaceShip {
      */
     @OneToMany(mappedBy = "spaceShip", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("assignmentDate ASC")
+    @OptimisticLock(excluded = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @Builder.Default
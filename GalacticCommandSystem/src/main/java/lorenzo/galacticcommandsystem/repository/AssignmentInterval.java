@@ -0,0 +1,33 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Period of a mission assignment, loaded without the rest of the entity.
+ *
+ * @param id the assignment ID
+ * @param spaceShipId the ID of the assigned spaceship
+ * @param missionId the ID of the mission
+ * @param startDate the first day of the assignment
+ * @param endDate the last day of the assignment, or null if it is open-ended
+ */
+public record AssignmentInterval(Long id, Long spaceShipId, Long missionId, LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * Gets the first day of the assignment as an epoch day.
+     *
+     * @return the start day
+     */
+    public long startDay() {
+        return startDate.toEpochDay();
+    }
+
+    /**
+     * Gets the last day of the assignment as an epoch day.
+     *
+     * @return the end day, {@link Long#MAX_VALUE} if the assignment is open-ended
+     */
+    public long endDay() {
+        return endDate != null ? endDate.toEpochDay() : Long.MAX_VALUE;
+    }
+}
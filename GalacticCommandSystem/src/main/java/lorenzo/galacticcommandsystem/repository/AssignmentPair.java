@@ -0,0 +1,10 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * The spaceship and mission of an assignment, loaded without the rest of the entity.
+ *
+ * @param spaceShipId the spaceship ID
+ * @param missionId the mission ID
+ */
+public record AssignmentPair(Long spaceShipId, Long missionId) {
+}
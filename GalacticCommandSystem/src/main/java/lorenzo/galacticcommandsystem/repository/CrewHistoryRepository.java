@@ -1,9 +1,16 @@
 package lorenzo.galacticcommandsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import lorenzo.galacticcommandsystem.model.CrewHistory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CrewHistoryRepository extends CrudRepository<CrewHistory, Long> {
 
@@ -15,9 +22,33 @@ public interface CrewHistoryRepository extends CrudRepository<CrewHistory, Long>
     List<CrewHistory> findBySpaceShipId(Long spaceShipId);
 
     /**
-     * Find all crew history records for a specific spaceship, ordered by assignment date
+     * Find all crew history records for a specific spaceship, ordered by assignment date,
+     * with their crew member and spaceship loaded by the same query
      * @param spaceShipId the ID of the spaceship
      * @return List of CrewHistory records ordered by assignment date (most recent first)
      */
+    @EntityGraph(attributePaths = {"crewMember", "spaceShip"})
     List<CrewHistory> findBySpaceShipIdOrderByAssignmentDateDesc(Long spaceShipId);
-}
\ No newline at end of file
+
+    /**
+     * Streams the crew history of a spaceship without loading the crew members and the spaceship.
+     * The stream must be consumed and closed inside a transaction.
+     * @param spaceShipId the ID of the spaceship
+     * @return the history records, most recent first
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.CrewHistorySummary(h.id, h.assignmentDate, " +
+           "h.crewMember.id, h.spaceShip.id) FROM CrewHistory h WHERE h.spaceShip.id = :spaceShipId " +
+           "ORDER BY h.assignmentDate DESC, h.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CrewHistorySummary> streamSummariesBySpaceShipId(@Param("spaceShipId") Long spaceShipId);
+
+    /**
+     * Streams the whole crew history without loading the crew members and spaceships.
+     * The stream must be consumed and closed inside a transaction.
+     * @return all the history records, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.CrewHistorySummary(h.id, h.assignmentDate, " +
+           "h.crewMember.id, h.spaceShip.id) FROM CrewHistory h ORDER BY h.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CrewHistorySummary> streamAllSummaries();
+}
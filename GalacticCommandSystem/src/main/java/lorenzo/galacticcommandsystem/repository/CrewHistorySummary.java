@@ -0,0 +1,14 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import java.time.LocalDate;
+
+/**
+ * A crew history record with the IDs of its crew member and spaceship, loaded without the entities.
+ *
+ * @param id the history record ID
+ * @param assignmentDate the date the crew member was assigned to the spaceship
+ * @param crewMemberId the crew member ID
+ * @param spaceShipId the spaceship ID
+ */
+public record CrewHistorySummary(Long id, LocalDate assignmentDate, Long crewMemberId, Long spaceShipId) {
+}
@@ -1,12 +1,19 @@
 package lorenzo.galacticcommandsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import lorenzo.galacticcommandsystem.model.CrewMember;
 import lorenzo.galacticcommandsystem.model.SpaceShip;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing CrewMember entities.
@@ -35,6 +42,47 @@ public interface CrewMemberRepository extends CrudRepository<CrewMember, Long> {
     @Query("SELECT DISTINCT c FROM CrewMember c LEFT JOIN FETCH c.spaceShip LEFT JOIN FETCH c.planet")
     List<CrewMember> findAllCrewMembers();
 
+    /**
+     * Retrieves the next page of crew members and their spaceship or planet using keyset pagination.
+     * @param afterId the id of the last crew member of the previous page, 0 for the first page
+     * @param limit the maximum number of crew members to return
+     * @return crew members with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT c FROM CrewMember c LEFT JOIN FETCH c.spaceShip LEFT JOIN FETCH c.planet " +
+           "WHERE c.id > :afterId ORDER BY c.id")
+    List<CrewMember> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the list columns of all crew members, with the names of their spaceship and planet.
+     * @return summaries of all crew members, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.CrewSummary(c.id, c.firstName, c.lastName, " +
+           "CASE WHEN TYPE(c) = Engineer THEN true ELSE false END, c.credits, s.name, p.name) " +
+           "FROM CrewMember c LEFT JOIN c.spaceShip s LEFT JOIN c.planet p ORDER BY c.id")
+    List<CrewSummary> findAllSummaries();
+
+    /**
+     * Retrieves the list columns of the next page of crew members using keyset pagination.
+     * @param afterId the id of the last crew member of the previous page, 0 for the first page
+     * @param limit the maximum number of crew members to return
+     * @return summaries of the crew members with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.CrewSummary(c.id, c.firstName, c.lastName, " +
+           "CASE WHEN TYPE(c) = Engineer THEN true ELSE false END, c.credits, s.name, p.name) " +
+           "FROM CrewMember c LEFT JOIN c.spaceShip s LEFT JOIN c.planet p WHERE c.id > :afterId ORDER BY c.id")
+    List<CrewSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams the list columns of all crew members, for exports that must not hold them all in memory.
+     * The stream must be consumed and closed inside a transaction.
+     * @return summaries of all crew members, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.CrewSummary(c.id, c.firstName, c.lastName, " +
+           "CASE WHEN TYPE(c) = Engineer THEN true ELSE false END, c.credits, s.name, p.name) " +
+           "FROM CrewMember c LEFT JOIN c.spaceShip s LEFT JOIN c.planet p ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CrewSummary> streamAllSummaries();
+
     /**
      * Finds crew members with at least the specified minimum credits.
      * @param minCredits the minimum credit threshold
@@ -61,5 +109,88 @@ public interface CrewMemberRepository extends CrudRepository<CrewMember, Long> {
 
     @Query("SELECT DISTINCT s FROM SpaceShip s LEFT JOIN FETCH s.crew WHERE s.id = :shipId  ")
     List<CrewMember> findCrewMemberOnaSpaceship(@Param("shipId") Long shipId);
-}
 
+    /**
+     * Adds to the credits of a crew member, in one statement that does not load the crew member.
+     * Managed instances of the crew member are not refreshed.
+     * @param id the crew member ID
+     * @param units the amount to add, in hundredths of a credit
+     * @return 1 if the crew member was updated, 0 if it does not exist
+     */
+    @Modifying
+    @Query(value = "UPDATE crew_member SET credits_units = credits_units + :units, version = version + 1 WHERE id = :id",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "crew_member"))
+    int depositCredits(@Param("id") Long id, @Param("units") long units);
+
+    /**
+     * Removes from the credits of a crew member if they have enough, in one statement that does not load them.
+     * The check and the update are atomic, so concurrent withdrawals can never overdraw the crew member.
+     * Managed instances of the crew member are not refreshed.
+     * @param id the crew member ID
+     * @param units the amount to remove, in hundredths of a credit
+     * @return 1 if the crew member was updated, 0 if it does not exist or has fewer credits than the amount
+     */
+    @Modifying
+    @Query(value = "UPDATE crew_member SET credits_units = credits_units - :units, version = version + 1 " +
+                   "WHERE id = :id AND credits_units >= :units",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "crew_member"))
+    int withdrawCredits(@Param("id") Long id, @Param("units") long units);
+
+    /**
+     * Reads the stored credits of a crew member.
+     * @param id the crew member ID
+     * @return the credits in hundredths of a credit, empty if the crew member does not exist
+     */
+    @Query(value = "SELECT credits_units FROM crew_member WHERE id = :id", nativeQuery = true)
+    Optional<Long> findCreditsUnits(@Param("id") Long id);
+
+    /**
+     * The navigation bonus of the row as an exact decimal number of hundredths. DECFLOAT keeps the shortest
+     * decimal form of the double, as {@code BigDecimal.valueOf} does.
+     */
+    String BONUS_CENTS = "(CAST(n.navigation_bonus AS DECFLOAT) * 100)";
+
+    /**
+     * The navigation bonus of the row in whole hundredths, rounded half to even like
+     * {@link lorenzo.galacticcommandsystem.model.FixedPoint#toUnits} (SQL {@code ROUND} rounds half up);
+     * null for crew members that are not navigators.
+     */
+    String BONUS_UNITS = "CAST(CASE " +
+                         "WHEN " + BONUS_CENTS + " - FLOOR(" + BONUS_CENTS + ") > 0.5 " +
+                         "THEN FLOOR(" + BONUS_CENTS + ") + 1 " +
+                         "WHEN " + BONUS_CENTS + " - FLOOR(" + BONUS_CENTS + ") < 0.5 " +
+                         "THEN FLOOR(" + BONUS_CENTS + ") " +
+                         "ELSE FLOOR(" + BONUS_CENTS + ") + ABS(MOD(FLOOR(" + BONUS_CENTS + "), 2)) " +
+                         "END AS BIGINT)";
+
+    /**
+     * Sums the credits and navigation bonuses of all crew members by spaceship and by planet, in the database.
+     * Crew members on neither make a group of their own.
+     * @return one group per spaceship or planet with crew members, in no particular order
+     */
+    @Query(value = "SELECT c.space_ship_id AS spaceShipId, s.name AS spaceShipName, c.planet_id AS planetId, " +
+                   "p.name AS planetName, COUNT(*) AS crew, CAST(SUM(c.credits_units) AS BIGINT) AS creditsUnits, " +
+                   "CAST(COALESCE(SUM(" + BONUS_UNITS + "), 0) AS BIGINT) AS bonusUnits " +
+                   "FROM crew_member c LEFT JOIN navigator n ON n.id = c.id " +
+                   "LEFT JOIN space_ship s ON s.id = c.space_ship_id LEFT JOIN planet p ON p.id = c.planet_id " +
+                   "GROUP BY c.space_ship_id, s.name, c.planet_id, p.name",
+           nativeQuery = true)
+    List<PayrollGroup> sumPayrollGroups();
+
+    /**
+     * Retrieves the payroll columns of the next page of crew members using keyset pagination.
+     * @param afterId the id of the last crew member of the previous page, 0 for the first page
+     * @param limit the maximum number of crew members to return
+     * @return the payroll lines of the crew members with an id greater than afterId, ordered by id
+     */
+    @Query(value = "SELECT c.id AS id, c.first_name AS firstName, c.last_name AS lastName, " +
+                   "COALESCE(" + BONUS_UNITS + ", 0) AS bonusUnits, " +
+                   "s.name AS spaceShipName, p.name AS planetName " +
+                   "FROM crew_member c LEFT JOIN navigator n ON n.id = c.id " +
+                   "LEFT JOIN space_ship s ON s.id = c.space_ship_id LEFT JOIN planet p ON p.id = c.planet_id " +
+                   "WHERE c.id > :afterId ORDER BY c.id LIMIT :limit",
+           nativeQuery = true)
+    List<PayrollLine> findPayrollPageAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+}
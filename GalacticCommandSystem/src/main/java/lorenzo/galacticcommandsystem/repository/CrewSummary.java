@@ -0,0 +1,25 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * The columns of a crew member shown in lists, loaded without the rest of the entity.
+ *
+ * @param id the crew member ID
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param engineer whether the crew member is an engineer
+ * @param credits the credits
+ * @param spaceShipName the name of the spaceship of the crew member, or null
+ * @param planetName the name of the planet of the crew member, or null
+ */
+public record CrewSummary(Long id, String firstName, String lastName, boolean engineer, double credits,
+                          String spaceShipName, String planetName) {
+
+    /**
+     * Gets the full name, with the title engineers get from {@code Engineer.getFullName()}.
+     *
+     * @return the full name
+     */
+    public String fullName() {
+        return (engineer ? "Dr. " : "") + firstName + " " + lastName;
+    }
+}
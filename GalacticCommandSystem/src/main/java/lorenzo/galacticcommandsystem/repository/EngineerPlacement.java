@@ -0,0 +1,11 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * Where an engineer is assigned, loaded without the rest of the entity.
+ *
+ * @param id the engineer ID
+ * @param spaceShipId the ID of the spaceship the engineer is on, or null
+ * @param planetId the ID of the planet the engineer is on, or null
+ */
+public record EngineerPlacement(Long id, Long spaceShipId, Long planetId) {
+}
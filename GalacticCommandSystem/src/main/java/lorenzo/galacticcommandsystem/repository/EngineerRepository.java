@@ -35,4 +35,19 @@ public interface EngineerRepository extends CrudRepository<Engineer, Long> {
      */
     @Query("select e from Engineer e where e.spaceShip.name = :shipName")
     List<Engineer> findBySpaceShipName(@Param("spaceShipName") String shipName);
+
+    /**
+     * Retrieves where every engineer is assigned, without loading the entities.
+     * @return the placements of all engineers
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.EngineerPlacement(e.id, e.spaceShip.id, e.planet.id) " +
+           "FROM Engineer e")
+    List<EngineerPlacement> findAllPlacements();
+
+    /**
+     * Retrieves the skills of every engineer, without loading the entities.
+     * @return one row per skill of each engineer
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.EngineerSkill(e.id, s) FROM Engineer e JOIN e.skills s")
+    List<EngineerSkill> findAllSkills();
 }
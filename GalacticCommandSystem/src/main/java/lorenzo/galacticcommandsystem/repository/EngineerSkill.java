@@ -0,0 +1,10 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * One skill of an engineer, loaded without the entity.
+ *
+ * @param engineerId the engineer ID
+ * @param skill the skill
+ */
+public record EngineerSkill(Long engineerId, String skill) {
+}
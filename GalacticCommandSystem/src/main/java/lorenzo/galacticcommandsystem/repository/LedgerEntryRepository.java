@@ -0,0 +1,68 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for the append-only ledger entries.
+ */
+public interface LedgerEntryRepository extends CrudRepository<LedgerEntry, Long> {
+
+    /**
+     * Retrieves the latest entries of an account.
+     * @param accountType the kind of account
+     * @param accountId the ID of the mission or crew member
+     * @param limit the maximum number of entries to return
+     * @return the entries, most recent first
+     */
+    List<LedgerEntry> findByAccountTypeAndAccountIdOrderByIdDesc(LedgerAccountType accountType, Long accountId,
+                                                                 Limit limit);
+
+    /**
+     * Retrieves the two entries of a transfer.
+     * @param transferId the transfer ID
+     * @return the entries, in the order they were written
+     */
+    List<LedgerEntry> findByTransferIdOrderById(UUID transferId);
+
+    /**
+     * Adds up the entries of an account.
+     * @param accountType the kind of account
+     * @param accountId the ID of the mission or crew member
+     * @return the net amount moved, in hundredths of a credit
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "WHERE e.accountType = :accountType AND e.accountId = :accountId")
+    long sumAmounts(@Param("accountType") LedgerAccountType accountType, @Param("accountId") Long accountId);
+
+    /**
+     * Retrieves the entries for the given reason of a range of accounts.
+     * @param accountType the kind of account
+     * @param reason the reason of the entries
+     * @param fromAccountId the lowest ID of a mission or crew member, inclusive
+     * @param toAccountId the highest ID of a mission or crew member, inclusive
+     * @return the entries, ordered by account ID
+     */
+    List<LedgerEntry> findByAccountTypeAndReasonAndAccountIdBetweenOrderByAccountId(LedgerAccountType accountType,
+                                                                                   String reason,
+                                                                                   Long fromAccountId,
+                                                                                   Long toAccountId);
+
+    /**
+     * Finds the highest account ID with an entry for the given reason.
+     * @param accountType the kind of account
+     * @param reason the reason of the entries
+     * @return the highest ID of a mission or crew member, empty if there is no such entry
+     */
+    @Query("SELECT MAX(e.accountId) FROM LedgerEntry e WHERE e.accountType = :accountType AND e.reason = :reason")
+    Optional<Long> findMaxAccountIdByReason(@Param("accountType") LedgerAccountType accountType,
+                                            @Param("reason") String reason);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -49,6 +50,14 @@ public interface MissionAssignmentRepository extends CrudRepository<MissionAssig
     @Query("select ma from MissionAssignment ma where ma.startDate <= :now and (ma.endDate is null or ma.endDate >= :now)")
     List<MissionAssignment> findActiveAssignments(@Param("now") LocalDate now);
 
+    /**
+     * Retrieves the period of every assignment, without loading the entities.
+     * @return the periods of all assignments
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.AssignmentInterval(ma.id, ma.spaceShip.id, " +
+           "ma.mission.id, ma.startDate, ma.endDate) FROM MissionAssignment ma")
+    List<AssignmentInterval> findAllIntervals();
+
     /**
      * Finds distinct spaceship names assigned to a specific mission.
      * @param missionId the mission ID to search by
@@ -56,5 +65,24 @@ public interface MissionAssignmentRepository extends CrudRepository<MissionAssig
      */
     @Query("SELECT DISTINCT ma.spaceShip.name FROM MissionAssignment ma WHERE ma.mission.id = :missionId")
     List<String> findSpaceShipNamesByMissionId(@Param("missionId") Long missionId);
-}
 
+    /**
+     * Retrieves the spaceship and mission of every assignment, without loading the entities.
+     * @return the assigned pairs
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.AssignmentPair(ma.spaceShip.id, ma.mission.id) " +
+           "FROM MissionAssignment ma")
+    List<AssignmentPair> findAllPairs();
+
+    /**
+     * Retrieves the existing assignments between any of the spaceships and any of the missions,
+     * to check a batch of pairs with a single query.
+     * @param spaceShipIds the spaceship IDs
+     * @param missionIds the mission IDs
+     * @return the assigned pairs among the given spaceships and missions
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.AssignmentPair(ma.spaceShip.id, ma.mission.id) " +
+           "FROM MissionAssignment ma WHERE ma.spaceShip.id IN :spaceShipIds AND ma.mission.id IN :missionIds")
+    List<AssignmentPair> findPairs(@Param("spaceShipIds") Collection<Long> spaceShipIds,
+                                   @Param("missionIds") Collection<Long> missionIds);
+}
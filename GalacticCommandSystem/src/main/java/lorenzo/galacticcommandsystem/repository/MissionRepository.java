@@ -1,13 +1,20 @@
 package lorenzo.galacticcommandsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import lorenzo.galacticcommandsystem.model.Mission;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Mission entities.
@@ -51,6 +58,43 @@ public interface MissionRepository extends CrudRepository<Mission, Long> {
     @Query("SELECT m FROM Mission m")
     List<Mission> findAllMissions();
 
+    /**
+     * Retrieves the next page of missions using keyset pagination.
+     * @param afterId the id of the last mission of the previous page, 0 for the first page
+     * @param limit the maximum number of missions to return
+     * @return missions with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT m FROM Mission m WHERE m.id > :afterId ORDER BY m.id")
+    List<Mission> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the list columns of all missions.
+     * @return summaries of all missions, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.MissionSummary(m.id, m.name, m.funding, m.missionState) " +
+           "FROM Mission m ORDER BY m.id")
+    List<MissionSummary> findAllSummaries();
+
+    /**
+     * Retrieves the list columns of the next page of missions using keyset pagination.
+     * @param afterId the id of the last mission of the previous page, 0 for the first page
+     * @param limit the maximum number of missions to return
+     * @return summaries of the missions with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.MissionSummary(m.id, m.name, m.funding, m.missionState) " +
+           "FROM Mission m WHERE m.id > :afterId ORDER BY m.id")
+    List<MissionSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams the list columns of all missions, for exports that must not hold them all in memory.
+     * The stream must be consumed and closed inside a transaction.
+     * @return summaries of all missions, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.MissionSummary(m.id, m.name, m.funding, m.missionState) " +
+           "FROM Mission m ORDER BY m.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<MissionSummary> streamAllSummaries();
+
     /**
      * Finds missions not currently assigned to the specified spaceship.
      * @param shipId the spaceship ID to check assignments against
@@ -60,9 +104,109 @@ public interface MissionRepository extends CrudRepository<Mission, Long> {
             "SELECT ma.mission.id FROM MissionAssignment ma WHERE ma.spaceShip.id = :shipId)")
     List<Mission> findUnassignedMissionsForShip(@Param("shipId") Long shipId);
 
+    /**
+     * Finds the missions assigned to a spaceship.
+     * @param shipId the spaceship ID
+     * @return the missions assigned to the spaceship
+     */
+    @Query("SELECT DISTINCT a.mission FROM MissionAssignment a WHERE a.spaceShip.id = :shipId")
+    List<Mission> findBySpaceShipId(@Param("shipId") Long shipId);
+
+    /**
+     * Finds the missions assigned to a spaceship and eagerly loads their objectives and planet.
+     * @param shipId the spaceship ID
+     * @return the missions assigned to the spaceship
+     */
+    @Query("SELECT DISTINCT m FROM Mission m " +
+           "LEFT JOIN FETCH m.objectives " +
+           "LEFT JOIN FETCH m.planet " +
+           "WHERE m.id IN (SELECT a.mission.id FROM MissionAssignment a WHERE a.spaceShip.id = :shipId)")
+    List<Mission> findBySpaceShipIdWithData(@Param("shipId") Long shipId);
+
     @Query("SELECT DISTINCT m FROM Mission m " +
            "LEFT JOIN FETCH m.objectives " +
            "LEFT JOIN FETCH m.planet " +
            "WHERE m.id IN :ids")
     List<Mission> findAllByIdsWithData(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the active missions whose assignments have all ended before a date.
+     * Missions that never had an assignment are not included.
+     * @param today the date the assignments must have ended before
+     * @return the IDs of the missions, in order
+     */
+    @Query("SELECT m.id FROM Mission m " +
+           "WHERE m.missionState = lorenzo.galacticcommandsystem.model.MissionState.ACTIVE " +
+           "AND EXISTS (SELECT a FROM MissionAssignment a WHERE a.mission = m) " +
+           "AND NOT EXISTS (SELECT a FROM MissionAssignment a WHERE a.mission = m " +
+           "AND (a.endDate IS NULL OR a.endDate >= :today)) " +
+           "ORDER BY m.id")
+    List<Long> findEndedMissionIds(@Param("today") LocalDate today);
+
+    /**
+     * Finds which of some active missions have all their assignments ended before a date.
+     * @param ids the IDs of the missions to check
+     * @param today the date the assignments must have ended before
+     * @return the IDs of the missions, in order
+     */
+    @Query("SELECT m.id FROM Mission m " +
+           "WHERE m.id IN :ids " +
+           "AND m.missionState = lorenzo.galacticcommandsystem.model.MissionState.ACTIVE " +
+           "AND EXISTS (SELECT a FROM MissionAssignment a WHERE a.mission = m) " +
+           "AND NOT EXISTS (SELECT a FROM MissionAssignment a WHERE a.mission = m " +
+           "AND (a.endDate IS NULL OR a.endDate >= :today)) " +
+           "ORDER BY m.id")
+    List<Long> findEndedMissionIds(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    /**
+     * Adds to the funding of a mission, in one statement that does not load the mission.
+     * Managed instances of the mission are not refreshed.
+     * @param id the mission ID
+     * @param units the amount to add, in hundredths of a credit
+     * @return 1 if the mission was updated, 0 if it does not exist
+     */
+    @Modifying
+    @Query(value = "UPDATE mission SET funding_units = funding_units + :units, version = version + 1 WHERE id = :id",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "mission"))
+    int depositFunding(@Param("id") Long id, @Param("units") long units);
+
+    /**
+     * Adds to the funding of a mission if the amount is at most half of the current funding,
+     * in one statement that does not load the mission.
+     * Managed instances of the mission are not refreshed.
+     * @param id the mission ID
+     * @param units the amount to add, in hundredths of a credit
+     * @return 1 if the mission was updated, 0 if it does not exist or the amount is too large
+     */
+    @Modifying
+    @Query(value = "UPDATE mission SET funding_units = funding_units + :units, version = version + 1 " +
+                   "WHERE id = :id AND :units * 2 <= funding_units",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "mission"))
+    int raiseFunding(@Param("id") Long id, @Param("units") long units);
+
+    /**
+     * Removes from the funding of a mission if enough is left, in one statement that does not load the mission.
+     * The check and the update are atomic, so concurrent withdrawals can never take the mission below the floor.
+     * Managed instances of the mission are not refreshed.
+     * @param id the mission ID
+     * @param units the amount to remove, in hundredths of a credit
+     * @param floorUnits the funding the mission must keep, in hundredths of a credit
+     * @return 1 if the mission was updated, 0 if it does not exist or would go below the floor
+     */
+    @Modifying
+    @Query(value = "UPDATE mission SET funding_units = funding_units - :units, version = version + 1 " +
+                   "WHERE id = :id AND funding_units - :units >= :floorUnits",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "mission"))
+    int withdrawFunding(@Param("id") Long id, @Param("units") long units, @Param("floorUnits") long floorUnits);
+
+    /**
+     * Reads the stored funding of a mission.
+     * @param id the mission ID
+     * @return the funding in hundredths of a credit, empty if the mission does not exist
+     */
+    @Query(value = "SELECT funding_units FROM mission WHERE id = :id", nativeQuery = true)
+    Optional<Long> findFundingUnits(@Param("id") Long id);
 }
@@ -0,0 +1,15 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.MissionState;
+
+/**
+ * The columns of a mission shown in lists, loaded without the rest of the entity
+ * (in particular without the long activation and deactivation texts).
+ *
+ * @param id the mission ID
+ * @param name the mission name
+ * @param funding the mission funding
+ * @param missionState the mission state
+ */
+public record MissionSummary(Long id, String name, double funding, MissionState missionState) {
+}
@@ -57,9 +57,24 @@ public interface NavigatorRepository extends CrudRepository<Navigator, Long> {
 
     /**
      * Finds navigators eligible for critical missions based on experience and success score.
+     * Reads the stored skill score, so the index on it is used instead of computing the score of every row.
      * @return list of eligible navigators
      */
-    @Query("select n from Navigator n where (n.navigationExperienceYears * 1.5 + n.successfulNavigations * 2) > 50")
+    @Query("select n from Navigator n where n.skillScore > " + Navigator.CRITICAL_MISSION_SKILL_LEVEL)
     List<Navigator> findEligibleForCriticalMissions();
-}
 
+    /**
+     * Finds the navigators assigned to a spaceship.
+     * @return list of assigned navigators
+     */
+    @Query("select n from Navigator n where n.spaceShip is not null")
+    List<Navigator> findAssignedNavigators();
+
+    /**
+     * Retrieves the skill score, spaceship and planet of every navigator, without loading the entities.
+     * @return the scores of all navigators
+     */
+    @Query("select new lorenzo.galacticcommandsystem.repository.NavigatorScore(n.id, n.skillScore, n.spaceShip.id, " +
+           "n.planet.id) from Navigator n")
+    List<NavigatorScore> findAllScores();
+}
@@ -0,0 +1,21 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * The skill score of a navigator and where it is assigned, loaded without the rest of the entity.
+ *
+ * @param id the navigator ID
+ * @param skillScore the stored skill score
+ * @param spaceShipId the ID of the spaceship the navigator is on, or null
+ * @param planetId the ID of the planet the navigator is stationed on, or null
+ */
+public record NavigatorScore(Long id, double skillScore, Long spaceShipId, Long planetId) {
+
+    /**
+     * Tells whether the navigator can be assigned to a spaceship, being on no spaceship and no planet.
+     *
+     * @return true if the navigator is available
+     */
+    public boolean available() {
+        return spaceShipId == null && planetId == null;
+    }
+}
@@ -1,6 +1,7 @@
 package lorenzo.galacticcommandsystem.repository;
 
 import lorenzo.galacticcommandsystem.model.Objective;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -32,4 +33,24 @@ public interface ObjectiveRepository extends CrudRepository<Objective, Long> {
      * @return list of matching objectives
      */
     List<Objective> findByTitleContainingIgnoreCase(String keyword);
+
+    /**
+     * Retrieves the text fields of the next page of objectives using keyset pagination.
+     * @param afterId the id of the last objective of the previous page, 0 for the first page
+     * @param limit the maximum number of objectives to return
+     * @return the text of the objectives with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.ObjectiveText(o.id, o.title, o.description, " +
+           "o.place, o.structure) FROM Objective o WHERE o.id > :afterId ORDER BY o.id")
+    List<ObjectiveText> findTextPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the types of the objectives in a range of ids.
+     * @param afterId the id the range starts after
+     * @param toId the last id of the range
+     * @return the types of the objectives in the range
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.ObjectiveTypeTag(o.id, t) " +
+           "FROM Objective o JOIN o.types t WHERE o.id > :afterId AND o.id <= :toId")
+    List<ObjectiveTypeTag> findTypesBetween(@Param("afterId") Long afterId, @Param("toId") Long toId);
 }
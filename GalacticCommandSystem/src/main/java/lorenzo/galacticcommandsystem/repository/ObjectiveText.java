@@ -0,0 +1,13 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * Text fields of an objective, loaded without the rest of the entity.
+ *
+ * @param id the objective ID
+ * @param title the title
+ * @param description the description, may be null
+ * @param place the place to explore, may be null
+ * @param structure the structure to build, may be null
+ */
+public record ObjectiveText(Long id, String title, String description, String place, String structure) {
+}
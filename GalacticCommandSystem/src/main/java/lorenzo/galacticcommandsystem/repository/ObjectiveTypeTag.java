@@ -0,0 +1,12 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+
+/**
+ * One type of an objective, loaded without the entity.
+ *
+ * @param objectiveId the objective ID
+ * @param type the type
+ */
+public record ObjectiveTypeTag(Long objectiveId, ObjectiveType type) {
+}
@@ -0,0 +1,16 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * Payroll sums of the crew members of one spaceship, of one planet, or of those assigned to neither.
+ *
+ * @param spaceShipId the ID of the spaceship, or null
+ * @param spaceShipName the name of the spaceship, or null
+ * @param planetId the ID of the planet, or null
+ * @param planetName the name of the planet, or null
+ * @param crew the number of crew members
+ * @param creditsUnits the sum of their credits, in hundredths of a credit
+ * @param bonusUnits the sum of the navigation bonuses of the navigators among them, in hundredths of a credit
+ */
+public record PayrollGroup(Long spaceShipId, String spaceShipName, Long planetId, String planetName,
+                           long crew, long creditsUnits, long bonusUnits) {
+}
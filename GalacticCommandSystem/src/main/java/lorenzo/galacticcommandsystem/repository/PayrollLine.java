@@ -0,0 +1,15 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * The columns of a crew member a payroll run needs, loaded without the rest of the entity.
+ *
+ * @param id the crew member ID
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param bonusUnits the navigation bonus in hundredths of a credit, 0 for crew members who are not navigators
+ * @param spaceShipName the name of the spaceship of the crew member, or null
+ * @param planetName the name of the planet of the crew member, or null
+ */
+public record PayrollLine(Long id, String firstName, String lastName, long bonusUnits,
+                          String spaceShipName, String planetName) {
+}
@@ -0,0 +1,12 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * Identifier and coordinates of a planet, loaded without the rest of the entity.
+ *
+ * @param id the planet ID
+ * @param x the X coordinate
+ * @param y the Y coordinate
+ * @param z the Z coordinate
+ */
+public record PlanetCoordinates(Long id, double x, double y, double z) {
+}
@@ -1,12 +1,17 @@
 package lorenzo.galacticcommandsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import lorenzo.galacticcommandsystem.model.Planet;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Planet entities.
@@ -30,8 +35,90 @@ public interface PlanetRepository extends CrudRepository<Planet, Long> {
 
     /**
      * Retrieves all planets.
+     * The result is kept in the query cache until a planet is written.
      * @return list of all planets
      */
     @Query("SELECT p FROM Planet p")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "planet-queries")
+    })
     List<Planet> findAllPlanets();
+
+    /**
+     * Retrieves the next page of planets using keyset pagination.
+     * @param afterId the id of the last planet of the previous page, 0 for the first page
+     * @param limit the maximum number of planets to return
+     * @return planets with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT p FROM Planet p WHERE p.id > :afterId ORDER BY p.id")
+    List<Planet> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the list columns of all planets.
+     * @return summaries of all planets, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.PlanetSummary(p.id, p.name, p.atmosphereType, p.x, p.y, p.z) " +
+           "FROM Planet p ORDER BY p.id")
+    List<PlanetSummary> findAllSummaries();
+
+    /**
+     * Retrieves the list columns of the next page of planets using keyset pagination.
+     * @param afterId the id of the last planet of the previous page, 0 for the first page
+     * @param limit the maximum number of planets to return
+     * @return summaries of the planets with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.PlanetSummary(p.id, p.name, p.atmosphereType, p.x, p.y, p.z) " +
+           "FROM Planet p WHERE p.id > :afterId ORDER BY p.id")
+    List<PlanetSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams the list columns of all planets, for exports that must not hold them all in memory.
+     * The stream must be consumed and closed inside a transaction.
+     * @return summaries of all planets, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.PlanetSummary(p.id, p.name, p.atmosphereType, p.x, p.y, p.z) " +
+           "FROM Planet p ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PlanetSummary> streamAllSummaries();
+
+    /**
+     * Finds the planets inside an axis-aligned bounding box, bounds included.
+     * The filter runs in SQL and can use the index on the coordinates.
+     * @param minX the lower X bound
+     * @param maxX the upper X bound
+     * @param minY the lower Y bound
+     * @param maxY the upper Y bound
+     * @param minZ the lower Z bound
+     * @param maxZ the upper Z bound
+     * @return planets inside the box
+     */
+    @Query("SELECT p FROM Planet p WHERE p.x BETWEEN :minX AND :maxX " +
+            "AND p.y BETWEEN :minY AND :maxY AND p.z BETWEEN :minZ AND :maxZ")
+    List<Planet> findInBox(@Param("minX") double minX, @Param("maxX") double maxX,
+                           @Param("minY") double minY, @Param("maxY") double maxY,
+                           @Param("minZ") double minZ, @Param("maxZ") double maxZ);
+
+    /**
+     * Finds the planets within a distance of a point.
+     * The bounding box of the sphere is filtered first, so only the planets in the box
+     * are checked against the exact distance.
+     * @param x the X coordinate of the center
+     * @param y the Y coordinate of the center
+     * @param z the Z coordinate of the center
+     * @param radius the maximum distance from the center
+     * @return planets within the radius
+     */
+    @Query("SELECT p FROM Planet p WHERE p.x BETWEEN :x - :radius AND :x + :radius " +
+            "AND p.y BETWEEN :y - :radius AND :y + :radius AND p.z BETWEEN :z - :radius AND :z + :radius " +
+            "AND (p.x - :x) * (p.x - :x) + (p.y - :y) * (p.y - :y) + (p.z - :z) * (p.z - :z) <= :radius * :radius")
+    List<Planet> findWithinRadius(@Param("x") double x, @Param("y") double y, @Param("z") double z,
+                                  @Param("radius") double radius);
+
+    /**
+     * Retrieves the coordinates of all planets, without loading the entities.
+     * @return the ID and coordinates of every planet
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.PlanetCoordinates(p.id, p.x, p.y, p.z) FROM Planet p")
+    List<PlanetCoordinates> findAllCoordinates();
 }
@@ -0,0 +1,25 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+
+/**
+ * The columns of a planet shown in lists, loaded without the rest of the entity.
+ *
+ * @param id the planet ID
+ * @param name the planet name
+ * @param atmosphereType the atmosphere type
+ * @param x the X coordinate
+ * @param y the Y coordinate
+ * @param z the Z coordinate
+ */
+public record PlanetSummary(Long id, String name, String atmosphereType, double x, double y, double z) {
+
+    /**
+     * Gets the position in the format "x,y,z", as {@link Planet#getPosition()} does.
+     *
+     * @return the position as a string
+     */
+    public String position() {
+        return Planet.formatPosition(x, y, z);
+    }
+}
@@ -1,12 +1,18 @@
 package lorenzo.galacticcommandsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import lorenzo.galacticcommandsystem.model.SpaceShip;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing SpaceShip entities.
@@ -43,6 +49,14 @@ public interface SpaceShipRepository extends CrudRepository<SpaceShip, Long> {
     @Query("SELECT s FROM SpaceShip s LEFT JOIN FETCH s.crew LEFT JOIN FETCH s.assignments WHERE s.id = :id")
     Optional<SpaceShip> findByIdWithCrewAndAssignments(@Param("id") Long id);
 
+    /**
+     * Finds a spaceship by ID and eagerly loads its assignments and their missions.
+     * @param id the spaceship ID
+     * @return Optional containing the spaceship with assignments if found
+     */
+    @Query("SELECT s FROM SpaceShip s LEFT JOIN FETCH s.assignments a LEFT JOIN FETCH a.mission WHERE s.id = :id")
+    Optional<SpaceShip> findByIdWithAssignments(@Param("id") Long id);
+
     /**
      * Finds a spaceship by ID and eagerly loads all its related data.
      * @param id the spaceship ID
@@ -55,4 +69,49 @@ public interface SpaceShipRepository extends CrudRepository<SpaceShip, Long> {
            "LEFT JOIN FETCH m.objectives " +
            "WHERE s.id = :id")
     Optional<SpaceShip> findByIdWithAllData(@Param("id") Long id);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the next page of spaceships using keyset pagination.
+     * @param afterId the id of the last spaceship of the previous page, 0 for the first page
+     * @param limit the maximum number of spaceships to return
+     * @return spaceships with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT s FROM SpaceShip s WHERE s.id > :afterId ORDER BY s.id")
+    List<SpaceShip> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the list columns of all spaceships.
+     * @return summaries of all spaceships, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.SpaceShipSummary(s.id, s.name, s.isOperational) " +
+           "FROM SpaceShip s ORDER BY s.id")
+    List<SpaceShipSummary> findAllSummaries();
+
+    /**
+     * Retrieves the list columns of the next page of spaceships using keyset pagination.
+     * @param afterId the id of the last spaceship of the previous page, 0 for the first page
+     * @param limit the maximum number of spaceships to return
+     * @return summaries of the spaceships with an id greater than afterId, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.SpaceShipSummary(s.id, s.name, s.isOperational) " +
+           "FROM SpaceShip s WHERE s.id > :afterId ORDER BY s.id")
+    List<SpaceShipSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Streams the list columns of all spaceships, for exports that must not hold them all in memory.
+     * The stream must be consumed and closed inside a transaction.
+     * @return summaries of all spaceships, ordered by id
+     */
+    @Query("SELECT new lorenzo.galacticcommandsystem.repository.SpaceShipSummary(s.id, s.name, s.isOperational) " +
+           "FROM SpaceShip s ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SpaceShipSummary> streamAllSummaries();
+
+    /**
+     * Finds which of the given IDs belong to an existing spaceship, without loading the entities.
+     * @param ids the spaceship IDs
+     * @return the IDs of the existing spaceships
+     */
+    @Query("SELECT s.id FROM SpaceShip s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,11 @@
+package lorenzo.galacticcommandsystem.repository;
+
+/**
+ * The columns of a spaceship shown in lists, loaded without the rest of the entity.
+ *
+ * @param id the spaceship ID
+ * @param name the spaceship name
+ * @param operational whether the spaceship is operational
+ */
+public record SpaceShipSummary(Long id, String name, boolean operational) {
+}
@@ -0,0 +1,202 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.MissionAssignmentDeletedEvent;
+import lorenzo.galacticcommandsystem.event.MissionAssignmentSavedEvent;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Stores the end of missions: a mission whose assignments have all ended is set {@code INACTIVE},
+ * so screens read its state instead of comparing every assignment with the current date.
+ * <p>
+ * The end dates of the assignments are kept in a priority queue, loaded when the application is ready
+ * and maintained through the assignment entity events, like the {@link MissionAssignmentIndex}.
+ * The periodic check only looks at the head of the queue, so it costs nothing until an assignment ends.
+ * Then the missions of the ended assignments are checked with one query, since another assignment may
+ * keep them going, and deactivated in batches. An assignment ends after its end date, which is included,
+ * as in {@code MissionAssignmentRepository.findActiveAssignments}. The date comes from the {@link GalaxyClock}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentExpiryScheduler {
+
+    private static final int COMPACTION_SLACK = 1024;
+
+    private final MissionAssignmentRepository missionAssignmentRepository;
+    private final MissionRepository missionRepository;
+    private final OptimisticRetry optimisticRetry;
+    private final GalaxyClock galaxyClock;
+
+    /**
+     * Maximum number of missions deactivated in one transaction.
+     */
+    @Value("${galaxy.expiry.batch-size:500}")
+    private int batchSize = 500;
+
+    private final PriorityQueue<Expiry> queue = new PriorityQueue<>(Comparator.comparingLong(Expiry::endDay));
+    /**
+     * The expiry currently scheduled for each assignment; queue entries that differ are stale.
+     */
+    private final Map<Long, Expiry> scheduled = new HashMap<>();
+    /**
+     * Whether all the missions must be checked, because expiries were missed while the queue was not kept.
+     */
+    private boolean catchUp;
+
+    /**
+     * Reloads the end dates from the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the assignment events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        long today = galaxyClock.today().toEpochDay();
+        List<Expiry> expiries = new ArrayList<>();
+        for (AssignmentInterval interval : missionAssignmentRepository.findAllIntervals()) {
+            // those already ended are found by the catch-up query instead
+            if (interval.endDate() != null && interval.endDay() >= today) {
+                expiries.add(new Expiry(interval.endDay(), interval.id(), interval.missionId()));
+            }
+        }
+        synchronized (this) {
+            queue.clear();
+            scheduled.clear();
+            queue.addAll(expiries);
+            expiries.forEach(expiry -> scheduled.put(expiry.assignmentId(), expiry));
+            catchUp = true;
+        }
+        log.info("Assignment expiry queue loaded with {} end dates", expiries.size());
+    }
+
+    /**
+     * Schedules the end of a created assignment, or moves the end of an updated one.
+     *
+     * @param event the assignment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssignmentSaved(MissionAssignmentSavedEvent event) {
+        if (event.endDate() == null) {
+            scheduled.remove(event.assignmentId());
+            return;
+        }
+        Expiry expiry = new Expiry(event.endDate().toEpochDay(), event.assignmentId(), event.missionId());
+        if (!expiry.equals(scheduled.put(event.assignmentId(), expiry))) {
+            queue.add(expiry);
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Forgets the end of a deleted assignment.
+     *
+     * @param event the assignment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssignmentDeleted(MissionAssignmentDeletedEvent event) {
+        scheduled.remove(event.assignmentId());
+    }
+
+    /**
+     * Deactivates the missions whose assignments have all ended.
+     * Runs every {@code galaxy.expiry.check-interval}.
+     *
+     * @return the number of missions deactivated
+     */
+    @Scheduled(initialDelayString = "${galaxy.expiry.check-interval:PT1M}",
+               fixedDelayString = "${galaxy.expiry.check-interval:PT1M}")
+    public int expireDue() {
+        LocalDate today = galaxyClock.today();
+        List<Long> missionIds = pollDue(today.toEpochDay());
+        if (missionIds == null) {
+            missionIds = missionRepository.findEndedMissionIds(today);
+        }
+        if (missionIds.isEmpty()) {
+            return 0;
+        }
+        int deactivated = 0;
+        try {
+            for (int from = 0; from < missionIds.size(); from += batchSize) {
+                List<Long> batch = missionIds.subList(from, Math.min(from + batchSize, missionIds.size()));
+                deactivated += optimisticRetry.execute("expireMissions", () -> deactivate(batch, today));
+            }
+        } catch (RuntimeException e) {
+            // the polled expiries are gone, the next check looks at every mission instead
+            synchronized (this) {
+                catchUp = true;
+            }
+            throw e;
+        }
+        log.info("Deactivated {} missions whose assignments ended before {}", deactivated, today);
+        return deactivated;
+    }
+
+    /**
+     * Gets the number of assignment end dates waiting in the queue.
+     *
+     * @return the number of scheduled expiries
+     */
+    public synchronized int size() {
+        return scheduled.size();
+    }
+
+    /**
+     * Removes the expiries due before a day from the queue.
+     *
+     * @return the IDs of their missions, in order, or null if all the missions must be checked
+     */
+    private synchronized List<Long> pollDue(long today) {
+        TreeSet<Long> missionIds = new TreeSet<>();
+        while (!queue.isEmpty() && queue.peek().endDay() < today) {
+            Expiry expiry = queue.poll();
+            if (expiry.equals(scheduled.get(expiry.assignmentId()))) {
+                scheduled.remove(expiry.assignmentId());
+                missionIds.add(expiry.missionId());
+            }
+        }
+        if (catchUp) {
+            catchUp = false;
+            return null;
+        }
+        return new ArrayList<>(missionIds);
+    }
+
+    private int deactivate(List<Long> missionIds, LocalDate today) {
+        // checked again in this transaction, an assignment may have been added since
+        List<Long> ended = missionRepository.findEndedMissionIds(missionIds, today);
+        String info = "All assignments ended before " + today;
+        for (Mission mission : missionRepository.findAllById(ended)) {
+            mission.setInactiveStatus(info);
+        }
+        return ended.size();
+    }
+
+    private void compactIfNeeded() {
+        if (queue.size() > 2 * scheduled.size() + COMPACTION_SLACK) {
+            queue.clear();
+            queue.addAll(scheduled.values());
+        }
+    }
+
+    private record Expiry(long endDay, long assignmentId, long missionId) {
+    }
+}
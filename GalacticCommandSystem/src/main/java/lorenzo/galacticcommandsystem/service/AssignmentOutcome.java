@@ -0,0 +1,27 @@
+package lorenzo.galacticcommandsystem.service;
+
+/**
+ * What happened to a spaceship and mission pair in a bulk assignment.
+ */
+public enum AssignmentOutcome {
+    /**
+     * The assignment was saved.
+     */
+    ASSIGNED,
+    /**
+     * The spaceship was already assigned to the mission.
+     */
+    ALREADY_ASSIGNED,
+    /**
+     * The pair appeared earlier in the same request.
+     */
+    DUPLICATE,
+    /**
+     * No spaceship exists with the given ID.
+     */
+    SPACESHIP_NOT_FOUND,
+    /**
+     * No mission exists with the given ID.
+     */
+    MISSION_NOT_FOUND
+}
@@ -0,0 +1,27 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Mission assignments proposed by the {@link MissionAssignmentOptimizer}.
+ *
+ * @param assignments the proposed assignments, at most one per spaceship and one per mission
+ * @param totalScore the sum of the scores of the assignments
+ * @param ships the number of spaceships considered
+ * @param missions the number of missions considered
+ * @param planningTime the time taken to load the candidates and solve the assignment
+ */
+public record AssignmentPlan(List<Assignment> assignments, double totalScore, int ships, int missions,
+                             Duration planningTime) {
+
+    /**
+     * A spaceship proposed for a mission.
+     *
+     * @param spaceShipId the spaceship ID
+     * @param missionId the mission ID
+     * @param score the score of the pair
+     */
+    public record Assignment(long spaceShipId, long missionId, double score) {
+    }
+}
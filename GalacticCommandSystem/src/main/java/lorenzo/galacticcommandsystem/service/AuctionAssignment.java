@@ -0,0 +1,418 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.Arrays;
+
+/**
+ * Maximum-weight assignment between rows and columns of a benefit matrix, with the auction
+ * algorithm and epsilon scaling.
+ * <p>
+ * Rows bid for columns: each unassigned row takes the column giving it the most benefit net of
+ * its price, and raises that price by how much better it is than the row's second choice plus
+ * epsilon. Epsilon starts large and is divided at every phase, keeping the prices of the previous
+ * phase, so most of the competition is settled while bids are coarse. The last phase runs with
+ * epsilon 1, so the total benefit found is at most one unit per row below the optimum; benefits that
+ * are multiples of the size of the problem plus one are therefore solved exactly.
+ * <p>
+ * The matrix is a single row-major {@code int} array and is read a row at a time. A rectangular matrix
+ * is padded on the fly to a square one with zero benefits, so rows or columns can stay unassigned;
+ * a pair with a zero benefit is never worth assigning and is reported as unassigned.
+ * <p>
+ * A sparse matrix keeps only some candidate columns per row, in compressed sparse row arrays: the other
+ * pairs have a zero benefit, so memory grows with the number of candidates instead of rows times columns.
+ */
+public final class AuctionAssignment {
+
+    private static final int SCALING_FACTOR = 4;
+
+    private AuctionAssignment() {
+    }
+
+    /**
+     * Finds an assignment maximizing the total benefit, within one unit per row.
+     *
+     * @param benefits the benefit of every row and column pair, row-major, all non-negative
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @return the column assigned to each row, or -1 if the row is not assigned
+     */
+    public static int[] solve(int[] benefits, int rows, int columns) {
+        if (rows < 0 || columns < 0 || (long) rows * columns != benefits.length) {
+            throw new IllegalArgumentException("Matrix size does not match " + rows + "x" + columns);
+        }
+        int maxBenefit = 0;
+        for (int benefit : benefits) {
+            if (benefit < 0) {
+                throw new IllegalArgumentException("Benefits must not be negative");
+            }
+            maxBenefit = Math.max(maxBenefit, benefit);
+        }
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        if (maxBenefit == 0) {
+            return assignment;
+        }
+
+        DenseAuction auction = new DenseAuction(benefits, rows, columns);
+        auction.solve(maxBenefit);
+
+        for (int row = 0; row < rows; row++) {
+            int column = auction.columnOf[row];
+            if (column < columns && benefits[row * columns + column] > 0) {
+                assignment[row] = column;
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Finds an assignment maximizing the total benefit among candidate pairs, within one unit per row.
+     * The candidates of a row {@code r} are at the indices {@code rowStart[r]} to {@code rowStart[r + 1] - 1}
+     * of the candidate arrays, with distinct columns; every other pair has a zero benefit.
+     *
+     * @param rowStart the index of the first candidate of every row, followed by the number of candidates
+     * @param candidateColumns the column of every candidate
+     * @param candidateBenefits the benefit of every candidate, all non-negative
+     * @param columns the number of columns
+     * @return the column assigned to each row, or -1 if the row is not assigned
+     */
+    public static int[] solveSparse(int[] rowStart, int[] candidateColumns, int[] candidateBenefits, int columns) {
+        if (rowStart.length == 0 || rowStart[0] != 0 || columns < 0
+                || candidateColumns.length != candidateBenefits.length
+                || rowStart[rowStart.length - 1] > candidateColumns.length) {
+            throw new IllegalArgumentException("Candidate arrays do not match");
+        }
+        int rows = rowStart.length - 1;
+        int maxBenefit = 0;
+        for (int row = 0; row < rows; row++) {
+            if (rowStart[row + 1] < rowStart[row]) {
+                throw new IllegalArgumentException("Candidates of row " + row + " end before they start");
+            }
+            for (int i = rowStart[row]; i < rowStart[row + 1]; i++) {
+                if (candidateColumns[i] < 0 || candidateColumns[i] >= columns) {
+                    throw new IllegalArgumentException("Column " + candidateColumns[i] + " out of " + columns);
+                }
+                if (candidateBenefits[i] < 0) {
+                    throw new IllegalArgumentException("Benefits must not be negative");
+                }
+                maxBenefit = Math.max(maxBenefit, candidateBenefits[i]);
+            }
+        }
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        if (maxBenefit == 0) {
+            return assignment;
+        }
+
+        SparseAuction auction = new SparseAuction(rowStart, candidateColumns, candidateBenefits, columns);
+        auction.solve(maxBenefit);
+
+        for (int row = 0; row < rows; row++) {
+            int column = auction.columnOf[row];
+            for (int i = rowStart[row]; i < rowStart[row + 1]; i++) {
+                if (candidateColumns[i] == column && candidateBenefits[i] > 0) {
+                    assignment[row] = column;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Prices and assignments of the square, padded problem.
+     */
+    private abstract static class Auction {
+        final int rows;
+        final int columns;
+        final int size;
+        final long[] prices;
+        final int[] columnOf;
+        final int[] rowOf;
+        private final int[] unassigned;
+
+        Auction(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+            this.size = Math.max(rows, columns);
+            this.prices = new long[size];
+            this.columnOf = new int[size];
+            this.rowOf = new int[size];
+            this.unassigned = new int[size];
+        }
+
+        /**
+         * Runs the phases, dividing epsilon until it reaches 1.
+         */
+        void solve(int maxBenefit) {
+            long epsilon = Math.max(1, maxBenefit / SCALING_FACTOR);
+            while (true) {
+                run(epsilon);
+                if (epsilon == 1) {
+                    break;
+                }
+                epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+            }
+        }
+
+        /**
+         * Runs one phase: every row starts unassigned and bids until all rows are assigned.
+         */
+        private void run(long epsilon) {
+            Arrays.fill(columnOf, -1);
+            Arrays.fill(rowOf, -1);
+            int pending = 0;
+            for (int row = size - 1; row >= 0; row--) {
+                unassigned[pending++] = row;
+            }
+            while (pending > 0) {
+                int row = unassigned[--pending];
+                int displaced = bid(row, epsilon);
+                if (displaced >= 0) {
+                    unassigned[pending++] = displaced;
+                }
+            }
+        }
+
+        /**
+         * Makes the bid of a row.
+         *
+         * @return the row that held the column before, or -1
+         */
+        abstract int bid(int row, long epsilon);
+
+        /**
+         * Gives the best column to a row, raising its price by the margin over the second best plus epsilon.
+         *
+         * @return the row that held the column before, or -1
+         */
+        final int take(int row, int bestColumn, long best, long second, long epsilon) {
+            // with a single column there is no second choice
+            long increment = second == Long.MIN_VALUE ? epsilon : best - second + epsilon;
+            prices[bestColumn] += increment;
+            int displaced = rowOf[bestColumn];
+            if (displaced >= 0) {
+                columnOf[displaced] = -1;
+            }
+            rowOf[bestColumn] = row;
+            columnOf[row] = bestColumn;
+            return displaced;
+        }
+    }
+
+    /**
+     * Auction on a full benefit matrix.
+     */
+    private static final class DenseAuction extends Auction {
+        private final int[] benefits;
+
+        DenseAuction(int[] benefits, int rows, int columns) {
+            super(rows, columns);
+            this.benefits = benefits;
+        }
+
+        @Override
+        int bid(int row, long epsilon) {
+            long best = Long.MIN_VALUE;
+            long second = Long.MIN_VALUE;
+            int bestColumn = -1;
+            if (row < rows) {
+                int offset = row * columns;
+                for (int column = 0; column < columns; column++) {
+                    long value = benefits[offset + column] - prices[column];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestColumn = column;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+                for (int column = columns; column < size; column++) {
+                    long value = -prices[column];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestColumn = column;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+            } else {
+                // a padding row gets nothing from any column, so it only looks at the prices
+                for (int column = 0; column < size; column++) {
+                    long value = -prices[column];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestColumn = column;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+            }
+            return take(row, bestColumn, best, second, epsilon);
+        }
+    }
+
+    /**
+     * Auction on the candidates of every row, the other columns being worth nothing to the row.
+     * <p>
+     * A column worth nothing is only worth its price, so instead of reading every price a bid walks a heap
+     * of the columns by price from the cheapest, skipping the candidates of the row, until it has two.
+     */
+    private static final class SparseAuction extends Auction {
+        private final int[] rowStart;
+        private final int[] candidateColumns;
+        private final int[] candidateBenefits;
+        /**
+         * The last row that marked the column as one of its candidates.
+         */
+        private final int[] candidateOf;
+        /**
+         * The columns in a binary min-heap by price.
+         */
+        private final int[] heap;
+        /**
+         * The position of every column in the heap.
+         */
+        private final int[] heapIndex;
+        /**
+         * The heap positions left to visit by a bid, in a binary min-heap by price.
+         */
+        private final int[] frontier;
+
+        SparseAuction(int[] rowStart, int[] candidateColumns, int[] candidateBenefits, int columns) {
+            super(rowStart.length - 1, columns);
+            this.rowStart = rowStart;
+            this.candidateColumns = candidateColumns;
+            this.candidateBenefits = candidateBenefits;
+            this.candidateOf = new int[size];
+            this.heap = new int[size];
+            this.heapIndex = new int[size];
+            this.frontier = new int[size];
+            Arrays.fill(candidateOf, -1);
+            for (int column = 0; column < size; column++) {
+                heap[column] = column;
+                heapIndex[column] = column;
+            }
+        }
+
+        @Override
+        int bid(int row, long epsilon) {
+            long best = Long.MIN_VALUE;
+            long second = Long.MIN_VALUE;
+            int bestColumn = -1;
+            if (row < rows) {
+                for (int i = rowStart[row]; i < rowStart[row + 1]; i++) {
+                    int column = candidateColumns[i];
+                    candidateOf[column] = row;
+                    long value = candidateBenefits[i] - prices[column];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestColumn = column;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+            }
+            // the two cheapest other columns, as the prices in the heap only grow downwards
+            int found = 0;
+            int visiting = 0;
+            frontier[visiting++] = 0;
+            while (found < 2 && visiting > 0) {
+                int position = frontier[0];
+                visiting = removeFirst(visiting);
+                int column = heap[position];
+                if (candidateOf[column] != row) {
+                    found++;
+                    long value = -prices[column];
+                    if (value > best) {
+                        second = best;
+                        best = value;
+                        bestColumn = column;
+                    } else if (value > second) {
+                        second = value;
+                    }
+                }
+                for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                    visiting = add(visiting, child);
+                }
+            }
+            int displaced = take(row, bestColumn, best, second, epsilon);
+            raised(bestColumn);
+            return displaced;
+        }
+
+        /**
+         * Moves a column down the heap after its price went up.
+         */
+        private void raised(int column) {
+            long price = prices[column];
+            int position = heapIndex[column];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && prices[heap[child + 1]] < prices[heap[child]]) {
+                    child++;
+                }
+                if (prices[heap[child]] >= price) {
+                    break;
+                }
+                heap[position] = heap[child];
+                heapIndex[heap[position]] = position;
+                position = child;
+            }
+            heap[position] = column;
+            heapIndex[column] = position;
+        }
+
+        private long frontierPrice(int index) {
+            return prices[heap[frontier[index]]];
+        }
+
+        /**
+         * Adds a heap position to the frontier.
+         *
+         * @return the new size of the frontier
+         */
+        private int add(int visiting, int position) {
+            int index = visiting;
+            long price = prices[heap[position]];
+            while (index > 0 && frontierPrice((index - 1) / 2) > price) {
+                frontier[index] = frontier[(index - 1) / 2];
+                index = (index - 1) / 2;
+            }
+            frontier[index] = position;
+            return visiting + 1;
+        }
+
+        /**
+         * Removes the cheapest heap position from the frontier.
+         *
+         * @return the new size of the frontier
+         */
+        private int removeFirst(int visiting) {
+            int last = frontier[--visiting];
+            long price = prices[heap[last]];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= visiting) {
+                    break;
+                }
+                if (child + 1 < visiting && frontierPrice(child + 1) < frontierPrice(child)) {
+                    child++;
+                }
+                if (frontierPrice(child) >= price) {
+                    break;
+                }
+                frontier[index] = frontier[child];
+                index = child;
+            }
+            frontier[index] = last;
+            return visiting;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.repository.AssignmentPair;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk assignment, pair by pair.
+ *
+ * @param results the outcome of every requested pair, in request order
+ */
+public record BulkAssignmentReport(List<Result> results) {
+
+    /**
+     * Counts the pairs with an outcome.
+     *
+     * @param outcome the outcome
+     * @return the number of pairs
+     */
+    public long count(AssignmentOutcome outcome) {
+        return results.stream().filter(result -> result.outcome() == outcome).count();
+    }
+
+    /**
+     * Gets the number of assignments saved.
+     *
+     * @return the number of pairs assigned
+     */
+    public long assigned() {
+        return count(AssignmentOutcome.ASSIGNED);
+    }
+
+    /**
+     * The outcome of a requested pair.
+     *
+     * @param pair the spaceship and mission
+     * @param outcome what happened to the pair
+     */
+    public record Result(AssignmentPair pair, AssignmentOutcome outcome) {
+    }
+}
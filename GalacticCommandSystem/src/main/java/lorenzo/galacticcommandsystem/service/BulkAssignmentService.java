@@ -0,0 +1,130 @@
+package lorenzo.galacticcommandsystem.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.AssignmentPair;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns many spaceships to missions at once.
+ * <p>
+ * The whole batch is checked up front with three set-based queries: the missions, the existing
+ * spaceships, and the pairs already assigned. Only the new pairs are inserted, with JDBC batching,
+ * and each mission touched is activated once. Pairs that cannot be assigned are reported with their
+ * reason instead of failing the batch. If another transaction assigns one of the pairs in the meantime,
+ * the insert hits the unique constraint, and the batch is checked and written again so that pair is
+ * reported as already assigned. If another transaction updates one of the missions first, the batch
+ * is run again by the {@link OptimisticRetry} on the fresh rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkAssignmentService {
+
+    public static final String ASSIGN_MISSIONS = "assignMissions";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final EntityManager entityManager;
+    private final OptimisticRetry optimisticRetry;
+    private final MissionRepository missionRepository;
+    private final SpaceShipRepository spaceShipRepository;
+    private final MissionAssignmentRepository missionAssignmentRepository;
+    private final GalaxyClock galaxyClock;
+
+    /**
+     * Assigns spaceships to missions, in a single transaction.
+     *
+     * @param pairs the spaceship and mission pairs to assign
+     * @param activationInfo activation status information for the missions that get a new assignment
+     * @return the outcome of every pair, in request order
+     * @throws IllegalArgumentException if the activation info is blank
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the missions kept being
+     * updated concurrently until the retries ran out
+     */
+    public BulkAssignmentReport assign(List<AssignmentPair> pairs, String activationInfo) {
+        if (activationInfo == null || activationInfo.isBlank()) {
+            throw new IllegalArgumentException("activation info cannot be null or blank");
+        }
+        if (pairs.isEmpty()) {
+            return new BulkAssignmentReport(List.of());
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return optimisticRetry.execute(ASSIGN_MISSIONS, () -> assignOnce(pairs, activationInfo));
+            } catch (ConstraintViolationException | DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Bulk assignment raced with another transaction, checking the pairs again", e);
+            }
+        }
+    }
+
+    private BulkAssignmentReport assignOnce(List<AssignmentPair> pairs, String activationInfo) {
+        Set<Long> shipIds = new HashSet<>();
+        Set<Long> missionIds = new HashSet<>();
+        for (AssignmentPair pair : pairs) {
+            if (pair.spaceShipId() != null) {
+                shipIds.add(pair.spaceShipId());
+            }
+            if (pair.missionId() != null) {
+                missionIds.add(pair.missionId());
+            }
+        }
+        Map<Long, Mission> missions = new HashMap<>();
+        missionRepository.findAllById(missionIds).forEach(mission -> missions.put(mission.getId(), mission));
+        // mutable sets, since the ID of a pair may be null and Set.of() rejects contains(null)
+        Set<Long> existingShips = shipIds.isEmpty() ? new HashSet<>() : new HashSet<>(spaceShipRepository.findExistingIds(shipIds));
+        Set<AssignmentPair> assigned = existingShips.isEmpty() || missions.isEmpty() ? new HashSet<>()
+                : new HashSet<>(missionAssignmentRepository.findPairs(existingShips, missions.keySet()));
+
+        List<BulkAssignmentReport.Result> results = new ArrayList<>(pairs.size());
+        Set<AssignmentPair> requested = new HashSet<>();
+        LocalDate today = galaxyClock.today();
+        Map<Long, Mission> touched = new LinkedHashMap<>();
+        for (AssignmentPair pair : pairs) {
+            AssignmentOutcome outcome;
+            Mission mission = missions.get(pair.missionId());
+            if (!requested.add(pair)) {
+                outcome = AssignmentOutcome.DUPLICATE;
+            } else if (mission == null) {
+                outcome = AssignmentOutcome.MISSION_NOT_FOUND;
+            } else if (!existingShips.contains(pair.spaceShipId())) {
+                outcome = AssignmentOutcome.SPACESHIP_NOT_FOUND;
+            } else if (assigned.contains(pair)) {
+                outcome = AssignmentOutcome.ALREADY_ASSIGNED;
+            } else {
+                SpaceShip ship = entityManager.getReference(SpaceShip.class, pair.spaceShipId());
+                entityManager.persist(new MissionAssignment(ship, mission, today, null));
+                touched.put(mission.getId(), mission);
+                outcome = AssignmentOutcome.ASSIGNED;
+            }
+            results.add(new BulkAssignmentReport.Result(pair, outcome));
+        }
+        for (Mission mission : touched.values()) {
+            mission.setActiveStatus(activationInfo);
+        }
+        // surface a concurrent assignment of the same pair here, while it can still be retried
+        entityManager.flush();
+        return new BulkAssignmentReport(List.copyOf(results));
+    }
+}
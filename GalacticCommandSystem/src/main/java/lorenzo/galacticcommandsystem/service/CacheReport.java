@@ -0,0 +1,57 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.List;
+
+/**
+ * Hit and miss statistics of the second-level cache.
+ *
+ * @param regions the statistics of each entity and collection region
+ * @param queryHits the query cache hits
+ * @param queryMisses the query cache misses
+ * @param statements the SQL statements prepared since the statistics were last reset
+ */
+public record CacheReport(List<Region> regions, long queryHits, long queryMisses, long statements) {
+
+    /**
+     * Statistics of a single cache region.
+     *
+     * @param name the region name
+     * @param hits the lookups answered by the cache
+     * @param misses the lookups that went to the database
+     * @param puts the entries written to the cache
+     * @param entries the entries currently in memory, or -1 if unknown
+     */
+    public record Region(String name, long hits, long misses, long puts, long entries) {
+
+        /**
+         * Gets the share of lookups answered by the cache.
+         *
+         * @return the hit ratio between 0 and 1, 0 if there were no lookups
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * Gets the statistics of a region.
+     *
+     * @param name the region name
+     * @return the region statistics, or null if the region does not exist
+     */
+    public Region region(String name) {
+        return regions.stream().filter(region -> region.name().equals(name)).findFirst().orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("second-level cache: %d statements, query cache %d hits / %d misses",
+                statements, queryHits, queryMisses));
+        for (Region region : regions) {
+            report.append(String.format("%n  %-20s %8d hits %8d misses %8d puts %8d entries (%.0f%% hits)",
+                    region.name(), region.hits(), region.misses(), region.puts(), region.entries(), region.hitRatio() * 100));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package lorenzo.galacticcommandsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reports the hits and misses of the second-level cache, per region, from the Hibernate statistics.
+ */
+@Slf4j
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Gets the statistics collected since startup or the last reset.
+     *
+     * @return the cache report
+     */
+    public CacheReport report() {
+        List<CacheReport.Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                    return new CacheReport.Region(name, region.getHitCount(), region.getMissCount(),
+                            region.getPutCount(), region.getElementCountInMemory());
+                })
+                .toList();
+        return new CacheReport(regions, statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Clears the statistics, for example before measuring a single screen.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Logs the statistics on shutdown.
+     */
+    @PreDestroy
+    public void logReport() {
+        if (statistics.isStatisticsEnabled()) {
+            log.info("{}", report());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package lorenzo.galacticcommandsystem.service;
+
+/**
+ * The engineers a skill search is restricted to.
+ *
+ * @param spaceShipId the spaceship the engineers must be on, or null
+ * @param unassigned whether the engineers must be on no spaceship and no planet
+ */
+public record EngineerScope(Long spaceShipId, boolean unassigned) {
+
+    public EngineerScope {
+        if (spaceShipId != null && unassigned) {
+            throw new IllegalArgumentException("Engineers on a spaceship are not unassigned");
+        }
+    }
+
+    /**
+     * Searches every engineer.
+     *
+     * @return the scope
+     */
+    public static EngineerScope all() {
+        return new EngineerScope(null, false);
+    }
+
+    /**
+     * Searches the engineers on no spaceship and no planet.
+     *
+     * @return the scope
+     */
+    public static EngineerScope unassignedOnly() {
+        return new EngineerScope(null, true);
+    }
+
+    /**
+     * Searches the crew of a spaceship.
+     *
+     * @param spaceShipId the spaceship ID
+     * @return the scope
+     */
+    public static EngineerScope onSpaceShip(long spaceShipId) {
+        return new EngineerScope(spaceShipId, false);
+    }
+}
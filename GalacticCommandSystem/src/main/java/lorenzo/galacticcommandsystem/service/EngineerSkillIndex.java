@@ -0,0 +1,292 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.EngineerDeletedEvent;
+import lorenzo.galacticcommandsystem.event.EngineerSavedEvent;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.repository.EngineerPlacement;
+import lorenzo.galacticcommandsystem.repository.EngineerRepository;
+import lorenzo.galacticcommandsystem.repository.EngineerSkill;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of engineer skills for staffing queries: engineers with all, any, or at least some
+ * of a set of skills, optionally only those unassigned or on a spaceship.
+ * <p>
+ * Engineers are numbered densely and skills are encoded to ints; each skill, each spaceship and
+ * the unassigned engineers have a {@link RoaringBitmap} of engineer numbers, so a query is a few
+ * bitmap operations instead of a join of {@code engineer_skill} per skill.
+ * <p>
+ * The index is loaded when the application is ready and maintained like the {@link MissionAssignmentIndex},
+ * through the engineer entity events after their transaction commits, which also report the skills
+ * changed by {@code Engineer.addSkill} and {@code removeSkill}. The numbers of deleted engineers are
+ * not reused until the next rebuild. Skills are matched exactly, like {@code EngineerRepository.findBySkill}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EngineerSkillIndex {
+
+    private static final long NO_SHIP = -1;
+
+    private final EngineerRepository engineerRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State(16);
+
+    /**
+     * Rebuilds the index from the engineers stored in the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the engineer events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<EngineerPlacement> placements = engineerRepository.findAllPlacements();
+        Map<Long, Set<String>> skills = new HashMap<>(placements.size() * 2);
+        for (EngineerSkill skill : engineerRepository.findAllSkills()) {
+            skills.computeIfAbsent(skill.engineerId(), id -> new LinkedHashSet<>(4)).add(skill.skill());
+        }
+        State rebuilt = new State(placements.size());
+        for (EngineerPlacement placement : placements) {
+            rebuilt.put(placement.id(), placement.spaceShipId(),
+                    placement.spaceShipId() != null || placement.planetId() != null,
+                    skills.getOrDefault(placement.id(), Set.of()));
+        }
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Engineer skill index built with {} engineers and {} skills in {} ms", rebuilt.live.cardinality(),
+                rebuilt.skillIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a created engineer, or updates the skills and assignment of an updated one.
+     *
+     * @param event the engineer event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngineerSaved(EngineerSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.put(event.engineerId(), event.spaceShipId(), event.assigned(), event.skills());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted engineer.
+     *
+     * @param event the engineer event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngineerDeleted(EngineerDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.remove(event.engineerId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the engineers having every one of some skills.
+     *
+     * @param skills the skills
+     * @param scope the engineers to search
+     * @return the IDs of the engineers found, in order
+     * @throws IllegalArgumentException if no skill is given
+     */
+    public List<Long> findWithAllSkills(Collection<String> skills, EngineerScope scope) {
+        return findWithAtLeast(skills, Set.copyOf(skills).size(), scope);
+    }
+
+    /**
+     * Finds the engineers having any of some skills.
+     *
+     * @param skills the skills
+     * @param scope the engineers to search
+     * @return the IDs of the engineers found, in order
+     * @throws IllegalArgumentException if no skill is given
+     */
+    public List<Long> findWithAnySkill(Collection<String> skills, EngineerScope scope) {
+        return findWithAtLeast(skills, 1, scope);
+    }
+
+    /**
+     * Finds the engineers having at least some of a set of skills.
+     *
+     * @param skills the skills
+     * @param minimum how many of the skills an engineer must have
+     * @param scope the engineers to search
+     * @return the IDs of the engineers found, in order
+     * @throws IllegalArgumentException if no skill is given, or the minimum is not between 1 and their number
+     */
+    public List<Long> findWithAtLeast(Collection<String> skills, int minimum, EngineerScope scope) {
+        Set<String> distinct = Set.copyOf(skills);
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("At least one skill is required");
+        }
+        if (minimum < 1 || minimum > distinct.size()) {
+            throw new IllegalArgumentException("The minimum must be between 1 and the number of skills");
+        }
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(distinct.size());
+            for (String skill : distinct) {
+                Integer skillId = state.skillIds.get(skill);
+                bitmaps.add(skillId != null ? state.bySkill.get(skillId) : new RoaringBitmap());
+            }
+            RoaringBitmap found = RoaringBitmap.atLeast(bitmaps, minimum);
+            if (scope.unassigned()) {
+                found = found.and(state.unassigned);
+            } else if (scope.spaceShipId() != null) {
+                found = found.and(state.bySpaceShip.getOrDefault(scope.spaceShipId(), new RoaringBitmap()));
+            }
+            long[] ids = new long[found.cardinality()];
+            int[] next = {0};
+            found.forEach(position -> ids[next[0]++] = state.ids[position]);
+            Arrays.sort(ids);
+            return Arrays.stream(ids).boxed().toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed engineers.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The bitmaps and the engineer numbering, replaced as a whole on rebuild.
+     */
+    private static final class State {
+
+        private final LongIntHashMap positions;
+        private long[] ids;
+        private long[] spaceShips;
+        private int[][] skillsOf;
+        private int count;
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final RoaringBitmap unassigned = new RoaringBitmap();
+        private final Map<Long, RoaringBitmap> bySpaceShip = new HashMap<>();
+        private final Map<String, Integer> skillIds = new HashMap<>();
+        private final List<RoaringBitmap> bySkill = new ArrayList<>();
+
+        State(int capacity) {
+            capacity = Math.max(capacity, 16);
+            positions = new LongIntHashMap(capacity);
+            ids = new long[capacity];
+            spaceShips = new long[capacity];
+            skillsOf = new int[capacity][];
+        }
+
+        void put(long id, Long spaceShipId, boolean assigned, Set<String> skills) {
+            int position = positions.get(id);
+            if (position == LongIntHashMap.MISSING) {
+                position = allocate(id);
+            } else {
+                placeOut(position);
+            }
+            spaceShips[position] = spaceShipId != null ? spaceShipId : NO_SHIP;
+            if (spaceShipId != null) {
+                bySpaceShip.computeIfAbsent(spaceShipId, ship -> new RoaringBitmap()).add(position);
+            } else if (!assigned) {
+                unassigned.add(position);
+            }
+            if (skills != null) {
+                for (int skillId : skillsOf[position]) {
+                    bySkill.get(skillId).remove(position);
+                }
+                int[] encoded = new int[skills.size()];
+                int i = 0;
+                for (String skill : skills) {
+                    int skillId = encode(skill);
+                    bySkill.get(skillId).add(position);
+                    encoded[i++] = skillId;
+                }
+                skillsOf[position] = encoded;
+            }
+        }
+
+        void remove(long id) {
+            int position = positions.remove(id);
+            if (position == LongIntHashMap.MISSING) {
+                return;
+            }
+            placeOut(position);
+            for (int skillId : skillsOf[position]) {
+                bySkill.get(skillId).remove(position);
+            }
+            skillsOf[position] = new int[0];
+            live.remove(position);
+        }
+
+        private int allocate(long id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                spaceShips = Arrays.copyOf(spaceShips, count * 2);
+                skillsOf = Arrays.copyOf(skillsOf, count * 2);
+            }
+            int position = count++;
+            ids[position] = id;
+            spaceShips[position] = NO_SHIP;
+            skillsOf[position] = new int[0];
+            positions.put(id, position);
+            live.add(position);
+            return position;
+        }
+
+        /**
+         * Takes an engineer out of the bitmap of its spaceship, or of the unassigned engineers.
+         */
+        private void placeOut(int position) {
+            unassigned.remove(position);
+            if (spaceShips[position] != NO_SHIP) {
+                RoaringBitmap crew = bySpaceShip.get(spaceShips[position]);
+                crew.remove(position);
+                if (crew.isEmpty()) {
+                    bySpaceShip.remove(spaceShips[position]);
+                }
+            }
+        }
+
+        private int encode(String skill) {
+            Integer skillId = skillIds.get(skill);
+            if (skillId == null) {
+                skillId = bySkill.size();
+                skillIds.put(skill, skillId);
+                bySkill.add(new RoaringBitmap());
+            }
+            return skillId;
+        }
+    }
+}
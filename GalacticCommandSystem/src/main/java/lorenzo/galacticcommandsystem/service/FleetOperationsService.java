@@ -0,0 +1,58 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.instrumentation.CrewAssignmentEvent;
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Changes to crews that many users may make at the same time.
+ * Mission funding and crew credits are not changed here but by the {@link LedgerService}, which needs no retries.
+ * <p>
+ * Every change reads the current row, applies the domain rules to it and writes it back with its version
+ * checked, so two concurrent changes of the same crew member can no longer overwrite each other.
+ * The one that loses is run again by {@link OptimisticRetry} on the fresh row, without locking the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class FleetOperationsService {
+
+    public static final String TRANSFER_CREW = "transferCrewMember";
+
+    private final OptimisticRetry optimisticRetry;
+    private final SpaceShipRepository spaceShipRepository;
+    private final CrewMemberRepository crewMemberRepository;
+    private final GalaxyClock galaxyClock;
+
+    /**
+     * Moves a crew member to a spaceship, off the spaceship they are on, and records it in the crew history.
+     * Nothing changes if the crew member is already on that spaceship.
+     * A move is recorded as a {@link CrewAssignmentEvent} when a flight recording runs.
+     *
+     * @param crewMemberId the crew member ID
+     * @param spaceShipId the ID of the spaceship to move to
+     * @return true if the crew member moved, false if they were already on the spaceship
+     * @throws IllegalArgumentException if the crew member or the spaceship does not exist
+     * @throws IllegalStateException if the crew member is assigned to a planet
+     */
+    public boolean transferCrewMember(Long crewMemberId, Long spaceShipId) {
+        return optimisticRetry.execute(TRANSFER_CREW, () -> {
+            CrewMember member = crewMemberRepository.findById(crewMemberId)
+                    .orElseThrow(() -> new IllegalArgumentException("Crew member not found"));
+            SpaceShip ship = spaceShipRepository.findById(spaceShipId)
+                    .orElseThrow(() -> new IllegalArgumentException("Ship not found"));
+            if (member.getSpaceShip() != null && spaceShipId.equals(member.getSpaceShip().getId())) {
+                return false;
+            }
+            CrewAssignmentEvent event = new CrewAssignmentEvent();
+            event.begin();
+            member.removeFromSpaceShip();
+            member.assignToSpaceShip(ship, galaxyClock.today());
+            event.complete(crewMemberId, spaceShipId);
+            return true;
+        });
+    }
+}
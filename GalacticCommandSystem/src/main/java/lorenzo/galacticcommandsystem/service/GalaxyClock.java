@@ -0,0 +1,59 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * The current date of the galaxy, read from the {@link Clock} bean so tests can move time.
+ * <p>
+ * The date is cached until the next midnight in the zone of the clock, so asking for it costs
+ * a read of the clock and a comparison instead of a time zone conversion.
+ */
+@Component
+public class GalaxyClock {
+
+    private final Clock clock;
+    private volatile CachedDay cachedDay;
+
+    public GalaxyClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the current date.
+     *
+     * @return today, in the zone of the clock
+     */
+    public LocalDate today() {
+        long now = clock.millis();
+        CachedDay day = cachedDay;
+        // a test clock may also go back in time
+        if (day == null || now < day.fromMillis() || now >= day.untilMillis()) {
+            day = CachedDay.of(now, clock.getZone());
+            cachedDay = day;
+        }
+        return day.date();
+    }
+
+    /**
+     * Gets the clock the date is read from.
+     *
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    private record CachedDay(LocalDate date, long fromMillis, long untilMillis) {
+
+        static CachedDay of(long millis, ZoneId zone) {
+            LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+            return new CachedDay(date, date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
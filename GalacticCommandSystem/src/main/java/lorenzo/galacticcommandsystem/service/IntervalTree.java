@@ -0,0 +1,146 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Static, balanced interval tree over assignment periods, with both ends inclusive.
+ * <p>
+ * The intervals are sorted by start day and the tree is stored implicitly over that order: the node of
+ * the range {@code [lo, hi)} is at {@code (lo + hi) / 2}, and also holds the largest end day of its range.
+ * A query skips every range that ends before the queried period, and every node after one that starts
+ * after it, so it runs in O(log n + k) for k intervals found.
+ * <p>
+ * Intervals cannot be added after building; removed intervals are only marked and skipped by queries
+ * until the tree is rebuilt.
+ */
+public final class IntervalTree {
+
+    private final AssignmentInterval[] intervals;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final LongIntHashMap positions;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    /**
+     * Builds a tree.
+     *
+     * @param intervals the intervals, which are not modified
+     */
+    public IntervalTree(List<AssignmentInterval> intervals) {
+        this.intervals = intervals.toArray(new AssignmentInterval[0]);
+        Arrays.sort(this.intervals, Comparator.comparingLong(AssignmentInterval::startDay));
+        int size = this.intervals.length;
+        starts = new long[size];
+        ends = new long[size];
+        maxEnds = new long[size];
+        positions = new LongIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            starts[i] = this.intervals[i].startDay();
+            ends[i] = this.intervals[i].endDay();
+            positions.put(this.intervals[i].id(), i);
+        }
+        fillMaxEnds(0, size);
+    }
+
+    /**
+     * Creates an empty tree.
+     *
+     * @return the tree
+     */
+    public static IntervalTree empty() {
+        return new IntervalTree(List.of());
+    }
+
+    /**
+     * Gets the number of intervals that have not been removed.
+     *
+     * @return the size
+     */
+    public int size() {
+        return intervals.length - removedCount;
+    }
+
+    /**
+     * Gets the number of intervals removed since the tree was built.
+     *
+     * @return the number of removed intervals
+     */
+    public int removedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Removes an interval.
+     *
+     * @param id the assignment ID
+     * @return true if the interval was in the tree
+     */
+    public boolean remove(long id) {
+        int position = positions.get(id);
+        if (position == LongIntHashMap.MISSING || removed.get(position)) {
+            return false;
+        }
+        removed.set(position);
+        removedCount++;
+        return true;
+    }
+
+    /**
+     * Copies the intervals that have not been removed, to rebuild the tree.
+     *
+     * @param target the list receiving the intervals
+     */
+    public void copyTo(List<AssignmentInterval> target) {
+        for (int i = 0; i < intervals.length; i++) {
+            if (!removed.get(i)) {
+                target.add(intervals[i]);
+            }
+        }
+    }
+
+    /**
+     * Visits every interval that shares at least one day with a period, in no particular order.
+     *
+     * @param fromDay the first day of the period, as an epoch day
+     * @param toDay the last day of the period, as an epoch day
+     * @param visitor receives the intervals found
+     */
+    public void overlapping(long fromDay, long toDay, Consumer<AssignmentInterval> visitor) {
+        overlapping(0, intervals.length, fromDay, toDay, visitor);
+    }
+
+    private void overlapping(int lo, int hi, long fromDay, long toDay, Consumer<AssignmentInterval> visitor) {
+        while (lo < hi) {
+            int node = (lo + hi) >>> 1;
+            if (maxEnds[node] < fromDay) {
+                return;
+            }
+            overlapping(lo, node, fromDay, toDay, visitor);
+            if (starts[node] > toDay) {
+                return;
+            }
+            if (ends[node] >= fromDay && !removed.get(node)) {
+                visitor.accept(intervals[node]);
+            }
+            lo = node + 1;
+        }
+    }
+
+    private long fillMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int node = (lo + hi) >>> 1;
+        long maxEnd = Math.max(ends[node], Math.max(fillMaxEnds(lo, node), fillMaxEnds(node + 1, hi)));
+        maxEnds[node] = maxEnd;
+        return maxEnd;
+    }
+}
@@ -0,0 +1,487 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted full-text index over documents made of a few weighted text fields, identified by a long ID
+ * and tagged with a bit mask that searches can filter on.
+ * <p>
+ * Text is split into lower case words of letters and digits. Each word of the vocabulary has a posting list
+ * of the documents containing it, in document order, with the fields it was found in. Words are sorted, so
+ * a query word also matches the words it starts, and the three-letter grams of the vocabulary are indexed,
+ * so it matches the words containing it too, like {@code LIKE '%word%'} would. A document matches when
+ * it matches every query word.
+ * <p>
+ * A document scores, for each query word, the best of its matching words: the weight of the best field
+ * they are in, times their inverse document frequency, times 1 for the same word, 1/2 for a word it
+ * starts and 1/4 for a word it is inside of. The rarest query word is looked up first, and the others
+ * only check the documents still matching, so a query costs about the size of its smallest posting lists.
+ * <p>
+ * Documents are numbered in the order they are added, which keeps posting lists sorted without sorting.
+ * Removed documents are only marked and skipped by searches until {@link #compact()} drops them.
+ * Not thread-safe: searches may run concurrently with each other, but not with changes.
+ */
+public final class InvertedIndex {
+
+    /**
+     * Length of the grams indexing the vocabulary; shorter query words only match by prefix.
+     */
+    static final int GRAM = 3;
+
+    private static final int MAX_WORD_LENGTH = 32;
+    private static final int MAX_QUERY_WORDS = 16;
+    private static final int MAX_EXPANSIONS = 256;
+    private static final double PREFIX_QUALITY = 0.5;
+    private static final double INFIX_QUALITY = 0.25;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final double[] bestWeights;
+    private final NavigableMap<String, Postings> words = new TreeMap<>();
+    private final Map<String, List<Postings>> grams = new HashMap<>();
+
+    private long[] ids = new long[16];
+    private int[] tags = new int[16];
+    private int documents;
+    private LongIntHashMap documentById = new LongIntHashMap(16);
+    private BitSet removed = new BitSet();
+    private int removedCount;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param fieldWeights the weight of each field, in the order field values are given to {@link #add}
+     */
+    public InvertedIndex(double... fieldWeights) {
+        if (fieldWeights.length == 0 || fieldWeights.length > Byte.SIZE) {
+            throw new IllegalArgumentException("An index has 1 to 8 fields");
+        }
+        bestWeights = new double[1 << fieldWeights.length];
+        for (int mask = 1; mask < bestWeights.length; mask++) {
+            for (int field = 0; field < fieldWeights.length; field++) {
+                if ((mask & (1 << field)) != 0) {
+                    bestWeights[mask] = Math.max(bestWeights[mask], fieldWeights[field]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a text into the words the index is made of.
+     *
+     * @param text the text, may be null
+     * @return the distinct words, in order of appearance
+     */
+    public static Set<String> words(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        if (text == null) {
+            return result;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean inWord = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                result.add(text.substring(start, Math.min(i, start + MAX_WORD_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of documents searched.
+     *
+     * @return the size
+     */
+    public int size() {
+        return documents - removedCount;
+    }
+
+    /**
+     * Gets the number of removed documents still taking space, until {@link #compact()}.
+     *
+     * @return the number of removed documents
+     */
+    public int removedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Gets the tags of a document.
+     *
+     * @param id the document ID
+     * @return the tags, or -1 if the document is not in the index
+     */
+    public int tags(long id) {
+        int document = documentById.get(id);
+        return document == LongIntHashMap.MISSING ? -1 : tags[document];
+    }
+
+    /**
+     * Adds a document, replacing the one with the same ID.
+     *
+     * @param id the document ID
+     * @param documentTags the tags of the document
+     * @param fields the text of each field, null for empty fields
+     */
+    public void add(long id, int documentTags, String... fields) {
+        if (fields.length >= bestWeights.length) {
+            throw new IllegalArgumentException("Too many fields");
+        }
+        remove(id);
+        Map<String, Integer> found = new HashMap<>();
+        for (int field = 0; field < fields.length; field++) {
+            int bit = 1 << field;
+            for (String word : words(fields[field])) {
+                found.merge(word, bit, (a, b) -> a | b);
+            }
+        }
+        if (documents == ids.length) {
+            ids = Arrays.copyOf(ids, documents * 2);
+            tags = Arrays.copyOf(tags, documents * 2);
+        }
+        int document = documents++;
+        ids[document] = id;
+        tags[document] = documentTags;
+        documentById.put(id, document);
+        found.forEach((word, fieldMask) -> postings(word).add(document, fieldMask));
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the document ID
+     * @return true if the document was in the index
+     */
+    public boolean remove(long id) {
+        int document = documentById.remove(id);
+        if (document == LongIntHashMap.MISSING) {
+            return false;
+        }
+        removed.set(document);
+        removedCount++;
+        return true;
+    }
+
+    /**
+     * Searches the documents matching every word of a query.
+     *
+     * @param query the query text
+     * @param anyTags the tags a document must have at least one of, or 0 to search all documents
+     * @param limit the maximum number of results
+     * @return the best matches, best first, then by ID
+     */
+    public List<SearchHit> search(String query, int anyTags, int limit) {
+        List<String> queryWords = new ArrayList<>(words(query));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (queryWords.size() > MAX_QUERY_WORDS) {
+            queryWords = queryWords.subList(0, MAX_QUERY_WORDS);
+        }
+        List<List<Expansion>> expansions = new ArrayList<>();
+        for (String word : queryWords) {
+            List<Expansion> expansion = expand(word);
+            if (expansion.isEmpty()) {
+                return List.of();
+            }
+            expansions.add(expansion);
+        }
+        expansions.sort((a, b) -> Long.compare(postingCount(a), postingCount(b)));
+
+        Scratch scratch = SCRATCH.get();
+        scratch.ensureCapacity(documents);
+        try {
+            collectFirst(expansions.get(0), anyTags, scratch);
+            for (int level = 1; level < expansions.size(); level++) {
+                narrow(expansions.get(level), level, scratch);
+            }
+            return best(scratch, expansions.size(), limit);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Drops the removed documents and the words only they contained, renumbering the others.
+     */
+    public void compact() {
+        if (removedCount == 0) {
+            return;
+        }
+        int[] renumbered = new int[documents];
+        int kept = 0;
+        for (int document = 0; document < documents; document++) {
+            if (removed.get(document)) {
+                renumbered[document] = -1;
+            } else {
+                renumbered[document] = kept;
+                ids[kept] = ids[document];
+                tags[kept] = tags[document];
+                kept++;
+            }
+        }
+        documents = kept;
+        documentById = new LongIntHashMap(kept);
+        for (int document = 0; document < kept; document++) {
+            documentById.put(ids[document], document);
+        }
+        Iterator<Postings> iterator = words.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+        for (Iterator<List<Postings>> lists = grams.values().iterator(); lists.hasNext(); ) {
+            List<Postings> list = lists.next();
+            list.removeIf(postings -> postings.size == 0);
+            if (list.isEmpty()) {
+                lists.remove();
+            }
+        }
+        removed = new BitSet();
+        removedCount = 0;
+    }
+
+    private Postings postings(String word) {
+        Postings postings = words.get(word);
+        if (postings == null) {
+            postings = new Postings(word);
+            words.put(word, postings);
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                grams.computeIfAbsent(word.substring(i, i + GRAM), gram -> new ArrayList<>(2)).add(postings);
+            }
+        }
+        return postings;
+    }
+
+    private List<Expansion> expand(String word) {
+        List<Expansion> result = new ArrayList<>();
+        Postings same = words.get(word);
+        if (same != null) {
+            result.add(new Expansion(same, idf(same)));
+        }
+        for (Postings postings : words.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+            if (result.size() >= MAX_EXPANSIONS) {
+                return result;
+            }
+            result.add(new Expansion(postings, PREFIX_QUALITY * idf(postings)));
+        }
+        if (word.length() < GRAM) {
+            return result;
+        }
+        // the rarest gram of the word bounds the vocabulary words to check
+        List<Postings> candidates = null;
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            List<Postings> list = grams.get(word.substring(i, i + GRAM));
+            if (list == null) {
+                return result;
+            }
+            if (candidates == null || list.size() < candidates.size()) {
+                candidates = list;
+            }
+        }
+        for (Postings postings : candidates) {
+            if (result.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            if (postings.size > 0 && !postings.word.startsWith(word) && postings.word.contains(word)) {
+                result.add(new Expansion(postings, INFIX_QUALITY * idf(postings)));
+            }
+        }
+        return result;
+    }
+
+    private double idf(Postings postings) {
+        return Math.log(1 + (double) Math.max(size(), 1) / Math.max(postings.size, 1));
+    }
+
+    private static long postingCount(List<Expansion> expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.postings().size;
+        }
+        return count;
+    }
+
+    private void collectFirst(List<Expansion> expansions, int anyTags, Scratch scratch) {
+        for (Expansion expansion : expansions) {
+            Postings postings = expansion.postings();
+            for (int i = 0; i < postings.size; i++) {
+                int document = postings.documents[i];
+                if (removed.get(document) || (anyTags != 0 && (tags[document] & anyTags) == 0)) {
+                    continue;
+                }
+                double score = expansion.weight() * bestWeights[postings.fields[i]];
+                if (scratch.levels[document] == 0) {
+                    scratch.candidates.add(document);
+                }
+                scratch.match(document, 0, score);
+            }
+        }
+    }
+
+    private void narrow(List<Expansion> expansions, int level, Scratch scratch) {
+        int candidates = scratch.candidates.size;
+        for (Expansion expansion : expansions) {
+            Postings postings = expansion.postings();
+            if (postings.size > 8L * candidates) {
+                // look the few remaining candidates up in the long posting list
+                for (int c = 0; c < candidates; c++) {
+                    int document = scratch.candidates.values[c];
+                    if (scratch.levels[document] >= level) {
+                        int i = Arrays.binarySearch(postings.documents, 0, postings.size, document);
+                        if (i >= 0) {
+                            scratch.match(document, level, expansion.weight() * bestWeights[postings.fields[i]]);
+                        }
+                    }
+                }
+            } else {
+                for (int i = 0; i < postings.size; i++) {
+                    int document = postings.documents[i];
+                    if (scratch.levels[document] >= level) {
+                        scratch.match(document, level, expansion.weight() * bestWeights[postings.fields[i]]);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<SearchHit> best(Scratch scratch, int wordCount, int limit) {
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(SearchHit.BEST_FIRST.reversed());
+        for (int c = 0; c < scratch.candidates.size; c++) {
+            int document = scratch.candidates.values[c];
+            if (scratch.levels[document] == wordCount) {
+                SearchHit hit = new SearchHit(ids[document], scratch.scores[document]);
+                if (top.size() < limit) {
+                    top.add(hit);
+                } else if (SearchHit.BEST_FIRST.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+        }
+        List<SearchHit> result = new ArrayList<>(top);
+        result.sort(SearchHit.BEST_FIRST);
+        return result;
+    }
+
+    private record Expansion(Postings postings, double weight) {
+    }
+
+    /**
+     * The documents containing a word, in document order, with the fields containing it.
+     */
+    private static final class Postings {
+
+        private final String word;
+        private int[] documents = new int[2];
+        private byte[] fields = new byte[2];
+        private int size;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(int document, int fieldMask) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size + (size >> 1) + 1);
+                fields = Arrays.copyOf(fields, documents.length);
+            }
+            documents[size] = document;
+            fields[size] = (byte) fieldMask;
+            size++;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept] = document;
+                    fields[kept] = fields[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < documents.length / 4) {
+                documents = Arrays.copyOf(documents, Math.max(kept, 2));
+                fields = Arrays.copyOf(fields, documents.length);
+            }
+        }
+    }
+
+    /**
+     * Per-thread score accumulators indexed by document, reset after each search for the documents it touched.
+     */
+    private static final class Scratch {
+
+        private byte[] levels = new byte[0];
+        private double[] scores = new double[0];
+        private double[] lastScores = new double[0];
+        private final IntList candidates = new IntList();
+
+        void ensureCapacity(int documents) {
+            if (levels.length < documents) {
+                int capacity = Math.max(documents, levels.length * 2);
+                levels = new byte[capacity];
+                scores = new double[capacity];
+                lastScores = new double[capacity];
+            }
+        }
+
+        /**
+         * Records that a document matches the query word of a level, keeping its best score for that word.
+         */
+        void match(int document, int level, double score) {
+            if (levels[document] == level) {
+                levels[document] = (byte) (level + 1);
+                scores[document] += score;
+                lastScores[document] = score;
+            } else if (score > lastScores[document]) {
+                scores[document] += score - lastScores[document];
+                lastScores[document] = score;
+            }
+        }
+
+        void clear() {
+            for (int c = 0; c < candidates.size; c++) {
+                int document = candidates.values[c];
+                levels[document] = 0;
+                scores[document] = 0;
+                lastScores[document] = 0;
+            }
+            candidates.size = 0;
+        }
+    }
+
+    private static final class IntList {
+
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Graph of planets where two planets are connected when they lie within the jump range,
+ * with edges weighted by their Euclidean distance (the same metric as {@code Planet.getDistanceTo}).
+ * <p>
+ * Edges are not stored: planets are bucketed in a uniform grid whose cell size is the jump range,
+ * so the neighbours of a planet are always in the 27 cells around it and are found on demand.
+ * This keeps building linear in the number of planets and makes adding or removing a planet O(1).
+ * Coordinates and grid buckets live in primitive arrays; the search state is kept per thread
+ * and reused between queries.
+ */
+public final class JumpGraph {
+
+    private static final int DIMENSIONS = 3;
+    private static final int CELL_BITS = 21;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    private final double jumpRange;
+    private final double squaredJumpRange;
+
+    private long[] nodeIds;
+    private double[] nodePoints;
+    private int nodeCount;
+    private int[] freeNodes = new int[16];
+    private int freeCount;
+    private final LongIntHashMap nodeById;
+
+    private final LongIntHashMap bucketByCell;
+    private int[][] buckets = new int[16][];
+    private int[] bucketSizes = new int[16];
+    private int bucketCount;
+
+    private final ThreadLocal<SearchState> searchState = ThreadLocal.withInitial(SearchState::new);
+
+    /**
+     * A path found by {@link #findPath}.
+     *
+     * @param planetIds the planets visited, from the start to the destination
+     * @param distance the total distance travelled
+     */
+    public record Path(List<Long> planetIds, double distance) {
+    }
+
+    /**
+     * Creates an empty graph.
+     *
+     * @param jumpRange the maximum distance of a single jump
+     * @param expectedSize the expected number of planets
+     */
+    public JumpGraph(double jumpRange, int expectedSize) {
+        if (!(jumpRange > 0)) {
+            throw new IllegalArgumentException("Jump range must be positive");
+        }
+        this.jumpRange = jumpRange;
+        this.squaredJumpRange = jumpRange * jumpRange;
+        int capacity = Math.max(expectedSize, 16);
+        nodeIds = new long[capacity];
+        nodePoints = new double[capacity * DIMENSIONS];
+        nodeById = new LongIntHashMap(capacity);
+        bucketByCell = new LongIntHashMap(capacity / 4);
+    }
+
+    /**
+     * Gets the maximum distance of a single jump.
+     *
+     * @return the jump range
+     */
+    public double getJumpRange() {
+        return jumpRange;
+    }
+
+    /**
+     * Gets the number of planets in the graph.
+     *
+     * @return the size
+     */
+    public int size() {
+        return nodeById.size();
+    }
+
+    /**
+     * Checks whether a planet is in the graph.
+     *
+     * @param id the planet ID
+     * @return true if the planet is in the graph
+     */
+    public boolean contains(long id) {
+        return nodeById.get(id) != LongIntHashMap.MISSING;
+    }
+
+    /**
+     * Adds a planet, or moves it if it is already in the graph.
+     *
+     * @param id the planet ID
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     */
+    public void add(long id, double x, double y, double z) {
+        remove(id);
+        int node;
+        if (freeCount > 0) {
+            node = freeNodes[--freeCount];
+        } else {
+            if (nodeCount == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, nodeCount * 2);
+                nodePoints = Arrays.copyOf(nodePoints, nodeCount * 2 * DIMENSIONS);
+            }
+            node = nodeCount++;
+        }
+        nodeIds[node] = id;
+        nodePoints[node * DIMENSIONS] = x;
+        nodePoints[node * DIMENSIONS + 1] = y;
+        nodePoints[node * DIMENSIONS + 2] = z;
+        nodeById.put(id, node);
+
+        long cell = cellKey(cell(x), cell(y), cell(z));
+        int bucket = bucketByCell.get(cell);
+        if (bucket == LongIntHashMap.MISSING) {
+            if (bucketCount == buckets.length) {
+                buckets = Arrays.copyOf(buckets, bucketCount * 2);
+                bucketSizes = Arrays.copyOf(bucketSizes, bucketCount * 2);
+            }
+            bucket = bucketCount++;
+            buckets[bucket] = new int[4];
+            bucketByCell.put(cell, bucket);
+        }
+        if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = node;
+    }
+
+    /**
+     * Removes a planet.
+     *
+     * @param id the planet ID
+     * @return true if the planet was in the graph
+     */
+    public boolean remove(long id) {
+        int node = nodeById.remove(id);
+        if (node == LongIntHashMap.MISSING) {
+            return false;
+        }
+        int offset = node * DIMENSIONS;
+        int bucket = bucketByCell.get(cellKey(cell(nodePoints[offset]), cell(nodePoints[offset + 1]),
+                cell(nodePoints[offset + 2])));
+        int[] members = buckets[bucket];
+        for (int i = 0; i < bucketSizes[bucket]; i++) {
+            if (members[i] == node) {
+                members[i] = members[--bucketSizes[bucket]];
+                break;
+            }
+        }
+        if (freeCount == freeNodes.length) {
+            freeNodes = Arrays.copyOf(freeNodes, freeCount * 2);
+        }
+        freeNodes[freeCount++] = node;
+        return true;
+    }
+
+    /**
+     * Gets the coordinates of a planet.
+     *
+     * @param id the planet ID
+     * @return the X, Y and Z coordinates, or null if the planet is not in the graph
+     */
+    public double[] position(long id) {
+        int node = nodeById.get(id);
+        if (node == LongIntHashMap.MISSING) {
+            return null;
+        }
+        return Arrays.copyOfRange(nodePoints, node * DIMENSIONS, node * DIMENSIONS + DIMENSIONS);
+    }
+
+    /**
+     * Computes the straight-line distance between a planet and a point.
+     *
+     * @param id the planet ID
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @return the distance, or NaN if the planet is not in the graph
+     */
+    public double distance(long id, double x, double y, double z) {
+        int node = nodeById.get(id);
+        if (node == LongIntHashMap.MISSING) {
+            return Double.NaN;
+        }
+        return Math.sqrt(squaredDistance(node, x, y, z));
+    }
+
+    /**
+     * Finds the shortest path between two planets with A*, using the straight-line distance
+     * to the destination as heuristic.
+     *
+     * @param fromId the start planet ID
+     * @param toId the destination planet ID
+     * @return the shortest path, or null if either planet is not in the graph or the destination is unreachable
+     */
+    public Path findPath(long fromId, long toId) {
+        int start = nodeById.get(fromId);
+        int goal = nodeById.get(toId);
+        if (start == LongIntHashMap.MISSING || goal == LongIntHashMap.MISSING) {
+            return null;
+        }
+        double goalX = nodePoints[goal * DIMENSIONS];
+        double goalY = nodePoints[goal * DIMENSIONS + 1];
+        double goalZ = nodePoints[goal * DIMENSIONS + 2];
+
+        SearchState state = searchState.get();
+        state.reset(nodeCount);
+        state.open(start, 0, -1, Math.sqrt(squaredDistance(start, goalX, goalY, goalZ)));
+
+        while (state.heapSize > 0) {
+            int node = state.poll();
+            if (node < 0) {
+                continue;
+            }
+            if (node == goal) {
+                return state.path(goal, nodeIds);
+            }
+            double cost = state.cost[node];
+            int offset = node * DIMENSIONS;
+            double x = nodePoints[offset];
+            double y = nodePoints[offset + 1];
+            double z = nodePoints[offset + 2];
+            int cx = cell(x);
+            int cy = cell(y);
+            int cz = cell(z);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        int bucket = bucketByCell.get(cellKey(cx + dx, cy + dy, cz + dz));
+                        if (bucket == LongIntHashMap.MISSING) {
+                            continue;
+                        }
+                        int[] members = buckets[bucket];
+                        for (int i = 0, n = bucketSizes[bucket]; i < n; i++) {
+                            int neighbour = members[i];
+                            if (neighbour == node || state.isClosed(neighbour)) {
+                                continue;
+                            }
+                            double squaredJump = squaredDistance(neighbour, x, y, z);
+                            if (squaredJump > squaredJumpRange) {
+                                continue;
+                            }
+                            double neighbourCost = cost + Math.sqrt(squaredJump);
+                            if (neighbourCost < state.costOf(neighbour)) {
+                                double remaining = Math.sqrt(squaredDistance(neighbour, goalX, goalY, goalZ));
+                                state.open(neighbour, neighbourCost, node, neighbourCost + remaining);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private double squaredDistance(int node, double x, double y, double z) {
+        int offset = node * DIMENSIONS;
+        double dx = nodePoints[offset] - x;
+        double dy = nodePoints[offset + 1] - y;
+        double dz = nodePoints[offset + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / jumpRange);
+    }
+
+    /**
+     * Packs the cell coordinates in a single key. Cells far enough apart to wrap around may share
+     * a bucket, which only costs a few extra distance checks.
+     */
+    private static long cellKey(int cx, int cy, int cz) {
+        return ((cx & CELL_MASK) << (2 * CELL_BITS)) | ((cy & CELL_MASK) << CELL_BITS) | (cz & CELL_MASK);
+    }
+
+    /**
+     * A* bookkeeping for one thread. Arrays are reused between searches; a generation number
+     * tells which entries belong to the current search, so nothing has to be cleared.
+     */
+    private static final class SearchState {
+        private int generation;
+        private int[] seen = new int[0];
+        private int[] closed = new int[0];
+        private double[] cost = new double[0];
+        private int[] parent = new int[0];
+        private double[] heapKeys = new double[64];
+        private int[] heapNodes = new int[64];
+        private int heapSize;
+
+        void reset(int capacity) {
+            if (seen.length < capacity) {
+                int size = Math.max(capacity, seen.length * 2);
+                seen = new int[size];
+                closed = new int[size];
+                cost = new double[size];
+                parent = new int[size];
+                generation = 0;
+            }
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+            heapSize = 0;
+        }
+
+        boolean isClosed(int node) {
+            return closed[node] == generation;
+        }
+
+        double costOf(int node) {
+            return seen[node] == generation ? cost[node] : Double.POSITIVE_INFINITY;
+        }
+
+        void open(int node, double nodeCost, int from, double priority) {
+            seen[node] = generation;
+            cost[node] = nodeCost;
+            parent[node] = from;
+            push(priority, node);
+        }
+
+        /**
+         * Pops the node with the lowest priority and closes it.
+         *
+         * @return the node, or -1 if the popped entry was stale (the node was already closed)
+         */
+        int poll() {
+            int node = heapNodes[0];
+            heapSize--;
+            if (heapSize > 0) {
+                siftDown(heapKeys[heapSize], heapNodes[heapSize]);
+            }
+            if (closed[node] == generation) {
+                return -1;
+            }
+            closed[node] = generation;
+            return node;
+        }
+
+        Path path(int goal, long[] nodeIds) {
+            List<Long> ids = new ArrayList<>();
+            for (int node = goal; node >= 0; node = parent[node]) {
+                ids.add(nodeIds[node]);
+            }
+            Collections.reverse(ids);
+            return new Path(List.copyOf(ids), cost[goal]);
+        }
+
+        private void push(double key, int node) {
+            if (heapSize == heapKeys.length) {
+                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            }
+            int child = heapSize++;
+            while (child > 0) {
+                int parentIndex = (child - 1) >>> 1;
+                if (heapKeys[parentIndex] <= key) {
+                    break;
+                }
+                heapKeys[child] = heapKeys[parentIndex];
+                heapNodes[child] = heapNodes[parentIndex];
+                child = parentIndex;
+            }
+            heapKeys[child] = key;
+            heapNodes[child] = node;
+        }
+
+        private void siftDown(double key, int node) {
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                    child++;
+                }
+                if (heapKeys[child] >= key) {
+                    break;
+                }
+                heapKeys[index] = heapKeys[child];
+                heapNodes[index] = heapNodes[child];
+                index = child;
+            }
+            heapKeys[index] = key;
+            heapNodes[index] = node;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Static, balanced 3-d tree over points identified by a long ID.
+ * <p>
+ * The tree is stored implicitly in primitive arrays: the node of the range {@code [lo, hi)}
+ * is at {@code (lo + hi) / 2}, split on axis {@code depth % 3}, with the points before it
+ * not greater and the points after it not smaller on that axis. Building is done in place
+ * with a three-way quickselect, so it runs in O(n log n) even with many equal coordinates.
+ * <p>
+ * Points cannot be added after building; removed points are only marked and skipped by queries
+ * until the tree is rebuilt.
+ */
+public final class KdTree {
+
+    private static final int DIMENSIONS = 3;
+
+    private final long[] ids;
+    private final double[] points;
+    private final LongIntHashMap positions;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    /**
+     * Receives the points found by a range query.
+     */
+    @FunctionalInterface
+    public interface PointVisitor {
+        void visit(long id, double squaredDistance);
+    }
+
+    /**
+     * Builds a tree.
+     *
+     * @param ids the point IDs, only the first {@code size} are used
+     * @param points the coordinates, x, y and z of each point in sequence
+     * @param size the number of points
+     */
+    public KdTree(long[] ids, double[] points, int size) {
+        this.ids = Arrays.copyOf(ids, size);
+        this.points = Arrays.copyOf(points, size * DIMENSIONS);
+        build(0, size, 0);
+        positions = new LongIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            positions.put(this.ids[i], i);
+        }
+    }
+
+    /**
+     * Creates an empty tree.
+     *
+     * @return the tree
+     */
+    public static KdTree empty() {
+        return new KdTree(new long[0], new double[0], 0);
+    }
+
+    /**
+     * Gets the number of points that have not been removed.
+     *
+     * @return the size
+     */
+    public int size() {
+        return ids.length - removedCount;
+    }
+
+    /**
+     * Gets the number of points removed since the tree was built.
+     *
+     * @return the number of removed points
+     */
+    public int removedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Checks whether a point is in the tree.
+     *
+     * @param id the point ID
+     * @return true if the point is in the tree and has not been removed
+     */
+    public boolean contains(long id) {
+        int position = positions.get(id);
+        return position != LongIntHashMap.MISSING && !removed.get(position);
+    }
+
+    /**
+     * Removes a point.
+     *
+     * @param id the point ID
+     * @return true if the point was in the tree
+     */
+    public boolean remove(long id) {
+        int position = positions.get(id);
+        if (position == LongIntHashMap.MISSING || removed.get(position)) {
+            return false;
+        }
+        removed.set(position);
+        removedCount++;
+        return true;
+    }
+
+    /**
+     * Copies the points that have not been removed, to rebuild the tree.
+     *
+     * @param targetIds the array receiving the IDs
+     * @param targetPoints the array receiving the coordinates
+     * @return the number of points copied
+     */
+    public int copyTo(long[] targetIds, double[] targetPoints) {
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (!removed.get(i)) {
+                targetIds[count] = ids[i];
+                System.arraycopy(points, i * DIMENSIONS, targetPoints, count * DIMENSIONS, DIMENSIONS);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Offers the points closest to a query point to a collector.
+     *
+     * @param x the X coordinate of the query point
+     * @param y the Y coordinate of the query point
+     * @param z the Z coordinate of the query point
+     * @param collector the collector of the closest points
+     */
+    public void nearest(double x, double y, double z, NearestCollector collector) {
+        nearest(0, ids.length, 0, x, y, z, collector);
+    }
+
+    /**
+     * Visits every point within a distance of a query point, in no particular order.
+     *
+     * @param x the X coordinate of the query point
+     * @param y the Y coordinate of the query point
+     * @param z the Z coordinate of the query point
+     * @param radius the maximum distance
+     * @param visitor receives the points found
+     */
+    public void withinRadius(double x, double y, double z, double radius, PointVisitor visitor) {
+        withinRadius(0, ids.length, 0, x, y, z, radius * radius, visitor);
+    }
+
+    private void nearest(int lo, int hi, int depth, double x, double y, double z, NearestCollector collector) {
+        if (lo >= hi) {
+            return;
+        }
+        int node = (lo + hi) >>> 1;
+        if (!removed.get(node)) {
+            collector.offer(ids[node], squaredDistance(node, x, y, z));
+        }
+        int axis = depth % DIMENSIONS;
+        double diff = (axis == 0 ? x : axis == 1 ? y : z) - points[node * DIMENSIONS + axis];
+        if (diff < 0) {
+            nearest(lo, node, depth + 1, x, y, z, collector);
+            if (diff * diff < collector.bound()) {
+                nearest(node + 1, hi, depth + 1, x, y, z, collector);
+            }
+        } else {
+            nearest(node + 1, hi, depth + 1, x, y, z, collector);
+            if (diff * diff < collector.bound()) {
+                nearest(lo, node, depth + 1, x, y, z, collector);
+            }
+        }
+    }
+
+    private void withinRadius(int lo, int hi, int depth, double x, double y, double z,
+                              double squaredRadius, PointVisitor visitor) {
+        if (lo >= hi) {
+            return;
+        }
+        int node = (lo + hi) >>> 1;
+        if (!removed.get(node)) {
+            double squaredDistance = squaredDistance(node, x, y, z);
+            if (squaredDistance <= squaredRadius) {
+                visitor.visit(ids[node], squaredDistance);
+            }
+        }
+        int axis = depth % DIMENSIONS;
+        double diff = (axis == 0 ? x : axis == 1 ? y : z) - points[node * DIMENSIONS + axis];
+        if (diff <= 0 || diff * diff <= squaredRadius) {
+            withinRadius(lo, node, depth + 1, x, y, z, squaredRadius, visitor);
+        }
+        if (diff >= 0 || diff * diff <= squaredRadius) {
+            withinRadius(node + 1, hi, depth + 1, x, y, z, squaredRadius, visitor);
+        }
+    }
+
+    private double squaredDistance(int node, double x, double y, double z) {
+        int offset = node * DIMENSIONS;
+        double dx = points[offset] - x;
+        double dy = points[offset + 1] - y;
+        double dz = points[offset + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int node = (lo + hi) >>> 1;
+        select(lo, hi - 1, node, depth % DIMENSIONS);
+        build(lo, node, depth + 1);
+        build(node + 1, hi, depth + 1);
+    }
+
+    /**
+     * Moves the point of rank k (on the given axis) within [left, right] to position k,
+     * with smaller or equal points before it and greater or equal points after it.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            double pivot = medianOfThree(coordinate(left, axis), coordinate((left + right) >>> 1, axis),
+                    coordinate(right, axis));
+            int lessEnd = left;
+            int greaterStart = right;
+            int i = left;
+            while (i <= greaterStart) {
+                double value = coordinate(i, axis);
+                if (value < pivot) {
+                    swap(lessEnd++, i++);
+                } else if (value > pivot) {
+                    swap(i, greaterStart--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lessEnd) {
+                right = lessEnd - 1;
+            } else if (k > greaterStart) {
+                left = greaterStart + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double coordinate(int i, int axis) {
+        return points[i * DIMENSIONS + axis];
+    }
+
+    private void swap(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int offsetA = a * DIMENSIONS;
+        int offsetB = b * DIMENSIONS;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double value = points[offsetA + d];
+            points[offsetA + d] = points[offsetB + d];
+            points[offsetB + d] = value;
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+}
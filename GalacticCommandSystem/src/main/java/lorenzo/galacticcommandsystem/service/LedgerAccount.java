@@ -0,0 +1,51 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+
+import java.util.Comparator;
+
+/**
+ * A balance the ledger can move credits into or out of.
+ * Accounts are ordered by type and then ID; transfers update their two accounts in that order,
+ * so two transfers between the same accounts in opposite directions cannot deadlock.
+ *
+ * @param type the kind of account
+ * @param id the ID of the mission or crew member
+ */
+public record LedgerAccount(LedgerAccountType type, Long id) implements Comparable<LedgerAccount> {
+
+    private static final Comparator<LedgerAccount> ORDER = Comparator
+            .comparing(LedgerAccount::type)
+            .thenComparing(LedgerAccount::id);
+
+    public LedgerAccount {
+        if (type == null || id == null) {
+            throw new IllegalArgumentException("Account type and ID are required");
+        }
+    }
+
+    /**
+     * Gets the funding account of a mission.
+     *
+     * @param missionId the mission ID
+     * @return the account
+     */
+    public static LedgerAccount mission(Long missionId) {
+        return new LedgerAccount(LedgerAccountType.MISSION, missionId);
+    }
+
+    /**
+     * Gets the credits account of a crew member.
+     *
+     * @param crewMemberId the crew member ID
+     * @return the account
+     */
+    public static LedgerAccount crewMember(Long crewMemberId) {
+        return new LedgerAccount(LedgerAccountType.CREW_MEMBER, crewMemberId);
+    }
+
+    @Override
+    public int compareTo(LedgerAccount other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,214 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.instrumentation.MissionFundingEvent;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves mission funding and crew credits, recording every movement as a ledger entry.
+ * <p>
+ * Balances are never read into an entity and written back: each movement is a single
+ * {@code UPDATE} that adds to the balance, or subtracts from it only if it is large enough.
+ * The database applies the check and the change atomically, so concurrent movements neither lose
+ * updates nor overdraw a balance, and none of them has to be retried. Amounts are whole hundredths
+ * of a credit (see {@link FixedPoint}).
+ * <p>
+ * Mission funding is never taken below the minimum of 100 credits a mission must have, and
+ * {@link #addMissionFunding} never adds more than half of the current funding at once.
+ * <p>
+ * The balance updates also bump the entity version, so an entity loaded before a movement and
+ * saved after it fails with an optimistic locking conflict instead of undoing the movement.
+ * Every entry written is also recorded as a {@link MissionFundingEvent} when a flight recording runs.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private static final int MAX_REASON_LENGTH = 200;
+    private static final long MIN_MISSION_FUNDING = FixedPoint.toUnits(100);
+
+    private final MissionRepository missionRepository;
+    private final CrewMemberRepository crewMemberRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    /**
+     * Adds credits to an account.
+     *
+     * @param account the account
+     * @param units the amount, in hundredths of a credit
+     * @param reason why the credits are added
+     * @return the entry written
+     * @throws IllegalArgumentException if the amount is not positive or the account does not exist
+     */
+    @Transactional
+    public LedgerEntry deposit(LedgerAccount account, long units, String reason) {
+        checkMovement(units, reason);
+        MissionFundingEvent event = new MissionFundingEvent();
+        event.begin();
+        deposit(account, units);
+        return record(event, new LedgerEntry(account.type(), account.id(), units, reason, null));
+    }
+
+    /**
+     * Takes credits from an account, if it has enough.
+     *
+     * @param account the account
+     * @param units the amount, in hundredths of a credit
+     * @param reason why the credits are taken
+     * @return the entry written
+     * @throws IllegalArgumentException if the amount is not positive, the account does not exist
+     * or its balance is too low
+     */
+    @Transactional
+    public LedgerEntry withdraw(LedgerAccount account, long units, String reason) {
+        checkMovement(units, reason);
+        MissionFundingEvent event = new MissionFundingEvent();
+        event.begin();
+        withdraw(account, units);
+        return record(event, new LedgerEntry(account.type(), account.id(), -units, reason, null));
+    }
+
+    /**
+     * Adds funding to a mission, at most half of its current funding.
+     *
+     * @param missionId the mission ID
+     * @param units the amount, in hundredths of a credit
+     * @param reason why the funding is added
+     * @return the entry written
+     * @throws IllegalArgumentException if the amount is not positive, the mission does not exist
+     * or the amount is more than half of its funding
+     */
+    @Transactional
+    public LedgerEntry addMissionFunding(Long missionId, long units, String reason) {
+        checkMovement(units, reason);
+        LedgerAccount account = LedgerAccount.mission(missionId);
+        MissionFundingEvent event = new MissionFundingEvent();
+        event.begin();
+        if (missionRepository.raiseFunding(missionId, units) == 0) {
+            // as for withdrawals, find out why only on the failure path
+            balance(account);
+            throw new IllegalArgumentException("Cannot add more than 50% of current funding");
+        }
+        return record(event, new LedgerEntry(account.type(), account.id(), units, reason, null));
+    }
+
+    /**
+     * Moves credits from one account to another, if the source has enough.
+     * Both balances change in the same transaction, or neither does.
+     *
+     * @param from the account to take the credits from
+     * @param to the account to give them to
+     * @param units the amount, in hundredths of a credit
+     * @param reason why the credits are moved
+     * @return the two entries written: the withdrawal, then the deposit
+     * @throws IllegalArgumentException if the amount is not positive, the accounts are the same,
+     * either account does not exist or the source balance is too low
+     */
+    @Transactional
+    public List<LedgerEntry> transfer(LedgerAccount from, LedgerAccount to, long units, String reason) {
+        checkMovement(units, reason);
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        MissionFundingEvent withdrawal = new MissionFundingEvent();
+        MissionFundingEvent deposit = new MissionFundingEvent();
+        withdrawal.begin();
+        deposit.begin();
+        // rows are locked in account order, whichever way the credits move
+        if (from.compareTo(to) < 0) {
+            withdraw(from, units);
+            deposit(to, units);
+        } else {
+            deposit(to, units);
+            withdraw(from, units);
+        }
+        UUID transferId = UUID.randomUUID();
+        List<LedgerEntry> entries = List.of(
+                new LedgerEntry(from.type(), from.id(), -units, reason, transferId),
+                new LedgerEntry(to.type(), to.id(), units, reason, transferId));
+        ledgerEntryRepository.saveAll(entries);
+        withdrawal.complete(entries.get(0));
+        deposit.complete(entries.get(1));
+        return entries;
+    }
+
+    /**
+     * Reads the balance of an account.
+     *
+     * @param account the account
+     * @return the balance, in hundredths of a credit
+     * @throws IllegalArgumentException if the account does not exist
+     */
+    @Transactional(readOnly = true)
+    public long balance(LedgerAccount account) {
+        return (account.type() == LedgerAccountType.MISSION
+                ? missionRepository.findFundingUnits(account.id())
+                : crewMemberRepository.findCreditsUnits(account.id()))
+                .orElseThrow(() -> notFound(account));
+    }
+
+    /**
+     * Gets the latest movements of an account.
+     *
+     * @param account the account
+     * @param limit the maximum number of entries
+     * @return the entries, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> history(LedgerAccount account, int limit) {
+        return ledgerEntryRepository.findByAccountTypeAndAccountIdOrderByIdDesc(account.type(), account.id(),
+                Limit.of(limit));
+    }
+
+    private LedgerEntry record(MissionFundingEvent event, LedgerEntry entry) {
+        ledgerEntryRepository.save(entry);
+        event.complete(entry);
+        return entry;
+    }
+
+    private void deposit(LedgerAccount account, long units) {
+        int updated = account.type() == LedgerAccountType.MISSION
+                ? missionRepository.depositFunding(account.id(), units)
+                : crewMemberRepository.depositCredits(account.id(), units);
+        if (updated == 0) {
+            throw notFound(account);
+        }
+    }
+
+    private void withdraw(LedgerAccount account, long units) {
+        int updated = account.type() == LedgerAccountType.MISSION
+                ? missionRepository.withdrawFunding(account.id(), units, MIN_MISSION_FUNDING)
+                : crewMemberRepository.withdrawCredits(account.id(), units);
+        if (updated == 0) {
+            // the update does not say why it matched no row; this only runs on the failure path
+            balance(account);
+            throw new IllegalArgumentException(account.type() == LedgerAccountType.MISSION
+                    ? "Mission funding cannot go below 100" : "Insufficient credits");
+        }
+    }
+
+    private static void checkMovement(long units, String reason) {
+        if (units <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (reason != null && reason.length() > MAX_REASON_LENGTH) {
+            throw new IllegalArgumentException("Reason must be at most " + MAX_REASON_LENGTH + " characters");
+        }
+    }
+
+    private static IllegalArgumentException notFound(LedgerAccount account) {
+        return new IllegalArgumentException(account.type() == LedgerAccountType.MISSION
+                ? "Mission not found" : "Crew member not found");
+    }
+}
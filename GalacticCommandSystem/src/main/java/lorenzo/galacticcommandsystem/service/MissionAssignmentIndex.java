@@ -0,0 +1,202 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.MissionAssignmentDeletedEvent;
+import lorenzo.galacticcommandsystem.event.MissionAssignmentSavedEvent;
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index over the periods of mission assignments, answering "active at a date",
+ * period overlap and spaceship schedule conflict queries without touching the database.
+ * <p>
+ * The index is an {@link IntervalTree} built from the repository when the application is ready,
+ * plus a small buffer of assignments created or changed since then, and is maintained like the
+ * {@link PlanetSpatialIndex}: changes are applied after their transaction commits, through the
+ * assignment entity events, and the tree is rebuilt from memory once enough of them pile up.
+ * An assignment is active on the days from its start date to its end date, both included,
+ * as in {@code MissionAssignmentRepository.findActiveAssignments}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MissionAssignmentIndex {
+
+    private static final Comparator<AssignmentInterval> BY_ID = Comparator.comparingLong(AssignmentInterval::id);
+
+    private final MissionAssignmentRepository missionAssignmentRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Minimum number of pending changes that triggers a rebuild of the tree.
+     */
+    @Value("${galaxy.assignment-index.rebuild-threshold:1024}")
+    private int rebuildThreshold = 1024;
+
+    private IntervalTree tree = IntervalTree.empty();
+    private final List<AssignmentInterval> buffer = new ArrayList<>();
+
+    /**
+     * Rebuilds the index from the assignments stored in the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the assignment events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            tree = new IntervalTree(missionAssignmentRepository.findAllIntervals());
+            buffer.clear();
+            log.info("Mission assignment index built with {} assignments in {} ms", tree.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a created assignment, or moves the period of an updated one.
+     *
+     * @param event the assignment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentSaved(MissionAssignmentSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeInterval(event.assignmentId());
+            buffer.add(new AssignmentInterval(event.assignmentId(), event.spaceShipId(), event.missionId(),
+                    event.startDate(), event.endDate()));
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted assignment.
+     *
+     * @param event the assignment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentDeleted(MissionAssignmentDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeInterval(event.assignmentId());
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the assignments active on a date.
+     *
+     * @param date the date
+     * @return the assignments active on that date, by ID
+     */
+    public List<AssignmentInterval> findActiveOn(LocalDate date) {
+        return findOverlapping(date, date);
+    }
+
+    /**
+     * Finds the assignments active on at least one day of a period.
+     *
+     * @param from the first day of the period
+     * @param to the last day of the period
+     * @return the assignments found, by ID
+     * @throws IllegalArgumentException if the period ends before it starts
+     */
+    public List<AssignmentInterval> findOverlapping(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The period cannot end before it starts");
+        }
+        List<AssignmentInterval> result = new ArrayList<>();
+        query(from.toEpochDay(), to.toEpochDay(), result::add);
+        result.sort(BY_ID);
+        return result;
+    }
+
+    /**
+     * Finds the assignments of a spaceship that a new assignment over a period would overlap.
+     *
+     * @param spaceShipId the spaceship ID
+     * @param start the first day of the new assignment
+     * @param end the last day of the new assignment, or null if it would be open-ended
+     * @return the conflicting assignments of the spaceship, by ID
+     * @throws IllegalArgumentException if the period ends before it starts
+     */
+    public List<AssignmentInterval> findConflicts(long spaceShipId, LocalDate start, LocalDate end) {
+        if (end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("The period cannot end before it starts");
+        }
+        List<AssignmentInterval> result = new ArrayList<>();
+        query(start.toEpochDay(), end != null ? end.toEpochDay() : Long.MAX_VALUE, interval -> {
+            if (interval.spaceShipId() == spaceShipId) {
+                result.add(interval);
+            }
+        });
+        result.sort(BY_ID);
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed assignments.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size() + buffer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void query(long fromDay, long toDay, Consumer<AssignmentInterval> visitor) {
+        lock.readLock().lock();
+        try {
+            tree.overlapping(fromDay, toDay, visitor);
+            for (AssignmentInterval interval : buffer) {
+                if (interval.startDay() <= toDay && interval.endDay() >= fromDay) {
+                    visitor.accept(interval);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInterval(long id) {
+        if (!tree.remove(id)) {
+            buffer.removeIf(interval -> interval.id() == id);
+        }
+    }
+
+    private void rebuildIfNeeded() {
+        int pending = buffer.size() + tree.removedCount();
+        if (pending < Math.max(rebuildThreshold, tree.size() / 8)) {
+            return;
+        }
+        List<AssignmentInterval> intervals = new ArrayList<>(tree.size() + buffer.size());
+        tree.copyTo(intervals);
+        intervals.addAll(buffer);
+        tree = new IntervalTree(intervals);
+        buffer.clear();
+    }
+}
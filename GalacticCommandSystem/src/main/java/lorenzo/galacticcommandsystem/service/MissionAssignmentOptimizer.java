@@ -0,0 +1,310 @@
+package lorenzo.galacticcommandsystem.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.model.Navigator;
+import lorenzo.galacticcommandsystem.repository.AssignmentPair;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.MissionSummary;
+import lorenzo.galacticcommandsystem.repository.NavigatorRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns missions to spaceships in bulk, maximizing the total score of the new assignments.
+ * <p>
+ * Every spaceship can be given one of the missions it is not assigned to yet, and every mission
+ * one spaceship. The score of a pair is
+ * {@code funding * (fundingWeight + skillWeight * skill) + operationalWeight * operational},
+ * where the funding of the mission and the skill of the best navigator on the spaceship
+ * ({@link Navigator#calculateSkillLevel()}) are relative to their maximum, and operational is 1
+ * for an operational spaceship: a well-funded mission is worth more when flown by a skilled crew.
+ * <p>
+ * Scores are quantized into primitive {@code int} benefits with a row per spaceship, and pairs already
+ * assigned are left out so the unique constraint on spaceship and mission is never hit. They are solved by
+ * {@link AuctionAssignment}, which is within one millionth of the best score per spaceship. When a dense
+ * matrix of every pair fits in the memory budget it is solved whole. Otherwise every spaceship keeps as many
+ * candidate missions as the budget allows and only the candidates are solved: since a score is the funding
+ * times a factor that grows with the skill, the best total pairs the n-th most skilled spaceship with about
+ * the n-th best funded mission, so the candidates of a spaceship are the missions around its rank in skill,
+ * in order of funding.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MissionAssignmentOptimizer {
+
+    /**
+     * Benefit of the best possible pair in the matrix.
+     */
+    static final int BENEFIT_SCALE = 1_000_000;
+
+    /**
+     * Largest length of a Java array on common virtual machines.
+     */
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final SpaceShipRepository spaceShipRepository;
+    private final MissionRepository missionRepository;
+    private final MissionAssignmentRepository missionAssignmentRepository;
+    private final NavigatorRepository navigatorRepository;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final EntityManager entityManager;
+
+    /**
+     * Weight of the mission funding alone.
+     */
+    @Value("${galaxy.optimizer.funding-weight:1}")
+    private double fundingWeight = 1;
+
+    /**
+     * Weight of the mission funding multiplied by the navigator skill.
+     */
+    @Value("${galaxy.optimizer.skill-weight:1}")
+    private double skillWeight = 1;
+
+    /**
+     * Weight of the spaceship being operational.
+     */
+    @Value("${galaxy.optimizer.operational-weight:0.5}")
+    private double operationalWeight = 0.5;
+
+    /**
+     * Heap for the benefits while solving: 4 bytes per pair of a dense matrix, 8 bytes per candidate of a
+     * sparse one. The default of 40 MB holds a dense 3000 x 3000 matrix, or 500 candidates for each of 10000 spaceships.
+     */
+    @Value("${galaxy.optimizer.max-matrix-bytes:40000000}")
+    private long maxMatrixBytes = 40_000_000;
+
+    /**
+     * Computes the best new assignments without saving them.
+     *
+     * @return the plan
+     */
+    @Transactional(readOnly = true)
+    public AssignmentPlan plan() {
+        long start = System.nanoTime();
+        List<SpaceShipSummary> ships = spaceShipRepository.findAllSummaries();
+        List<MissionSummary> missions = missionRepository.findAllSummaries();
+        int rows = ships.size();
+        int columns = missions.size();
+
+        LongIntHashMap shipIndex = new LongIntHashMap(rows);
+        double[] operational = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            shipIndex.put(ships.get(row).id(), row);
+            operational[row] = ships.get(row).operational() ? 1 : 0;
+        }
+        LongIntHashMap missionIndex = new LongIntHashMap(columns);
+        double[] funding = new double[columns];
+        for (int column = 0; column < columns; column++) {
+            missionIndex.put(missions.get(column).id(), column);
+            funding[column] = missions.get(column).funding();
+        }
+        double[] skill = new double[rows];
+        for (Navigator navigator : navigatorRepository.findAssignedNavigators()) {
+            int row = shipIndex.get(navigator.getSpaceShip().getId());
+            if (row != LongIntHashMap.MISSING) {
+                skill[row] = Math.max(skill[row], navigator.calculateSkillLevel());
+            }
+        }
+        entityManager.clear();
+        normalize(funding);
+        normalize(skill);
+
+        long[] assigned = assignedPairs(shipIndex, missionIndex, columns);
+        long cells = Math.min(maxMatrixBytes / Integer.BYTES, MAX_ARRAY_LENGTH);
+        int[] solution;
+        if (maxScore() <= 0) {
+            solution = new int[rows];
+            Arrays.fill(solution, -1);
+        } else if ((long) rows * columns <= cells) {
+            solution = solveDense(funding, skill, operational, assigned);
+        } else {
+            // a candidate takes a column and a benefit
+            int candidates = (int) Math.max(1, Math.min(columns, cells / 2 / rows));
+            solution = solveSparse(funding, skill, operational, assigned, candidates);
+        }
+
+        List<AssignmentPlan.Assignment> assignments = new ArrayList<>();
+        double totalScore = 0;
+        for (int row = 0; row < rows; row++) {
+            int column = solution[row];
+            if (column >= 0) {
+                double score = score(funding[column], skill[row], operational[row]);
+                assignments.add(new AssignmentPlan.Assignment(ships.get(row).id(), missions.get(column).id(), score));
+                totalScore += score;
+            }
+        }
+        AssignmentPlan plan = new AssignmentPlan(List.copyOf(assignments), totalScore, rows, columns,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Planned {} assignments for {} spaceships and {} missions in {} ms",
+                assignments.size(), rows, columns, plan.planningTime().toMillis());
+        return plan;
+    }
+
+    /**
+     * Saves the assignments of a plan in a single transaction and activates their missions,
+     * with the checks and batched inserts of the {@link BulkAssignmentService}.
+     * Pairs assigned or deleted since the plan was made are skipped.
+     *
+     * @param plan the plan
+     * @param activationInfo activation status information for the missions
+     * @return the outcome of every assignment of the plan
+     */
+    public BulkAssignmentReport apply(AssignmentPlan plan, String activationInfo) {
+        return bulkAssignmentService.assign(plan.assignments().stream()
+                .map(assignment -> new AssignmentPair(assignment.spaceShipId(), assignment.missionId()))
+                .toList(), activationInfo);
+    }
+
+    /**
+     * Computes the best new assignments and saves them.
+     *
+     * @param activationInfo activation status information for the missions
+     * @return the plan, keeping only the assignments that were saved
+     */
+    public AssignmentPlan optimize(String activationInfo) {
+        AssignmentPlan plan = plan();
+        BulkAssignmentReport report = apply(plan, activationInfo);
+        // the report has the outcome of every assignment of the plan, in the same order
+        List<AssignmentPlan.Assignment> saved = new ArrayList<>();
+        double totalScore = 0;
+        for (int i = 0; i < plan.assignments().size(); i++) {
+            if (report.results().get(i).outcome() == AssignmentOutcome.ASSIGNED) {
+                AssignmentPlan.Assignment assignment = plan.assignments().get(i);
+                saved.add(assignment);
+                totalScore += assignment.score();
+            }
+        }
+        return new AssignmentPlan(List.copyOf(saved), totalScore, plan.ships(), plan.missions(), plan.planningTime());
+    }
+
+    /**
+     * Encodes the pairs already assigned as {@code row * columns + column}, sorted.
+     */
+    private long[] assignedPairs(LongIntHashMap shipIndex, LongIntHashMap missionIndex, int columns) {
+        List<AssignmentPair> pairs = missionAssignmentRepository.findAllPairs();
+        long[] keys = new long[pairs.size()];
+        int count = 0;
+        for (AssignmentPair pair : pairs) {
+            int row = shipIndex.get(pair.spaceShipId());
+            int column = missionIndex.get(pair.missionId());
+            if (row != LongIntHashMap.MISSING && column != LongIntHashMap.MISSING) {
+                keys[count++] = (long) row * columns + column;
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Solves the matrix of all pairs, row-major, the pairs already assigned being worth nothing.
+     */
+    private int[] solveDense(double[] funding, double[] skill, double[] operational, long[] assigned) {
+        int rows = skill.length;
+        int columns = funding.length;
+        int[] benefits = new int[rows * columns];
+        double unit = BENEFIT_SCALE / maxScore();
+        for (int row = 0; row < rows; row++) {
+            int offset = row * columns;
+            for (int column = 0; column < columns; column++) {
+                benefits[offset + column] = (int) Math.round(score(funding[column], skill[row], operational[row]) * unit);
+            }
+        }
+        for (long key : assigned) {
+            benefits[(int) key] = 0;
+        }
+        return AuctionAssignment.solve(benefits, rows, columns);
+    }
+
+    /**
+     * Solves the candidates of every spaceship, in compressed sparse rows: the missions it is not assigned to
+     * yet whose rank in funding is closest to its own rank in skill.
+     */
+    private int[] solveSparse(double[] funding, double[] skill, double[] operational, long[] assigned, int candidates) {
+        int rows = skill.length;
+        int columns = funding.length;
+        int[] byFunding = byDecreasing(funding);
+        int[] bySkill = byDecreasing(skill);
+        int[] skillRank = new int[rows];
+        for (int rank = 0; rank < rows; rank++) {
+            skillRank[bySkill[rank]] = rank;
+        }
+        int[] rowStart = new int[rows + 1];
+        int[] candidateColumns = new int[rows * candidates];
+        int[] candidateBenefits = new int[rows * candidates];
+        double unit = BENEFIT_SCALE / maxScore();
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            rowStart[row] = count;
+            int end = count + candidates;
+            int first = Math.max(0, Math.min(skillRank[row] - candidates / 2, columns - candidates));
+            // from the first rank on, then back before it, so missions already assigned are replaced by neighbours
+            for (int i = 0; i < columns && count < end; i++) {
+                int column = byFunding[first + i < columns ? first + i : columns - 1 - i];
+                if (Arrays.binarySearch(assigned, (long) row * columns + column) < 0) {
+                    candidateColumns[count] = column;
+                    candidateBenefits[count++] = (int) Math.round(score(funding[column], skill[row], operational[row]) * unit);
+                }
+            }
+        }
+        rowStart[rows] = count;
+        return AuctionAssignment.solveSparse(rowStart, candidateColumns, candidateBenefits, columns);
+    }
+
+    /**
+     * Orders the indices of normalized values from the largest value to the smallest.
+     */
+    private static int[] byDecreasing(double[] values) {
+        int length = values.length;
+        // the value, quantized like the benefits, in the high half and the index in the low half
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = Math.round(values[i] * BENEFIT_SCALE) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[length];
+        for (int rank = 0; rank < length; rank++) {
+            order[rank] = (int) keys[length - 1 - rank];
+        }
+        return order;
+    }
+
+    /**
+     * Scores a pair, from the normalized funding of the mission and skill of the spaceship.
+     */
+    private double score(double funding, double skill, double operational) {
+        return funding * (fundingWeight + skillWeight * skill) + operationalWeight * operational;
+    }
+
+    private double maxScore() {
+        return fundingWeight + skillWeight + operationalWeight;
+    }
+
+    /**
+     * Divides the values by their maximum, leaving them unchanged if they are all zero.
+     */
+    private static void normalize(double[] values) {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        if (max > 0) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] /= max;
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.NavigatorDeletedEvent;
+import lorenzo.galacticcommandsystem.event.NavigatorSavedEvent;
+import lorenzo.galacticcommandsystem.repository.NavigatorRepository;
+import lorenzo.galacticcommandsystem.repository.NavigatorScore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboard of navigators by skill score, answering "the best available navigators"
+ * and "the rank of a navigator" without going through every navigator.
+ * <p>
+ * Navigators are kept in two {@link RankTree}s, one of every navigator and one of the navigators on no
+ * spaceship and no planet, the only ones {@code CrewMember.assignToSpaceShip} accepts. The leaderboard is loaded when the application is ready and maintained like the
+ * {@link MissionAssignmentIndex}, through the navigator entity events after their transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NavigatorLeaderboard {
+
+    private final NavigatorRepository navigatorRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    /**
+     * Rebuilds the leaderboard from the navigators stored in the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the navigator events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        long start = System.nanoTime();
+        State rebuilt = new State();
+        for (NavigatorScore score : navigatorRepository.findAllScores()) {
+            rebuilt.put(score.id(), score.skillScore(), score.available());
+        }
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Navigator leaderboard built with {} navigators in {} ms", rebuilt.all.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a created navigator, or moves an updated one.
+     *
+     * @param event the navigator event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNavigatorSaved(NavigatorSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.put(event.navigatorId(), event.skillScore(), event.available());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted navigator.
+     *
+     * @param event the navigator event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNavigatorDeleted(NavigatorDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.remove(event.navigatorId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the best navigators on no spaceship and no planet.
+     *
+     * @param limit the maximum number of navigators
+     * @return the IDs and skill scores of the navigators, best first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public List<SearchHit> findBestAvailable(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            return state.available.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the rank of a navigator among all navigators, the best being first.
+     * Navigators with the same skill score are ranked by ID.
+     *
+     * @param navigatorId the navigator ID
+     * @return the 1-based rank, empty if the navigator does not exist
+     */
+    public OptionalInt getRank(long navigatorId) {
+        lock.readLock().lock();
+        try {
+            Double score = state.scores.get(navigatorId);
+            return score != null ? OptionalInt.of(state.all.rank(navigatorId, score) + 1) : OptionalInt.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of navigators on the leaderboard.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.all.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The trees and the score each navigator was added with, replaced as a whole on rebuild.
+     */
+    private static final class State {
+
+        private final RankTree all = new RankTree();
+        private final RankTree available = new RankTree();
+        private final Map<Long, Double> scores = new HashMap<>();
+
+        void put(long id, double score, boolean isAvailable) {
+            remove(id);
+            scores.put(id, score);
+            all.add(id, score);
+            if (isAvailable) {
+                available.add(id, score);
+            }
+        }
+
+        void remove(long id) {
+            Double score = scores.remove(id);
+            if (score != null) {
+                all.remove(id, score);
+                available.remove(id, score);
+            }
+        }
+    }
+}
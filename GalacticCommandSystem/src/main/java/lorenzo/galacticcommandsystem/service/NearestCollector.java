@@ -0,0 +1,94 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the k closest points offered so far, in a bounded max-heap on primitive arrays.
+ */
+public final class NearestCollector {
+
+    private final long[] ids;
+    private final double[] squaredDistances;
+    private int size;
+
+    /**
+     * Creates a collector.
+     *
+     * @param k the number of points to keep
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public NearestCollector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        ids = new long[k];
+        squaredDistances = new double[k];
+    }
+
+    /**
+     * Offers a point.
+     *
+     * @param id the point ID
+     * @param squaredDistance the squared distance from the query point
+     */
+    public void offer(long id, double squaredDistance) {
+        if (size < ids.length) {
+            int child = size++;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (squaredDistances[parent] >= squaredDistance) {
+                    break;
+                }
+                ids[child] = ids[parent];
+                squaredDistances[child] = squaredDistances[parent];
+                child = parent;
+            }
+            ids[child] = id;
+            squaredDistances[child] = squaredDistance;
+        } else if (squaredDistance < squaredDistances[0]) {
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && squaredDistances[child + 1] > squaredDistances[child]) {
+                    child++;
+                }
+                if (squaredDistances[child] <= squaredDistance) {
+                    break;
+                }
+                ids[parent] = ids[child];
+                squaredDistances[parent] = squaredDistances[child];
+                parent = child;
+            }
+            ids[parent] = id;
+            squaredDistances[parent] = squaredDistance;
+        }
+    }
+
+    /**
+     * Gets the squared distance a point must beat to be kept.
+     *
+     * @return the squared distance of the farthest kept point, or infinity while fewer than k points are kept
+     */
+    public double bound() {
+        return size < ids.length ? Double.POSITIVE_INFINITY : squaredDistances[0];
+    }
+
+    /**
+     * Gets the kept points.
+     *
+     * @return the kept points, closest first
+     */
+    public List<PlanetDistance> toList() {
+        List<PlanetDistance> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new PlanetDistance(ids[i], Math.sqrt(squaredDistances[i])));
+        }
+        result.sort(Comparator.comparingDouble(PlanetDistance::distance).thenComparingLong(PlanetDistance::planetId));
+        return result;
+    }
+}
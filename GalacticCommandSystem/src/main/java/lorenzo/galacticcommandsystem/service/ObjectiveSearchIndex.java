@@ -0,0 +1,203 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.ObjectiveDeletedEvent;
+import lorenzo.galacticcommandsystem.event.ObjectiveSavedEvent;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import lorenzo.galacticcommandsystem.repository.ObjectiveText;
+import lorenzo.galacticcommandsystem.repository.ObjectiveTypeTag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over the title, description, place and structure of objectives,
+ * replacing the {@code LIKE '%keyword%'} scan of {@code ObjectiveRepository.findByTitleContainingIgnoreCase}.
+ * <p>
+ * The index is an {@link InvertedIndex} loaded page by page when the application is ready, and is
+ * maintained like the {@link MissionAssignmentIndex}: changes are applied after their transaction
+ * commits, through the objective entity events, and the index is compacted once enough removed
+ * objectives pile up. Completed objectives are deleted, so they leave the index too.
+ * Title words rank first, then place and structure words, then description words.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ObjectiveSearchIndex {
+
+    private static final double TITLE_WEIGHT = 3;
+    private static final double DESCRIPTION_WEIGHT = 1;
+    private static final double PLACE_WEIGHT = 2;
+    private static final double STRUCTURE_WEIGHT = 2;
+    private static final int PAGE_SIZE = 10_000;
+
+    private final ObjectiveRepository objectiveRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Minimum number of removed objectives that triggers a compaction of the index.
+     */
+    @Value("${galaxy.objective-index.compaction-threshold:1024}")
+    private int compactionThreshold = 1024;
+
+    private InvertedIndex index = newIndex();
+
+    /**
+     * Creates an empty index with the fields of an objective, to give to {@link #add}.
+     *
+     * @return the index
+     */
+    static InvertedIndex newIndex() {
+        return new InvertedIndex(TITLE_WEIGHT, DESCRIPTION_WEIGHT, PLACE_WEIGHT, STRUCTURE_WEIGHT);
+    }
+
+    /**
+     * Adds an objective to an index created by {@link #newIndex()}.
+     *
+     * @param index the index
+     * @param text the text fields of the objective
+     * @param types the types of the objective, as a mask of {@link #typeMask}
+     */
+    static void add(InvertedIndex index, ObjectiveText text, int types) {
+        index.add(text.id(), types, text.title(), text.description(), text.place(), text.structure());
+    }
+
+    /**
+     * Converts objective types to the tags of the index.
+     *
+     * @param types the types, null or empty for none
+     * @return one bit per type
+     */
+    static int typeMask(Collection<ObjectiveType> types) {
+        int mask = 0;
+        if (types != null) {
+            for (ObjectiveType type : types) {
+                mask |= 1 << type.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Rebuilds the index from the objectives stored in the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the objective events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        long start = System.nanoTime();
+        InvertedIndex rebuilt = newIndex();
+        long afterId = 0;
+        List<ObjectiveText> page;
+        do {
+            page = objectiveRepository.findTextPageAfter(afterId, Limit.of(PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            long toId = page.get(page.size() - 1).id();
+            LongIntHashMap types = new LongIntHashMap(page.size());
+            for (ObjectiveTypeTag tag : objectiveRepository.findTypesBetween(afterId, toId)) {
+                int mask = types.get(tag.objectiveId());
+                types.put(tag.objectiveId(), (mask == LongIntHashMap.MISSING ? 0 : mask) | 1 << tag.type().ordinal());
+            }
+            for (ObjectiveText text : page) {
+                add(rebuilt, text, Math.max(types.get(text.id()), 0));
+            }
+            afterId = toId;
+        } while (page.size() == PAGE_SIZE);
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Objective search index built with {} objectives in {} ms", rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a created objective, or replaces the text of an updated one.
+     *
+     * @param event the objective event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onObjectiveSaved(ObjectiveSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int types = event.types() != null ? typeMask(event.types()) : Math.max(index.tags(event.objectiveId()), 0);
+            add(index, new ObjectiveText(event.objectiveId(), event.title(), event.description(), event.place(),
+                    event.structure()), types);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted or completed objective.
+     *
+     * @param event the objective event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onObjectiveDeleted(ObjectiveDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.remove(event.objectiveId());
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the objectives matching every word of a query, in any of their text fields.
+     * A query word matches the same word, the words it starts and, from three letters, the words containing it.
+     *
+     * @param query the words to search
+     * @param types the types an objective must have at least one of, null or empty for all objectives
+     * @param limit the maximum number of results
+     * @return the best matching objectives, best first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public List<SearchHit> search(String query, Collection<ObjectiveType> types, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query, typeMask(types), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed objectives.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (index.removedCount() >= Math.max(compactionThreshold, index.size() / 8)) {
+            index.compact();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lorenzo.galacticcommandsystem.instrumentation.ObjectiveCompletionEvent;
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads objectives and performs them, recording each one performed as an {@link ObjectiveCompletionEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ObjectiveService {
+
+    private final ObjectiveRepository objectiveRepository;
+    private final ObjectiveSearchIndex objectiveSearchIndex;
+
+    /**
+     * Finds the objectives of a mission with their types initialized.
+     * Types are read from the second-level cache when present, and otherwise loaded in batches,
+     * so a warm cache adds no statement to the ones loading the objectives.
+     *
+     * @param missionId the mission ID
+     * @return the objectives of the mission
+     */
+    @Transactional(readOnly = true)
+    public List<Objective> getObjectivesWithTypes(Long missionId) {
+        List<Objective> objectives = objectiveRepository.findByMission_Id(missionId);
+        objectives.forEach(objective -> Hibernate.initialize(objective.getTypes()));
+        return objectives;
+    }
+
+    /**
+     * Searches objectives by the words of their title, description, place and structure,
+     * with the {@link ObjectiveSearchIndex}, and loads the ones found with their types initialized.
+     *
+     * @param query the words to search
+     * @param types the types an objective must have at least one of, null or empty for all objectives
+     * @param limit the maximum number of results
+     * @return the best matching objectives, best first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    @Transactional(readOnly = true)
+    public List<Objective> search(String query, Collection<ObjectiveType> types, int limit) {
+        List<SearchHit> hits = objectiveSearchIndex.search(query, types, limit);
+        Map<Long, Objective> found = new HashMap<>();
+        objectiveRepository.findAllById(hits.stream().map(SearchHit::id).toList())
+                .forEach(objective -> found.put(objective.getId(), objective));
+        List<Objective> objectives = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            Objective objective = found.get(hit.id());
+            // an objective completed since the search is no longer found
+            if (objective != null) {
+                Hibernate.initialize(objective.getTypes());
+                objectives.add(objective);
+            }
+        }
+        return objectives;
+    }
+
+    /**
+     * Performs an exploration objective, which removes it from its mission.
+     *
+     * @param objectiveId the objective ID
+     * @throws IllegalArgumentException if the objective does not exist
+     * @throws UnsupportedOperationException if its mission is inactive
+     * @throws IllegalStateException if it is not an exploration objective or has no place
+     */
+    @Transactional
+    public void performExploration(Long objectiveId) {
+        perform(objectiveId, "exploration", Objective::performExploration);
+    }
+
+    /**
+     * Performs a building objective, which adds its structure to the planet of the mission
+     * and removes the objective from its mission.
+     *
+     * @param objectiveId the objective ID
+     * @throws IllegalArgumentException if the objective does not exist
+     * @throws UnsupportedOperationException if its mission is inactive
+     * @throws IllegalStateException if it is not a building objective, has no structure or its mission has no planet
+     */
+    @Transactional
+    public void performBuilding(Long objectiveId) {
+        perform(objectiveId, "building", Objective::performBuilding);
+    }
+
+    private void perform(Long objectiveId, String operation, Consumer<Objective> action) {
+        Objective objective = objectiveRepository.findById(objectiveId)
+                .orElseThrow(() -> new IllegalArgumentException("Objective not found"));
+        ObjectiveCompletionEvent event = new ObjectiveCompletionEvent();
+        event.begin();
+        // the objective leaves its mission when performed
+        Long missionId = objective.getMission().getId();
+        action.accept(objective);
+        event.complete(objectiveId, missionId, operation);
+    }
+}
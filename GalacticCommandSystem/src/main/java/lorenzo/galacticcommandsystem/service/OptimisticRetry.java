@@ -0,0 +1,92 @@
+package lorenzo.galacticcommandsystem.service;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.instrumentation.OptimisticLockMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write of versioned entities in its own transaction, and runs it again when
+ * a concurrent transaction updated the same rows first.
+ * <p>
+ * Each attempt reads the rows afresh, so a retry applies its change on top of the winning one
+ * instead of overwriting it. Between attempts the caller waits a random time up to a cap that doubles
+ * at every conflict ("full jitter"), so the losers of a race do not all collide again at once.
+ * Conflicts and retries are counted per operation by the {@link OptimisticLockMonitor}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticLockMonitor monitor;
+
+    /**
+     * Maximum number of attempts of an operation, the first one included.
+     */
+    @Value("${galaxy.optimistic-locking.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    /**
+     * Upper bound of the wait after the first conflict; doubled after every further conflict.
+     */
+    @Value("${galaxy.optimistic-locking.initial-backoff:PT0.005S}")
+    private Duration initialBackoff = Duration.ofMillis(5);
+
+    /**
+     * Upper bound of any wait between two attempts.
+     */
+    @Value("${galaxy.optimistic-locking.max-backoff:PT0.2S}")
+    private Duration maxBackoff = Duration.ofMillis(200);
+
+    /**
+     * Runs an operation in a new transaction, retrying it on optimistic locking conflicts.
+     *
+     * @param operation the operation name, for the statistics and the logs
+     * @param work the work to do; it must load the entities it changes, as it may run several times
+     * @return the result of the successful attempt
+     * @throws IllegalStateException if called inside a transaction, whose stale entities a retry would reuse
+     * @throws OptimisticLockingFailureException if the last attempt conflicted too
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(operation + " cannot be retried inside an existing transaction");
+        }
+        int conflicts = 0;
+        while (true) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                monitor.record(operation, conflicts, false);
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflicts++;
+                if (conflicts >= maxAttempts) {
+                    monitor.record(operation, conflicts, true);
+                    log.warn("{} gave up after {} conflicting attempts", operation, conflicts);
+                    throw e instanceof OptimisticLockingFailureException failure ? failure
+                            : new OptimisticLockingFailureException(e.getMessage(), e);
+                }
+                log.debug("{} conflicted with a concurrent update, attempt {} of {}", operation, conflicts, maxAttempts);
+                backOff(conflicts);
+            }
+        }
+    }
+
+    private void backOff(int conflicts) {
+        long cap = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(conflicts - 1, 30));
+        if (cap > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+        }
+    }
+}
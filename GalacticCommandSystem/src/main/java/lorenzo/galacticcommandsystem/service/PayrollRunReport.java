@@ -0,0 +1,36 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Outcome of a payroll run.
+ *
+ * @param runId the ID of the run, to resume it with if it did not finish
+ * @param paid the number of crew members paid
+ * @param payoutUnits the total paid, in hundredths of a credit
+ * @param batches the number of batches written, each in its own transaction
+ * @param report the report file, with one line per crew member paid
+ * @param elapsed the time taken
+ */
+public record PayrollRunReport(UUID runId, long paid, long payoutUnits, int batches, Path report, Duration elapsed) {
+
+    /**
+     * Gets the crew members paid per second.
+     *
+     * @return the throughput
+     */
+    public double throughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? paid / seconds : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("run %s: %d crew members paid %.2f credits in %d batches, %d ms (%.0f crew/s)",
+                runId, paid, FixedPoint.toCredits(payoutUnits), batches, elapsed.toMillis(), throughput());
+    }
+}
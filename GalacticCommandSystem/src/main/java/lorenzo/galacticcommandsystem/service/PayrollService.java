@@ -0,0 +1,329 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.instrumentation.MissionFundingEvent;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.PayrollGroup;
+import lorenzo.galacticcommandsystem.repository.PayrollLine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Computes and pays the fleet payroll without loading crew members as entities.
+ * <p>
+ * A crew member is paid the base pay of the run, plus their navigation bonus if they are a navigator.
+ * The summary is computed by the database in one aggregate query over the crew and navigator tables.
+ * A payroll run reads the crew in id order, one batch at a time, and pays each batch with a JDBC batch
+ * of balance updates and the matching ledger entries in its own transaction, then appends the batch to the
+ * report file. Only one batch is in memory at a time, so the heap used does not grow with the size of the crew.
+ * If a run fails, running it again with the same run ID first completes the report with the crew members
+ * its ledger entries show as paid after the last line of the report, in case the run stopped between the commit
+ * of a batch and the report write, then pays the crew members after the last one the ledger or the report shows.
+ * Every payout is recorded as a {@link MissionFundingEvent} when a flight recording runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollService {
+
+    /**
+     * First line of the report file.
+     */
+    public static final String REPORT_HEADER = "crew_id,name,spaceship,planet,payout";
+
+    /**
+     * Start of the reason of the ledger entries of a payroll run, followed by the run ID.
+     */
+    public static final String LEDGER_REASON_PREFIX = "payroll ";
+
+    private static final String UNASSIGNED = "Unassigned";
+    private static final String FLEET = "Fleet";
+
+    private final CrewMemberRepository crewMemberRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Number of crew members paid per transaction.
+     */
+    @Value("${galaxy.payroll.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * Computes what a payroll run would pay, and the total compensation, by spaceship, by planet and fleet-wide.
+     *
+     * @param basePay the base pay of every crew member, in credits
+     * @return the payroll figures
+     * @throws IllegalArgumentException if the base pay is negative
+     */
+    @Transactional(readOnly = true)
+    public PayrollSummary summarize(double basePay) {
+        long basePayUnits = checkBasePay(basePay);
+        List<PayrollTotals> spaceShips = new ArrayList<>();
+        List<PayrollTotals> planets = new ArrayList<>();
+        PayrollTotals unassigned = new PayrollTotals(UNASSIGNED, 0, 0, 0);
+        PayrollTotals fleet = new PayrollTotals(FLEET, 0, 0, 0);
+        for (PayrollGroup group : crewMemberRepository.sumPayrollGroups()) {
+            PayrollTotals totals;
+            if (group.spaceShipId() != null) {
+                totals = totals(group.spaceShipName(), group, basePayUnits);
+                spaceShips.add(totals);
+            } else if (group.planetId() != null) {
+                totals = totals(group.planetName(), group, basePayUnits);
+                planets.add(totals);
+            } else {
+                totals = totals(UNASSIGNED, group, basePayUnits);
+                unassigned = totals;
+            }
+            fleet = fleet.plus(FLEET, totals);
+        }
+        spaceShips.sort(Comparator.comparing(PayrollTotals::name));
+        planets.sort(Comparator.comparing(PayrollTotals::name));
+        return new PayrollSummary(List.copyOf(spaceShips), List.copyOf(planets), unassigned, fleet);
+    }
+
+    /**
+     * Pays every crew member, batch by batch, and writes the report file, as a new run.
+     *
+     * @param basePay the base pay of every crew member, in credits
+     * @param reportFile the CSV file to write, replaced if it exists
+     * @return the outcome of the run
+     * @throws IllegalArgumentException if the base pay is negative
+     * @throws IllegalStateException if called inside a transaction, which would hold every batch until the end
+     * @throws IOException if the report cannot be written; the batches already paid stay paid
+     */
+    public PayrollRunReport pay(double basePay, Path reportFile) throws IOException {
+        return pay(UUID.randomUUID(), basePay, reportFile);
+    }
+
+    /**
+     * Pays every crew member, batch by batch, and writes the report file.
+     * If the run already paid some batches before failing, it appends to the report file the crew members
+     * it paid that the report is missing, then resumes after the last crew member paid or reported,
+     * so nobody is paid twice or reported twice by the same run.
+     *
+     * @param runId the ID of the run; the same ID must be given with the same base pay to resume the run
+     * @param basePay the base pay of every crew member, in credits
+     * @param reportFile the CSV file to write, replaced if it exists and the run is new
+     * @return the outcome of this call, counting only the crew members it paid
+     * @throws IllegalArgumentException if the base pay is negative
+     * @throws IllegalStateException if called inside a transaction, which would hold every batch until the end
+     * @throws IOException if the report cannot be written; the batches already paid stay paid
+     */
+    public PayrollRunReport pay(UUID runId, double basePay, Path reportFile) throws IOException {
+        long basePayUnits = checkBasePay(basePay);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("A payroll run commits batch by batch and cannot run inside a transaction");
+        }
+        String reason = LEDGER_REASON_PREFIX + runId;
+        long start = System.nanoTime();
+        long paid = 0;
+        long payoutUnits = 0;
+        int batches = 0;
+        long paidUpTo = ledgerEntryRepository.findMaxAccountIdByReason(LedgerAccountType.CREW_MEMBER, reason).orElse(0L);
+        OptionalLong lastReported = paidUpTo > 0 ? lastReportedId(reportFile) : OptionalLong.empty();
+        long reportedUpTo = lastReported.orElse(0L);
+        long afterId = Math.max(paidUpTo, reportedUpTo);
+        if (afterId > 0) {
+            log.info("Resuming payroll run {} after crew member {}", runId, afterId);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, paidUpTo > 0 ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (lastReported.isEmpty()) {
+                writer.write(REPORT_HEADER);
+                writer.newLine();
+            }
+            if (reportedUpTo < paidUpTo) {
+                writePaidLines(writer, reportedUpTo, paidUpTo, basePayUnits, reason);
+            }
+            while (true) {
+                long from = afterId;
+                List<PayrollLine> batch = transactionTemplate.execute(status -> payBatch(from, basePayUnits, reason));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                batches++;
+                for (PayrollLine line : batch) {
+                    long payout = basePayUnits + line.bonusUnits();
+                    writeLine(writer, line, payout);
+                    payoutUnits += payout;
+                }
+                // the report always ends with the last committed batch
+                writer.flush();
+                paid += batch.size();
+                afterId = batch.get(batch.size() - 1).id();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+        PayrollRunReport report = new PayrollRunReport(runId, paid, payoutUnits, batches, reportFile,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Payroll run finished: {}", report);
+        return report;
+    }
+
+    private List<PayrollLine> payBatch(long afterId, long basePayUnits, String reason) {
+        List<PayrollLine> batch = crewMemberRepository.findPayrollPageAfter(afterId, batchSize);
+        // nothing to pay would still bump the version and fail concurrent edits for no reason
+        List<PayrollLine> payable = batch.stream().filter(line -> basePayUnits + line.bonusUnits() > 0).toList();
+        jdbcTemplate.batchUpdate(
+                "UPDATE crew_member SET credits_units = credits_units + ?, version = version + 1 WHERE id = ?",
+                payable, payable.size(), (statement, line) -> {
+                    statement.setLong(1, basePayUnits + line.bonusUnits());
+                    statement.setLong(2, line.id());
+                });
+        List<LedgerEntry> entries = payable.stream()
+                .map(line -> new LedgerEntry(LedgerAccountType.CREW_MEMBER, line.id(),
+                        basePayUnits + line.bonusUnits(), reason, null))
+                .toList();
+        ledgerEntryRepository.saveAll(entries);
+        // the payouts of a batch are written together, so they are recorded as instants
+        for (LedgerEntry entry : entries) {
+            new MissionFundingEvent().complete(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * Writes the report lines of the crew members the run already paid after the given one, as its ledger
+     * entries show them, along with the crew members between them it had nothing to pay.
+     */
+    private void writePaidLines(BufferedWriter writer, long afterId, long paidUpTo, long basePayUnits, String reason)
+            throws IOException {
+        long from = afterId;
+        while (from < paidUpTo) {
+            List<PayrollLine> page = crewMemberRepository.findPayrollPageAfter(from, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            long to = page.get(page.size() - 1).id();
+            Map<Long, Long> payouts = ledgerEntryRepository.findByAccountTypeAndReasonAndAccountIdBetweenOrderByAccountId(
+                            LedgerAccountType.CREW_MEMBER, reason, from + 1, Math.min(to, paidUpTo)).stream()
+                    .collect(Collectors.toMap(LedgerEntry::getAccountId, LedgerEntry::getAmount));
+            for (PayrollLine line : page) {
+                if (line.id() > paidUpTo) {
+                    break;
+                }
+                Long payout = payouts.get(line.id());
+                // crew members added since the batch was paid have no entry and are paid by the resumed run
+                if (payout != null || basePayUnits + line.bonusUnits() == 0) {
+                    writeLine(writer, line, payout != null ? payout : 0);
+                }
+            }
+            from = to;
+        }
+        log.info("Restored the report lines of the crew members paid up to {}", paidUpTo);
+        writer.flush();
+    }
+
+    /**
+     * Finds the crew member on the last complete line of a report file, dropping a line cut short by a failure.
+     *
+     * @return the ID of the last crew member reported, 0 if there is only the header,
+     * empty if the file has no header yet
+     */
+    private static OptionalLong lastReportedId(Path reportFile) throws IOException {
+        if (!Files.exists(reportFile)) {
+            return OptionalLong.empty();
+        }
+        try (FileChannel channel = FileChannel.open(reportFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = lastLineBreak(channel, channel.size());
+            channel.truncate(end + 1);
+            if (end < 0) {
+                return OptionalLong.empty();
+            }
+            long start = lastLineBreak(channel, end) + 1;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            channel.read(buffer, start);
+            String line = new String(buffer.array(), StandardCharsets.UTF_8).strip();
+            if (line.equals(REPORT_HEADER)) {
+                return OptionalLong.of(0);
+            }
+            return OptionalLong.of(Long.parseLong(line.substring(0, line.indexOf(','))));
+        }
+    }
+
+    /**
+     * Finds the position of the last line break before the given position, -1 if there is none.
+     */
+    private static long lastLineBreak(FileChannel channel, long before) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long end = before;
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            channel.read(buffer, start);
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i;
+                }
+            }
+            end = start;
+        }
+        return -1;
+    }
+
+    private static PayrollTotals totals(String name, PayrollGroup group, long basePayUnits) {
+        return new PayrollTotals(name, group.crew(), group.crew() * basePayUnits + group.bonusUnits(),
+                group.creditsUnits() + group.bonusUnits());
+    }
+
+    private static void writeLine(BufferedWriter writer, PayrollLine line, long payoutUnits) throws IOException {
+        writer.write(line.id().toString());
+        writer.write(',');
+        writer.write(csvField(line.firstName() + " " + line.lastName()));
+        writer.write(',');
+        writer.write(csvField(line.spaceShipName()));
+        writer.write(',');
+        writer.write(csvField(line.planetName()));
+        writer.write(',');
+        writer.write(BigDecimal.valueOf(payoutUnits, 2).toPlainString());
+        writer.newLine();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static long checkBasePay(double basePay) {
+        if (basePay < 0) {
+            throw new IllegalArgumentException("Base pay cannot be negative");
+        }
+        return FixedPoint.toUnits(basePay);
+    }
+}
@@ -0,0 +1,15 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.List;
+
+/**
+ * Payroll figures of the fleet, by spaceship, by planet and in total.
+ *
+ * @param spaceShips the figures of each spaceship with crew members, by name
+ * @param planets the figures of each planet with crew members, by name
+ * @param unassigned the figures of the crew members on neither a spaceship nor a planet
+ * @param fleet the figures of all crew members
+ */
+public record PayrollSummary(List<PayrollTotals> spaceShips, List<PayrollTotals> planets,
+                             PayrollTotals unassigned, PayrollTotals fleet) {
+}
@@ -0,0 +1,25 @@
+package lorenzo.galacticcommandsystem.service;
+
+/**
+ * Payroll figures of a group of crew members, in hundredths of a credit.
+ *
+ * @param name the spaceship or planet name, or a label for the whole group
+ * @param crew the number of crew members
+ * @param payoutUnits what a payroll run pays them: the base pay each, plus the navigation bonus of navigators
+ * @param compensationUnits their total compensation: credits plus navigation bonus,
+ *                          as {@code Navigator.calculateTotalCompensation()} computes it for one navigator
+ */
+public record PayrollTotals(String name, long crew, long payoutUnits, long compensationUnits) {
+
+    /**
+     * Adds up two groups.
+     *
+     * @param name the name of the combined group
+     * @param other the group to add
+     * @return the combined figures
+     */
+    public PayrollTotals plus(String name, PayrollTotals other) {
+        return new PayrollTotals(name, crew + other.crew, payoutUnits + other.payoutUnits,
+                compensationUnits + other.compensationUnits);
+    }
+}
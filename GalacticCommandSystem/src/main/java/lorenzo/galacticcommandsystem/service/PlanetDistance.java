@@ -0,0 +1,10 @@
+package lorenzo.galacticcommandsystem.service;
+
+/**
+ * A planet found by a spatial query, with its distance from the query point.
+ *
+ * @param planetId the planet ID
+ * @param distance the distance from the query point
+ */
+public record PlanetDistance(long planetId, double distance) {
+}
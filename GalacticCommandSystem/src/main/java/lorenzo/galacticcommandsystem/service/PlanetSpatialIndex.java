@@ -0,0 +1,223 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.PlanetDeletedEvent;
+import lorenzo.galacticcommandsystem.event.PlanetSavedEvent;
+import lorenzo.galacticcommandsystem.repository.PlanetCoordinates;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index over planet coordinates, answering nearest-planet and radius queries
+ * without touching the database.
+ * <p>
+ * The index is a {@link KdTree} built from the repository when the application is ready,
+ * plus a small buffer of planets created or moved since then. Deleted planets are removed from
+ * the tree or the buffer; once the buffer and the removed points grow past the rebuild
+ * threshold, the tree is rebuilt from memory. Changes are applied after their transaction
+ * commits, through the planet entity events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlanetSpatialIndex {
+
+    private static final int DIMENSIONS = 3;
+
+    private final PlanetRepository planetRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Minimum number of pending changes that triggers a rebuild of the tree.
+     */
+    @Value("${galaxy.spatial-index.rebuild-threshold:1024}")
+    private int rebuildThreshold = 1024;
+
+    private KdTree tree = KdTree.empty();
+    private long[] bufferIds = new long[16];
+    private double[] bufferPoints = new double[16 * DIMENSIONS];
+    private int bufferSize;
+
+    /**
+     * Rebuilds the index from the coordinates stored in the database.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the planet events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            List<PlanetCoordinates> coordinates = planetRepository.findAllCoordinates();
+            long[] ids = new long[coordinates.size()];
+            double[] points = new double[coordinates.size() * DIMENSIONS];
+            for (int i = 0; i < ids.length; i++) {
+                PlanetCoordinates planet = coordinates.get(i);
+                ids[i] = planet.id();
+                points[i * DIMENSIONS] = planet.x();
+                points[i * DIMENSIONS + 1] = planet.y();
+                points[i * DIMENSIONS + 2] = planet.z();
+            }
+            tree = new KdTree(ids, points, ids.length);
+            bufferSize = 0;
+            log.info("Planet spatial index built with {} planets in {} ms", ids.length, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a created planet, or moves an updated one.
+     *
+     * @param event the planet event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetSaved(PlanetSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removePoint(event.planetId());
+            if (bufferSize == bufferIds.length) {
+                bufferIds = Arrays.copyOf(bufferIds, bufferSize * 2);
+                bufferPoints = Arrays.copyOf(bufferPoints, bufferSize * 2 * DIMENSIONS);
+            }
+            bufferIds[bufferSize] = event.planetId();
+            bufferPoints[bufferSize * DIMENSIONS] = event.x();
+            bufferPoints[bufferSize * DIMENSIONS + 1] = event.y();
+            bufferPoints[bufferSize * DIMENSIONS + 2] = event.z();
+            bufferSize++;
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted planet.
+     *
+     * @param event the planet event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetDeleted(PlanetDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removePoint(event.planetId());
+            rebuildIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the planets closest to a point.
+     *
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param k the maximum number of planets to return
+     * @return the closest planets, closest first
+     */
+    public List<PlanetDistance> findNearest(double x, double y, double z, int k) {
+        NearestCollector collector = new NearestCollector(k);
+        lock.readLock().lock();
+        try {
+            tree.nearest(x, y, z, collector);
+            for (int i = 0; i < bufferSize; i++) {
+                collector.offer(bufferIds[i], squaredBufferDistance(i, x, y, z));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return collector.toList();
+    }
+
+    /**
+     * Finds the planets within a distance of a point.
+     *
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param radius the maximum distance
+     * @return the planets found, closest first
+     */
+    public List<PlanetDistance> findWithinRadius(double x, double y, double z, double radius) {
+        List<PlanetDistance> result = new ArrayList<>();
+        double squaredRadius = radius * radius;
+        lock.readLock().lock();
+        try {
+            tree.withinRadius(x, y, z, radius, (id, squaredDistance) ->
+                    result.add(new PlanetDistance(id, Math.sqrt(squaredDistance))));
+            for (int i = 0; i < bufferSize; i++) {
+                double squaredDistance = squaredBufferDistance(i, x, y, z);
+                if (squaredDistance <= squaredRadius) {
+                    result.add(new PlanetDistance(bufferIds[i], Math.sqrt(squaredDistance)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingDouble(PlanetDistance::distance).thenComparingLong(PlanetDistance::planetId));
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed planets.
+     *
+     * @return the size
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size() + bufferSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removePoint(long id) {
+        if (tree.remove(id)) {
+            return;
+        }
+        for (int i = 0; i < bufferSize; i++) {
+            if (bufferIds[i] == id) {
+                int last = --bufferSize;
+                bufferIds[i] = bufferIds[last];
+                System.arraycopy(bufferPoints, last * DIMENSIONS, bufferPoints, i * DIMENSIONS, DIMENSIONS);
+                return;
+            }
+        }
+    }
+
+    private void rebuildIfNeeded() {
+        int pending = bufferSize + tree.removedCount();
+        if (pending < Math.max(rebuildThreshold, tree.size() / 8)) {
+            return;
+        }
+        int size = tree.size() + bufferSize;
+        long[] ids = new long[size];
+        double[] points = new double[size * DIMENSIONS];
+        int count = tree.copyTo(ids, points);
+        System.arraycopy(bufferIds, 0, ids, count, bufferSize);
+        System.arraycopy(bufferPoints, 0, points, count * DIMENSIONS, bufferSize * DIMENSIONS);
+        tree = new KdTree(ids, points, size);
+        bufferSize = 0;
+    }
+
+    private double squaredBufferDistance(int i, double x, double y, double z) {
+        double dx = bufferPoints[i * DIMENSIONS] - x;
+        double dy = bufferPoints[i * DIMENSIONS + 1] - y;
+        double dz = bufferPoints[i * DIMENSIONS + 2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,189 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Scores of ids kept in ranking order, highest score first and lowest id first among equal scores.
+ * <p>
+ * The tree is a treap whose nodes also count the nodes below them, so an id is added, removed or
+ * ranked in O(log n) expected time, and the first k entries are listed in O(log n + k),
+ * without going through the rest of the entries.
+ * The caller must remember the score of each id it added, to remove or rank it.
+ */
+public final class RankTree {
+
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private Node root;
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param id the id, which must not be in the tree with the same score
+     * @param score the score
+     */
+    public void add(long id, double score) {
+        Node node = new Node(id, score, random.nextInt());
+        Node[] parts = split(root, id, score);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param id the id
+     * @param score the score it was added with
+     * @return true if the entry was found
+     */
+    public boolean remove(long id, double score) {
+        int before = size(root);
+        root = remove(root, id, score);
+        return size(root) < before;
+    }
+
+    /**
+     * Counts the entries ranked before an entry.
+     *
+     * @param id the id
+     * @param score the score it was added with
+     * @return the 0-based rank of the entry, or -1 if it is not in the tree
+     */
+    public int rank(long id, double score) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int order = compare(id, score, node);
+            if (order == 0) {
+                return rank + size(node.left);
+            }
+            if (order < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lists the best entries.
+     *
+     * @param limit the maximum number of entries
+     * @return the entries, best first
+     */
+    public List<SearchHit> top(int limit) {
+        List<SearchHit> top = new ArrayList<>(Math.min(limit, size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        while (top.size() < limit && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            top.add(new SearchHit(node.id, node.score));
+            node = node.right;
+        }
+        return top;
+    }
+
+    private static int compare(long id, double score, Node node) {
+        int order = Double.compare(node.score, score);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    /**
+     * Splits a subtree into the entries ranked before a key and the others.
+     */
+    private static Node[] split(Node node, long id, double score) {
+        if (node == null) {
+            return new Node[2];
+        }
+        Node[] parts;
+        if (compare(id, score, node) > 0) {
+            parts = split(node.right, id, score);
+            node.right = parts[0];
+            parts[0] = node;
+        } else {
+            parts = split(node.left, id, score);
+            node.left = parts[1];
+            parts[1] = node;
+        }
+        node.resize();
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees, every entry of the first being ranked before every entry of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.resize();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.resize();
+        return second;
+    }
+
+    private static Node remove(Node node, long id, double score) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(id, score, node);
+        if (order == 0) {
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, id, score);
+        } else {
+            node.right = remove(node.right, id, score);
+        }
+        node.resize();
+        return node;
+    }
+
+    private static final class Node {
+
+        private final long id;
+        private final double score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(long id, double score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void resize() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A route between two planets.
+ *
+ * @param planetIds the planets visited, from the start to the destination
+ * @param distance the total distance travelled
+ */
+public record Route(List<Long> planetIds, double distance) {
+
+    /**
+     * Gets the number of jumps of the route.
+     *
+     * @return the number of jumps
+     */
+    public int jumps() {
+        return planetIds.size() - 1;
+    }
+
+    /**
+     * Checks whether the route goes through a planet, including its ends.
+     *
+     * @param planetId the planet ID
+     * @return true if the route visits the planet
+     */
+    public boolean visits(long planetId) {
+        return planetIds.contains(planetId);
+    }
+
+    /**
+     * Estimates the travel time of the route.
+     *
+     * @param speed the distance travelled per hour
+     * @param jumpTime the time spent on each jump in addition to travelling
+     * @return the estimated travel time
+     */
+    public Duration eta(double speed, Duration jumpTime) {
+        long travelSeconds = Math.round(distance / speed * 3600);
+        return Duration.ofSeconds(travelSeconds).plus(jumpTime.multipliedBy(jumps()));
+    }
+}
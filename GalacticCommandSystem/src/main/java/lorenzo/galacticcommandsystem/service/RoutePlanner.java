@@ -0,0 +1,243 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import lorenzo.galacticcommandsystem.event.PlanetDeletedEvent;
+import lorenzo.galacticcommandsystem.event.PlanetSavedEvent;
+import lorenzo.galacticcommandsystem.repository.PlanetCoordinates;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Plans routes between planets over the {@link JumpGraph} of planets within jump range.
+ * <p>
+ * Routes are cached, including the pairs found to be unreachable. When a planet is added,
+ * only the cached routes it could shorten are dropped: those where the straight-line distances
+ * start-planet-destination are shorter than the cached route. When a planet is removed,
+ * only the routes going through it are dropped. Unreachable pairs are dropped on any addition,
+ * since a new planet can connect anything.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoutePlanner {
+
+    private final PlanetRepository planetRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Maximum distance of a single jump.
+     */
+    @Value("${galaxy.routes.jump-range:25}")
+    private double jumpRange = 25;
+
+    /**
+     * Distance travelled per hour, for travel time estimates.
+     */
+    @Value("${galaxy.routes.speed:10}")
+    private double speed = 10;
+
+    /**
+     * Time spent on each jump, for travel time estimates.
+     */
+    @Value("${galaxy.routes.jump-time:PT1H}")
+    private Duration jumpTime = Duration.ofHours(1);
+
+    /**
+     * Maximum number of cached routes; the least recently used are evicted first.
+     */
+    @Value("${galaxy.routes.cache-size:10000}")
+    private int cacheSize = 10_000;
+
+    private volatile JumpGraph graph;
+    private Map<RouteKey, CachedRoute> cache;
+
+    private record RouteKey(long fromId, long toId) {
+    }
+
+    /**
+     * A cached search result; route is null when the destination is unreachable.
+     */
+    private record CachedRoute(Route route, double fromX, double fromY, double fromZ,
+                               double toX, double toY, double toZ) {
+    }
+
+    /**
+     * Rebuilds the jump graph from the coordinates stored in the database and clears the cache.
+     * Runs at startup and after a synthetic galaxy was written, since that bypasses the planet events.
+     */
+    @EventListener({ApplicationReadyEvent.class, GalaxyGeneratedEvent.class})
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            List<PlanetCoordinates> coordinates = planetRepository.findAllCoordinates();
+            graph = new JumpGraph(jumpRange, coordinates.size());
+            for (PlanetCoordinates planet : coordinates) {
+                graph.add(planet.id(), planet.x(), planet.y(), planet.z());
+            }
+            cache = newCache();
+            log.info("Jump graph built with {} planets in {} ms", graph.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the shortest route between two planets.
+     *
+     * @param fromPlanetId the start planet ID
+     * @param toPlanetId the destination planet ID
+     * @return the shortest route, or empty if either planet is unknown or the destination is unreachable
+     */
+    public Optional<Route> findRoute(long fromPlanetId, long toPlanetId) {
+        RouteKey key = new RouteKey(fromPlanetId, toPlanetId);
+        if (graph == null) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            CachedRoute cached;
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if (cached != null) {
+                return Optional.ofNullable(cached.route());
+            }
+            double[] from = graph.position(fromPlanetId);
+            double[] to = graph.position(toPlanetId);
+            if (from == null || to == null) {
+                return Optional.empty();
+            }
+            JumpGraph.Path path = graph.findPath(fromPlanetId, toPlanetId);
+            Route route = path == null ? null : new Route(path.planetIds(), path.distance());
+            synchronized (cache) {
+                cache.put(key, new CachedRoute(route, from[0], from[1], from[2], to[0], to[1], to[2]));
+            }
+            return Optional.ofNullable(route);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the travel time between two planets along the shortest route.
+     *
+     * @param fromPlanetId the start planet ID
+     * @param toPlanetId the destination planet ID
+     * @return the estimated travel time, or empty if there is no route
+     */
+    public Optional<Duration> estimateTravelTime(long fromPlanetId, long toPlanetId) {
+        return findRoute(fromPlanetId, toPlanetId).map(route -> route.eta(speed, jumpTime));
+    }
+
+    /**
+     * Adds a created planet to the graph, or moves an updated one.
+     *
+     * @param event the planet event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetSaved(PlanetSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (graph == null) {
+                // not built yet: the planet will be read from the database
+                return;
+            }
+            if (graph.contains(event.planetId())) {
+                invalidateRoutesThrough(event.planetId());
+            }
+            graph.add(event.planetId(), event.x(), event.y(), event.z());
+            invalidateRoutesShortenedBy(event.x(), event.y(), event.z());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a deleted planet from the graph.
+     *
+     * @param event the planet event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetDeleted(PlanetDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (graph != null && graph.remove(event.planetId())) {
+                invalidateRoutesThrough(event.planetId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of cached routes.
+     *
+     * @return the cache size
+     */
+    public int cachedRoutes() {
+        lock.readLock().lock();
+        try {
+            if (cache == null) {
+                return 0;
+            }
+            synchronized (cache) {
+                return cache.size();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void invalidateRoutesThrough(long planetId) {
+        synchronized (cache) {
+            cache.values().removeIf(cached -> cached.route() != null && cached.route().visits(planetId));
+        }
+    }
+
+    private void invalidateRoutesShortenedBy(double x, double y, double z) {
+        synchronized (cache) {
+            Iterator<CachedRoute> iterator = cache.values().iterator();
+            while (iterator.hasNext()) {
+                CachedRoute cached = iterator.next();
+                if (cached.route() == null
+                        || distance(cached.fromX(), cached.fromY(), cached.fromZ(), x, y, z)
+                        + distance(x, y, z, cached.toX(), cached.toY(), cached.toZ()) < cached.route().distance()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+
+    private Map<RouteKey, CachedRoute> newCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, CachedRoute> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    private static double distance(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        double dz = z1 - z2;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,18 @@
+package lorenzo.galacticcommandsystem.service;
+
+import java.util.Comparator;
+
+/**
+ * A document found by an {@link InvertedIndex} search.
+ *
+ * @param id the document ID
+ * @param score how well the document matches the query; higher is better
+ */
+public record SearchHit(long id, double score) {
+
+    /**
+     * Orders hits by decreasing score, then by ID.
+     */
+    public static final Comparator<SearchHit> BEST_FIRST = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparingLong(SearchHit::id);
+}
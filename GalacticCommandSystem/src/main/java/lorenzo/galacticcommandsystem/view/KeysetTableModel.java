@@ -0,0 +1,290 @@
+package lorenzo.galacticcommandsystem.view;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Table model that loads its rows page by page, only when the table asks for them.
+ * Pages are fetched with keyset pagination (id greater than the last id of the previous page),
+ * and only a bounded number of pages is kept in memory, so scrolling a large table
+ * costs the same amount of memory as showing its first screen.
+ * <p>
+ * With an {@link AsyncPageLoader} the table never waits for a page: rows of a page still loading
+ * show {@link #LOADING}, and the table is notified on the event dispatch thread when the page arrives.
+ *
+ * @param <T> the type of the rows returned by the page loader
+ */
+@Slf4j
+public class KeysetTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Default number of rows fetched with a single query.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Default number of pages kept in memory.
+     */
+    public static final int DEFAULT_CACHED_PAGES = 10;
+
+    /**
+     * Cell value of the rows whose page is still loading.
+     */
+    public static final String LOADING = "Loading…";
+
+    /**
+     * Loads a page of rows with an id strictly greater than afterId, ordered by id.
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> load(long afterId, int limit);
+    }
+
+    /**
+     * Starts loading a page of rows with an id strictly greater than afterId, ordered by id.
+     */
+    @FunctionalInterface
+    public interface AsyncPageLoader<T> {
+        CompletableFuture<List<T>> load(long afterId, int limit);
+    }
+
+    private final String[] columnNames;
+    private final int rowCount;
+    private final int pageSize;
+    private final AsyncPageLoader<T> loader;
+    private final Executor completionExecutor;
+    private final ToLongFunction<T> idExtractor;
+    private final Function<T, Object[]> rowMapper;
+
+    /**
+     * The last id before each page: entry n is the key used to seek page n.
+     * Only one long per visited page is kept, so evicted pages can be reloaded with a single query.
+     */
+    private final List<Long> pageStartKeys = new ArrayList<>();
+
+    /**
+     * Loaded pages in access order, evicting the least recently used one when full.
+     */
+    private final Map<Integer, Object[][]> pages;
+
+    /**
+     * Pages being loaded, so a page is requested only once however often it is painted.
+     */
+    private final Map<Integer, CompletableFuture<List<T>>> loading = new HashMap<>();
+    private boolean cancelled;
+
+    /**
+     * Creates a table model with the default page size and cache size.
+     *
+     * @param columnNames the column headers
+     * @param rowCount the total number of rows
+     * @param loader the keyset page loader
+     * @param idExtractor extracts the pagination key from a row
+     * @param rowMapper converts a row into the cell values of the table
+     */
+    public KeysetTableModel(String[] columnNames, long rowCount, PageLoader<T> loader,
+                            ToLongFunction<T> idExtractor, Function<T, Object[]> rowMapper) {
+        this(columnNames, rowCount, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES, loader, idExtractor, rowMapper);
+    }
+
+    /**
+     * Creates a table model.
+     *
+     * @param columnNames the column headers
+     * @param rowCount the total number of rows
+     * @param pageSize the number of rows fetched with a single query
+     * @param cachedPages the maximum number of pages kept in memory
+     * @param loader the keyset page loader
+     * @param idExtractor extracts the pagination key from a row
+     * @param rowMapper converts a row into the cell values of the table
+     */
+    public KeysetTableModel(String[] columnNames, long rowCount, int pageSize, int cachedPages,
+                            PageLoader<T> loader, ToLongFunction<T> idExtractor,
+                            Function<T, Object[]> rowMapper) {
+        this(columnNames, rowCount, pageSize, cachedPages,
+                (afterId, limit) -> CompletableFuture.completedFuture(loader.load(afterId, limit)),
+                Runnable::run, idExtractor, rowMapper);
+    }
+
+    /**
+     * Creates a table model loading its pages in the background, with the default page size and cache size.
+     *
+     * @param columnNames the column headers
+     * @param rowCount the total number of rows
+     * @param loader the asynchronous keyset page loader
+     * @param idExtractor extracts the pagination key from a row
+     * @param rowMapper converts a row into the cell values of the table
+     */
+    public KeysetTableModel(String[] columnNames, long rowCount, AsyncPageLoader<T> loader,
+                            ToLongFunction<T> idExtractor, Function<T, Object[]> rowMapper) {
+        this(columnNames, rowCount, DEFAULT_PAGE_SIZE, DEFAULT_CACHED_PAGES, loader, SwingUtilities::invokeLater,
+                idExtractor, rowMapper);
+    }
+
+    /**
+     * Creates a table model loading its pages in the background.
+     *
+     * @param columnNames the column headers
+     * @param rowCount the total number of rows
+     * @param pageSize the number of rows fetched with a single query
+     * @param cachedPages the maximum number of pages kept in memory
+     * @param loader the asynchronous keyset page loader
+     * @param completionExecutor runs the handling of a loaded page, on the thread that owns the table
+     * @param idExtractor extracts the pagination key from a row
+     * @param rowMapper converts a row into the cell values of the table
+     */
+    public KeysetTableModel(String[] columnNames, long rowCount, int pageSize, int cachedPages,
+                            AsyncPageLoader<T> loader, Executor completionExecutor,
+                            ToLongFunction<T> idExtractor, Function<T, Object[]> rowMapper) {
+        if (pageSize <= 0 || cachedPages <= 0) {
+            throw new IllegalArgumentException("Page size and cached pages must be positive");
+        }
+        this.columnNames = columnNames;
+        this.rowCount = (int) Math.min(rowCount, Integer.MAX_VALUE);
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.completionExecutor = completionExecutor;
+        this.idExtractor = idExtractor;
+        this.rowMapper = rowMapper;
+        this.pageStartKeys.add(0L);
+        this.pages = new LinkedHashMap<>(cachedPages + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Cancels the pages still loading and ignores any page arriving later.
+     * Called when the table is no longer shown.
+     */
+    public void cancel() {
+        cancelled = true;
+        List<CompletableFuture<List<T>>> pending = new ArrayList<>(loading.values());
+        loading.clear();
+        pending.forEach(future -> future.cancel(false));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Object[][] page = page(row / pageSize);
+        if (page == null) {
+            return LOADING;
+        }
+        int offset = row % pageSize;
+        return offset < page.length ? page[offset][column] : "";
+    }
+
+    /**
+     * Returns the requested page, loading it (and any page before it whose start key is still unknown).
+     *
+     * @param index the page index
+     * @return the cell values of the page, possibly shorter than the page size, or null while it is loading
+     */
+    private Object[][] page(int index) {
+        Object[][] cached = pages.get(index);
+        if (cached != null) {
+            return cached;
+        }
+        int next = Math.min(index, pageStartKeys.size() - 1);
+        Object[][] page = null;
+        while (next <= index) {
+            page = pages.get(next);
+            if (page == null) {
+                page = fetch(next);
+                if (page == null) {
+                    return null;
+                }
+            }
+            if (page.length < pageSize && next < index) {
+                // the table shrank since it was counted: there is nothing after this page
+                return new Object[0][];
+            }
+            next++;
+        }
+        return page;
+    }
+
+    /**
+     * Fetches a page whose start key is known.
+     * A page already loaded by the loader is stored at once, otherwise it is stored when it arrives.
+     *
+     * @param index the page index
+     * @return the cell values of the page, or null while it is loading
+     */
+    private Object[][] fetch(int index) {
+        if (cancelled || loading.containsKey(index)) {
+            return null;
+        }
+        CompletableFuture<List<T>> future = loader.load(pageStartKeys.get(index), pageSize);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return store(index, future.join());
+        }
+        loading.put(index, future);
+        future.whenComplete((rows, error) -> completionExecutor.execute(() -> {
+            if (loading.get(index) != future) {
+                return;
+            }
+            loading.remove(index);
+            if (error != null) {
+                log.warn("Could not load rows {} to {}", index * pageSize, (index + 1) * pageSize - 1, error);
+                return;
+            }
+            store(index, rows);
+            // every row from this page on may have been waiting for it, to learn its start key
+            fireTableRowsUpdated(index * pageSize, rowCount - 1);
+        }));
+        return null;
+    }
+
+    /**
+     * Converts and caches a loaded page, and records the start key of the following page.
+     *
+     * @param index the page index
+     * @param rows the rows of the page
+     * @return the cell values of the page
+     */
+    private Object[][] store(int index, List<T> rows) {
+        Object[][] data = new Object[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            data[i] = rowMapper.apply(rows.get(i));
+        }
+        if (!rows.isEmpty() && pageStartKeys.size() == index + 1) {
+            pageStartKeys.add(idExtractor.applyAsLong(rows.get(rows.size() - 1)));
+        }
+        pages.put(index, data);
+        return data;
+    }
+}
@@ -1,7 +1,12 @@
 package lorenzo.galacticcommandsystem.view;
 
+import lorenzo.galacticcommandsystem.controller.AsyncMainController;
 import lorenzo.galacticcommandsystem.controller.MainController;
 import lorenzo.galacticcommandsystem.model.*;
+import lorenzo.galacticcommandsystem.repository.CrewSummary;
+import lorenzo.galacticcommandsystem.repository.MissionSummary;
+import lorenzo.galacticcommandsystem.repository.PlanetSummary;
+import lorenzo.galacticcommandsystem.repository.SpaceShipSummary;
 
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -11,14 +16,18 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class MainView extends JFrame {
 
     private final MainController controller;
+    private final AsyncMainController asyncController;
+    private final ScreenLoads loads = new ScreenLoads();
 
-    public MainView(MainController controller) {
+    public MainView(MainController controller, AsyncMainController asyncController) {
         this.controller = controller;
+        this.asyncController = asyncController;
 
         setTitle("Galactic Command System");
         setSize(800, 600);
@@ -31,6 +40,7 @@ public class MainView extends JFrame {
     }
 
     private void showMainMenu() {
+        loads.leaveScreen();
         getContentPane().removeAll();
 
         JPanel topPadding = new JPanel();
@@ -84,22 +94,24 @@ public class MainView extends JFrame {
     }
 
     private void showSpaceShips() {
-        List<SpaceShip> ships = controller.getAllSpaceShips();
-        String[] columnNames = {"ID", "Name", "IsOperational"};
-        String[][] data = new String[ships.size()][3];
-
-        for (int i = 0; i < ships.size(); i++) {
-            SpaceShip ship = ships.get(i);
-            data[i][0] = "#" + String.format("%03d", ship.getId());
-            data[i][1] = ship.getName();
-            data[i][2] = String.valueOf(ship.isOperational());
-        }
+        showLoading("SPACE SHIPS", this::showMainMenu);
+        loads.then(asyncController.countSpaceShips(), this::showSpaceShips, this::showLoadError);
+    }
 
-        JTable table = new JTable(data, columnNames) {
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    private void showSpaceShips(long count) {
+        KeysetTableModel<SpaceShipSummary> model = new KeysetTableModel<>(
+                new String[]{"ID", "Name", "IsOperational"},
+                count,
+                asyncController::getSpaceShipsPage,
+                SpaceShipSummary::id,
+                ship -> new Object[]{
+                        "#" + String.format("%03d", ship.id()),
+                        ship.name(),
+                        String.valueOf(ship.operational())
+                });
+
+        loads.onLeave(model::cancel);
+        JTable table = new JTable(model);
 
         table.setFont(new Font("SansSerif", Font.PLAIN, 14));
         table.setRowHeight(30);
@@ -174,7 +186,7 @@ public class MainView extends JFrame {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int row = table.getSelectedRow();
-                    if (row != -1) {
+                    if (row != -1 && !KeysetTableModel.LOADING.equals(table.getValueAt(row, 0))) {
                         String idStr = ((String) table.getValueAt(row, 0)).substring(1);
                         Long shipId = Long.parseLong(idStr);
                         showSpaceShipDetails(shipId);
@@ -189,6 +201,7 @@ public class MainView extends JFrame {
     }
 
     private void showCreateSpaceShipForm() {
+        loads.leaveScreen();
         getContentPane().removeAll();
 
 
@@ -255,12 +268,16 @@ public class MainView extends JFrame {
     }
 
     private void showSpaceShipDetails(Long shipId) {
-        SpaceShip ship = controller.getSpaceShipById(shipId);
+        showLoading("Spaceship", this::showSpaceShips);
+        CompletableFuture<SpaceShip> ship = loads.track(asyncController.getSpaceShipById(shipId));
+        CompletableFuture<List<CrewMember>> crew = loads.track(asyncController.getCrewMembersByShipId(shipId));
+        CompletableFuture<List<Mission>> missions = loads.track(asyncController.getMissionsByShipId(shipId));
+        loads.then(CompletableFuture.allOf(ship, crew, missions),
+                loaded -> showSpaceShipDetails(ship.join(), crew.join(), missions.join()),
+                this::showLoadError);
+    }
 
-        if (ship == null) {
-            JOptionPane.showMessageDialog(this, "Unable to load spaceship data.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+    private void showSpaceShipDetails(SpaceShip ship, List<CrewMember> crewList, List<Mission> missions) {
         getContentPane().removeAll();
 
         JPanel headerPanel = new JPanel(new BorderLayout());
@@ -295,7 +312,6 @@ public class MainView extends JFrame {
 
         // Crew Table
         String[] crewColumns = {"Name", "Role"};
-        List<CrewMember> crewList = controller.getCrewMembersByShipId(shipId);
         String[][] crewData = new String[crewList.size()][2];
         for (int i = 0; i < crewList.size(); i++) {
             CrewMember c = crewList.get(i);
@@ -324,7 +340,6 @@ public class MainView extends JFrame {
 
         // Mission Table
         String[] missionColumns = {"Name", "Info"};
-        List<Mission> missions = controller.getMissionsByShipId(shipId);
         String[][] missionData = new String[missions.size()][2];
         for (int i = 0; i < missions.size(); i++) {
             Mission m = missions.get(i);
@@ -389,9 +404,13 @@ public class MainView extends JFrame {
     }
 
     private void showMissionSelection(Long shipId) {
-        getContentPane().removeAll();
+        showLoading("Assign Mission", () -> showSpaceShipDetails(shipId));
+        loads.then(asyncController.getUnassignedMissionsForShip(shipId),
+                missions -> showMissionSelection(shipId, missions), this::showLoadError);
+    }
 
-        List<Mission> allMissions = controller.getUnassignedMissionsForShip(shipId);
+    private void showMissionSelection(Long shipId, List<Mission> allMissions) {
+        getContentPane().removeAll();
 
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.setBackground(Color.decode("#0B0F1A"));
@@ -543,6 +562,16 @@ public class MainView extends JFrame {
     }
 
     public void showMissionPage(Long missionId) {
+        showLoading("Mission Overview", this::showMainMenu);
+        CompletableFuture<Mission> mission = loads.track(asyncController.getMissionById(missionId));
+        CompletableFuture<List<Objective>> objectives = loads.track(asyncController.getObjectivesByMissionId(missionId));
+        CompletableFuture<List<String>> shipNames = loads.track(asyncController.getSpaceShipNamesByMissionId(missionId));
+        loads.then(CompletableFuture.allOf(mission, objectives, shipNames),
+                loaded -> showMissionPage(mission.join(), objectives.join(), shipNames.join()),
+                this::showLoadError);
+    }
+
+    private void showMissionPage(Mission mission, List<Objective> objectives, List<String> shipNames) {
         getContentPane().removeAll();
 
         JPanel wrapperPanel = new JPanel(new BorderLayout());
@@ -595,8 +624,6 @@ public class MainView extends JFrame {
         missionTitle.setForeground(textColor);
         missionTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        Mission mission = controller.getMissionById(missionId);
-
         JLabel nameLabel = new JLabel("Name: " + (mission != null ? mission.getName() : "Unknown"));
         nameLabel.setForeground(textColor);
         nameLabel.setFont(textFont);
@@ -625,7 +652,6 @@ public class MainView extends JFrame {
         objectivesPanel.add(objectivesTitle);
         objectivesPanel.add(Box.createRigidArea(new Dimension(0, 20)));
 
-        List<Objective> objectives = controller.getObjectivesByMissionId(missionId);
         for (Objective obj : objectives) {
             addObjective(objectivesPanel, obj.getTitle(), obj.getDescription(), obj.getTypes());
         }
@@ -657,7 +683,6 @@ public class MainView extends JFrame {
         spaceshipPanel.add(spaceshipTitle);
         spaceshipPanel.add(Box.createRigidArea(new Dimension(0, 20)));
 
-        List<String> shipNames = controller.getSpaceShipNamesByMissionId(missionId);
         for (String shipName : shipNames) {
             addSpaceship(spaceshipPanel, shipName); // Optional: add date info
         }
@@ -674,24 +699,25 @@ public class MainView extends JFrame {
     }
 
     private void showMissions() {
-        List<Mission> missions = controller.getAllMissions(); // Assuming this method exists
-        String[] columnNames = {"ID", "Name", "Funding", "State"};
-        String[][] data = new String[missions.size()][4];
-
-
-        for (int i = 0; i < missions.size(); i++) {
-            Mission mission = missions.get(i);
-            data[i][0] = "#" + String.format("%03d", mission.getId());
-            data[i][1] = mission.getName();
-            data[i][2] = String.format("$%.2f", mission.getFunding());
-            data[i][3] = mission.getMissionState().toString();
-        }
+        showLoading("MISSIONS", this::showMainMenu);
+        loads.then(asyncController.countMissions(), this::showMissions, this::showLoadError);
+    }
 
-        JTable table = new JTable(data, columnNames) {
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    private void showMissions(long count) {
+        KeysetTableModel<MissionSummary> model = new KeysetTableModel<>(
+                new String[]{"ID", "Name", "Funding", "State"},
+                count,
+                asyncController::getMissionsPage,
+                MissionSummary::id,
+                mission -> new Object[]{
+                        "#" + String.format("%03d", mission.id()),
+                        mission.name(),
+                        String.format("$%.2f", mission.funding()),
+                        mission.missionState().toString()
+                });
+
+        loads.onLeave(model::cancel);
+        JTable table = new JTable(model);
 
         table.setFont(new Font("SansSerif", Font.PLAIN, 14));
         table.setRowHeight(30);
@@ -754,6 +780,11 @@ public class MainView extends JFrame {
         bottomPanel.setOpaque(false);
         bottomPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
+        RoundedButton autoAssignButton = new RoundedButton("Auto-assign");
+        styleAddNewButton(autoAssignButton);
+        autoAssignButton.addActionListener(e -> optimizeMissionAssignments());
+        bottomPanel.add(autoAssignButton, BorderLayout.EAST);
+
         add(bottomPanel, BorderLayout.SOUTH);
 
         table.addMouseListener(new MouseAdapter() {
@@ -761,7 +792,7 @@ public class MainView extends JFrame {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int row = table.getSelectedRow();
-                    if (row != -1) {
+                    if (row != -1 && !KeysetTableModel.LOADING.equals(table.getValueAt(row, 0))) {
                         String idStr = ((String) table.getValueAt(row, 0)).substring(1);
                         Long missionId = Long.parseLong(idStr);
                         showMissionPage(missionId);
@@ -775,7 +806,25 @@ public class MainView extends JFrame {
         repaint();
     }
 
+    private void optimizeMissionAssignments() {
+        String info = JOptionPane.showInputDialog(this, "Activation info for the assigned missions:");
+        if (info == null) {
+            return;
+        }
+        if (info.isBlank()) {
+            JOptionPane.showMessageDialog(this, "Activation info is required.");
+            return;
+        }
+        showLoading("MISSIONS", this::showMissions);
+        loads.then(asyncController.optimizeMissionAssignments(info.trim()), plan -> {
+            JOptionPane.showMessageDialog(this, String.format("%d missions assigned to %d spaceships, total score %.2f.",
+                    plan.assignments().size(), plan.ships(), plan.totalScore()));
+            showMissions();
+        }, this::showLoadError);
+    }
+
     private void showCreateMissionForm() {
+        loads.leaveScreen();
         getContentPane().removeAll();
 
         JPanel formPanel = new JPanel();
@@ -880,24 +929,25 @@ public class MainView extends JFrame {
     }
 
     private void showPlanets() {
-        List<Planet> planets = controller.getAllPlanets(); // Your controller method
-        String[] columnNames = {"ID", "Name", "Atmosphere", "Position"};
-        String[][] data = new String[planets.size()][4];
-
+        showLoading("PLANETS", this::showMainMenu);
+        loads.then(asyncController.countPlanets(), this::showPlanets, this::showLoadError);
+    }
 
-        for (int i = 0; i < planets.size(); i++) {
-            Planet planet = planets.get(i);
-            data[i][0] = "#" + String.format("%03d", planet.getId());
-            data[i][1] = planet.getName();
-            data[i][2] = planet.getAtmosphereType();
-            data[i][3] = planet.getPosition();
-        }
-
-        JTable table = new JTable(data, columnNames) {
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    private void showPlanets(long count) {
+        KeysetTableModel<PlanetSummary> model = new KeysetTableModel<>(
+                new String[]{"ID", "Name", "Atmosphere", "Position"},
+                count,
+                asyncController::getPlanetsPage,
+                PlanetSummary::id,
+                planet -> new Object[]{
+                        "#" + String.format("%03d", planet.id()),
+                        planet.name(),
+                        planet.atmosphereType(),
+                        planet.position()
+                });
+
+        loads.onLeave(model::cancel);
+        JTable table = new JTable(model);
 
         table.setFont(new Font("SansSerif", Font.PLAIN, 14));
         table.setRowHeight(30);
@@ -968,7 +1018,7 @@ public class MainView extends JFrame {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int row = table.getSelectedRow();
-                    if (row != -1) {
+                    if (row != -1 && !KeysetTableModel.LOADING.equals(table.getValueAt(row, 0))) {
                         String idStr = ((String) table.getValueAt(row, 0)).substring(1);
                         Long planetId = Long.parseLong(idStr);
                         showPlanetDetails(planetId);
@@ -985,6 +1035,7 @@ public class MainView extends JFrame {
     }
 
     private void showCreatePlanetForm() {
+        loads.leaveScreen();
         getContentPane().removeAll();
 
         JPanel formPanel = new JPanel();
@@ -1061,11 +1112,17 @@ public class MainView extends JFrame {
                 return;
             }
 
-            Planet newPlanet = Planet.builder()
-                    .name(name)
-                    .atmosphereType(atmosphere)
-                    .position(position)
-                    .build();
+            Planet newPlanet;
+            try {
+                newPlanet = Planet.builder()
+                        .name(name)
+                        .atmosphereType(atmosphere)
+                        .position(position)
+                        .build();
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             controller.createPlanet(newPlanet);
             showPlanets();
@@ -1080,24 +1137,26 @@ public class MainView extends JFrame {
     }
 
     private void showCrewMembers() {
-        List<CrewMember> crewMembers = controller.getAllCrewMembers();
-        String[] columnNames = {"ID", "Full Name", "Credits", "SpaceShip", "Planet"};
-        String[][] data = new String[crewMembers.size()][5];
-
-        for (int i = 0; i < crewMembers.size(); i++) {
-            CrewMember cm = crewMembers.get(i);
-            data[i][0] = "#" + String.format("%03d", cm.getId());
-            data[i][1] = cm.getFullName();
-            data[i][2] = String.format("%.2f", cm.getCredits());
-            data[i][3] = cm.getSpaceShip() != null ? cm.getSpaceShip().getName() : "N/A";
-            data[i][4] = cm.getPlanet() != null ? cm.getPlanet().getName() : "N/A";
-        }
+        showLoading("CREWMATES", this::showMainMenu);
+        loads.then(asyncController.countCrewMembers(), this::showCrewMembers, this::showLoadError);
+    }
 
-        JTable table = new JTable(data, columnNames) {
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+    private void showCrewMembers(long count) {
+        KeysetTableModel<CrewSummary> model = new KeysetTableModel<>(
+                new String[]{"ID", "Full Name", "Credits", "SpaceShip", "Planet"},
+                count,
+                asyncController::getCrewMembersPage,
+                CrewSummary::id,
+                cm -> new Object[]{
+                        "#" + String.format("%03d", cm.id()),
+                        cm.fullName(),
+                        String.format("%.2f", cm.credits()),
+                        cm.spaceShipName() != null ? cm.spaceShipName() : "N/A",
+                        cm.planetName() != null ? cm.planetName() : "N/A"
+                });
+
+        loads.onLeave(model::cancel);
+        JTable table = new JTable(model);
 
         table.setFont(new Font("SansSerif", Font.PLAIN, 14));
         table.setRowHeight(30);
@@ -1171,7 +1230,7 @@ public class MainView extends JFrame {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) {
                     int row = table.getSelectedRow();
-                    if (row != -1) {
+                    if (row != -1 && !KeysetTableModel.LOADING.equals(table.getValueAt(row, 0))) {
                         String idStr = ((String) table.getValueAt(row, 0)).substring(1);
                         Long id = Long.parseLong(idStr);
                         showCrewMemberDetails(id); // Da implementare se vuoi
@@ -1188,8 +1247,15 @@ public class MainView extends JFrame {
     }
 
     private void showSpaceShipHistory(Long spaceshipId) {
-        List<CrewHistory> historyRecords = controller.getSpaceShipHistory(spaceshipId);
-        SpaceShip spaceShip = controller.getSpaceShipById(spaceshipId);
+        showLoading("SPACESHIP HISTORY", () -> showSpaceShipDetails(spaceshipId));
+        CompletableFuture<List<CrewHistory>> history = loads.track(asyncController.getSpaceShipHistory(spaceshipId));
+        CompletableFuture<SpaceShip> ship = loads.track(asyncController.getSpaceShipById(spaceshipId));
+        loads.then(CompletableFuture.allOf(history, ship),
+                loaded -> showSpaceShipHistory(spaceshipId, history.join(), ship.join()),
+                this::showLoadError);
+    }
+
+    private void showSpaceShipHistory(Long spaceshipId, List<CrewHistory> historyRecords, SpaceShip spaceShip) {
 
         String[] columnNames = {"ID", "Assignment Date", "Crew Member ID", "Space Ship ID"};
         String[][] data = new String[historyRecords.size()][4];
@@ -1279,6 +1345,69 @@ public class MainView extends JFrame {
         repaint();
     }
 
+    /**
+     * Replaces the content of the window with a placeholder while the next screen loads in the background.
+     * The loads of the previous screen are cancelled.
+     */
+    private void showLoading(String titleText, Runnable back) {
+        loads.leaveScreen();
+        getContentPane().removeAll();
+
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        topPanel.setOpaque(false);
+        topPanel.setBorder(BorderFactory.createEmptyBorder(30, 20, 10, 20));
+
+        JLabel backArrow = new JLabel("←");
+        backArrow.setFont(new Font("SansSerif", Font.PLAIN, 28));
+        backArrow.setForeground(Color.WHITE);
+        backArrow.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        backArrow.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 10));
+        backArrow.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                back.run();
+            }
+        });
+        topPanel.add(backArrow);
+
+        JLabel title = new JLabel(titleText);
+        title.setFont(new Font("SansSerif", Font.BOLD, 24));
+        title.setForeground(Color.WHITE);
+        topPanel.add(title);
+
+        JPanel loadingPanel = new JPanel();
+        loadingPanel.setLayout(new BoxLayout(loadingPanel, BoxLayout.Y_AXIS));
+        loadingPanel.setOpaque(false);
+
+        JLabel loadingLabel = new JLabel(KeysetTableModel.LOADING);
+        loadingLabel.setFont(new Font("SansSerif", Font.PLAIN, 18));
+        loadingLabel.setForeground(Color.LIGHT_GRAY);
+        loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        loadingPanel.add(loadingLabel);
+        loadingPanel.add(Box.createVerticalStrut(12));
+
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setMaximumSize(new Dimension(300, 8));
+        progressBar.setAlignmentX(Component.CENTER_ALIGNMENT);
+        loadingPanel.add(progressBar);
+
+        JPanel centerPanel = new JPanel(new GridBagLayout());
+        centerPanel.setOpaque(false);
+        centerPanel.add(loadingPanel);
+
+        add(topPanel, BorderLayout.NORTH);
+        add(centerPanel, BorderLayout.CENTER);
+        getContentPane().setBackground(Color.decode("#0B0F1A"));
+        revalidate();
+        repaint();
+    }
+
+    private void showLoadError(Throwable cause) {
+        JOptionPane.showMessageDialog(this, "Unable to load data: " + cause.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
     private void styleTextField(JTextField field) {
         field.setBackground(new Color(40, 60, 90));
         field.setForeground(Color.WHITE);
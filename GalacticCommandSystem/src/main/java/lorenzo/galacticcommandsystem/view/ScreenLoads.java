@@ -0,0 +1,79 @@
+package lorenzo.galacticcommandsystem.view;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * The background loads of the screen currently shown.
+ * <p>
+ * Results are handed over on the event dispatch thread, like a {@code SwingWorker}'s {@code done()},
+ * but only if the screen that started the load is still shown: changing screen cancels every load
+ * still in flight, so a slow query can no longer replace the screen the user moved to.
+ * All methods must be called on the event dispatch thread.
+ */
+final class ScreenLoads {
+
+    private final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+    private final List<Runnable> cancelActions = new ArrayList<>();
+    private int screen;
+
+    /**
+     * Cancels the loads of the previous screen. Called whenever the content of the window is replaced.
+     */
+    void leaveScreen() {
+        screen++;
+        inFlight.forEach(future -> future.cancel(false));
+        inFlight.clear();
+        cancelActions.forEach(Runnable::run);
+        cancelActions.clear();
+    }
+
+    /**
+     * Registers something to cancel when the current screen is left, such as the page loads of a table.
+     *
+     * @param action the cancel action
+     */
+    void onLeave(Runnable action) {
+        cancelActions.add(action);
+    }
+
+    /**
+     * Cancels a load when the current screen is left.
+     *
+     * @param future the load
+     * @return the same load, to combine it with others
+     */
+    <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        inFlight.add(future);
+        return future;
+    }
+
+    /**
+     * Handles the result of a load on the event dispatch thread, if the current screen is still shown.
+     *
+     * @param future the load, or a combination of tracked loads
+     * @param onLoaded receives the result
+     * @param onFailed receives the cause of a failure, other than a cancellation
+     */
+    <T> void then(CompletableFuture<T> future, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        track(future);
+        int startedOn = screen;
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (startedOn != screen) {
+                return;
+            }
+            inFlight.remove(future);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                onLoaded.accept(result);
+            } else if (!(cause instanceof CancellationException)) {
+                onFailed.accept(cause);
+            }
+        }));
+    }
+}
@@ -0,0 +1,172 @@
+package lorenzo.galacticcommandsystem.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DataJpaTest
+@Import({RegistryRestController.class, NdjsonStreamer.class, GalaxyGenerator.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RegistryRestControllerTest {
+
+    private static final GalaxySpec SPEC = GalaxySpec.builder()
+            .seed(3)
+            .planets(30)
+            .ships(5)
+            .crewPerShip(4)
+            .missions(8)
+            .objectivesPerMission(2)
+            .assignments(20)
+            .historyDepth(3)
+            .build();
+
+    @Autowired
+    private RegistryRestController controller;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private GalaxyGenerator galaxyGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    public void setUp() {
+        galaxyGenerator.generate(SPEC);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    private List<JsonNode> stream(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(path))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long firstId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class);
+    }
+
+    @Test
+    public void testListsStreamOneSummaryPerLine() throws Exception {
+        List<JsonNode> ships = stream("/api/ships");
+        assertEquals(SPEC.ships(), ships.size());
+        assertEquals(GalaxyGenerator.shipName(SPEC, 0), ships.get(0).get("name").asText());
+        for (int i = 1; i < ships.size(); i++) {
+            assertTrue(ships.get(i - 1).get("id").asLong() < ships.get(i).get("id").asLong());
+        }
+
+        assertEquals(SPEC.planets(), stream("/api/planets").size());
+        assertEquals(SPEC.missions(), stream("/api/missions").size());
+        List<JsonNode> crew = stream("/api/crew");
+        assertEquals(SPEC.crew(), crew.size());
+        assertNotNull(crew.get(0).get("spaceShipName").asText());
+        assertEquals(SPEC.history(), stream("/api/history").size());
+    }
+
+    @Test
+    public void testShipHistoryStreamsOnlyThatShip() throws Exception {
+        long shipId = firstId("space_ship");
+
+        List<JsonNode> history = stream("/api/ships/" + shipId + "/history");
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crew_history WHERE space_ship_id = ?",
+                Integer.class, shipId), history.size());
+        history.forEach(row -> assertEquals(shipId, row.get("spaceShipId").asLong()));
+        assertFalse(history.get(0).get("assignmentDate").isArray());
+    }
+
+    @Test
+    public void testShipDetailsIncludeCrewAndAssignments() throws Exception {
+        long shipId = firstId("space_ship");
+
+        JsonNode ship = getJson("/api/ships/" + shipId);
+
+        assertEquals(spaceShipRepository.findById(shipId).orElseThrow().getName(), ship.get("name").asText());
+        assertEquals(SPEC.crewPerShip(), ship.get("crew").size());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mission_assignment WHERE space_ship_id = ?",
+                Integer.class, shipId), ship.get("assignments").size());
+        assertEquals(shipId, ship.get("crew").get(0).get("spaceShipId").asLong());
+    }
+
+    @Test
+    public void testEntityEndpoints() throws Exception {
+        long missionId = firstId("mission");
+        JsonNode mission = getJson("/api/missions/" + missionId);
+        assertEquals(missionRepository.findById(missionId).orElseThrow().getName(), mission.get("name").asText());
+        assertEquals(SPEC.objectivesPerMission(), mission.get("objectives").size());
+        assertFalse(mission.get("objectives").get(0).get("types").isEmpty());
+
+        long planetId = firstId("planet");
+        assertEquals(planetId, getJson("/api/planets/" + planetId).get("id").asLong());
+
+        long crewId = firstId("crew_member");
+        JsonNode crewMember = getJson("/api/crew/" + crewId);
+        assertEquals(crewMemberRepository.findById(crewId).orElseThrow().getFullName(),
+                crewMember.get("fullName").asText());
+        assertTrue(List.of("Engineer", "Navigator").contains(crewMember.get("role").asText()));
+    }
+
+    @Test
+    public void testMissingEntitiesAreNotFound() throws Exception {
+        mockMvc.perform(get("/api/ships/999999")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/ships/999999/history")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/missions/999999")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/planets/999999")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/crew/999999")).andExpect(status().isNotFound());
+    }
+}
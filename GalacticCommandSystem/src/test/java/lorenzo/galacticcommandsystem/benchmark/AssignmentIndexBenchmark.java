@@ -0,0 +1,102 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares "which assignments are active on this date" answered by the interval index against
+ * {@link MissionAssignmentRepository#findActiveAssignments}, on {@link #assignments} generated assignments
+ * spread over ten years, each lasting up to a year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000"})
+    private int assignments;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private MissionAssignmentRepository missionAssignmentRepository;
+    private MissionAssignmentIndex missionAssignmentIndex;
+    private LocalDate[] dates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = JpaBenchmarkContext.start("assignmentindexbenchmark");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        missionAssignmentRepository = context.getBean(MissionAssignmentRepository.class);
+        new GalaxyGenerator(context.getBean(EntityManagerFactory.class), context).generate(GalaxySpec.builder()
+                .seed(1)
+                .planets(100)
+                .ships(1000)
+                .missions(1000)
+                .assignments(assignments)
+                .build());
+        // generated assignments are open-ended
+        context.getBean(JdbcTemplate.class).update(
+                "UPDATE mission_assignment SET end_date = DATEADD(DAY, MOD(id * 7919, 365), start_date)");
+        missionAssignmentIndex = new MissionAssignmentIndex(missionAssignmentRepository);
+        missionAssignmentIndex.rebuild();
+
+        Random random = new Random(42);
+        LocalDate newest = transactionTemplate.execute(status -> missionAssignmentRepository.findAllIntervals().stream()
+                .map(AssignmentInterval::startDate).max(LocalDate::compareTo).orElseThrow());
+        dates = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            dates[i] = newest.minusDays(random.nextInt(3650));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private LocalDate nextDate() {
+        return dates[next++ & (QUERIES - 1)];
+    }
+
+    @Benchmark
+    public int jpqlActiveOn() {
+        LocalDate date = nextDate();
+        return transactionTemplate.execute(status -> missionAssignmentRepository.findActiveAssignments(date).size());
+    }
+
+    @Benchmark
+    public int indexActiveOn() {
+        return missionAssignmentIndex.findActiveOn(nextDate()).size();
+    }
+
+    @Benchmark
+    public int indexOverlappingMonth() {
+        LocalDate from = nextDate();
+        return missionAssignmentIndex.findOverlapping(from, from.plusDays(30)).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AssignmentIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,56 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.service.AuctionAssignment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves square mission-to-fleet assignments with scores shaped like those of the
+ * {@code MissionAssignmentOptimizer}: mission funding times crew skill plus an operational bonus,
+ * with a few pairs already assigned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class AuctionAssignmentBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private int[] benefits;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        double[] funding = random.doubles(size, 100, 100_000).toArray();
+        double maxFunding = Arrays.stream(funding).max().orElse(1);
+        benefits = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            double skill = random.nextInt(4) == 0 ? 0 : random.nextDouble();
+            double operational = random.nextInt(10) == 0 ? 0 : 0.5;
+            for (int column = 0; column < size; column++) {
+                double score = funding[column] / maxFunding * (1 + skill) + operational;
+                benefits[row * size + column] = (int) Math.round(score / 2.5 * 1_000_000);
+            }
+            benefits[row * size + random.nextInt(size)] = 0;
+        }
+    }
+
+    @Benchmark
+    public int[] solve() {
+        return AuctionAssignment.solve(benefits, size, size);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuctionAssignmentBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,165 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hot paths of the domain model, with {@link #size} elements in the collections
+ * they work on: assignments of a mission, crew of a spaceship and skills of an engineer.
+ * Every benchmark leaves its state as it found it, so the collection sizes stay fixed.
+ * <p>
+ * Run with {@code mvn -Pbenchmark verify} to get the results as JSON.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainModelBenchmark {
+
+    private static final int PLANETS = 1024;
+    private static final int NAVIGATORS = 1024;
+    private static final LocalDate TODAY = LocalDate.of(2300, 1, 1);
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Planet[] planets;
+    private Planet origin;
+    private Navigator[] navigators;
+
+    private Mission mission;
+    private SpaceShip[] assignedShips;
+    private SpaceShip unassignedShip;
+
+    private SpaceShip crewedShip;
+    private Engineer newcomer;
+
+    private Engineer engineer;
+    private String[] skillQueries;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        planets = new Planet[PLANETS];
+        for (int i = 0; i < PLANETS; i++) {
+            planets[i] = Planet.builder().name("Planet " + i)
+                    .x(random.nextDouble() * 1000).y(random.nextDouble() * 1000).z(random.nextDouble() * 1000).build();
+        }
+        origin = Planet.builder().name("Origin").build();
+
+        navigators = new Navigator[NAVIGATORS];
+        for (int i = 0; i < NAVIGATORS; i++) {
+            navigators[i] = Navigator.builder().firstName("Nav").lastName("Igator" + i).navigationBonus(150.0)
+                    .navigationExperienceYears(random.nextInt(40)).successfulNavigations(random.nextInt(500)).build();
+        }
+
+        mission = new Mission("Benchmark", 1000);
+        assignedShips = new SpaceShip[size];
+        for (int i = 0; i < size; i++) {
+            assignedShips[i] = ship(i);
+            mission.assignSpaceShip(assignedShips[i], TODAY, null);
+        }
+        unassignedShip = ship(size);
+
+        crewedShip = ship(size + 1);
+        for (int i = 0; i < size; i++) {
+            Engineer member = engineer(i);
+            member.assignToSpaceShip(crewedShip, TODAY);
+        }
+        newcomer = engineer(size);
+
+        engineer = engineer(size + 1);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            engineer.addSkill("skill-" + i);
+            queries.add("skill-" + random.nextInt(size));
+            queries.add("missing-" + i);
+        }
+        skillQueries = queries.toArray(String[]::new);
+    }
+
+    private static SpaceShip ship(int i) {
+        return SpaceShip.builder().id((long) i).name("Ship " + i).isOperational(true).build();
+    }
+
+    private static Engineer engineer(int i) {
+        return Engineer.builder().id((long) i).firstName("Eng").lastName("Ineer" + i).techSpecialty("Warp").build();
+    }
+
+    @Benchmark
+    public double planetDistance() {
+        Planet planet = planets[next++ & (PLANETS - 1)];
+        return planet.getDistanceTo(origin);
+    }
+
+    @Benchmark
+    public double planetCoordinates() {
+        Planet planet = planets[next++ & (PLANETS - 1)];
+        return planet.getX() + planet.getY() + planet.getZ();
+    }
+
+    @Benchmark
+    public double navigatorSkillLevel() {
+        return navigators[next++ & (NAVIGATORS - 1)].calculateSkillLevel();
+    }
+
+    @Benchmark
+    public boolean engineerHasSkill() {
+        return engineer.hasSkill(skillQueries[next++ % skillQueries.length]);
+    }
+
+    /**
+     * Removes the assignment of one of the ships, then puts it back as it was.
+     */
+    @Benchmark
+    public Mission missionRemoveAssignment() {
+        SpaceShip ship = assignedShips[next++ % size];
+        MissionAssignment assignment = ship.getAssignments().iterator().next();
+        mission.removeAssignment(ship);
+        mission.getAssignments().add(assignment);
+        ship.getAssignments().add(assignment);
+        return mission;
+    }
+
+    /**
+     * Assigns one more ship, then removes its assignment directly.
+     */
+    @Benchmark
+    public Mission missionAssignSpaceShip() {
+        mission.assignSpaceShip(unassignedShip, TODAY, null);
+        MissionAssignment assignment = unassignedShip.getAssignments().iterator().next();
+        unassignedShip.getAssignments().clear();
+        mission.getAssignments().remove(assignment);
+        return mission;
+    }
+
+    /**
+     * Adds a crew member to a crewed ship and removes it, dropping the history entry it creates.
+     */
+    @Benchmark
+    public SpaceShip crewAssignAndRemove() {
+        newcomer.assignToSpaceShip(crewedShip, TODAY);
+        newcomer.removeFromSpaceShip();
+        newcomer.getCrewHistoryList().clear();
+        List<CrewHistory> history = crewedShip.getCrewHistoryList();
+        history.remove(history.size() - 1);
+        return crewedShip;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DomainModelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
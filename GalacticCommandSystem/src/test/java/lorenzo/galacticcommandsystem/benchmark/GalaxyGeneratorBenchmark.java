@@ -0,0 +1,62 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxyReport;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to generate a galaxy of about {@link #planets} times 10 rows into an empty
+ * in-memory database. Each iteration uses a new seed, since names are unique per seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class GalaxyGeneratorBenchmark {
+
+    @Param({"10000", "100000"})
+    private int planets;
+
+    private ConfigurableApplicationContext context;
+    private GalaxyGenerator galaxyGenerator;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = JpaBenchmarkContext.start("generatorbenchmark");
+        galaxyGenerator = new GalaxyGenerator(context.getBean(EntityManagerFactory.class), context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GalaxyReport generate() {
+        return galaxyGenerator.generate(GalaxySpec.builder()
+                .seed(++seed)
+                .planets(planets)
+                .ships(planets / 10)
+                .crewPerShip(8)
+                .missions(planets / 2)
+                .objectivesPerMission(2)
+                .assignments(planets)
+                .historyDepth(2)
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GalaxyGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
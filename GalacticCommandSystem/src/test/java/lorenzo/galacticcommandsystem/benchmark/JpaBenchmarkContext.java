@@ -0,0 +1,49 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Starts only the JPA part of the application (entities, repositories and Hibernate settings)
+ * on an empty database, for benchmarks that need real queries without the GUI and services.
+ */
+@Configuration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Planet.class)
+@EnableJpaRepositories(basePackageClasses = PlanetRepository.class)
+class JpaBenchmarkContext {
+
+    /**
+     * Starts a context on an empty in-memory database.
+     *
+     * @param database the name of the database
+     * @return the started context, to close at the end of the benchmark
+     */
+    static ConfigurableApplicationContext start(String database) {
+        return startAt("jdbc:h2:mem:" + database);
+    }
+
+    /**
+     * Starts a context on a database whose tables are created afresh, for example a file database
+     * when the data must not count against the heap of the benchmark.
+     *
+     * @param url the JDBC URL of the database
+     * @return the started context, to close at the end of the benchmark
+     */
+    static ConfigurableApplicationContext startAt(String url) {
+        return new SpringApplicationBuilder(JpaBenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                // passed as arguments, so they override application.properties instead of yielding to it
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=warn");
+    }
+}
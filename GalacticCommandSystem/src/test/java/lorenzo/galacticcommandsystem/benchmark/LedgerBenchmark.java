@@ -0,0 +1,110 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.service.LedgerAccount;
+import lorenzo.galacticcommandsystem.service.LedgerService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many funding-to-credits payments per second the ledger sustains on H2, from several threads,
+ * against the same payment done by loading the mission and the crew member and saving them back.
+ * <p>
+ * Only the JPA part of the application is started (see {@link JpaBenchmarkContext}), on an in-memory database
+ * with {@link #accounts} missions and as many crew members. Each payment picks a random pair, so threads
+ * sometimes touch the same rows, as concurrent users would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LedgerBenchmark {
+
+    @Param({"100"})
+    private int accounts;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private LedgerService ledgerService;
+    private MissionRepository missionRepository;
+    private CrewMemberRepository crewMemberRepository;
+    private List<Long> missionIds;
+    private List<Long> crewIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = JpaBenchmarkContext.start("ledgerbenchmark");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        missionRepository = context.getBean(MissionRepository.class);
+        crewMemberRepository = context.getBean(CrewMemberRepository.class);
+        ledgerService = new LedgerService(missionRepository, crewMemberRepository,
+                context.getBean(LedgerEntryRepository.class));
+
+        List<Mission> missions = new ArrayList<>(accounts);
+        List<CrewMember> crew = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            missions.add(new Mission("Payroll " + i, 1_000_000_000));
+            crew.add(Engineer.builder().firstName("Paid").lastName("Member " + i).techSpecialty("Warp").build());
+        }
+        missionIds = new ArrayList<>();
+        missionRepository.saveAll(missions).forEach(mission -> missionIds.add(mission.getId()));
+        crewIds = new ArrayList<>();
+        crewMemberRepository.saveAll(crew).forEach(member -> crewIds.add(member.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object ledgerTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LedgerAccount mission = LedgerAccount.mission(missionIds.get(random.nextInt(accounts)));
+        LedgerAccount member = LedgerAccount.crewMember(crewIds.get(random.nextInt(accounts)));
+        // the service is not proxied here, so the transaction is opened the way @Transactional would
+        return transactionTemplate.execute(status -> ledgerService.transfer(mission, member, 1, "salary"));
+    }
+
+    @Benchmark
+    public Object entityReadModifyWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long missionId = missionIds.get(random.nextInt(accounts));
+        Long crewId = crewIds.get(random.nextInt(accounts));
+        // a payment that conflicts with a concurrent one fails on its version check and is not retried
+        try {
+            return transactionTemplate.execute(status -> {
+                Mission mission = missionRepository.findById(missionId).orElseThrow();
+                CrewMember member = crewMemberRepository.findById(crewId).orElseThrow();
+                mission.removeFunding(0.01);
+                member.receiveCredits(0.01);
+                return mission;
+            });
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LedgerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.model.*;
+import lorenzo.galacticcommandsystem.repository.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a page of a list screen as entities with loading it as summary projections.
+ * Run with the GC profiler (as {@link #main} does) to compare the allocation per call.
+ * <p>
+ * Only the JPA part of the application is started (see {@link JpaBenchmarkContext}), on an in-memory database filled with
+ * {@link #rows} rows of every kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SpaceShipRepository spaceShipRepository;
+    private MissionRepository missionRepository;
+    private PlanetRepository planetRepository;
+    private CrewMemberRepository crewMemberRepository;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = JpaBenchmarkContext.start("listbenchmark");
+        spaceShipRepository = context.getBean(SpaceShipRepository.class);
+        missionRepository = context.getBean(MissionRepository.class);
+        planetRepository = context.getBean(PlanetRepository.class);
+        crewMemberRepository = context.getBean(CrewMemberRepository.class);
+        populate();
+    }
+
+    private void populate() {
+        List<SpaceShip> ships = new ArrayList<>(rows);
+        List<Planet> planets = new ArrayList<>(rows);
+        List<Mission> missions = new ArrayList<>(rows);
+        String info = "x".repeat(900);
+        for (int i = 0; i < rows; i++) {
+            ships.add(SpaceShip.builder().name("Ship " + i).isOperational(i % 5 != 0).build());
+            Planet planet = Planet.builder().name("Planet " + i).atmosphereType("Nitrogen-Oxygen").build();
+            planet.setPosition(i, -i, i / 2.0);
+            planets.add(planet);
+            missions.add(new Mission("Mission " + i, 100 + i, MissionState.ACTIVE, info));
+        }
+        spaceShipRepository.saveAll(ships);
+        planetRepository.saveAll(planets);
+        missionRepository.saveAll(missions);
+
+        List<CrewMember> crew = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            crew.add(i % 2 == 0
+                    ? Engineer.builder().firstName("First" + i).lastName("Last" + i).techSpecialty("Warp")
+                    .spaceShip(ships.get(i)).build()
+                    : Navigator.builder().firstName("First" + i).lastName("Last" + i).navigationBonus(150.0)
+                    .planet(planets.get(i)).build());
+        }
+        crewMemberRepository.saveAll(crew);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Pages start after a moving ID, so each call reads different rows, like scrolling a table.
+     */
+    private long nextPageStart() {
+        next = (next + PAGE_SIZE) % (rows - PAGE_SIZE);
+        return next;
+    }
+
+    @Benchmark
+    public List<SpaceShip> spaceShipEntities() {
+        return spaceShipRepository.findPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<SpaceShipSummary> spaceShipSummaries() {
+        return spaceShipRepository.findSummaryPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Mission> missionEntities() {
+        return missionRepository.findPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<MissionSummary> missionSummaries() {
+        return missionRepository.findSummaryPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Planet> planetEntities() {
+        return planetRepository.findPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<PlanetSummary> planetSummaries() {
+        return planetRepository.findSummaryPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<CrewMember> crewEntities() {
+        return crewMemberRepository.findPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<CrewSummary> crewSummaries() {
+        return crewMemberRepository.findSummaryPageAfter(nextPageStart(), Limit.of(PAGE_SIZE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
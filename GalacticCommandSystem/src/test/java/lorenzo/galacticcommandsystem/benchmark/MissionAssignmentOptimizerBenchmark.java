@@ -0,0 +1,88 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.NavigatorRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import lorenzo.galacticcommandsystem.service.AssignmentPlan;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentOptimizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans the assignment of {@link #size} missions to as many spaceships, each with a navigator,
+ * with one existing assignment per spaceship, through the {@link MissionAssignmentOptimizer}.
+ * <p>
+ * At 10000 x 10000 a dense matrix would take 400 MB, far above the default memory budget of the optimizer,
+ * so the plan is made from the candidates of every spaceship. The forked JVM gets a small fixed heap and
+ * the database is a file database in a temporary directory, so the benchmark fails with an out of memory
+ * error if the optimizer holds more than its budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class MissionAssignmentOptimizerBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private MissionAssignmentOptimizer optimizer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("optimizerbenchmark");
+        context = JpaBenchmarkContext.startAt("jdbc:h2:file:" + directory.resolve("optimizer"));
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        // only plans are measured, so there is no bulk assignment service to save them
+        optimizer = new MissionAssignmentOptimizer(context.getBean(SpaceShipRepository.class),
+                context.getBean(MissionRepository.class), context.getBean(MissionAssignmentRepository.class),
+                context.getBean(NavigatorRepository.class), null, context.getBean(EntityManager.class));
+        new GalaxyGenerator(context.getBean(EntityManagerFactory.class), context).generate(GalaxySpec.builder()
+                .seed(1)
+                .planets(100)
+                .ships(size)
+                .crewPerShip(2)
+                .missions(size)
+                .assignments(size)
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public AssignmentPlan plan() {
+        AssignmentPlan plan = transactionTemplate.execute(status -> optimizer.plan());
+        if (plan.assignments().size() < size - size / 100) {
+            throw new IllegalStateException("Only " + plan.assignments().size() + " of " + size + " spaceships assigned");
+        }
+        return plan;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MissionAssignmentOptimizerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
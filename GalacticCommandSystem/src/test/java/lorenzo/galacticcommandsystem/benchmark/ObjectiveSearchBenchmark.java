@@ -0,0 +1,98 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import lorenzo.galacticcommandsystem.service.ObjectiveSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares objective searches answered by the inverted index against the {@code LIKE '%keyword%'} scan of
+ * {@link ObjectiveRepository#findByTitleContainingIgnoreCase}, on {@link #objectives} generated objectives,
+ * ten per mission.
+ * <p>
+ * The scan only reads titles; the index searches the four text fields and ranks what it finds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ObjectiveSearchBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final Set<ObjectiveType> BUILDING = EnumSet.of(ObjectiveType.BUILDING);
+
+    @Param({"100000", "1000000"})
+    private int objectives;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private ObjectiveRepository objectiveRepository;
+    private ObjectiveSearchIndex objectiveSearchIndex;
+    private String[] missionTitles;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = JpaBenchmarkContext.start("objectivesearchbenchmark");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        objectiveRepository = context.getBean(ObjectiveRepository.class);
+        new GalaxyGenerator(context.getBean(EntityManagerFactory.class), context).generate(GalaxySpec.builder()
+                .seed(1)
+                .planets(100)
+                .missions(objectives / 10)
+                .objectivesPerMission(10)
+                .build());
+        objectiveSearchIndex = new ObjectiveSearchIndex(objectiveRepository);
+        objectiveSearchIndex.rebuild();
+
+        missionTitles = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            missionTitles[i] = "mission " + (i * 7919L % (objectives / 10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int likeTitle() {
+        String keyword = missionTitles[next++ & (QUERIES - 1)];
+        return transactionTemplate.execute(status -> objectiveRepository.findByTitleContainingIgnoreCase(keyword).size());
+    }
+
+    @Benchmark
+    public int indexTitle() {
+        return objectiveSearchIndex.search(missionTitles[next++ & (QUERIES - 1)], null, 20).size();
+    }
+
+    @Benchmark
+    public int indexCommonWordsByType() {
+        // matches a sixth of the building objectives, which all have to be ranked
+        return objectiveSearchIndex.search("mining outpost", BUILDING, 20).size();
+    }
+
+    @Benchmark
+    public int indexInfix() {
+        return objectiveSearchIndex.search("yard sector 12", null, 20).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObjectiveSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
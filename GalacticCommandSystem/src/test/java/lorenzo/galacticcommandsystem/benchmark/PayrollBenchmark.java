@@ -0,0 +1,80 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import lorenzo.galacticcommandsystem.generator.GalaxyGenerator;
+import lorenzo.galacticcommandsystem.generator.GalaxySpec;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.service.PayrollRunReport;
+import lorenzo.galacticcommandsystem.service.PayrollService;
+import lorenzo.galacticcommandsystem.service.PayrollSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the payroll summary and a full payroll run over {@link #crew} crew members.
+ * <p>
+ * The forked JVM gets a small fixed heap, and the database is a file database in a temporary
+ * directory so its rows do not live on that heap: the benchmark fails with an out of memory error
+ * if a payroll run holds more than one batch of crew members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx192m")
+public class PayrollBenchmark {
+
+    @Param({"1000000"})
+    private int crew;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private PayrollService payrollService;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("payrollbenchmark");
+        context = JpaBenchmarkContext.startAt("jdbc:h2:file:" + directory.resolve("payroll"));
+        payrollService = new PayrollService(context.getBean(CrewMemberRepository.class),
+                context.getBean(LedgerEntryRepository.class), context.getBean(JdbcTemplate.class), context.getBean(TransactionTemplate.class));
+        new GalaxyGenerator(context.getBean(EntityManagerFactory.class), context).generate(GalaxySpec.builder()
+                .seed(1)
+                .planets(1000)
+                .ships(crew / 8)
+                .crewPerShip(8)
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public PayrollSummary summarize() {
+        return payrollService.summarize(1000);
+    }
+
+    @Benchmark
+    public PayrollRunReport pay() throws IOException {
+        return payrollService.pay(1000, directory.resolve("payroll.csv"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PayrollBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.repository.PlanetCoordinates;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.service.JumpGraph;
+import lorenzo.galacticcommandsystem.service.Route;
+import lorenzo.galacticcommandsystem.service.RoutePlanner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures jump graph build time and route query latency, with and without the route cache.
+ * The jump range is chosen so every planet has about {@link #AVERAGE_NEIGHBOURS} neighbours.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+    private static final int QUERIES = 256;
+    private static final double GALAXY_SIZE = 10_000;
+    private static final int AVERAGE_NEIGHBOURS = 12;
+
+    @Param({"10000", "100000", "1000000"})
+    private int planets;
+
+    private List<PlanetCoordinates> coordinates;
+    private double jumpRange;
+    private JumpGraph graph;
+    private RoutePlanner routePlanner;
+    private long[] from;
+    private long[] to;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        coordinates = new ArrayList<>(planets);
+        for (int i = 0; i < planets; i++) {
+            coordinates.add(new PlanetCoordinates((long) i, random.nextDouble() * GALAXY_SIZE,
+                    random.nextDouble() * GALAXY_SIZE, random.nextDouble() * GALAXY_SIZE));
+        }
+        jumpRange = GALAXY_SIZE * Math.cbrt(AVERAGE_NEIGHBOURS * 3.0 / (4 * Math.PI * planets));
+        graph = build();
+
+        PlanetRepository planetRepository = mock(PlanetRepository.class);
+        when(planetRepository.findAllCoordinates()).thenReturn(coordinates);
+        routePlanner = new RoutePlanner(planetRepository);
+        ReflectionTestUtils.setField(routePlanner, "jumpRange", jumpRange);
+        ReflectionTestUtils.setField(routePlanner, "cacheSize", QUERIES);
+        routePlanner.rebuild();
+
+        from = new long[QUERIES];
+        to = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = random.nextInt(planets);
+            to[i] = random.nextInt(planets);
+            routePlanner.findRoute(from[i], to[i]);
+        }
+    }
+
+    private JumpGraph build() {
+        JumpGraph jumpGraph = new JumpGraph(jumpRange, planets);
+        for (PlanetCoordinates planet : coordinates) {
+            jumpGraph.add(planet.id(), planet.x(), planet.y(), planet.z());
+        }
+        return jumpGraph;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JumpGraph buildGraph() {
+        return build();
+    }
+
+    @Benchmark
+    public JumpGraph.Path uncachedQuery() {
+        int i = next++ & (QUERIES - 1);
+        return graph.findPath(from[i], to[i]);
+    }
+
+    @Benchmark
+    public Optional<Route> cachedQuery() {
+        int i = next++ & (QUERIES - 1);
+        return routePlanner.findRoute(from[i], to[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RoutePlannerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
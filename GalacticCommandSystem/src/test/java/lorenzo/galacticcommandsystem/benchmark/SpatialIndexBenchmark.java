@@ -0,0 +1,137 @@
+package lorenzo.galacticcommandsystem.benchmark;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.service.KdTree;
+import lorenzo.galacticcommandsystem.service.NearestCollector;
+import lorenzo.galacticcommandsystem.service.PlanetDistance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the k-d tree against the brute-force scan with {@link Planet#getDistanceTo}
+ * for nearest-planet and radius queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final double GALAXY_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int planets;
+
+    @Param({"10"})
+    private int k;
+
+    private List<Planet> catalog;
+    private KdTree tree;
+    private Planet[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(planets);
+        long[] ids = new long[planets];
+        double[] points = new double[planets * 3];
+        for (int i = 0; i < planets; i++) {
+            Planet planet = Planet.builder().id((long) i).build();
+            planet.setPosition(random.nextDouble() * GALAXY_SIZE, random.nextDouble() * GALAXY_SIZE,
+                    random.nextDouble() * GALAXY_SIZE);
+            catalog.add(planet);
+            ids[i] = i;
+            points[i * 3] = planet.getX();
+            points[i * 3 + 1] = planet.getY();
+            points[i * 3 + 2] = planet.getZ();
+        }
+        tree = new KdTree(ids, points, planets);
+        queries = new Planet[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new Planet();
+            queries[i].setPosition(random.nextDouble() * GALAXY_SIZE, random.nextDouble() * GALAXY_SIZE,
+                    random.nextDouble() * GALAXY_SIZE);
+        }
+    }
+
+    private Planet nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+
+    /**
+     * Radius that contains about k planets on average.
+     */
+    private double radius() {
+        return GALAXY_SIZE * Math.cbrt(k * 3.0 / (4 * Math.PI * planets));
+    }
+
+    @Benchmark
+    public List<PlanetDistance> kdTreeNearest() {
+        Planet query = nextQuery();
+        NearestCollector collector = new NearestCollector(k);
+        tree.nearest(query.getX(), query.getY(), query.getZ(), collector);
+        return collector.toList();
+    }
+
+    @Benchmark
+    public List<PlanetDistance> bruteForceNearest() {
+        Planet query = nextQuery();
+        List<PlanetDistance> all = new ArrayList<>(catalog.size());
+        for (Planet planet : catalog) {
+            all.add(new PlanetDistance(planet.getId(), query.getDistanceTo(planet)));
+        }
+        all.sort(Comparator.comparingDouble(PlanetDistance::distance));
+        return all.subList(0, k);
+    }
+
+    @Benchmark
+    public void kdTreeRadius(Blackhole blackhole) {
+        Planet query = nextQuery();
+        tree.withinRadius(query.getX(), query.getY(), query.getZ(), radius(),
+                (id, squaredDistance) -> blackhole.consume(id));
+    }
+
+    @Benchmark
+    public void bruteForceRadius(Blackhole blackhole) {
+        Planet query = nextQuery();
+        double radius = radius();
+        for (Planet planet : catalog) {
+            if (query.getDistanceTo(planet) <= radius) {
+                blackhole.consume(planet.getId());
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KdTree build() {
+        long[] ids = new long[planets];
+        double[] points = new double[planets * 3];
+        for (int i = 0; i < planets; i++) {
+            Planet planet = catalog.get(i);
+            ids[i] = planet.getId();
+            points[i * 3] = planet.getX();
+            points[i * 3 + 1] = planet.getY();
+            points[i * 3 + 2] = planet.getZ();
+        }
+        return new KdTree(ids, points, planets);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SpatialIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package lorenzo.galacticcommandsystem.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncMainControllerTest {
+
+    private final MainController controller = mock(MainController.class);
+    private final AsyncMainController asyncController = new AsyncMainController(controller, 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        asyncController.shutdown();
+    }
+
+    /**
+     * Occupies the only thread of the pool until the test ends.
+     */
+    private CompletableFuture<Object> blockPool() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Object> blocking = asyncController.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return blocking;
+    }
+
+    @Test
+    public void testCallsRunOffTheCallingThread() throws Exception {
+        when(controller.countPlanets()).thenAnswer(call -> (long) Thread.currentThread().getName().length());
+
+        long result = asyncController.countPlanets().get(5, TimeUnit.SECONDS);
+
+        assertEquals("controller-1".length(), result);
+    }
+
+    @Test
+    public void testFailuresCompleteTheFuture() {
+        when(controller.getSpaceShipById(7L)).thenThrow(new RuntimeException("Spaceship not found with id: 7"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> asyncController.getSpaceShipById(7L).get(5, TimeUnit.SECONDS));
+
+        assertEquals("Spaceship not found with id: 7", failure.getCause().getMessage());
+    }
+
+    @Test
+    public void testCancelledCallsNeverRun() throws Exception {
+        blockPool();
+        AtomicBoolean ran = new AtomicBoolean();
+        CompletableFuture<Object> queued = asyncController.submit(() -> {
+            ran.set(true);
+            return null;
+        });
+
+        assertTrue(queued.cancel(false));
+        // the cancelled call left the queue, so there is room for another one
+        CompletableFuture<Long> next = asyncController.countMissions();
+        release.countDown();
+
+        assertEquals(0L, next.get(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    public void testCallsAreRejectedWhenTheQueueIsFull() throws Exception {
+        blockPool();
+        CompletableFuture<Long> queued = asyncController.countCrewMembers();
+
+        CompletableFuture<Long> rejected = asyncController.countCrewMembers();
+
+        assertTrue(rejected.isCompletedExceptionally());
+        ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertFalse(queued.isDone());
+    }
+}
@@ -0,0 +1,231 @@
+package lorenzo.galacticcommandsystem.controller;
+
+import lorenzo.galacticcommandsystem.config.SqlInstrumentationConfig;
+import lorenzo.galacticcommandsystem.importer.BulkImportService;
+import lorenzo.galacticcommandsystem.instrumentation.ControllerSqlMonitor;
+import lorenzo.galacticcommandsystem.instrumentation.FlightRecordingService;
+import lorenzo.galacticcommandsystem.instrumentation.MethodSqlStatistics;
+import lorenzo.galacticcommandsystem.instrumentation.SqlCounter;
+import lorenzo.galacticcommandsystem.instrumentation.SqlUsage;
+import lorenzo.galacticcommandsystem.model.*;
+import lorenzo.galacticcommandsystem.repository.*;
+import lorenzo.galacticcommandsystem.service.BulkAssignmentService;
+import lorenzo.galacticcommandsystem.service.CacheStatisticsService;
+import lorenzo.galacticcommandsystem.service.EngineerSkillIndex;
+import lorenzo.galacticcommandsystem.service.FleetOperationsService;
+import lorenzo.galacticcommandsystem.service.LedgerService;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentIndex;
+import lorenzo.galacticcommandsystem.service.MissionAssignmentOptimizer;
+import lorenzo.galacticcommandsystem.service.NavigatorLeaderboard;
+import lorenzo.galacticcommandsystem.service.ObjectiveSearchIndex;
+import lorenzo.galacticcommandsystem.service.ObjectiveService;
+import lorenzo.galacticcommandsystem.service.PayrollService;
+import lorenzo.galacticcommandsystem.service.PlanetSpatialIndex;
+import lorenzo.galacticcommandsystem.service.RoutePlanner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets of the controller calls behind the screens, on a generated galaxy.
+ * Budgets do not depend on the size of the data, so an N+1 query pattern makes them fail.
+ * <p>
+ * The measured calls run against the real repositories and services they use; the other
+ * collaborators of the controller are mocks.
+ */
+@DataJpaTest
+@Import({MainController.class, ObjectiveService.class, CacheStatisticsService.class, SqlInstrumentationConfig.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MainControllerSqlBudgetTest {
+
+    private static final int SHIPS = 3;
+    private static final int CREW_PER_SHIP = 12;
+    private static final int MISSIONS_PER_SHIP = 10;
+    private static final int OBJECTIVES_PER_MISSION = 2;
+
+    @MockitoBean
+    private BulkImportService bulkImportService;
+    @MockitoBean
+    private PlanetSpatialIndex planetSpatialIndex;
+    @MockitoBean
+    private RoutePlanner routePlanner;
+    @MockitoBean
+    private MissionAssignmentOptimizer missionAssignmentOptimizer;
+    @MockitoBean
+    private BulkAssignmentService bulkAssignmentService;
+    @MockitoBean
+    private FleetOperationsService fleetOperationsService;
+    @MockitoBean
+    private LedgerService ledgerService;
+    @MockitoBean
+    private PayrollService payrollService;
+    @MockitoBean
+    private MissionAssignmentIndex missionAssignmentIndex;
+    @MockitoBean
+    private ObjectiveSearchIndex objectiveSearchIndex;
+    @MockitoBean
+    private EngineerSkillIndex engineerSkillIndex;
+    @MockitoBean
+    private NavigatorLeaderboard navigatorLeaderboard;
+    @MockitoBean
+    private FlightRecordingService flightRecordingService;
+
+    @Autowired
+    private MainController controller;
+    @Autowired
+    private ControllerSqlMonitor monitor;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private ObjectiveRepository objectiveRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private CrewHistoryRepository crewHistoryRepository;
+
+    private final List<Long> shipIds = new ArrayList<>();
+    private final List<Long> missionIds = new ArrayList<>();
+
+    @BeforeAll
+    public void generateGalaxy() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Planet home = planetRepository.save(Planet.builder().name("Budget Home").position("0,0,0").build());
+            for (int s = 0; s < SHIPS; s++) {
+                SpaceShip ship = spaceShipRepository.save(SpaceShip.builder().name("Budget Ship " + s).build());
+                shipIds.add(ship.getId());
+                for (int c = 0; c < CREW_PER_SHIP; c++) {
+                    CrewMember member = c % 2 == 0
+                            ? Engineer.builder().firstName("Eng" + c).lastName("Ship" + s).techSpecialty("Warp")
+                            .spaceShip(ship).skills(new HashSet<>(List.of("warp", "shields"))).build()
+                            : Navigator.builder().firstName("Nav" + c).lastName("Ship" + s).navigationBonus(150.0)
+                            .spaceShip(ship).planet(home).build();
+                    crewMemberRepository.save(member);
+                    crewHistoryRepository.save(CrewHistory.builder().crewMember(member).spaceShip(ship)
+                            .assignmentDate(LocalDate.of(2300, 1, 1).plusDays(c)).build());
+                }
+                for (int m = 0; m < MISSIONS_PER_SHIP; m++) {
+                    Mission mission = new Mission("Budget Mission " + s + "-" + m, 1000);
+                    mission.setPlanet(home);
+                    missionRepository.save(mission);
+                    missionIds.add(mission.getId());
+                    missionAssignmentRepository.save(new MissionAssignment(ship, mission, LocalDate.now(), null));
+                    for (int o = 0; o < OBJECTIVES_PER_MISSION; o++) {
+                        objectiveRepository.save(Objective.builder().mission(mission).title("Objective " + o)
+                                .place("Sector " + o).types(EnumSet.of(ObjectiveType.EXPLORATION)).build());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Calls the controller once and checks the statements it executed against its budget.
+     */
+    private MethodSqlStatistics assertBudget(String method, long maxStatements, Runnable call) {
+        monitor.reset();
+        call.run();
+        MethodSqlStatistics statistics = monitor.report(method);
+        assertEquals(1, statistics.calls(), method + " was not called through the controller");
+        assertTrue(statistics.max().statements() <= maxStatements,
+                () -> "MainController." + method + " executed " + statistics.max()
+                        + ", over its budget of " + maxStatements + " statements");
+        return statistics;
+    }
+
+    @Test
+    public void testShipScreensStayWithinBudget() {
+        Long shipId = shipIds.get(1);
+
+        // crew, assignments with missions, objectives, and the skills and objective types that
+        // the hashCode of the crew and objective sets reads, each loaded by a single query
+        MethodSqlStatistics ship = assertBudget("getSpaceShipById", 5, () -> controller.getSpaceShipById(shipId));
+        assertTrue(ship.max().rows() < CREW_PER_SHIP * MISSIONS_PER_SHIP);
+        assertBudget("getCrewMembersByShipId", 1, () -> controller.getCrewMembersByShipId(shipId));
+        assertBudget("getCrewForSpaceShip", 1, () -> controller.getCrewForSpaceShip(shipId));
+        assertBudget("getMissionsForSpaceShip", 1, () -> controller.getMissionsForSpaceShip(shipId));
+        assertBudget("getUnassignedMissionsForShip", 1, () -> controller.getUnassignedMissionsForShip(shipId));
+        assertBudget("getSpaceShipHistory", 1, () -> controller.getSpaceShipHistory(shipId));
+
+        MethodSqlStatistics missions = assertBudget("getMissionsByShipId", 2,
+                () -> assertEquals(MISSIONS_PER_SHIP, controller.getMissionsByShipId(shipId).size()));
+        // one row for the existence check, then one per mission and objective: no crew x assignment product
+        assertEquals(1 + MISSIONS_PER_SHIP * OBJECTIVES_PER_MISSION, missions.max().rows());
+    }
+
+    @Test
+    public void testMissionScreensStayWithinBudget() {
+        Long missionId = missionIds.get(0);
+
+        assertBudget("getMissionById", 1, () -> controller.getMissionById(missionId));
+        assertBudget("getSpaceShipNamesByMissionId", 1, () -> controller.getSpaceShipNamesByMissionId(missionId));
+        assertBudget("getObjectivesByMissionId", 3, () -> controller.getObjectivesByMissionId(missionId));
+    }
+
+    @Test
+    public void testListScreensStayWithinBudget() {
+        MethodSqlStatistics crew = assertBudget("getCrewMembersPage", 1, () -> controller.getCrewMembersPage(0, 100));
+        assertEquals(0, crew.max().entities());
+        assertBudget("getSpaceShipsPage", 1, () -> controller.getSpaceShipsPage(0, 100));
+        assertBudget("getMissionsPage", 1, () -> controller.getMissionsPage(0, 100));
+        assertBudget("getPlanetsPage", 1, () -> controller.getPlanetsPage(0, 100));
+        assertBudget("getAllCrewMembers", 1, () -> controller.getAllCrewMembers());
+        assertBudget("getAllMissions", 1, () -> controller.getAllMissions());
+        assertBudget("countCrewMembers", 1, () -> controller.countCrewMembers());
+    }
+
+    @Test
+    public void testEngineerSkillsAreLoadedInBatches() {
+        SqlUsage usage = transactionTemplate.execute(status -> {
+            SqlUsage before = SqlCounter.current();
+            for (CrewMember member : crewMemberRepository.findAllCrewMembers()) {
+                if (member instanceof Engineer engineer) {
+                    assertEquals(2, engineer.getSkills().size());
+                }
+            }
+            return SqlCounter.current().since(before);
+        });
+
+        assertEquals(2, usage.statements());
+    }
+
+    @Test
+    public void testCountersSeeAnNPlusOnePattern() {
+        SqlUsage usage = transactionTemplate.execute(status -> {
+            SqlUsage before = SqlCounter.current();
+            missionAssignmentRepository.findBySpaceShip_Id(shipIds.get(0))
+                    .forEach(assignment -> assignment.getMission().getName());
+            return SqlCounter.current().since(before);
+        });
+
+        assertEquals(1 + MISSIONS_PER_SHIP, usage.statements());
+        assertEquals(2 * MISSIONS_PER_SHIP, usage.rows());
+        assertEquals(2 * MISSIONS_PER_SHIP, usage.entities());
+    }
+}
@@ -0,0 +1,112 @@
+package lorenzo.galacticcommandsystem.generator;
+
+import lorenzo.galacticcommandsystem.event.GalaxyGeneratedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(GalaxyGenerator.class)
+@RecordApplicationEvents
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GalaxyGeneratorTest {
+
+    private static final GalaxySpec SPEC = GalaxySpec.builder()
+            .seed(7)
+            .planets(40)
+            .ships(6)
+            .crewPerShip(5)
+            .missions(12)
+            .objectivesPerMission(3)
+            .assignments(50)
+            .historyDepth(2)
+            .build();
+
+    private static final List<String> TABLES = List.of("crew_history", "mission_assignment", "objective_types",
+            "objective", "mission", "engineer_skill", "engineer", "navigator", "crew_member", "space_ship",
+            "planet_buildings", "planet");
+
+    @Autowired
+    private GalaxyGenerator galaxyGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    public void clear() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    /**
+     * The generated content without the IDs assigned by the database.
+     */
+    private List<String> content() {
+        return jdbcTemplate.queryForList(
+                "SELECT p.name || ' ' || p.x || ' ' || p.y || ' ' || p.z || ' ' || p.atmosphere_type FROM planet p " +
+                "UNION ALL SELECT s.name || ' ' || c.first_name || ' ' || c.last_name || ' ' || c.credits_units " +
+                "FROM crew_member c JOIN space_ship s ON c.space_ship_id = s.id " +
+                "UNION ALL SELECT s.name || ' ' || m.name || ' ' || a.start_date FROM mission_assignment a " +
+                "JOIN space_ship s ON a.space_ship_id = s.id JOIN mission m ON a.mission_id = m.id " +
+                "UNION ALL SELECT m.name || ' ' || o.title || ' ' || t.types FROM objective o " +
+                "JOIN mission m ON o.mission_id = m.id JOIN objective_types t ON t.objective_id = o.id " +
+                "UNION ALL SELECT c.first_name || ' ' || s.name || ' ' || h.assignment_date FROM crew_history h " +
+                "JOIN crew_member c ON h.crew_member_id = c.id JOIN space_ship s ON h.space_ship_id = s.id " +
+                "ORDER BY 1", String.class);
+    }
+
+    @Test
+    public void testGeneratesTheRequestedCounts() {
+        GalaxyReport report = galaxyGenerator.generate(SPEC);
+
+        assertEquals(40, count("planet"));
+        assertEquals(6, count("space_ship"));
+        assertEquals(30, count("crew_member"));
+        assertEquals(30, count("engineer") + count("navigator"));
+        assertEquals(12, count("mission"));
+        assertEquals(36, count("objective"));
+        assertEquals(50, count("mission_assignment"));
+        assertEquals(60, count("crew_history"));
+        long rows = TABLES.stream().mapToLong(this::count).sum();
+        assertEquals(rows, report.rows());
+        assertEquals(40 + 6 + 30 + 12 + 36 + 50 + 60, report.entities());
+        assertEquals(1, events.stream(GalaxyGeneratedEvent.class).count());
+    }
+
+    @Test
+    public void testSameSeedGivesSameGalaxyWhateverTheChunking() {
+        ReflectionTestUtils.setField(galaxyGenerator, "chunkSize", 1000);
+        ReflectionTestUtils.setField(galaxyGenerator, "threads", 1);
+        galaxyGenerator.generate(SPEC);
+        List<String> sequential = content();
+        clear();
+
+        ReflectionTestUtils.setField(galaxyGenerator, "chunkSize", 7);
+        ReflectionTestUtils.setField(galaxyGenerator, "threads", 4);
+        galaxyGenerator.generate(SPEC);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential, content());
+    }
+
+    @Test
+    public void testRejectsMoreAssignmentsThanShipMissionPairs() {
+        assertThrows(IllegalArgumentException.class, () -> GalaxySpec.builder().ships(2).missions(3).assignments(7).build());
+    }
+}
@@ -0,0 +1,140 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import lorenzo.galacticcommandsystem.model.*;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BulkImportService.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@TestPropertySource(properties = "galaxy.import.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testImportPlanetsInChunksAndRejectInvalidRows() throws IOException {
+        String csv = """
+                name,atmosphereType,position,buildings
+                Import-A,Oxygen,"1,2,3",Lab;Dock
+                Import-B,,"4,5,6",
+                ,Nitrogen,"7,8,9",
+                Import-D,Oxygen,not-a-position,
+                Import-E,Oxygen,"-1,-2,-3",Shipyard
+                """;
+        long before = planetRepository.count();
+        List<ImportProgress> progress = new ArrayList<>();
+
+        ImportReport report = bulkImportService.importCatalog(ImportTarget.PLANETS, ImportFormat.CSV,
+                new StringReader(csv), progress::add);
+
+        assertEquals(5, report.progress().read());
+        assertEquals(3, report.progress().imported());
+        assertEquals(2, report.progress().rejected());
+        assertEquals(List.of(4L, 5L), report.rejections().stream().map(ImportReport.Rejection::line).toList());
+        assertEquals(3, progress.size());
+        assertEquals(before + 3, planetRepository.count());
+
+        Planet planet = planetRepository.findByName("Import-A").orElseThrow();
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM planet_buildings WHERE planet_id = ?", Integer.class, planet.getId()));
+    }
+
+    @Test
+    public void testImportCrewOfBothRolesAndRejectMissingReferences() throws IOException {
+        SpaceShip ship = spaceShipRepository.save(SpaceShip.builder().name("Import-Ship").isOperational(true).build());
+        String ndjson = """
+                {"role":"ENGINEER","firstName":"Ada","lastName":"Byron","credits":100,"techSpecialty":"Warp","skills":["Warp","Shields"],"spaceShipId":%d}
+                {"role":"NAVIGATOR","firstName":"Hikaru","lastName":"Sulu","navigationBonus":150,"navigationExperienceYears":7}
+                {"role":"NAVIGATOR","firstName":"Lost","lastName":"Pilot","navigationBonus":120,"spaceShipId":999999}
+                {"role":"PILOT","firstName":"Nobody","lastName":"Here"}
+                """.formatted(ship.getId());
+        long before = crewMemberRepository.count();
+
+        ImportReport report = bulkImportService.importCatalog(ImportTarget.CREW, ImportFormat.NDJSON,
+                new StringReader(ndjson), p -> { });
+
+        assertEquals(2, report.progress().imported(), report.rejections().toString());
+        assertEquals(2, report.progress().rejected());
+        assertEquals(before + 2, crewMemberRepository.count());
+        List<CrewMember> crew = crewMemberRepository.findBySpaceShipId(ship.getId());
+        assertEquals(1, crew.size());
+        assertInstanceOf(Engineer.class, crew.get(0));
+    }
+
+    @Test
+    public void testFailedChunkRejectsOnlyTheOffendingRow() throws IOException {
+        SpaceShip ship = spaceShipRepository.save(SpaceShip.builder().name("Chunk-Ship").isOperational(true).build());
+        String ndjson = """
+                {"role":"ENGINEER","firstName":"First","lastName":"Valid","techSpecialty":"Warp","spaceShipId":%1$d}
+                {"role":"NAVIGATOR","firstName":"Bad","lastName":"Reference","navigationBonus":120,"spaceShipId":999999}
+                {"role":"ENGINEER","firstName":"Second","lastName":"Valid","techSpecialty":"Shields","spaceShipId":%1$d}
+                """.formatted(ship.getId());
+        long before = crewMemberRepository.count();
+
+        // all three rows in one chunk, so the failing chunk holds two valid rows
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 3);
+        ImportReport report;
+        try {
+            report = bulkImportService.importCatalog(ImportTarget.CREW, ImportFormat.NDJSON,
+                    new StringReader(ndjson), p -> { });
+        } finally {
+            ReflectionTestUtils.setField(bulkImportService, "chunkSize", 2);
+        }
+
+        assertEquals(2, report.progress().imported(), report.rejections().toString());
+        assertEquals(1, report.progress().rejected());
+        assertEquals(List.of(2L), report.rejections().stream().map(ImportReport.Rejection::line).toList());
+        assertEquals(before + 2, crewMemberRepository.count());
+        assertEquals(2, crewMemberRepository.findBySpaceShipId(ship.getId()).size());
+    }
+
+    @Test
+    public void testImportMissionsLinkedToPlanets() throws IOException {
+        Planet planet = planetRepository.save(Planet.builder().name("Import-Home").position("0,0,1").build());
+        String csv = """
+                name,funding,state,info,planetId
+                Survey,2500,ACTIVE,Map the rings,%d
+                Rescue,900,,,
+                """.formatted(planet.getId());
+        long before = missionRepository.count();
+
+        ImportReport report = bulkImportService.importCatalog(ImportTarget.MISSIONS, ImportFormat.CSV,
+                new StringReader(csv), p -> { });
+
+        assertEquals(2, report.progress().imported());
+        assertEquals(before + 2, missionRepository.count());
+    }
+}
@@ -0,0 +1,68 @@
+package lorenzo.galacticcommandsystem.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    public void testQuotedFieldsAndLineNumbers() throws IOException {
+        String csv = """
+                name,atmosphereType,position,buildings
+                Earth,Oxygen,"0,0,0",Lab;Dock
+
+                "Vulcan \"\"Prime\"\"",,"10,5,0","Lab
+                Dock"
+                """;
+        try (RecordReader reader = ImportFormat.CSV.open(new StringReader(csv))) {
+            ImportRecord earth = reader.next();
+            assertEquals(2, earth.getLine());
+            assertEquals("Earth", earth.text("name"));
+            assertEquals("0,0,0", earth.text("position"));
+            assertEquals(List.of("Lab", "Dock"), earth.list("buildings"));
+
+            ImportRecord vulcan = reader.next();
+            assertEquals(4, vulcan.getLine());
+            assertEquals("Vulcan \"Prime\"", vulcan.text("name"));
+            assertNull(vulcan.text("atmosphereType"));
+            assertEquals("Lab\nDock", vulcan.text("buildings"));
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testTooManyFieldsIsRejected() {
+        String csv = "name\nEarth,extra\n";
+        assertThrows(IOException.class, () -> {
+            try (RecordReader reader = ImportFormat.CSV.open(new StringReader(csv))) {
+                reader.next();
+            }
+        });
+    }
+
+    @Test
+    public void testNdjsonRecords() throws IOException {
+        String ndjson = """
+                {"role":"ENGINEER","firstName":"Ada","credits":12.5,"skills":["Warp","Shields"]}
+                {"role":"NAVIGATOR","firstName":"Hikaru","navigationBonus":1.2}
+                """;
+        try (RecordReader reader = ImportFormat.NDJSON.open(new StringReader(ndjson))) {
+            ImportRecord engineer = reader.next();
+            assertEquals(1, engineer.getLine());
+            assertEquals(12.5, engineer.requiredDecimal("credits"));
+            assertEquals(List.of("Warp", "Shields"), engineer.list("skills"));
+
+            ImportRecord navigator = reader.next();
+            assertEquals(2, navigator.getLine());
+            assertEquals(1.2, navigator.decimal("navigationBonus"));
+
+            assertNull(reader.next());
+        }
+    }
+}
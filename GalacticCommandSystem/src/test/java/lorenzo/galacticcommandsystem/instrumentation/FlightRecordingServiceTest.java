@@ -0,0 +1,180 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lorenzo.galacticcommandsystem.config.FlightRecorderConfig;
+import lorenzo.galacticcommandsystem.config.SchedulingConfig;
+import lorenzo.galacticcommandsystem.controller.MainController;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import lorenzo.galacticcommandsystem.service.BulkAssignmentService;
+import lorenzo.galacticcommandsystem.service.FleetOperationsService;
+import lorenzo.galacticcommandsystem.service.GalaxyClock;
+import lorenzo.galacticcommandsystem.service.LedgerAccount;
+import lorenzo.galacticcommandsystem.service.LedgerService;
+import lorenzo.galacticcommandsystem.service.ObjectiveSearchIndex;
+import lorenzo.galacticcommandsystem.service.ObjectiveService;
+import lorenzo.galacticcommandsystem.service.OptimisticRetry;
+import lorenzo.galacticcommandsystem.service.PayrollService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({FlightRecordingService.class, FlightRecorderConfig.class, BulkAssignmentService.class,
+        FleetOperationsService.class, LedgerService.class, PayrollService.class, ObjectiveService.class,
+        ObjectiveSearchIndex.class, OptimisticRetry.class, OptimisticLockMonitor.class, GalaxyClock.class,
+        SchedulingConfig.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "galaxy.jfr.query-threshold=PT0S")
+class FlightRecordingServiceTest {
+
+    private static final double BASE_PAY = 40;
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+    @Autowired
+    private BulkAssignmentService bulkAssignmentService;
+    @Autowired
+    private FleetOperationsService fleetOperationsService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private ObjectiveService objectiveService;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private ObjectiveRepository objectiveRepository;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    public void cleanup() {
+        flightRecordingService.stop();
+        ledgerEntryRepository.deleteAll();
+        missionAssignmentRepository.deleteAll();
+        objectiveRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        missionRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    @Test
+    public void testRecordingContainsDomainAndRepositoryEvents() throws Exception {
+        assertThrows(IllegalStateException.class, () -> flightRecordingService.dump(tempDir.resolve("none.jfr")));
+        assertTrue(flightRecordingService.start());
+        assertFalse(flightRecordingService.start());
+
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        Mission mission = missionRepository.save(new Mission("Frontier", 1000, MissionState.ACTIVE, "assigned"));
+        Objective objective = objectiveRepository.save(mission.createAndAddObjective("Survey", "Chart the rift",
+                EnumSet.of(ObjectiveType.EXPLORATION), "Crab Nebula", null));
+        Engineer engineer = crewMemberRepository.save(Engineer.builder().firstName("Eng").lastName("Scott")
+                .techSpecialty("Warp").build());
+
+        ledgerService.addMissionFunding(mission.getId(), 20_000, "grant");
+        ledgerService.withdraw(LedgerAccount.mission(mission.getId()), 5_000, "fuel");
+        payrollService.pay(BASE_PAY, tempDir.resolve("payroll.csv"));
+        assertTrue(fleetOperationsService.transferCrewMember(engineer.getId(), eagle.getId()));
+        objectiveService.performExploration(objective.getId());
+        MainController controller = Mockito.mock(MainController.class, Mockito.CALLS_REAL_METHODS);
+        ReflectionTestUtils.setField(controller, "bulkAssignmentService", bulkAssignmentService);
+        controller.assignMissionToShip(mission.getId(), eagle.getId(), "Launched");
+        assertThrows(IllegalArgumentException.class, () -> controller.assignMissionToShip(mission.getId(), eagle.getId(), "Again"));
+        assertThrows(IllegalArgumentException.class, () -> controller.assignMissionToShip(mission.getId(), eagle.getId(), " "));
+        assertEquals(1, missionRepository.findByName("Frontier").size());
+
+        Path file = flightRecordingService.dump(tempDir.resolve("galaxy.jfr"));
+        flightRecordingService.stop();
+        assertFalse(flightRecordingService.isRecording());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> funding = events(events, MissionFundingEvent.NAME);
+        assertEquals(3, funding.size());
+        assertEquals("MISSION", funding.get(0).getString("accountType"));
+        assertEquals(mission.getId(), funding.get(0).getLong("accountId"));
+        assertEquals(200, funding.get(0).getDouble("change"));
+        assertEquals("grant", funding.get(0).getString("reason"));
+        assertEquals(-50, funding.get(1).getDouble("change"));
+        assertEquals("CREW_MEMBER", funding.get(2).getString("accountType"));
+        assertEquals(engineer.getId(), funding.get(2).getLong("accountId"));
+        assertEquals(BASE_PAY, funding.get(2).getDouble("change"));
+        assertTrue(funding.get(2).getString("reason").startsWith(PayrollService.LEDGER_REASON_PREFIX));
+
+        RecordedEvent crew = events(events, CrewAssignmentEvent.NAME).get(0);
+        assertEquals(engineer.getId(), crew.getLong("crewMemberId"));
+        assertEquals(eagle.getId(), crew.getLong("spaceShipId"));
+
+        RecordedEvent completion = events(events, ObjectiveCompletionEvent.NAME).get(0);
+        assertEquals(objective.getId(), completion.getLong("objectiveId"));
+        assertEquals(mission.getId(), completion.getLong("missionId"));
+        assertEquals("exploration", completion.getString("operation"));
+
+        List<RecordedEvent> assignments = events(events, MissionAssignmentEvent.NAME);
+        assertEquals(mission.getId(), assignments.get(0).getLong("missionId"));
+        assertEquals(eagle.getId(), assignments.get(0).getLong("spaceShipId"));
+        // refused and failed assignments are recorded too
+        assertEquals(List.of("ASSIGNED", "ALREADY_ASSIGNED", MissionAssignmentEvent.FAILED),
+                assignments.stream().map(assignment -> assignment.getString("outcome")).toList());
+
+        // inherited Spring Data methods and queries of the application are both recorded, with their rows
+        List<RecordedEvent> calls = events(events, RepositoryCallEvent.NAME);
+        RecordedEvent findCrewMember = calls.stream()
+                .filter(call -> call.getString("repository").equals("CrewMemberRepository")
+                        && call.getString("method").equals("findById"))
+                .findFirst().orElseThrow();
+        assertEquals(engineer.getId(), findCrewMember.getLong("entityId"));
+        assertEquals(1, findCrewMember.getLong("resultRows"));
+        RecordedEvent missionsByName = calls.stream()
+                .filter(call -> call.getString("method").equals("findByName"))
+                .findFirst().orElseThrow();
+        assertEquals(1, missionsByName.getLong("resultRows"));
+        assertTrue(calls.stream().anyMatch(call -> call.getString("repository").equals("CrewMemberRepository")
+                && call.getString("method").equals("save")));
+    }
+}
@@ -0,0 +1,148 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lorenzo.galacticcommandsystem.api.MetricsRestController;
+import lorenzo.galacticcommandsystem.config.MetricsConfig;
+import lorenzo.galacticcommandsystem.config.SchedulingConfig;
+import lorenzo.galacticcommandsystem.controller.MainController;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import lorenzo.galacticcommandsystem.service.FleetOperationsService;
+import lorenzo.galacticcommandsystem.service.GalaxyClock;
+import lorenzo.galacticcommandsystem.service.LedgerAccount;
+import lorenzo.galacticcommandsystem.service.LedgerService;
+import lorenzo.galacticcommandsystem.service.OptimisticRetry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest
+@Import({MetricsConfig.class, MetricsRestController.class, FleetOperationsService.class, LedgerService.class,
+        OptimisticRetry.class, OptimisticLockMonitor.class, GalaxyClock.class, SchedulingConfig.class})
+@ImportAutoConfiguration({AopAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "galaxy.metrics.entity-count-ttl=PT0S")
+class GalaxyMetricsTest {
+
+    @Autowired
+    private GalaxyMetrics galaxyMetrics;
+    @Autowired
+    private OperationMetricsMonitor operationMetricsMonitor;
+    @Autowired
+    private MetricsRestController metricsRestController;
+    @Autowired
+    private FleetOperationsService fleetOperationsService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    public void cleanup() {
+        ledgerEntryRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        missionRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        galaxyMetrics.reset();
+    }
+
+    @Test
+    public void testOperationsAreCountedAndControllerCallsTimed() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        SpaceShip falcon = spaceShipRepository.save(SpaceShip.builder().name("Falcon").build());
+        Mission mission = missionRepository.save(new Mission("Frontier", 1000));
+        Engineer engineer = crewMemberRepository.save(Engineer.builder().firstName("Eng").lastName("Scott")
+                .techSpecialty("Warp").spaceShip(eagle).build());
+
+        assertTrue(fleetOperationsService.transferCrewMember(engineer.getId(), falcon.getId()));
+        assertFalse(fleetOperationsService.transferCrewMember(engineer.getId(), falcon.getId()));
+        ledgerService.addMissionFunding(mission.getId(), 10_000, "grant");
+        ledgerService.withdraw(LedgerAccount.mission(mission.getId()), 5_000, "fuel");
+
+        Map<String, Long> counters = galaxyMetrics.getCounters();
+        assertEquals(1, counters.get(OperationMetricsMonitor.CREW_TRANSFERS));
+        assertEquals(2, counters.get(OperationMetricsMonitor.FUNDING_MOVEMENTS));
+
+        // entity counts come from the database
+        Map<String, Double> gauges = galaxyMetrics.getGauges();
+        assertEquals(2, gauges.get("entities.spaceships"));
+        assertEquals(1, gauges.get("entities.crew-members"));
+        assertTrue(gauges.get("hibernate.statements.prepared") > 0);
+
+        MainController target = Mockito.mock(MainController.class);
+        Mockito.when(target.getSpaceShipById(42L)).thenThrow(new IllegalArgumentException("Ship not found"));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(operationMetricsMonitor);
+        MainController controller = factory.getProxy();
+        for (int i = 0; i < 3; i++) {
+            controller.countSpaceShips();
+        }
+        assertThrows(IllegalArgumentException.class, () -> controller.getSpaceShipById(42L));
+
+        MetricsReport report = galaxyMetrics.report();
+        assertEquals(3, report.timers().get("controller.countSpaceShips").count());
+        assertEquals(1, report.timers().get("controller.getSpaceShipById").count());
+        assertEquals(1, report.counters().get("controller.errors.getSpaceShipById"));
+    }
+
+    @Test
+    public void testMetricsAreServedLocallyAndOverJmx() throws Exception {
+        galaxyMetrics.timer("controller.getAllPlanets").record(2_000_000);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(metricsRestController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        String body = mvc.perform(get("/api/metrics")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        assertEquals(1, json.at("/timers/controller.getAllPlanets/count").asLong());
+        assertTrue(json.at("/gauges").has("entities.planets"));
+        mvc.perform(get("/api/metrics").with(request -> {
+            request.setRemoteAddr("10.1.2.3");
+            return request;
+        })).andExpect(status().isForbidden());
+
+        // the MXBean maps are read as tables of key and value
+        TabularData latency = (TabularData) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MetricsConfig.OBJECT_NAME), "LatencyMillis");
+        assertEquals(1.0, latency.get(new Object[]{"controller.getAllPlanets.count"}).get("value"));
+        assertEquals(2.0, (Double) latency.get(new Object[]{"controller.getAllPlanets.max"}).get("value"), 0.2);
+    }
+}
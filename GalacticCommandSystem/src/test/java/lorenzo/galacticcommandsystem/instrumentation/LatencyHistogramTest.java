@@ -0,0 +1,80 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        Random random = new Random(11);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] durations = new long[100_000];
+        for (int i = 0; i < durations.length; i++) {
+            // log-normal like latencies, from microseconds to seconds
+            durations[i] = (long) Math.exp(8 + 3 * Math.abs(random.nextGaussian()));
+            histogram.record(durations[i]);
+        }
+        Arrays.sort(durations);
+
+        TimerStatistics statistics = histogram.snapshot();
+        assertEquals(durations.length, statistics.count());
+        assertEquals(durations[durations.length - 1], statistics.maxNanos());
+        assertEquals(Arrays.stream(durations).sum(), statistics.totalNanos());
+        assertWithin(durations[durations.length / 2 - 1], statistics.p50Nanos());
+        assertWithin(durations[(int) Math.ceil(0.95 * durations.length) - 1], statistics.p95Nanos());
+        assertWithin(durations[(int) Math.ceil(0.99 * durations.length) - 1], statistics.p99Nanos());
+
+        histogram.reset();
+        assertEquals(new TimerStatistics(0, 0, 0, 0, 0, 0), histogram.snapshot());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16, expected + " reported as " + actual);
+    }
+
+    @Test
+    public void testBucketsCoverEveryDuration() {
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            long nanos = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucket(nanos);
+            assertTrue(nanos <= LatencyHistogram.upperBound(bucket), "duration " + nanos);
+            assertTrue(bucket == 0 || nanos > LatencyHistogram.upperBound(bucket - 1), "duration " + nanos);
+        }
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.bucket(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testConcurrentRecordsAreAllCounted() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int i = 1; i <= 50_000; i++) {
+                        histogram.record(i);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        TimerStatistics statistics = histogram.snapshot();
+        assertEquals(200_000, statistics.count());
+        assertEquals(4L * 50_000 * 50_001 / 2, statistics.totalNanos());
+        assertEquals(50_000, statistics.maxNanos());
+    }
+}
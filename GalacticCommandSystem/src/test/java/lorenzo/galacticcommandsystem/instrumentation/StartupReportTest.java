@@ -0,0 +1,45 @@
+package lorenzo.galacticcommandsystem.instrumentation;
+
+import lorenzo.galacticcommandsystem.GalaxyDataInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    @Test
+    public void testPhasesAreTakenFromTheStartupSteps() {
+        Instant jvmStart = Instant.now();
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.start("spring.boot.application.environment-prepared").end();
+        StartupStep refresh = startup.start("spring.context.refresh");
+        startup.start("spring.beans.instantiate").tag("beanName", "dataSource").end();
+        startup.start("spring.beans.instantiate").tag("beanName", "&entityManagerFactory").end();
+        startup.start(GalaxyDataInitializer.STARTUP_STEP).end();
+        refresh.end();
+
+        List<StartupPhase> phases = StartupReport.phases(startup.getBufferedTimeline(), jvmStart);
+
+        assertEquals(List.of(StartupReport.JVM, StartupReport.ENVIRONMENT, StartupReport.CONTEXT,
+                        StartupReport.JPA_METAMODEL, StartupReport.DATA_INITIALIZER),
+                phases.stream().map(StartupPhase::name).toList());
+        assertTrue(phases.stream().noneMatch(phase -> phase.duration().isNegative()));
+        assertTrue(phases.get(2).duration().compareTo(phases.get(3).duration()) >= 0,
+                "the JPA metamodel is built during the context refresh");
+    }
+
+    @Test
+    public void testPhasesWithoutStepsAreLeftOut() {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        startup.start("spring.context.refresh").end();
+
+        List<StartupPhase> phases = StartupReport.phases(startup.getBufferedTimeline(), Instant.now());
+
+        assertEquals(List.of(StartupReport.JVM, StartupReport.CONTEXT), phases.stream().map(StartupPhase::name).toList());
+    }
+}
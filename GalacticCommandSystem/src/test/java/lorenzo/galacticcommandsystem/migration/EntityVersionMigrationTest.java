@@ -0,0 +1,35 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EntityVersionMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final EntityVersionMigration migration = new EntityVersionMigration();
+
+    @Test
+    public void testRowsWrittenBeforeVersioningGetAVersion() {
+        assertFalse(migration.isPending(jdbcTemplate));
+
+        // rows written before the VERSION column existed are read back with a null version
+        jdbcTemplate.update("INSERT INTO space_ship (id, name, is_operational) VALUES (1001, 'Defiant', TRUE)");
+        jdbcTemplate.update("INSERT INTO mission (id, name, funding_units, mission_state) VALUES (1002, 'Legacy', 50000, 'INACTIVE')");
+        jdbcTemplate.update("INSERT INTO space_ship (id, name, is_operational, version) VALUES (1003, 'Enterprise', TRUE, 4)");
+        assertTrue(migration.isPending(jdbcTemplate));
+
+        migration.migrate(jdbcTemplate);
+
+        assertFalse(migration.isPending(jdbcTemplate));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM space_ship WHERE id = 1001", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM mission WHERE id = 1002", Long.class));
+        assertEquals(4L, jdbcTemplate.queryForObject("SELECT version FROM space_ship WHERE id = 1003", Long.class));
+    }
+}
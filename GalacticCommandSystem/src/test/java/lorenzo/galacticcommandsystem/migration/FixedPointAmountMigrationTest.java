@@ -0,0 +1,51 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FixedPointAmountMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final FixedPointAmountMigration migration = new FixedPointAmountMigration();
+
+    @Test
+    public void testFloatingPointAmountsAreMovedToHundredths() {
+        assertFalse(migration.isPending(jdbcTemplate));
+
+        // recreate the layout of database files written before amounts were fixed-point
+        jdbcTemplate.execute("ALTER TABLE mission ADD COLUMN funding DOUBLE PRECISION");
+        jdbcTemplate.execute("ALTER TABLE mission ALTER COLUMN funding_units SET NULL");
+        jdbcTemplate.execute("ALTER TABLE crew_member ADD COLUMN credits DOUBLE PRECISION");
+        jdbcTemplate.execute("ALTER TABLE crew_member ALTER COLUMN credits_units SET NULL");
+        jdbcTemplate.update("INSERT INTO mission (id, name, funding, mission_state, version) " +
+                "VALUES (1101, 'Legacy', 1234.565, 'INACTIVE', 0)");
+        jdbcTemplate.update("INSERT INTO mission (id, name, funding, mission_state, version) " +
+                "VALUES (1102, 'Round', 100.1, 'INACTIVE', 0)");
+        jdbcTemplate.update("INSERT INTO mission (id, name, funding, mission_state, version) " +
+                "VALUES (1103, 'Odd', 100.135, 'INACTIVE', 0)");
+        assertTrue(migration.isPending(jdbcTemplate));
+
+        migration.migrate(jdbcTemplate);
+
+        assertFalse(migration.isPending(jdbcTemplate));
+        // ties are rounded half to even, as FixedPoint.toUnits does
+        assertEquals(123456L, jdbcTemplate.queryForObject("SELECT funding_units FROM mission WHERE id = 1101", Long.class));
+        assertEquals(10014L, jdbcTemplate.queryForObject("SELECT funding_units FROM mission WHERE id = 1103", Long.class));
+        assertEquals(10010L, jdbcTemplate.queryForObject("SELECT funding_units FROM mission WHERE id = 1102", Long.class));
+        assertTrue(SchemaMigration.columnExists(jdbcTemplate, "CREW_MEMBER", "CREDITS_UNITS"));
+        assertFalse(SchemaMigration.columnExists(jdbcTemplate, "MISSION", "FUNDING"));
+
+        // the other tests share this database
+        jdbcTemplate.update("DELETE FROM mission WHERE id IN (1101, 1102, 1103)");
+    }
+}
@@ -0,0 +1,40 @@
+package lorenzo.galacticcommandsystem.migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PlanetPositionMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final PlanetPositionMigration migration = new PlanetPositionMigration();
+
+    @Test
+    public void testLegacyPositionIsMovedToCoordinates() {
+        assertFalse(migration.isPending(jdbcTemplate));
+
+        // recreate the layout of database files written before the coordinates were numeric
+        jdbcTemplate.execute("ALTER TABLE planet ADD COLUMN position VARCHAR(50)");
+        jdbcTemplate.update("INSERT INTO planet (id, name, position) VALUES (1001, 'Vulcan', '10,5,0')");
+        jdbcTemplate.update("INSERT INTO planet (id, name, position) VALUES (1002, 'Qo''noS', '-15.5,8,3')");
+        jdbcTemplate.update("INSERT INTO planet (id, name, position) VALUES (1003, 'Broken', 'nowhere')");
+        assertTrue(migration.isPending(jdbcTemplate));
+
+        migration.migrate(jdbcTemplate);
+
+        assertFalse(migration.isPending(jdbcTemplate));
+        Map<String, Object> qonos = jdbcTemplate.queryForMap("SELECT x, y, z FROM planet WHERE id = 1002");
+        assertEquals(-15.5, ((Number) qonos.get("X")).doubleValue());
+        assertEquals(8.0, ((Number) qonos.get("Y")).doubleValue());
+        assertEquals(3.0, ((Number) qonos.get("Z")).doubleValue());
+        assertEquals(0.0, jdbcTemplate.queryForObject("SELECT x FROM planet WHERE id = 1003", Double.class));
+    }
+}
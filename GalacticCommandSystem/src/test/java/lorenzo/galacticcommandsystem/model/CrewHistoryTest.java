@@ -24,7 +24,7 @@ class CrewHistoryTest {
                 .techSpecialty("Warp Drive")
                 .build();
 
-        engineer.assignToSpaceShip(ship);
+        engineer.assignToSpaceShip(ship, LocalDate.of(2300, 1, 1));
 
         assertEquals(1, engineer.getCrewHistoryList().size(), "La lista CrewHistory dell'Engineer deve contenere 1 elemento.");
         assertEquals(1, ship.getCrewHistoryList().size(), "La lista CrewHistory della SpaceShip deve contenere 1 elemento.");
@@ -39,6 +39,6 @@ class CrewHistoryTest {
 
         assertEquals(ship, historyFromEngineer.getSpaceShip());
         assertEquals(engineer, historyFromEngineer.getCrewMember());
-        assertEquals(LocalDate.now(), historyFromEngineer.getAssignmentDate());
+        assertEquals(LocalDate.of(2300, 1, 1), historyFromEngineer.getAssignmentDate());
     }
 }
\ No newline at end of file
@@ -12,7 +12,7 @@ public class MissionAssignmentTest {
         SpaceShip ship = new SpaceShip();
         Mission mission = new Mission("test", 100);
 
-        MissionAssignment assignment = new MissionAssignment(ship, mission, LocalDate.now().plusDays(5));
+        MissionAssignment assignment = new MissionAssignment(ship, mission, LocalDate.now(), LocalDate.now().plusDays(5));
 
         System.out.println("Assignment startDate: " + assignment.getStartDate());
     }
@@ -25,9 +25,21 @@ public class MissionAssignmentTest {
         LocalDate end = LocalDate.now().minusDays(10);
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            new MissionAssignment(ship, mission, end);
+            new MissionAssignment(ship, mission, LocalDate.now(), end);
         });
 
-        assertTrue(exception.getMessage().contains("endDate must be after startDate"));
+        assertTrue(exception.getMessage().contains("End date must be after start date"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testActiveUntilTheEndDateIncluded() {
+        LocalDate start = LocalDate.of(2300, 1, 1);
+        LocalDate end = start.plusDays(5);
+        MissionAssignment assignment = new MissionAssignment(new SpaceShip(), new Mission("test", 100), start, end);
+
+        assertTrue(assignment.isActive(end));
+        assertEquals("Active until " + end, assignment.getStatus(end));
+        assertFalse(assignment.isActive(end.plusDays(1)));
+        assertEquals("Completed on " + end, assignment.getStatus(end.plusDays(1)));
+    }
+}
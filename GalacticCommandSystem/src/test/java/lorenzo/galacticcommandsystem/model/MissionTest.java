@@ -31,7 +31,7 @@ public class MissionTest {
         assertTrue(spaceShip.getAssignments().isEmpty(), "Assignments dello spaceship dovrebbero essere vuoti");
         assertTrue(mission.getAssignments().isEmpty(), "Assignments della missione dovrebbero essere vuoti");
 
-        mission.assignSpaceShip(spaceShip, LocalDate.now().plusDays(5));
+        mission.assignSpaceShip(spaceShip, LocalDate.now(), LocalDate.now().plusDays(5));
 
         System.out.println("\n=== AFTER ASSIGNMENT ===");
         printAssignments(spaceShip.getAssignments());
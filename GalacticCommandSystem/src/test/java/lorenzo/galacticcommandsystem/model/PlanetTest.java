@@ -0,0 +1,40 @@
+package lorenzo.galacticcommandsystem.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanetTest {
+
+    @Test
+    public void testPositionIsParsedIntoCoordinates() {
+        Planet planet = Planet.builder().name("Vulcan").position("10,5.5,-3").build();
+
+        assertEquals(10, planet.getX());
+        assertEquals(5.5, planet.getY());
+        assertEquals(-3, planet.getZ());
+        assertEquals("10,5.5,-3", planet.getPosition());
+    }
+
+    @Test
+    public void testInvalidPositionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Planet.builder().position("10;5;3").build());
+        assertThrows(IllegalArgumentException.class, () -> new Planet().setPosition("1,2"));
+        assertThrows(IllegalArgumentException.class, () -> new Planet().setPosition((String) null));
+    }
+
+    @Test
+    public void testDistanceUsesNumericCoordinates() {
+        Planet earth = Planet.builder().name("Earth").x(0).y(0).z(0).build();
+        Planet other = new Planet();
+        other.setPosition(2, 3, 6);
+
+        assertEquals(7, earth.getDistanceTo(other), 1e-9);
+        assertEquals("2,3,6", other.getPosition());
+    }
+
+    @Test
+    public void testNonFiniteCoordinatesAreFormattedWithoutFailing() {
+        assertEquals("NaN,0,Infinity", Planet.formatPosition(Double.NaN, 0, Double.POSITIVE_INFINITY));
+    }
+}
@@ -0,0 +1,44 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PlanetRepositoryTest {
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @BeforeEach
+    public void setup() {
+        planetRepository.save(Planet.builder().name("Origin").position("0,0,0").build());
+        planetRepository.save(Planet.builder().name("Corner").position("3,3,3").build());
+        planetRepository.save(Planet.builder().name("Edge").position("4,0,0").build());
+        planetRepository.save(Planet.builder().name("Far").position("40,-20,7").build());
+    }
+
+    private List<String> names(List<Planet> planets) {
+        return planets.stream().map(Planet::getName).sorted().toList();
+    }
+
+    @Test
+    public void testFindInBox() {
+        assertEquals(List.of("Corner", "Edge", "Origin"), names(planetRepository.findInBox(0, 4, 0, 4, 0, 4)));
+        assertEquals(List.of("Far"), names(planetRepository.findInBox(30, 50, -25, -15, 0, 10)));
+        assertTrue(planetRepository.findInBox(5, 6, 5, 6, 5, 6).isEmpty());
+    }
+
+    @Test
+    public void testFindWithinRadiusExcludesBoxCorners() {
+        // Corner is inside the bounding box of the sphere but sqrt(27) > 4 away from the origin
+        assertEquals(List.of("Edge", "Origin"), names(planetRepository.findWithinRadius(0, 0, 0, 4)));
+        assertEquals(List.of("Corner", "Edge", "Origin"), names(planetRepository.findWithinRadius(0, 0, 0, 5.2)));
+    }
+}
@@ -0,0 +1,85 @@
+package lorenzo.galacticcommandsystem.repository;
+
+import lorenzo.galacticcommandsystem.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class SummaryProjectionTest {
+
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private EngineerRepository engineerRepository;
+    @Autowired
+    private NavigatorRepository navigatorRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+
+    @Test
+    public void testSpaceShipSummaries() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").isOperational(true).build());
+        SpaceShip wreck = spaceShipRepository.save(SpaceShip.builder().name("Wreck").isOperational(false).build());
+
+        assertEquals(List.of(new SpaceShipSummary(eagle.getId(), "Eagle", true),
+                        new SpaceShipSummary(wreck.getId(), "Wreck", false)),
+                spaceShipRepository.findAllSummaries());
+        assertEquals(List.of(new SpaceShipSummary(wreck.getId(), "Wreck", false)),
+                spaceShipRepository.findSummaryPageAfter(eagle.getId(), Limit.of(10)));
+    }
+
+    @Test
+    public void testMissionSummaries() {
+        Mission survey = missionRepository.save(new Mission("Survey", 1500));
+        Mission rescue = missionRepository.save(new Mission("Rescue", 200, MissionState.ACTIVE, "launched"));
+
+        assertEquals(List.of(new MissionSummary(survey.getId(), "Survey", 1500, MissionState.INACTIVE)),
+                missionRepository.findSummaryPageAfter(0L, Limit.of(1)));
+        assertEquals(List.of(new MissionSummary(rescue.getId(), "Rescue", 200, MissionState.ACTIVE)),
+                missionRepository.findSummaryPageAfter(survey.getId(), Limit.of(1)));
+        assertEquals(2, missionRepository.findAllSummaries().size());
+    }
+
+    @Test
+    public void testPlanetSummaries() {
+        Planet vulcan = planetRepository.save(Planet.builder().name("Vulcan")
+                .atmosphereType("Nitrogen-Methane").position("10,5.5,0").build());
+
+        List<PlanetSummary> summaries = planetRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        assertEquals(vulcan.getId(), summaries.get(0).id());
+        assertEquals("Nitrogen-Methane", summaries.get(0).atmosphereType());
+        assertEquals(vulcan.getPosition(), summaries.get(0).position());
+        assertEquals(summaries, planetRepository.findSummaryPageAfter(0L, Limit.of(10)));
+    }
+
+    @Test
+    public void testCrewSummariesKeepTheEngineerTitleAndOptionalNames() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").isOperational(true).build());
+        Planet earth = planetRepository.save(Planet.builder().name("Earth").position("0,0,0").build());
+        Engineer scotty = engineerRepository.save(Engineer.builder().firstName("Montgomery").lastName("Scott")
+                .techSpecialty("Warp").credits(20).spaceShip(eagle).build());
+        Navigator sulu = navigatorRepository.save(Navigator.builder().firstName("Hikaru").lastName("Sulu")
+                .navigationBonus(150.0).planet(earth).build());
+
+        List<CrewSummary> summaries = crewMemberRepository.findAllSummaries();
+
+        assertEquals(List.of(
+                new CrewSummary(scotty.getId(), "Montgomery", "Scott", true, 20, "Eagle", null),
+                new CrewSummary(sulu.getId(), "Hikaru", "Sulu", false, 0, null, "Earth")), summaries);
+        assertEquals(scotty.getFullName(), summaries.get(0).fullName());
+        assertEquals(sulu.getFullName(), summaries.get(1).fullName());
+        assertEquals(summaries.subList(1, 2), crewMemberRepository.findSummaryPageAfter(scotty.getId(), Limit.of(10)));
+    }
+}
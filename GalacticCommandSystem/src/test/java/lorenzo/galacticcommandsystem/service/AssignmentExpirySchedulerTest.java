@@ -0,0 +1,211 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.instrumentation.OptimisticLockMonitor;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({AssignmentExpiryScheduler.class, GalaxyClock.class, OptimisticRetry.class, OptimisticLockMonitor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "galaxy.expiry.batch-size=2")
+class AssignmentExpirySchedulerTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2300, 1, 1);
+
+    @TestConfiguration
+    static class ClockConfig {
+
+        @Bean
+        public MovableClock clock() {
+            return new MovableClock();
+        }
+    }
+
+    /**
+     * A clock the test moves by hand.
+     */
+    static class MovableClock extends Clock {
+
+        private volatile Instant instant = Instant.EPOCH;
+
+        void setDate(LocalDate date) {
+            instant = date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Autowired
+    private AssignmentExpiryScheduler scheduler;
+    @Autowired
+    private MovableClock clock;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+
+    private SpaceShip eagle;
+    private SpaceShip falcon;
+
+    @BeforeEach
+    public void setUp() {
+        clock.setDate(JAN_1);
+        eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        falcon = spaceShipRepository.save(SpaceShip.builder().name("Falcon").build());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        missionAssignmentRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        missionRepository.deleteAll();
+    }
+
+    private Mission mission(String name) {
+        return missionRepository.save(new Mission(name, 1000, MissionState.ACTIVE, "assigned"));
+    }
+
+    private MissionAssignment assign(SpaceShip ship, Mission mission, LocalDate start, LocalDate end) {
+        MissionAssignment assignment = new MissionAssignment();
+        assignment.setSpaceShip(ship);
+        assignment.setMission(mission);
+        assignment.setStartDate(start);
+        assignment.setEndDate(end);
+        return missionAssignmentRepository.save(assignment);
+    }
+
+    private MissionState state(Mission mission) {
+        return missionRepository.findById(mission.getId()).orElseThrow().getMissionState();
+    }
+
+    @Test
+    public void testMissionsEndWhenTheirLastAssignmentEnds() {
+        Mission survey = mission("Survey");
+        Mission escort = mission("Escort");
+        Mission patrol = mission("Patrol");
+        scheduler.rebuild();
+        assertEquals(0, scheduler.expireDue());
+
+        assign(eagle, survey, JAN_1, JAN_1.plusDays(10));
+        assign(eagle, escort, JAN_1, JAN_1.plusDays(10));
+        assign(falcon, escort, JAN_1, JAN_1.plusDays(20));
+        assign(eagle, patrol, JAN_1, null);
+        assertEquals(3, scheduler.size());
+
+        // the end date is still a day of the assignment
+        clock.setDate(JAN_1.plusDays(10));
+        assertEquals(0, scheduler.expireDue());
+        clock.setDate(JAN_1.plusDays(11));
+        assertEquals(1, scheduler.expireDue());
+        assertEquals(MissionState.INACTIVE, state(survey));
+        Mission stored = missionRepository.findById(survey.getId()).orElseThrow();
+        assertEquals("All assignments ended before " + JAN_1.plusDays(11), stored.getDeactivationInfo());
+        assertEquals(MissionState.ACTIVE, state(escort));
+
+        clock.setDate(JAN_1.plusYears(1));
+        assertEquals(1, scheduler.expireDue());
+        assertEquals(MissionState.INACTIVE, state(escort));
+        // open-ended assignments never end
+        assertEquals(MissionState.ACTIVE, state(patrol));
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.expireDue());
+    }
+
+    @Test
+    public void testChangedAndDeletedAssignmentsAreFollowed() {
+        Mission survey = mission("Survey");
+        Mission escort = mission("Escort");
+        scheduler.rebuild();
+        MissionAssignment extended = assign(eagle, survey, JAN_1, JAN_1.plusDays(5));
+        MissionAssignment cancelled = assign(eagle, escort, JAN_1, JAN_1.plusDays(5));
+        assign(falcon, escort, JAN_1, JAN_1.plusDays(30));
+
+        extended.setEndDate(JAN_1.plusDays(15));
+        missionAssignmentRepository.save(extended);
+        missionAssignmentRepository.delete(cancelled);
+        clock.setDate(JAN_1.plusDays(6));
+        assertEquals(0, scheduler.expireDue());
+        assertEquals(MissionState.ACTIVE, state(survey));
+
+        clock.setDate(JAN_1.plusDays(16));
+        assertEquals(1, scheduler.expireDue());
+        assertEquals(MissionState.INACTIVE, state(survey));
+        assertEquals(MissionState.ACTIVE, state(escort));
+    }
+
+    @Test
+    public void testStartupCatchesUpOnMissedExpiries() {
+        Mission[] missions = new Mission[5];
+        for (int i = 0; i < missions.length; i++) {
+            missions[i] = mission("Ended " + i);
+            assign(eagle, missions[i], JAN_1.minusDays(20), JAN_1.minusDays(i + 1));
+        }
+        Mission running = mission("Running");
+        assign(eagle, running, JAN_1.minusDays(20), JAN_1.minusDays(1));
+        assign(falcon, running, JAN_1.minusDays(20), JAN_1);
+        Mission unassigned = mission("Unassigned");
+
+        scheduler.rebuild();
+        assertEquals(1, scheduler.size());
+        // five missions, in batches of two
+        assertEquals(5, scheduler.expireDue());
+        for (Mission mission : missions) {
+            assertEquals(MissionState.INACTIVE, state(mission));
+        }
+        assertEquals(MissionState.ACTIVE, state(running));
+        assertEquals(MissionState.ACTIVE, state(unassigned));
+        assertEquals(0, scheduler.expireDue());
+    }
+
+    @Test
+    public void testTodayIsCachedUntilMidnight() {
+        GalaxyClock galaxyClock = new GalaxyClock(clock);
+        assertEquals(JAN_1, galaxyClock.today());
+        clock.setDate(JAN_1.plusDays(1));
+        assertEquals(JAN_1.plusDays(1), galaxyClock.today());
+        clock.setDate(JAN_1.minusDays(1));
+        assertEquals(JAN_1.minusDays(1), galaxyClock.today());
+        GalaxyClock tokyo = new GalaxyClock(Clock.fixed(JAN_1.atTime(20, 0).toInstant(ZoneOffset.UTC),
+                ZoneId.of("Asia/Tokyo")));
+        assertEquals(JAN_1.plusDays(1), tokyo.today());
+    }
+}
@@ -0,0 +1,183 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionAssignmentTest {
+
+    private final Random random = new Random(7);
+
+    /**
+     * Best total benefit, trying every assignment of the rows.
+     */
+    private static long bruteForce(int[] benefits, int rows, int columns, int row, boolean[] used) {
+        if (row == rows) {
+            return 0;
+        }
+        long best = bruteForce(benefits, rows, columns, row + 1, used);
+        for (int column = 0; column < columns; column++) {
+            if (!used[column]) {
+                used[column] = true;
+                best = Math.max(best, benefits[row * columns + column] + bruteForce(benefits, rows, columns, row + 1, used));
+                used[column] = false;
+            }
+        }
+        return best;
+    }
+
+    private static long total(int[] benefits, int columns, int[] assignment) {
+        long total = 0;
+        for (int row = 0; row < assignment.length; row++) {
+            if (assignment[row] >= 0) {
+                total += benefits[row * columns + assignment[row]];
+            }
+        }
+        return total;
+    }
+
+    private static void assertValid(int[] benefits, int columns, int[] assignment) {
+        boolean[] used = new boolean[columns];
+        for (int row = 0; row < assignment.length; row++) {
+            int column = assignment[row];
+            if (column >= 0) {
+                assertFalse(used[column], "column " + column + " assigned twice");
+                used[column] = true;
+                assertTrue(benefits[row * columns + column] > 0, "zero benefit pairs are not assigned");
+            }
+        }
+    }
+
+    @Test
+    public void testSolvesSmallProblemsExactly() {
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int columns = 1 + random.nextInt(6);
+            int multiple = Math.max(rows, columns) + 1;
+            int[] benefits = new int[rows * columns];
+            for (int i = 0; i < benefits.length; i++) {
+                // some pairs are not allowed, and multiples of the size plus one are solved exactly
+                benefits[i] = random.nextInt(4) == 0 ? 0 : random.nextInt(1000) * multiple;
+            }
+
+            int[] assignment = AuctionAssignment.solve(benefits, rows, columns);
+
+            assertValid(benefits, columns, assignment);
+            assertEquals(bruteForce(benefits, rows, columns, 0, new boolean[columns]), total(benefits, columns, assignment),
+                    () -> rows + "x" + columns + " " + Arrays.toString(benefits));
+        }
+    }
+
+    @Test
+    public void testStaysWithinOneUnitPerRowOfTheOptimum() {
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int columns = 1 + random.nextInt(6);
+            int[] benefits = random.ints(rows * columns, 0, 50).toArray();
+
+            int[] assignment = AuctionAssignment.solve(benefits, rows, columns);
+
+            assertValid(benefits, columns, assignment);
+            long optimum = bruteForce(benefits, rows, columns, 0, new boolean[columns]);
+            assertTrue(total(benefits, columns, assignment) >= optimum - rows);
+        }
+    }
+
+    @Test
+    public void testLargeProblemGivesEveryRowAColumn() {
+        int size = 500;
+        int[] benefits = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                // the same ranking of columns for every row: the worst case for bidding wars
+                benefits[row * size + column] = 1 + column * (1 + row % 3);
+            }
+        }
+
+        int[] assignment = AuctionAssignment.solve(benefits, size, size);
+
+        assertValid(benefits, size, assignment);
+        assertTrue(Arrays.stream(assignment).allMatch(column -> column >= 0));
+    }
+
+    /**
+     * Keeps the pairs with a benefit as the candidates of their row, in compressed sparse rows.
+     */
+    private static int[] solveAsSparse(int[] benefits, int rows, int columns) {
+        int[] rowStart = new int[rows + 1];
+        int[] candidateColumns = new int[benefits.length];
+        int[] candidateBenefits = new int[benefits.length];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            rowStart[row] = count;
+            for (int column = 0; column < columns; column++) {
+                if (benefits[row * columns + column] > 0) {
+                    candidateColumns[count] = column;
+                    candidateBenefits[count++] = benefits[row * columns + column];
+                }
+            }
+        }
+        rowStart[rows] = count;
+        return AuctionAssignment.solveSparse(rowStart, candidateColumns, candidateBenefits, columns);
+    }
+
+    @Test
+    public void testSparseCandidatesAreSolvedLikeTheDenseMatrix() {
+        for (int trial = 0; trial < 200; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int columns = 1 + random.nextInt(6);
+            int multiple = Math.max(rows, columns) + 1;
+            int[] benefits = new int[rows * columns];
+            for (int i = 0; i < benefits.length; i++) {
+                benefits[i] = random.nextInt(2) == 0 ? 0 : random.nextInt(1000) * multiple;
+            }
+
+            int[] assignment = solveAsSparse(benefits, rows, columns);
+
+            assertValid(benefits, columns, assignment);
+            assertEquals(bruteForce(benefits, rows, columns, 0, new boolean[columns]), total(benefits, columns, assignment),
+                    () -> rows + "x" + columns + " " + Arrays.toString(benefits));
+        }
+    }
+
+    @Test
+    public void testLargeBandedProblemMatchesTheDenseMatrix() {
+        int size = 1000;
+        int candidates = 20;
+        int[] benefits = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            // candidates around the diagonal, with the same ranking of columns for every row
+            int first = Math.max(0, Math.min(row - candidates / 2, size - candidates));
+            for (int column = first; column < first + candidates; column++) {
+                benefits[row * size + column] = (size - column) * (1 + row % 3) * (size + 1);
+            }
+        }
+
+        int[] assignment = solveAsSparse(benefits, size, size);
+
+        assertValid(benefits, size, assignment);
+        assertEquals(total(benefits, size, AuctionAssignment.solve(benefits, size, size)), total(benefits, size, assignment));
+    }
+
+    @Test
+    public void testNothingIsAssignedWithoutBenefit() {
+        assertArrayEquals(new int[]{-1, -1}, AuctionAssignment.solve(new int[6], 2, 3));
+        assertArrayEquals(new int[0], AuctionAssignment.solve(new int[0], 0, 4));
+        assertArrayEquals(new int[]{-1, -1}, AuctionAssignment.solveSparse(new int[]{0, 1, 1}, new int[]{2}, new int[]{0}, 3));
+    }
+
+    @Test
+    public void testInvalidMatricesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AuctionAssignment.solve(new int[5], 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> AuctionAssignment.solve(new int[]{1, -1}, 1, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuctionAssignment.solveSparse(new int[]{0, 2}, new int[]{0}, new int[]{1}, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuctionAssignment.solveSparse(new int[]{0, 1}, new int[]{2}, new int[]{1}, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuctionAssignment.solveSparse(new int[]{0, 1, 0}, new int[]{0}, new int[]{1}, 2));
+    }
+}
@@ -0,0 +1,152 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.config.SchedulingConfig;
+import lorenzo.galacticcommandsystem.config.SqlInstrumentationConfig;
+import lorenzo.galacticcommandsystem.instrumentation.OptimisticLockMonitor;
+import lorenzo.galacticcommandsystem.instrumentation.SqlCounter;
+import lorenzo.galacticcommandsystem.instrumentation.SqlUsage;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.AssignmentPair;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@Import({BulkAssignmentService.class, GalaxyClock.class, SchedulingConfig.class, OptimisticRetry.class, OptimisticLockMonitor.class, SqlInstrumentationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkAssignmentServiceTest {
+
+    @Autowired
+    private BulkAssignmentService bulkAssignmentService;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @MockitoSpyBean
+    private MissionAssignmentRepository missionAssignmentRepository;
+
+    @AfterEach
+    public void cleanup() {
+        missionAssignmentRepository.deleteAll();
+        missionRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+    }
+
+    private List<SpaceShip> ships(int count) {
+        List<SpaceShip> ships = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ships.add(SpaceShip.builder().name("Bulk Ship " + i).build());
+        }
+        return (List<SpaceShip>) spaceShipRepository.saveAll(ships);
+    }
+
+    @Test
+    public void testEveryPairGetsItsOutcome() {
+        List<SpaceShip> ships = ships(3);
+        Mission survey = missionRepository.save(new Mission("Survey", 1000));
+        Mission escort = missionRepository.save(new Mission("Escort", 1000));
+        missionAssignmentRepository.save(new MissionAssignment(ships.get(0), survey, LocalDate.now(), null));
+        Long first = ships.get(0).getId();
+        Long second = ships.get(1).getId();
+        Long third = ships.get(2).getId();
+
+        BulkAssignmentReport report = bulkAssignmentService.assign(List.of(
+                new AssignmentPair(second, survey.getId()),
+                new AssignmentPair(first, survey.getId()),
+                new AssignmentPair(third, survey.getId()),
+                new AssignmentPair(second, survey.getId()),
+                new AssignmentPair(-1L, survey.getId()),
+                new AssignmentPair(first, -1L),
+                new AssignmentPair(first, escort.getId())), "bulk run");
+
+        assertEquals(List.of(AssignmentOutcome.ASSIGNED, AssignmentOutcome.ALREADY_ASSIGNED, AssignmentOutcome.ASSIGNED,
+                        AssignmentOutcome.DUPLICATE, AssignmentOutcome.SPACESHIP_NOT_FOUND,
+                        AssignmentOutcome.MISSION_NOT_FOUND, AssignmentOutcome.ASSIGNED),
+                report.results().stream().map(BulkAssignmentReport.Result::outcome).toList());
+        assertEquals(3, report.assigned());
+        assertEquals(3, missionAssignmentRepository.findByMission_Id(survey.getId()).size());
+        assertEquals(1, missionAssignmentRepository.findByMission_Id(escort.getId()).size());
+        for (Mission mission : missionRepository.findAllById(List.of(survey.getId(), escort.getId()))) {
+            assertEquals(MissionState.ACTIVE, mission.getMissionState());
+            assertEquals("bulk run", mission.getActivationInfo());
+        }
+    }
+
+    @Test
+    public void testStatementsDoNotGrowWithEveryPair() {
+        int count = 200;
+        List<SpaceShip> ships = ships(count);
+        Mission mission = missionRepository.save(new Mission("Armada", 1000));
+        List<AssignmentPair> pairs = ships.stream().map(ship -> new AssignmentPair(ship.getId(), mission.getId())).toList();
+
+        SqlUsage before = SqlCounter.current();
+        BulkAssignmentReport report = bulkAssignmentService.assign(pairs, "armada");
+        SqlUsage usage = SqlCounter.current().since(before);
+
+        assertEquals(count, report.assigned());
+        // three checks, then per batch of 50 one insert and at most one sequence call, then one mission update
+        long batches = (count + 49) / 50;
+        assertTrue(usage.statements() <= 3 + 2 * batches + 1, () -> "executed " + usage);
+    }
+
+    @Test
+    public void testAConcurrentAssignmentIsReportedInsteadOfFailing() {
+        List<SpaceShip> ships = ships(2);
+        Mission mission = missionRepository.save(new Mission("Race", 1000));
+        missionAssignmentRepository.save(new MissionAssignment(ships.get(0), mission, LocalDate.now(), null));
+        // the first check misses the existing pair, as if it had been assigned right after
+        AtomicInteger checks = new AtomicInteger();
+        doAnswer(call -> checks.getAndIncrement() == 0 ? List.of() : missionAssignmentRepository.findAllPairs())
+                .when(missionAssignmentRepository).findPairs(any(), any());
+
+        BulkAssignmentReport report = bulkAssignmentService.assign(IntStream.range(0, 2)
+                .mapToObj(i -> new AssignmentPair(ships.get(i).getId(), mission.getId()))
+                .toList(), "race");
+
+        assertEquals(List.of(AssignmentOutcome.ALREADY_ASSIGNED, AssignmentOutcome.ASSIGNED),
+                report.results().stream().map(BulkAssignmentReport.Result::outcome).toList());
+        assertEquals(2, checks.get());
+        assertEquals(2, missionAssignmentRepository.findByMission_Id(mission.getId()).size());
+    }
+
+    @Test
+    public void testMissingIdsAreReportedAsNotFound() {
+        Mission mission = missionRepository.save(new Mission("Void", 1000));
+
+        BulkAssignmentReport report = bulkAssignmentService.assign(List.of(
+                new AssignmentPair(null, mission.getId()),
+                new AssignmentPair(ships(1).get(0).getId(), null)), "void");
+
+        assertEquals(List.of(AssignmentOutcome.SPACESHIP_NOT_FOUND, AssignmentOutcome.MISSION_NOT_FOUND),
+                report.results().stream().map(BulkAssignmentReport.Result::outcome).toList());
+        assertEquals(List.of(AssignmentOutcome.SPACESHIP_NOT_FOUND),
+                bulkAssignmentService.assign(List.of(new AssignmentPair(null, mission.getId())), "void")
+                        .results().stream().map(BulkAssignmentReport.Result::outcome).toList());
+    }
+
+    @Test
+    public void testActivationInfoIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> bulkAssignmentService.assign(List.of(), " "));
+    }
+}
@@ -0,0 +1,112 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.*;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.ResourcesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheStatisticsService.class, ObjectiveService.class, ObjectiveSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private ObjectiveService objectiveService;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private ResourcesRepository resourcesRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private ObjectiveRepository objectiveRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long statementsOf(Runnable screen) {
+        long before = cacheStatisticsService.report().statements();
+        screen.run();
+        return cacheStatisticsService.report().statements() - before;
+    }
+
+    private void openPlanet(Long id) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Planet planet = planetRepository.findById(id).orElseThrow();
+            planet.getBuildings().size();
+            planet.getResources().forEach(Resource::getName);
+        });
+    }
+
+    @Test
+    public void testPlanetsAreServedFromTheCache() {
+        Long id = transactionTemplate.execute(status -> {
+            Planet planet = Planet.builder().name("Cached Vulcan").position("10,5,0").build();
+            planet.addBuilding("Academy");
+            planet.addResource(resourcesRepository.save(Resource.builder().name("Dilithium").build()));
+            return planetRepository.save(planet).getId();
+        });
+        cacheStatisticsService.reset();
+
+        long cold = statementsOf(() -> openPlanet(id));
+        long warm = statementsOf(() -> openPlanet(id));
+
+        assertTrue(cold > 0);
+        assertEquals(0, warm);
+        CacheReport report = cacheStatisticsService.report();
+        assertTrue(report.region("planet").hits() > 0);
+        assertTrue(report.region("planet-buildings").hits() > 0);
+        assertTrue(report.region("planet-resources").hits() > 0);
+        assertTrue(report.region("resource").hits() > 0);
+    }
+
+    @Test
+    public void testAllPlanetsQueryIsCachedUntilAPlanetChanges() {
+        planetRepository.save(Planet.builder().name("Query Earth").position("0,0,0").build());
+        planetRepository.findAllPlanets();
+        cacheStatisticsService.reset();
+
+        assertEquals(0, statementsOf(() -> planetRepository.findAllPlanets()));
+        assertEquals(1, cacheStatisticsService.report().queryHits());
+
+        planetRepository.save(Planet.builder().name("Query Mars").position("1,0,0").build());
+        assertEquals(2, planetRepository.findAllPlanets().stream()
+                .filter(p -> p.getName().startsWith("Query")).count());
+        assertEquals(1, cacheStatisticsService.report().queryMisses());
+    }
+
+    @Test
+    public void testObjectiveTypesAreServedFromTheCache() {
+        Mission mission = missionRepository.save(new Mission("Cached Survey", 1000));
+        for (int i = 0; i < 3; i++) {
+            objectiveRepository.save(Objective.builder()
+                    .mission(mission)
+                    .title("Survey sector " + i)
+                    .place("Sector " + i)
+                    .types(EnumSet.of(ObjectiveType.EXPLORATION))
+                    .build());
+        }
+        long cold = statementsOf(() -> objectiveService.getObjectivesWithTypes(mission.getId()));
+        cacheStatisticsService.reset();
+
+        long warm = statementsOf(() -> assertEquals(3, objectiveService.getObjectivesWithTypes(mission.getId()).size()));
+
+        assertEquals(cold - 1, warm);
+        CacheReport.Region types = cacheStatisticsService.report().region("objective-types");
+        assertEquals(3, types.hits());
+        assertEquals(0, types.misses());
+    }
+}
@@ -0,0 +1,121 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.Navigator;
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.EngineerRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(EngineerSkillIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EngineerSkillIndexTest {
+
+    @Autowired
+    private EngineerSkillIndex engineerSkillIndex;
+    @Autowired
+    private EngineerRepository engineerRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        crewMemberRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        planetRepository.deleteAll();
+    }
+
+    private Engineer engineer(String lastName, SpaceShip ship, Planet planet, String... skills) {
+        Engineer engineer = Engineer.builder()
+                .firstName("Eng")
+                .lastName(lastName)
+                .techSpecialty("Warp")
+                .spaceShip(ship)
+                .planet(planet)
+                .build();
+        for (String skill : skills) {
+            engineer.addSkill(skill);
+        }
+        return engineerRepository.save(engineer);
+    }
+
+    @Test
+    public void testAllAnyAndAtLeastInScope() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        Planet vulcan = planetRepository.save(Planet.builder().name("Vulcan").position("1,2,3").build());
+        Engineer welder = engineer("Welder", eagle, null, "welding", "plasma");
+        Engineer expert = engineer("Expert", eagle, null, "welding", "plasma", "quantum");
+        Engineer roboticist = engineer("Roboticist", null, null, "robotics", "quantum");
+        Engineer settler = engineer("Settler", null, vulcan, "welding", "quantum");
+        // navigators are not engineers
+        crewMemberRepository.save(Navigator.builder().firstName("Nav").lastName("Pilot").navigationBonus(150.0).build());
+        engineerSkillIndex.rebuild();
+        assertEquals(4, engineerSkillIndex.size());
+
+        Set<String> team = Set.of("welding", "plasma", "quantum");
+        assertEquals(List.of(expert.getId()), engineerSkillIndex.findWithAllSkills(team, EngineerScope.all()));
+        assertEquals(List.of(welder.getId(), expert.getId(), roboticist.getId(), settler.getId()),
+                engineerSkillIndex.findWithAnySkill(team, EngineerScope.all()));
+        assertEquals(List.of(welder.getId(), expert.getId(), settler.getId()),
+                engineerSkillIndex.findWithAtLeast(team, 2, EngineerScope.all()));
+        assertEquals(List.of(roboticist.getId()), engineerSkillIndex.findWithAnySkill(team, EngineerScope.unassignedOnly()));
+        assertEquals(List.of(welder.getId(), expert.getId()),
+                engineerSkillIndex.findWithAtLeast(team, 2, EngineerScope.onSpaceShip(eagle.getId())));
+        assertEquals(List.of(), engineerSkillIndex.findWithAllSkills(Set.of("welding", "unknown"), EngineerScope.all()));
+        assertThrows(IllegalArgumentException.class, () -> engineerSkillIndex.findWithAtLeast(team, 4, EngineerScope.all()));
+        assertThrows(IllegalArgumentException.class, () -> engineerSkillIndex.findWithAnySkill(Set.of(), EngineerScope.all()));
+        // the index answers like the query it replaces
+        assertEquals(engineerRepository.findBySkill("quantum").stream().map(Engineer::getId).sorted().toList(),
+                engineerSkillIndex.findWithAnySkill(Set.of("quantum"), EngineerScope.all()));
+    }
+
+    @Test
+    public void testIndexFollowsSkillAndAssignmentChanges() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        engineerSkillIndex.rebuild();
+        Engineer engineer = engineer("Trainee", null, null, "welding");
+        assertEquals(List.of(engineer.getId()), engineerSkillIndex.findWithAnySkill(Set.of("welding"),
+                EngineerScope.unassignedOnly()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Engineer loaded = engineerRepository.findById(engineer.getId()).orElseThrow();
+            loaded.addSkill("plasma");
+            loaded.removeSkill("welding");
+        });
+        assertEquals(List.of(), engineerSkillIndex.findWithAnySkill(Set.of("welding"), EngineerScope.all()));
+        assertEquals(List.of(engineer.getId()), engineerSkillIndex.findWithAnySkill(Set.of("plasma"), EngineerScope.all()));
+
+        transactionTemplate.executeWithoutResult(status -> engineerRepository.findById(engineer.getId()).orElseThrow()
+                .assignToSpaceShip(spaceShipRepository.findById(eagle.getId()).orElseThrow(), LocalDate.now()));
+        assertEquals(List.of(), engineerSkillIndex.findWithAnySkill(Set.of("plasma"), EngineerScope.unassignedOnly()));
+        assertEquals(List.of(engineer.getId()), engineerSkillIndex.findWithAnySkill(Set.of("plasma"),
+                EngineerScope.onSpaceShip(eagle.getId())));
+
+        engineerRepository.deleteById(engineer.getId());
+        assertEquals(0, engineerSkillIndex.size());
+        assertEquals(List.of(), engineerSkillIndex.findWithAnySkill(Set.of("plasma"), EngineerScope.all()));
+    }
+}
@@ -0,0 +1,275 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.config.SchedulingConfig;
+import lorenzo.galacticcommandsystem.instrumentation.ConflictStatistics;
+import lorenzo.galacticcommandsystem.instrumentation.OptimisticLockMonitor;
+import lorenzo.galacticcommandsystem.model.CrewHistory;
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.AssignmentPair;
+import lorenzo.galacticcommandsystem.repository.CrewHistoryRepository;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({FleetOperationsService.class, BulkAssignmentService.class, LedgerService.class, OptimisticRetry.class,
+        OptimisticLockMonitor.class, GalaxyClock.class, SchedulingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "galaxy.optimistic-locking.max-attempts=8",
+        "galaxy.optimistic-locking.initial-backoff=PT0.001S"
+})
+class FleetOperationsServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 40;
+    private static final int SHIPS = 3;
+    private static final int CREW = 4;
+    private static final int ASSIGNABLE_SHIPS = 24;
+    private static final double INITIAL_FUNDING = 100_000;
+
+    @Autowired
+    private FleetOperationsService fleetOperationsService;
+    @Autowired
+    private BulkAssignmentService bulkAssignmentService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    @Autowired
+    private OptimisticLockMonitor monitor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private CrewHistoryRepository crewHistoryRepository;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private Mission mission;
+    private List<Long> shipIds;
+    private List<Long> crewIds;
+    private List<Long> assignableShipIds;
+
+    @BeforeEach
+    public void setUp() {
+        monitor.reset();
+        mission = missionRepository.save(new Mission("Contested", INITIAL_FUNDING));
+        shipIds = new ArrayList<>();
+        for (int i = 0; i < SHIPS; i++) {
+            shipIds.add(spaceShipRepository.save(SpaceShip.builder().name("Contested Ship " + i).build()).getId());
+        }
+        crewIds = new ArrayList<>();
+        for (int i = 0; i < CREW; i++) {
+            crewIds.add(crewMemberRepository.save(Engineer.builder()
+                    .firstName("Crew")
+                    .lastName("Member " + i)
+                    .techSpecialty("Shields")
+                    .build()).getId());
+            fleetOperationsService.transferCrewMember(crewIds.get(i), shipIds.get(i % SHIPS));
+        }
+        assignableShipIds = new ArrayList<>();
+        for (int i = 0; i < ASSIGNABLE_SHIPS; i++) {
+            assignableShipIds.add(spaceShipRepository.save(SpaceShip.builder().name("Escort " + i).build()).getId());
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ledgerEntryRepository.deleteAll();
+        missionAssignmentRepository.deleteAll();
+        crewHistoryRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        missionRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentUpdateIsRetriedOnFreshRow() {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger attempts = new AtomicInteger();
+
+        double funding = optimisticRetry.execute("test", () -> {
+            Mission loaded = missionRepository.findById(mission.getId()).orElseThrow();
+            if (attempts.getAndIncrement() == 0) {
+                // another user adds funding between this read and this write
+                concurrent.executeWithoutResult(status ->
+                        missionRepository.findById(mission.getId()).orElseThrow().addFunding(1000));
+            }
+            loaded.addFunding(500);
+            return loaded.getFunding();
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(INITIAL_FUNDING + 1500, funding);
+        assertEquals(INITIAL_FUNDING + 1500, missionRepository.findById(mission.getId()).orElseThrow().getFunding());
+        assertEquals(new ConflictStatistics(1, 1, 1, 0), monitor.report("test"));
+    }
+
+    @Test
+    public void testRetriesAreBounded() {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> optimisticRetry.execute("test", () -> {
+            attempts.incrementAndGet();
+            Mission loaded = missionRepository.findById(mission.getId()).orElseThrow();
+            concurrent.executeWithoutResult(status ->
+                    missionRepository.findById(mission.getId()).orElseThrow().addFunding(1));
+            loaded.addFunding(500);
+            return null;
+        }));
+
+        assertEquals(8, attempts.get());
+        assertEquals(INITIAL_FUNDING + 8, missionRepository.findById(mission.getId()).orElseThrow().getFunding());
+        assertEquals(new ConflictStatistics(1, 8, 7, 1), monitor.report("test"));
+    }
+
+    @Test
+    public void testRetryRequiresItsOwnTransaction() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> outer.executeWithoutResult(status ->
+                fleetOperationsService.transferCrewMember(crewIds.get(0), shipIds.get(1))));
+    }
+
+    @Test
+    public void testConcurrentFundingTransfersAndAssignmentsKeepInvariants() throws Exception {
+        AtomicLong fundingDelta = new AtomicLong();
+        AtomicInteger transfers = new AtomicInteger(CREW);
+        AtomicInteger assigned = new AtomicInteger();
+        AtomicInteger retriedCalls = new AtomicInteger();
+        AtomicInteger gaveUp = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        try {
+                            switch (random.nextInt(4)) {
+                                case 0 -> {
+                                    ledgerService.addMissionFunding(mission.getId(), 1_000, "grant");
+                                    fundingDelta.addAndGet(1_000);
+                                }
+                                case 1 -> {
+                                    ledgerService.withdraw(LedgerAccount.mission(mission.getId()), 700, "fuel");
+                                    fundingDelta.addAndGet(-700);
+                                }
+                                case 2 -> {
+                                    // activating the mission checks its version, racing with the ledger updates
+                                    retriedCalls.incrementAndGet();
+                                    Long shipId = assignableShipIds.get(random.nextInt(ASSIGNABLE_SHIPS));
+                                    BulkAssignmentReport report = bulkAssignmentService.assign(
+                                            List.of(new AssignmentPair(shipId, mission.getId())), "Escort wave " + i);
+                                    if (report.results().get(0).outcome() == AssignmentOutcome.ASSIGNED) {
+                                        assigned.incrementAndGet();
+                                    }
+                                }
+                                default -> {
+                                    retriedCalls.incrementAndGet();
+                                    Long crewId = crewIds.get(random.nextInt(CREW));
+                                    Long shipId = shipIds.get(random.nextInt(SHIPS));
+                                    if (fleetOperationsService.transferCrewMember(crewId, shipId)) {
+                                        transfers.incrementAndGet();
+                                    }
+                                }
+                            }
+                        } catch (OptimisticLockingFailureException e) {
+                            gaveUp.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // no funding change was lost or applied twice, and each one is in the ledger
+        Mission contested = missionRepository.findById(mission.getId()).orElseThrow();
+        assertEquals(FixedPoint.toUnits(INITIAL_FUNDING) + fundingDelta.get(), FixedPoint.toUnits(contested.getFunding()));
+        assertEquals(fundingDelta.get(), ledgerEntryRepository.sumAmounts(LedgerAccountType.MISSION, mission.getId()));
+
+        // every escort was assigned at most once, and the mission was activated
+        List<MissionAssignment> assignments = missionAssignmentRepository.findByMission_Id(mission.getId());
+        assertEquals(assigned.get(), assignments.size());
+        assertTrue(assigned.get() > 0);
+        assertEquals(MissionState.ACTIVE, contested.getMissionState());
+
+        // every crew member is on exactly one ship, the one of their latest history record
+        Map<Long, Long> shipOfCrew = new HashMap<>();
+        for (Long shipId : shipIds) {
+            for (CrewMember member : crewMemberRepository.findBySpaceShipId(shipId)) {
+                assertNull(shipOfCrew.put(member.getId(), shipId), "Crew member on two ships");
+            }
+        }
+        assertEquals(CREW, shipOfCrew.size());
+        List<CrewHistory> history = new ArrayList<>();
+        crewHistoryRepository.findAll().forEach(history::add);
+        assertEquals(transfers.get(), history.size(), "Every transfer is recorded exactly once");
+        for (Long crewId : crewIds) {
+            CrewHistory latest = history.stream()
+                    .filter(record -> record.getCrewMember().getId().equals(crewId))
+                    .max((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .orElseThrow();
+            assertEquals(shipOfCrew.get(crewId), latest.getSpaceShip().getId());
+        }
+
+        long calls = 0;
+        long exhausted = 0;
+        for (ConflictStatistics statistics : monitor.report().values()) {
+            calls += statistics.calls();
+            exhausted += statistics.exhausted();
+            assertEquals(statistics.conflicts(), statistics.retries() + statistics.exhausted());
+        }
+        assertEquals(retriedCalls.get() + CREW, calls);
+        assertEquals(gaveUp.get(), exhausted);
+    }
+}
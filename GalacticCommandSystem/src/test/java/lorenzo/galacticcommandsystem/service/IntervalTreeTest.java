@@ -0,0 +1,85 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static final int SIZE = 2000;
+    private static final LocalDate EPOCH = LocalDate.of(2300, 1, 1);
+
+    private final List<AssignmentInterval> intervals = new ArrayList<>();
+
+    IntervalTreeTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            LocalDate start = EPOCH.plusDays(random.nextInt(1000));
+            // some open-ended assignments, and many starting on the same day
+            LocalDate end = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(60));
+            intervals.add(new AssignmentInterval(i + 1L, (long) random.nextInt(20), (long) i, start, end));
+        }
+    }
+
+    private List<Long> bruteForce(long fromDay, long toDay, List<AssignmentInterval> candidates) {
+        return candidates.stream()
+                .filter(interval -> interval.startDay() <= toDay && interval.endDay() >= fromDay)
+                .map(AssignmentInterval::id)
+                .sorted()
+                .toList();
+    }
+
+    private List<Long> query(IntervalTree tree, long fromDay, long toDay) {
+        List<AssignmentInterval> found = new ArrayList<>();
+        tree.overlapping(fromDay, toDay, found::add);
+        return found.stream().map(AssignmentInterval::id).sorted(Comparator.naturalOrder()).toList();
+    }
+
+    @Test
+    public void testOverlapMatchesBruteForce() {
+        IntervalTree tree = new IntervalTree(intervals);
+        Random random = new Random(7);
+        for (int q = 0; q < 200; q++) {
+            long from = EPOCH.toEpochDay() - 10 + random.nextInt(1100);
+            long to = q % 2 == 0 ? from : from + random.nextInt(30);
+            assertEquals(bruteForce(from, to, intervals), query(tree, from, to));
+        }
+    }
+
+    @Test
+    public void testRemovedIntervalsAreSkippedAndDropped() {
+        IntervalTree tree = new IntervalTree(intervals);
+        List<AssignmentInterval> remaining = new ArrayList<>(intervals);
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            AssignmentInterval removed = intervals.get(random.nextInt(SIZE));
+            assertEquals(remaining.remove(removed), tree.remove(removed.id()));
+        }
+        assertEquals(remaining.size(), tree.size());
+        assertEquals(SIZE - remaining.size(), tree.removedCount());
+
+        long day = EPOCH.plusDays(500).toEpochDay();
+        assertEquals(bruteForce(day, day, remaining), query(tree, day, day));
+
+        List<AssignmentInterval> copy = new ArrayList<>();
+        tree.copyTo(copy);
+        IntervalTree rebuilt = new IntervalTree(copy);
+        assertEquals(0, rebuilt.removedCount());
+        assertEquals(bruteForce(day, day + 90, remaining), query(rebuilt, day, day + 90));
+    }
+
+    @Test
+    public void testEmptyTree() {
+        IntervalTree tree = IntervalTree.empty();
+        assertEquals(0, tree.size());
+        assertEquals(List.of(), query(tree, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertFalse(tree.remove(1));
+    }
+}
@@ -0,0 +1,115 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private static final String[] WORDS = {"survey", "surveyor", "nebula", "outpost", "reactor", "relay",
+            "mining", "colony", "beacon", "derelict", "asteroid", "station"};
+
+    private final InvertedIndex index = new InvertedIndex(3, 1);
+
+    private List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    public void testWordsAreLowerCaseLettersAndDigits() {
+        assertEquals(Set.of("deep", "space", "relay", "7b"), InvertedIndex.words("Deep-space RELAY #7b, deep"));
+        assertEquals(Set.of(), InvertedIndex.words(null));
+        assertEquals(Set.of("ōrbita"), InvertedIndex.words("Ōrbita!"));
+    }
+
+    @Test
+    public void testMatchesWordsPrefixesAndInfixesRankedByField() {
+        index.add(1, 1, "Nebula survey", null);
+        index.add(2, 2, "Outpost", "Survey the nebula edge");
+        index.add(3, 1, "Surveyor relay", "Repair the beacon");
+        index.add(4, 2, "Mining colony", "Asteroid belt");
+
+        // the same word ranks before a word it starts, a title word before a description word
+        assertEquals(List.of(1L, 3L, 2L), ids(index.search("survey", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("SURVEYOR", 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("nebula survey", 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("neb", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("teroi", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("survey beacon", 0, 10)));
+        assertEquals(List.of(), ids(index.search("survey mining", 0, 10)));
+        assertEquals(List.of(), ids(index.search("  ,", 0, 10)));
+        // tags filter, limit keeps the best
+        assertEquals(List.of(2L), ids(index.search("survey", 2, 10)));
+        assertEquals(List.of(1L), ids(index.search("survey", 0, 1)));
+        assertEquals(1, index.tags(1));
+        assertEquals(-1, index.tags(9));
+    }
+
+    @Test
+    public void testRemovedAndReplacedDocumentsAndCompaction() {
+        index.add(1, 1, "Nebula survey", null);
+        index.add(2, 1, "Relay station", null);
+        index.add(3, 1, "Nebula outpost", null);
+
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        index.add(3, 2, "Reactor outpost", null);
+        assertEquals(2, index.size());
+        assertEquals(2, index.removedCount());
+        assertEquals(List.of(), ids(index.search("nebula", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("outpost", 2, 10)));
+
+        index.compact();
+        assertEquals(0, index.removedCount());
+        assertEquals(List.of(), ids(index.search("nebul", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("reac", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("station relay", 0, 10)));
+        index.add(1, 1, "Nebula survey", null);
+        assertEquals(List.of(1L), ids(index.search("ebu", 0, 10)));
+    }
+
+    @Test
+    public void testAgreesWithContainsScan() {
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + random.nextInt(500);
+            titles.add(title);
+            index.add(i, 1 << random.nextInt(2), title, null);
+        }
+        for (int i = 0; i < 3000; i += 7) {
+            index.remove(i);
+        }
+        for (String query : List.of("survey", "vey", "nebula 12", "re", "station 4", "lon", "3")) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < titles.size(); i++) {
+                if (i % 7 != 0 && matchesEveryWord(titles.get(i), query)) {
+                    expected.add((long) i);
+                }
+            }
+            List<Long> found = new ArrayList<>(ids(index.search(query, 0, titles.size())));
+            found.sort(null);
+            assertEquals(expected, found, query);
+        }
+    }
+
+    private static boolean matchesEveryWord(String text, String query) {
+        Set<String> words = InvertedIndex.words(text);
+        for (String queryWord : InvertedIndex.words(query)) {
+            // shorter words only match by prefix
+            boolean found = words.stream().anyMatch(word -> queryWord.length() >= InvertedIndex.GRAM
+                    ? word.contains(queryWord) : word.startsWith(queryWord.toLowerCase(Locale.ROOT)));
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
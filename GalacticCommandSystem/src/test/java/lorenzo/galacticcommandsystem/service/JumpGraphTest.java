@@ -0,0 +1,122 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JumpGraphTest {
+
+    private static final int SIZE = 400;
+    private static final double RANGE = 12;
+
+    private final double[][] points = new double[SIZE][];
+
+    JumpGraphTest() {
+        Random random = new Random(3);
+        for (int i = 0; i < SIZE; i++) {
+            points[i] = new double[]{random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 20};
+        }
+    }
+
+    private double distance(int a, int b) {
+        double dx = points[a][0] - points[b][0];
+        double dy = points[a][1] - points[b][1];
+        double dz = points[a][2] - points[b][2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Plain O(n^2) Dijkstra over the explicit graph, as reference.
+     */
+    private double dijkstra(int from, int to, boolean[] removed) {
+        double[] best = new double[SIZE];
+        boolean[] done = new boolean[SIZE];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[from] = 0;
+        while (true) {
+            int node = -1;
+            for (int i = 0; i < SIZE; i++) {
+                if (!done[i] && !removed[i] && (node < 0 || best[i] < best[node])) {
+                    node = i;
+                }
+            }
+            if (node < 0 || best[node] == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (node == to) {
+                return best[node];
+            }
+            done[node] = true;
+            for (int i = 0; i < SIZE; i++) {
+                double jump = distance(node, i);
+                if (!removed[i] && i != node && jump <= RANGE && best[node] + jump < best[i]) {
+                    best[i] = best[node] + jump;
+                }
+            }
+        }
+    }
+
+    private JumpGraph graph() {
+        JumpGraph graph = new JumpGraph(RANGE, 8);
+        for (int i = 0; i < SIZE; i++) {
+            graph.add(i, points[i][0], points[i][1], points[i][2]);
+        }
+        return graph;
+    }
+
+    @Test
+    public void testShortestPathsMatchDijkstra() {
+        JumpGraph graph = graph();
+        boolean[] removed = new boolean[SIZE];
+        Random random = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            int node = random.nextInt(SIZE);
+            removed[node] = true;
+            graph.remove(node);
+        }
+
+        for (int q = 0; q < 60; q++) {
+            int from = random.nextInt(SIZE);
+            int to = random.nextInt(SIZE);
+            if (removed[from] || removed[to]) {
+                assertNull(graph.findPath(from, to));
+                continue;
+            }
+            double expected = dijkstra(from, to, removed);
+            JumpGraph.Path path = graph.findPath(from, to);
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(expected, path.distance(), 1e-9);
+            List<Long> ids = path.planetIds();
+            assertEquals(from, ids.get(0));
+            assertEquals(to, ids.get(ids.size() - 1));
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(distance(ids.get(i - 1).intValue(), ids.get(i).intValue()) <= RANGE);
+            }
+        }
+    }
+
+    @Test
+    public void testAddBridgesDisconnectedPlanets() {
+        JumpGraph graph = new JumpGraph(10, 4);
+        graph.add(1, 0, 0, 0);
+        graph.add(2, 15, 0, 0);
+        assertNull(graph.findPath(1, 2));
+
+        graph.add(3, 7.5, 0, 0);
+        JumpGraph.Path path = graph.findPath(1, 2);
+        assertEquals(List.of(1L, 3L, 2L), path.planetIds());
+        assertEquals(15, path.distance(), 1e-9);
+
+        graph.add(3, 7.5, 9, 0);
+        assertNull(graph.findPath(1, 2));
+        assertEquals(3, graph.size());
+        assertArrayEquals(new double[]{7.5, 9, 0}, graph.position(3));
+    }
+}
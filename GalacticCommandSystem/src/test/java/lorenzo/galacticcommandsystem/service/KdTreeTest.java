@@ -0,0 +1,124 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KdTreeTest {
+
+    private static final int SIZE = 2000;
+
+    private final long[] ids = new long[SIZE];
+    private final double[] points = new double[SIZE * 3];
+
+    KdTreeTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = i + 1;
+            points[i * 3] = random.nextInt(100);
+            points[i * 3 + 1] = random.nextInt(100);
+            // a flat galaxy: many equal coordinates on one axis
+            points[i * 3 + 2] = 0;
+        }
+    }
+
+    private List<PlanetDistance> bruteForce(double x, double y, double z, boolean[] removed) {
+        List<PlanetDistance> all = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            if (!removed[i]) {
+                double dx = points[i * 3] - x;
+                double dy = points[i * 3 + 1] - y;
+                double dz = points[i * 3 + 2] - z;
+                all.add(new PlanetDistance(ids[i], Math.sqrt(dx * dx + dy * dy + dz * dz)));
+            }
+        }
+        all.sort(Comparator.comparingDouble(PlanetDistance::distance).thenComparingLong(PlanetDistance::planetId));
+        return all;
+    }
+
+    private List<Double> distances(List<PlanetDistance> result) {
+        return result.stream().map(PlanetDistance::distance).toList();
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        KdTree tree = new KdTree(ids, points, SIZE);
+        boolean[] removed = new boolean[SIZE];
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            tree.remove(ids[random.nextInt(SIZE)]);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            removed[i] = !tree.contains(ids[i]);
+        }
+
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 120 - 10;
+            double y = random.nextDouble() * 120 - 10;
+            double z = random.nextDouble() * 10 - 5;
+            NearestCollector collector = new NearestCollector(10);
+            tree.nearest(x, y, z, collector);
+
+            assertEquals(distances(bruteForce(x, y, z, removed).subList(0, 10)), distances(collector.toList()));
+        }
+    }
+
+    @Test
+    public void testRadiusMatchesBruteForce() {
+        KdTree tree = new KdTree(ids, points, SIZE);
+        boolean[] removed = new boolean[SIZE];
+        Random random = new Random(11);
+
+        for (int q = 0; q < 100; q++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            double radius = random.nextDouble() * 15;
+            List<PlanetDistance> found = new ArrayList<>();
+            tree.withinRadius(x, y, 0, radius, (id, d2) -> found.add(new PlanetDistance(id, Math.sqrt(d2))));
+            found.sort(Comparator.comparingDouble(PlanetDistance::distance).thenComparingLong(PlanetDistance::planetId));
+
+            List<PlanetDistance> expected = bruteForce(x, y, 0, removed).stream()
+                    .filter(p -> p.distance() <= radius)
+                    .toList();
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testRemoveAndCopy() {
+        KdTree tree = new KdTree(ids, points, SIZE);
+
+        assertTrue(tree.remove(5));
+        assertFalse(tree.remove(5));
+        assertFalse(tree.remove(SIZE + 1));
+        assertFalse(tree.contains(5));
+        assertEquals(SIZE - 1, tree.size());
+
+        long[] copiedIds = new long[SIZE];
+        double[] copiedPoints = new double[SIZE * 3];
+        assertEquals(SIZE - 1, tree.copyTo(copiedIds, copiedPoints));
+        KdTree rebuilt = new KdTree(copiedIds, copiedPoints, SIZE - 1);
+        assertFalse(rebuilt.contains(5));
+        assertTrue(rebuilt.contains(6));
+    }
+
+    @Test
+    public void testLongIntHashMap() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 31L, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove(i * 31L));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? LongIntHashMap.MISSING : i, map.get(i * 31L));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.config.SqlInstrumentationConfig;
+import lorenzo.galacticcommandsystem.instrumentation.SqlCounter;
+import lorenzo.galacticcommandsystem.instrumentation.SqlUsage;
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({LedgerService.class, SqlInstrumentationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerServiceTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @AfterEach
+    public void cleanup() {
+        ledgerEntryRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        missionRepository.deleteAll();
+    }
+
+    private LedgerAccount mission(String name, double funding) {
+        return LedgerAccount.mission(missionRepository.save(new Mission(name, funding)).getId());
+    }
+
+    private LedgerAccount crewMember(String lastName, double credits) {
+        CrewMember member = crewMemberRepository.save(Engineer.builder()
+                .firstName("Ledger")
+                .lastName(lastName)
+                .credits(credits)
+                .techSpecialty("Accounting")
+                .build());
+        return LedgerAccount.crewMember(member.getId());
+    }
+
+    @Test
+    public void testMovementsAreExactAndRecorded() {
+        LedgerAccount survey = mission("Survey", 150.10);
+
+        ledgerService.deposit(survey, 20, "grant");
+        ledgerService.withdraw(survey, 5_000, "fuel");
+
+        assertEquals(10_030, ledgerService.balance(survey));
+        // the entity sees the same exact amount, without a floating point remainder
+        assertEquals(100.3, missionRepository.findById(survey.id()).orElseThrow().getFunding());
+        List<LedgerEntry> history = ledgerService.history(survey, 10);
+        assertEquals(List.of(-5_000L, 20L), history.stream().map(LedgerEntry::getAmount).toList());
+        assertEquals("fuel", history.get(0).getReason());
+    }
+
+    @Test
+    public void testMissionFundingGrowsByAtMostHalf() {
+        LedgerAccount survey = mission("Survey", 1000);
+
+        ledgerService.addMissionFunding(survey.id(), 50_000, "grant");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ledgerService.addMissionFunding(survey.id(), 75_001, "too much"));
+
+        assertEquals("Cannot add more than 50% of current funding", error.getMessage());
+        assertEquals(150_000, ledgerService.balance(survey));
+        assertEquals(List.of(50_000L), ledgerService.history(survey, 10).stream().map(LedgerEntry::getAmount).toList());
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.addMissionFunding(-1L, 1, "nobody"));
+    }
+
+    @Test
+    public void testWithdrawalNeverOverdraws() {
+        LedgerAccount pilot = crewMember("Pilot", 5);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ledgerService.withdraw(pilot, 501, "bar tab"));
+
+        assertEquals("Insufficient credits", error.getMessage());
+        assertEquals(500, ledgerService.balance(pilot));
+        // queries on the amount compare it in credits, like before it was stored in hundredths
+        assertEquals(1, crewMemberRepository.findCrewWithMinCredits(5).size());
+        assertEquals(0, crewMemberRepository.findCrewWithMinCredits(5.01).size());
+        assertEquals(0, ledgerEntryRepository.count());
+        LedgerAccount survey = mission("Survey", 150);
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.withdraw(survey, 5_001, "below the minimum"));
+        assertEquals(15_000, ledgerService.balance(survey));
+        assertThrows(IllegalArgumentException.class,
+                () -> ledgerService.withdraw(LedgerAccount.crewMember(-1L), 1, "nobody"));
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.deposit(pilot, 0, "nothing"));
+    }
+
+    @Test
+    public void testMovementIsOneUpdateAndNoEntityLoad() {
+        LedgerAccount survey = mission("Survey", 1000);
+        LedgerAccount pilot = crewMember("Pilot", 0);
+        ledgerService.transfer(survey, pilot, 100, "warm-up");
+
+        SqlUsage before = SqlCounter.current();
+        ledgerService.transfer(survey, pilot, 100, "salary");
+        SqlUsage usage = SqlCounter.current().since(before);
+
+        assertEquals(0, usage.entities());
+        // two balance updates and the inserts of the two entries
+        assertTrue(usage.statements() <= 4, usage.toString());
+    }
+
+    @Test
+    public void testFailedTransferChangesNothing() {
+        LedgerAccount survey = mission("Survey", 200);
+        LedgerAccount escort = mission("Escort", 200);
+        ledgerService.transfer(escort, survey, 5_000, "lend");
+
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.transfer(survey, escort, 20_000, "too much"));
+        // survey sorts before escort, so this deposit into survey is written before the withdrawal fails
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.transfer(escort, survey, 20_000, "too much"));
+
+        assertEquals(25_000, ledgerService.balance(survey));
+        assertEquals(15_000, ledgerService.balance(escort));
+        assertEquals(2, ledgerEntryRepository.count());
+        List<LedgerEntry> entries = ledgerEntryRepository.findByTransferIdOrderById(
+                ledgerService.history(survey, 1).get(0).getTransferId());
+        assertEquals(List.of(-5_000L, 5_000L), entries.stream().map(LedgerEntry::getAmount).toList());
+    }
+
+    @Test
+    public void testConcurrentTransfersConserveCredits() throws Exception {
+        List<LedgerAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accounts.add(mission("Treasury " + i, 200));
+            accounts.add(crewMember("Holder " + i, 200));
+        }
+        long total = accounts.size() * 20_000L;
+        AtomicInteger transfers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Random random = new Random(t);
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        LedgerAccount from = accounts.get(random.nextInt(accounts.size()));
+                        LedgerAccount to = accounts.get(random.nextInt(accounts.size()));
+                        if (from.equals(to)) {
+                            continue;
+                        }
+                        try {
+                            ledgerService.transfer(from, to, 1 + random.nextInt(3_000), "shuffle");
+                            transfers.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            // not enough credits left, nothing moved
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long sum = 0;
+        for (LedgerAccount account : accounts) {
+            long balance = ledgerService.balance(account);
+            assertTrue(balance >= 0, "Overdrawn " + account);
+            // every change of the balance is explained by its entries
+            assertEquals(20_000 + ledgerEntryRepository.sumAmounts(account.type(), account.id()), balance);
+            sum += balance;
+        }
+        assertEquals(total, sum);
+        assertEquals(2L * transfers.get(), ledgerEntryRepository.count());
+    }
+}
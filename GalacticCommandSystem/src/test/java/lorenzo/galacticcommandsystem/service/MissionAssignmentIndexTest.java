@@ -0,0 +1,98 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.AssignmentInterval;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(MissionAssignmentIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MissionAssignmentIndexTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2300, 1, 1);
+
+    @Autowired
+    private MissionAssignmentIndex missionAssignmentIndex;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @AfterEach
+    public void cleanup() {
+        missionAssignmentRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        missionRepository.deleteAll();
+    }
+
+    private MissionAssignment assign(SpaceShip ship, Mission mission, LocalDate start, LocalDate end) {
+        MissionAssignment assignment = new MissionAssignment();
+        assignment.setSpaceShip(ship);
+        assignment.setMission(mission);
+        assignment.setStartDate(start);
+        assignment.setEndDate(end);
+        return missionAssignmentRepository.save(assignment);
+    }
+
+    private List<Long> ids(List<AssignmentInterval> result) {
+        return result.stream().map(AssignmentInterval::id).toList();
+    }
+
+    @Test
+    public void testIndexFollowsSavesAndDeletes() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        SpaceShip falcon = spaceShipRepository.save(SpaceShip.builder().name("Falcon").build());
+        Mission survey = missionRepository.save(new Mission("Survey", 1000));
+        Mission escort = missionRepository.save(new Mission("Escort", 1000));
+        MissionAssignment january = assign(eagle, survey, JAN_1, JAN_1.plusDays(30));
+        missionAssignmentIndex.rebuild();
+        assertEquals(1, missionAssignmentIndex.size());
+
+        MissionAssignment openEnded = assign(eagle, escort, JAN_1.plusDays(31), null);
+        MissionAssignment falconSurvey = assign(falcon, survey, JAN_1.plusDays(10), JAN_1.plusDays(40));
+        assertEquals(List.of(january.getId(), falconSurvey.getId()), ids(missionAssignmentIndex.findActiveOn(JAN_1.plusDays(30))));
+        assertEquals(List.of(openEnded.getId(), falconSurvey.getId()),
+                ids(missionAssignmentIndex.findActiveOn(JAN_1.plusDays(31))));
+        assertEquals(List.of(openEnded.getId()), ids(missionAssignmentIndex.findOverlapping(
+                JAN_1.plusYears(5), JAN_1.plusYears(6))));
+        assertEquals(List.of(january.getId(), openEnded.getId()),
+                ids(missionAssignmentIndex.findConflicts(eagle.getId(), JAN_1.plusDays(20), null)));
+        assertEquals(List.of(), missionAssignmentIndex.findConflicts(falcon.getId(), JAN_1.plusDays(41), JAN_1.plusDays(50)));
+
+        // the index answers like the query it replaces
+        for (int day = -1; day < 45; day++) {
+            LocalDate date = JAN_1.plusDays(day);
+            assertEquals(missionAssignmentRepository.findActiveAssignments(date).stream()
+                            .map(MissionAssignment::getId).sorted().toList(),
+                    ids(missionAssignmentIndex.findActiveOn(date)), date.toString());
+        }
+
+        january.setEndDate(JAN_1.plusDays(5));
+        missionAssignmentRepository.save(january);
+        assertEquals(List.of(falconSurvey.getId()), ids(missionAssignmentIndex.findActiveOn(JAN_1.plusDays(20))));
+
+        missionAssignmentRepository.deleteById(falconSurvey.getId());
+        assertEquals(List.of(), missionAssignmentIndex.findActiveOn(JAN_1.plusDays(20)));
+        assertEquals(2, missionAssignmentIndex.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> missionAssignmentIndex.findOverlapping(JAN_1.plusDays(1), JAN_1));
+    }
+}
@@ -0,0 +1,187 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.config.SchedulingConfig;
+import lorenzo.galacticcommandsystem.instrumentation.OptimisticLockMonitor;
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionAssignment;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.Navigator;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.MissionAssignmentRepository;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@Import({MissionAssignmentOptimizer.class, BulkAssignmentService.class, GalaxyClock.class, SchedulingConfig.class,
+        OptimisticRetry.class, OptimisticLockMonitor.class})
+@TestPropertySource(properties = {"galaxy.optimizer.funding-weight=1", "galaxy.optimizer.skill-weight=1",
+        "galaxy.optimizer.operational-weight=0.5"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MissionAssignmentOptimizerTest {
+
+    @Autowired
+    private MissionAssignmentOptimizer optimizer;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private MissionAssignmentRepository missionAssignmentRepository;
+    @Autowired
+    private CrewMemberRepository crewMemberRepository;
+    @MockitoSpyBean
+    private BulkAssignmentService bulkAssignmentService;
+
+    @AfterEach
+    public void cleanup() {
+        missionAssignmentRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        missionRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+    }
+
+    private SpaceShip ship(String name, boolean operational, int navigationExperienceYears) {
+        SpaceShip ship = spaceShipRepository.save(SpaceShip.builder().name(name).isOperational(operational).build());
+        crewMemberRepository.save(Navigator.builder()
+                .firstName("Navigator")
+                .lastName(name)
+                .navigationBonus(100.0)
+                .navigationExperienceYears(navigationExperienceYears)
+                .successfulNavigations(0)
+                .spaceShip(ship)
+                .build());
+        return ship;
+    }
+
+    private Mission mission(String name, double funding) {
+        return missionRepository.save(new Mission(name, funding));
+    }
+
+    @Test
+    public void testTheBestCrewsGetTheBestFundedMissions() {
+        SpaceShip veteran = ship("Veteran", true, 20);
+        SpaceShip rookie = ship("Rookie", true, 2);
+        SpaceShip docked = ship("Docked", false, 20);
+        Mission rich = mission("Rich", 10_000);
+        Mission modest = mission("Modest", 1_000);
+
+        AssignmentPlan plan = optimizer.plan();
+
+        Map<Long, Long> missionByShip = plan.assignments().stream()
+                .collect(Collectors.toMap(AssignmentPlan.Assignment::spaceShipId, AssignmentPlan.Assignment::missionId));
+        assertEquals(Map.of(veteran.getId(), rich.getId(), rookie.getId(), modest.getId()), missionByShip);
+        assertFalse(missionByShip.containsKey(docked.getId()));
+        assertEquals(3, plan.ships());
+        assertEquals(2, plan.missions());
+        // funding 1 * (1 + skill 1) + operational 0.5
+        assertEquals(2.5, plan.assignments().stream()
+                .filter(a -> a.missionId() == rich.getId()).findFirst().orElseThrow().score(), 1e-5);
+    }
+
+    @Test
+    public void testExistingAssignmentsAreNotProposedAgain() {
+        SpaceShip veteran = ship("Veteran", true, 20);
+        SpaceShip rookie = ship("Rookie", true, 2);
+        Mission rich = mission("Rich", 10_000);
+        Mission modest = mission("Modest", 1_000);
+        missionAssignmentRepository.save(new MissionAssignment(veteran, rich, LocalDate.now(), null));
+
+        AssignmentPlan plan = optimizer.plan();
+
+        Map<Long, Long> missionByShip = plan.assignments().stream()
+                .collect(Collectors.toMap(AssignmentPlan.Assignment::spaceShipId, AssignmentPlan.Assignment::missionId));
+        assertEquals(Map.of(veteran.getId(), modest.getId(), rookie.getId(), rich.getId()), missionByShip);
+    }
+
+    @Test
+    public void testAboveTheMemoryBudgetEverySpaceshipKeepsItsCandidates() {
+        SpaceShip veteran = ship("Veteran", true, 20);
+        SpaceShip rookie = ship("Rookie", true, 2);
+        Mission richest = mission("Richest", 10_000);
+        Mission rich = mission("Rich", 5_000);
+        for (int i = 0; i < 3; i++) {
+            mission("Modest " + i, 1_000 - i);
+        }
+        missionAssignmentRepository.save(new MissionAssignment(veteran, richest, LocalDate.now(), null));
+        // 2 x 5 pairs do not fit in 8 benefits, which hold 2 candidates per spaceship
+        ReflectionTestUtils.setField(optimizer, "maxMatrixBytes", 8L * Integer.BYTES);
+        try {
+            AssignmentPlan plan = optimizer.plan();
+
+            Map<Long, Long> missionByShip = plan.assignments().stream()
+                    .collect(Collectors.toMap(AssignmentPlan.Assignment::spaceShipId, AssignmentPlan.Assignment::missionId));
+            assertEquals(Map.of(veteran.getId(), rich.getId(), rookie.getId(), richest.getId()), missionByShip);
+            assertEquals(5, plan.missions());
+        } finally {
+            ReflectionTestUtils.setField(optimizer, "maxMatrixBytes", 40_000_000L);
+        }
+    }
+
+    @Test
+    public void testOptimizeSavesTheAssignmentsAndActivatesTheMissions() {
+        SpaceShip veteran = ship("Veteran", true, 20);
+        SpaceShip rookie = ship("Rookie", true, 2);
+        Mission rich = mission("Rich", 10_000);
+        Mission modest = mission("Modest", 1_000);
+
+        AssignmentPlan plan = optimizer.optimize("fleet plan");
+
+        assertEquals(2, plan.assignments().size());
+        assertEquals(2, missionAssignmentRepository.count());
+        assertEquals(1, missionAssignmentRepository.findBySpaceShip_Id(veteran.getId()).size());
+        assertEquals(1, missionAssignmentRepository.findBySpaceShip_Id(rookie.getId()).size());
+        for (Mission mission : missionRepository.findAllById(List.of(rich.getId(), modest.getId()))) {
+            assertEquals(MissionState.ACTIVE, mission.getMissionState());
+            assertEquals("fleet plan", mission.getActivationInfo());
+        }
+
+        // every ship now has the other mission left
+        AssignmentPlan next = optimizer.optimize("second round");
+        assertEquals(2, next.assignments().size());
+        assertEquals(4, missionAssignmentRepository.count());
+        assertTrue(optimizer.plan().assignments().isEmpty());
+    }
+
+    @Test
+    public void testOptimizeReturnsOnlyTheAssignmentsSaved() {
+        SpaceShip veteran = ship("Veteran", true, 20);
+        SpaceShip rookie = ship("Rookie", true, 2);
+        Mission rich = mission("Rich", 10_000);
+        Mission modest = mission("Modest", 1_000);
+        // another user assigns the veteran to the rich mission between the plan and its save
+        doAnswer(call -> {
+            missionAssignmentRepository.save(new MissionAssignment(veteran, rich, LocalDate.now(), null));
+            return call.callRealMethod();
+        }).when(bulkAssignmentService).assign(anyList(), anyString());
+
+        AssignmentPlan plan = optimizer.optimize("fleet plan");
+
+        assertEquals(1, plan.assignments().size());
+        AssignmentPlan.Assignment saved = plan.assignments().get(0);
+        assertEquals(rookie.getId(), saved.spaceShipId());
+        assertEquals(modest.getId(), saved.missionId());
+        assertEquals(saved.score(), plan.totalScore(), 1e-9);
+        assertEquals(2, missionAssignmentRepository.count());
+    }
+}
@@ -0,0 +1,143 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Navigator;
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.NavigatorRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(NavigatorLeaderboard.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NavigatorLeaderboardTest {
+
+    @Autowired
+    private NavigatorLeaderboard navigatorLeaderboard;
+    @Autowired
+    private NavigatorRepository navigatorRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private PlanetRepository planetRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        navigatorRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        planetRepository.deleteAll();
+    }
+
+    private Navigator navigator(String lastName, int years, double successes, SpaceShip ship) {
+        return navigatorRepository.save(Navigator.builder()
+                .firstName("Nav")
+                .lastName(lastName)
+                .navigationBonus(150.0)
+                .navigationExperienceYears(years)
+                .successfulNavigations(successes)
+                .spaceShip(ship)
+                .build());
+    }
+
+    private List<Long> bestAvailable(int limit) {
+        return navigatorLeaderboard.findBestAvailable(limit).stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    public void testSkillScoreIsStoredAndQueried() {
+        Navigator rookie = navigator("Rookie", 2, 5, null);
+        Navigator veteran = navigator("Veteran", 20, 20, null);
+        assertEquals(13, rookie.getSkillScore());
+        assertEquals(70, jdbcTemplate.queryForObject("SELECT skill_score FROM navigator WHERE id = ?",
+                Double.class, veteran.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Navigator loaded = navigatorRepository.findById(rookie.getId()).orElseThrow();
+            loaded.setNavigationExperienceYears(30);
+            loaded.recordSuccessfulNavigation();
+            assertEquals(57, loaded.getSkillScore());
+        });
+        // the database computes the column from the updated experience and successes
+        assertEquals(57, navigatorRepository.findById(rookie.getId()).orElseThrow().getSkillScore());
+        assertEquals(List.of(rookie.getId(), veteran.getId()), navigatorRepository.findEligibleForCriticalMissions()
+                .stream().map(Navigator::getId).sorted().toList());
+
+        // rows inserted without Hibernate get a score too
+        jdbcTemplate.update("INSERT INTO crew_member (id, first_name, last_name, credits_units, version) " +
+                "VALUES (9001, 'Raw', 'Insert', 0, 0)");
+        jdbcTemplate.update("INSERT INTO navigator (id, navigation_bonus, navigation_experience_years, " +
+                "successful_navigations) VALUES (9001, 150, 4, 1)");
+        assertEquals(8, navigatorRepository.findById(9001L).orElseThrow().getSkillScore());
+    }
+
+    @Test
+    public void testLeaderboardFollowsScoresAndAssignments() {
+        SpaceShip eagle = spaceShipRepository.save(SpaceShip.builder().name("Eagle").build());
+        Navigator ace = navigator("Ace", 30, 40, eagle);
+        Navigator scout = navigator("Scout", 10, 10, null);
+        Navigator cadet = navigator("Cadet", 1, 0, null);
+        navigatorLeaderboard.rebuild();
+        assertEquals(3, navigatorLeaderboard.size());
+
+        assertEquals(List.of(scout.getId(), cadet.getId()), bestAvailable(10));
+        assertEquals(List.of(scout.getId()), bestAvailable(1));
+        assertEquals(OptionalInt.of(1), navigatorLeaderboard.getRank(ace.getId()));
+        assertEquals(OptionalInt.of(3), navigatorLeaderboard.getRank(cadet.getId()));
+        assertEquals(OptionalInt.empty(), navigatorLeaderboard.getRank(-1));
+        assertThrows(IllegalArgumentException.class, () -> navigatorLeaderboard.findBestAvailable(0));
+
+        Navigator prodigy = navigator("Prodigy", 5, 30, null);
+        transactionTemplate.executeWithoutResult(status -> {
+            Navigator loaded = navigatorRepository.findById(cadet.getId()).orElseThrow();
+            loaded.setSuccessfulNavigations(100);
+        });
+        transactionTemplate.executeWithoutResult(status -> navigatorRepository.findById(ace.getId()).orElseThrow()
+                .setSpaceShip(null));
+        assertEquals(List.of(cadet.getId(), ace.getId(), prodigy.getId(), scout.getId()), bestAvailable(10));
+        assertEquals(OptionalInt.of(1), navigatorLeaderboard.getRank(cadet.getId()));
+
+        navigatorRepository.deleteById(cadet.getId());
+        assertEquals(OptionalInt.empty(), navigatorLeaderboard.getRank(cadet.getId()));
+        assertEquals(OptionalInt.of(1), navigatorLeaderboard.getRank(ace.getId()));
+
+        List<Long> maintained = bestAvailable(10);
+        navigatorLeaderboard.rebuild();
+        assertEquals(maintained, bestAvailable(10));
+        assertEquals(3, navigatorLeaderboard.size());
+    }
+
+    @Test
+    public void testNavigatorsOnAPlanetAreNotAvailable() {
+        Planet vulcan = planetRepository.save(Planet.builder().name("Vulcan").position("1,2,3").build());
+        Navigator stationed = navigatorRepository.save(Navigator.builder().firstName("Nav").lastName("Stationed")
+                .navigationBonus(150.0).navigationExperienceYears(30).successfulNavigations(40).planet(vulcan).build());
+        Navigator free = navigator("Free", 1, 0, null);
+        assertEquals(List.of(free.getId()), bestAvailable(10));
+
+        navigatorLeaderboard.rebuild();
+        assertEquals(List.of(free.getId()), bestAvailable(10));
+        assertEquals(OptionalInt.of(1), navigatorLeaderboard.getRank(stationed.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> navigatorRepository.findById(stationed.getId()).orElseThrow()
+                .removeFromPlanet());
+        assertEquals(List.of(stationed.getId(), free.getId()), bestAvailable(10));
+    }
+}
@@ -0,0 +1,112 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Mission;
+import lorenzo.galacticcommandsystem.model.MissionState;
+import lorenzo.galacticcommandsystem.model.Objective;
+import lorenzo.galacticcommandsystem.model.ObjectiveType;
+import lorenzo.galacticcommandsystem.repository.MissionRepository;
+import lorenzo.galacticcommandsystem.repository.ObjectiveRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ObjectiveSearchIndex.class, ObjectiveService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ObjectiveSearchIndexTest {
+
+    @Autowired
+    private ObjectiveSearchIndex objectiveSearchIndex;
+    @Autowired
+    private ObjectiveService objectiveService;
+    @Autowired
+    private ObjectiveRepository objectiveRepository;
+    @Autowired
+    private MissionRepository missionRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Mission mission;
+
+    @BeforeEach
+    public void setUp() {
+        mission = missionRepository.save(new Mission("Frontier", 1000, MissionState.ACTIVE, "assigned"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        objectiveRepository.deleteAll();
+        missionRepository.deleteAll();
+    }
+
+    private Objective objective(String title, String description, Set<ObjectiveType> types, String place,
+                                String structure) {
+        return objectiveRepository.save(mission.createAndAddObjective(title, description, types, place, structure));
+    }
+
+    private List<Long> search(String query, Set<ObjectiveType> types) {
+        return objectiveSearchIndex.search(query, types, 10).stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    public void testIndexFollowsCreatesUpdatesAndCompletions() {
+        Objective survey = objective("Survey the rift", "Chart the nebula", EnumSet.of(ObjectiveType.EXPLORATION),
+                "Crab Nebula", null);
+        objectiveSearchIndex.rebuild();
+        assertEquals(1, objectiveSearchIndex.size());
+        Objective outpost = objective("Outpost", "Shelter near the nebula", EnumSet.of(ObjectiveType.BUILDING),
+                null, "Habitat dome");
+        Objective relay = objective("Relay", "Deep space relay", EnumSet.allOf(ObjectiveType.class),
+                "Outer rim", "Relay mast");
+
+        // every text field is searched, titles and places rank before descriptions
+        assertEquals(List.of(survey.getId(), outpost.getId()), search("nebula", null));
+        assertEquals(List.of(outpost.getId()), search("dome", null));
+        assertEquals(List.of(relay.getId()), search("rim mast", null));
+        assertEquals(List.of(survey.getId(), relay.getId()), search("r", EnumSet.of(ObjectiveType.EXPLORATION)));
+        assertEquals(List.of(outpost.getId()), search("habit", EnumSet.of(ObjectiveType.BUILDING)));
+
+        relay.setTitle("Beacon");
+        objectiveRepository.save(relay);
+        assertEquals(List.of(relay.getId()), search("beacon", EnumSet.of(ObjectiveType.BUILDING)));
+
+        // a completed objective leaves its mission and the index
+        transactionTemplate.executeWithoutResult(status -> objectiveRepository.findById(survey.getId())
+                .orElseThrow().performExploration());
+        assertFalse(objectiveRepository.existsById(survey.getId()));
+        assertEquals(List.of(outpost.getId()), search("nebula", null));
+        assertEquals(2, objectiveSearchIndex.size());
+
+        objectiveSearchIndex.rebuild();
+        assertEquals(2, objectiveSearchIndex.size());
+        assertEquals(List.of(relay.getId()), search("beacon", EnumSet.of(ObjectiveType.BUILDING)));
+        assertEquals(List.of(), search("rift", null));
+    }
+
+    @Test
+    public void testServiceLoadsObjectivesInRankOrder() {
+        Objective described = objective("Outpost", "Build a mining outpost", EnumSet.of(ObjectiveType.BUILDING),
+                null, "Dome");
+        Objective titled = objective("Mining survey", null, EnumSet.of(ObjectiveType.EXPLORATION),
+                "Belt", null);
+        objectiveSearchIndex.rebuild();
+
+        List<Objective> found = objectiveService.search("mining", null, 10);
+
+        assertEquals(List.of(titled.getId(), described.getId()), found.stream().map(Objective::getId).toList());
+        assertTrue(found.get(0).isExploration());
+        assertThrows(IllegalArgumentException.class, () -> objectiveService.search("mining", null, 0));
+    }
+}
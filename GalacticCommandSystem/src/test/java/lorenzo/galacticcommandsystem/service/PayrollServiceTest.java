@@ -0,0 +1,273 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.config.SqlInstrumentationConfig;
+import lorenzo.galacticcommandsystem.instrumentation.SqlCounter;
+import lorenzo.galacticcommandsystem.instrumentation.SqlUsage;
+import lorenzo.galacticcommandsystem.model.CrewMember;
+import lorenzo.galacticcommandsystem.model.Engineer;
+import lorenzo.galacticcommandsystem.model.FixedPoint;
+import lorenzo.galacticcommandsystem.model.LedgerAccountType;
+import lorenzo.galacticcommandsystem.model.LedgerEntry;
+import lorenzo.galacticcommandsystem.model.Navigator;
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.model.SpaceShip;
+import lorenzo.galacticcommandsystem.repository.CrewMemberRepository;
+import lorenzo.galacticcommandsystem.repository.LedgerEntryRepository;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import lorenzo.galacticcommandsystem.repository.SpaceShipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@DataJpaTest
+@Import({PayrollService.class, SqlInstrumentationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "galaxy.payroll.batch-size=2")
+class PayrollServiceTest {
+
+    private static final double BASE_PAY = 50;
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockitoSpyBean
+    private CrewMemberRepository crewMemberRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private List<CrewMember> crew;
+
+    @BeforeEach
+    public void setUp() {
+        SpaceShip alpha = spaceShipRepository.save(SpaceShip.builder().name("Alpha").build());
+        SpaceShip beta = spaceShipRepository.save(SpaceShip.builder().name("Beta").build());
+        Planet vulcan = planetRepository.save(Planet.builder().name("Vulcan").position("1,2,3").build());
+        crew = new ArrayList<>();
+        crew.add(navigator("Pilot", 10.25, 150.5).spaceShip(alpha).build());
+        crew.add(engineer("Smith, Jr", 3).spaceShip(alpha).build());
+        crew.add(engineer("Mechanic", 0).spaceShip(beta).build());
+        // a tie in the hundredths, rounded half to even as FixedPoint does
+        crew.add(navigator("Surveyor", 1, 120.125).planet(vulcan).build());
+        crew.add(engineer("Drifter", 7).build());
+        crewMemberRepository.saveAll(crew);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ledgerEntryRepository.deleteAll();
+        crewMemberRepository.deleteAll();
+        spaceShipRepository.deleteAll();
+        planetRepository.deleteAll();
+    }
+
+    private static Navigator.NavigatorBuilder<?, ?> navigator(String lastName, double credits, double bonus) {
+        return Navigator.builder().firstName("Nav").lastName(lastName).credits(credits).navigationBonus(bonus);
+    }
+
+    private static Engineer.EngineerBuilder<?, ?> engineer(String lastName, double credits) {
+        return Engineer.builder().firstName("Eng").lastName(lastName).credits(credits).techSpecialty("Warp");
+    }
+
+    private static long compensationUnits(CrewMember member) {
+        return FixedPoint.toUnits(member instanceof Navigator navigator
+                ? navigator.calculateTotalCompensation() : member.getCredits());
+    }
+
+    private static long payoutUnits(CrewMember member) {
+        return FixedPoint.toUnits(BASE_PAY)
+                + (member instanceof Navigator navigator ? FixedPoint.toUnits(navigator.getNavigationBonus()) : 0);
+    }
+
+    @Test
+    public void testSummaryIsOneAggregateQuery() {
+        SqlUsage before = SqlCounter.current();
+        PayrollSummary summary = payrollService.summarize(BASE_PAY);
+        SqlUsage usage = SqlCounter.current().since(before);
+
+        assertEquals(1, usage.statements(), usage.toString());
+        assertEquals(0, usage.entities());
+        assertEquals(List.of(
+                new PayrollTotals("Alpha", 2, payoutUnits(crew.get(0)) + payoutUnits(crew.get(1)),
+                        compensationUnits(crew.get(0)) + compensationUnits(crew.get(1))),
+                new PayrollTotals("Beta", 1, payoutUnits(crew.get(2)), compensationUnits(crew.get(2)))),
+                summary.spaceShips());
+        assertEquals(List.of(new PayrollTotals("Vulcan", 1, payoutUnits(crew.get(3)), compensationUnits(crew.get(3)))),
+                summary.planets());
+        assertEquals(new PayrollTotals("Unassigned", 1, payoutUnits(crew.get(4)), compensationUnits(crew.get(4))),
+                summary.unassigned());
+        assertEquals(5, summary.fleet().crew());
+        assertEquals(crew.stream().mapToLong(PayrollServiceTest::payoutUnits).sum(), summary.fleet().payoutUnits());
+        assertEquals(crew.stream().mapToLong(PayrollServiceTest::compensationUnits).sum(),
+                summary.fleet().compensationUnits());
+    }
+
+    @Test
+    public void testPayrollRunPaysEveryoneOnceAndWritesTheReport() throws Exception {
+        long expectedPayout = payrollService.summarize(BASE_PAY).fleet().payoutUnits();
+        Path reportFile = tempDir.resolve("payroll.csv");
+
+        PayrollRunReport report = payrollService.pay(BASE_PAY, reportFile);
+
+        assertEquals(5, report.paid());
+        assertEquals(3, report.batches());
+        assertEquals(expectedPayout, report.payoutUnits());
+        for (CrewMember member : crew) {
+            CrewMember paid = crewMemberRepository.findById(member.getId()).orElseThrow();
+            assertEquals(FixedPoint.toUnits(member.getCredits()) + payoutUnits(member), FixedPoint.toUnits(paid.getCredits()));
+            assertEquals(member.getVersion() + 1, paid.getVersion());
+            assertLedgerShowsOnePayout(member, report.runId());
+        }
+        List<String> lines = Files.readAllLines(reportFile);
+        assertEquals(6, lines.size());
+        assertEquals(PayrollService.REPORT_HEADER, lines.get(0));
+        assertEquals(crew.get(0).getId() + ",Nav Pilot,Alpha,,200.50", lines.get(1));
+        assertEquals(crew.get(1).getId() + ",\"Eng Smith, Jr\",Alpha,,50.00", lines.get(2));
+        assertEquals(crew.get(3).getId() + ",Nav Surveyor,,Vulcan,170.12", lines.get(4));
+    }
+
+    @Test
+    public void testAnInterruptedRunResumesWithoutPayingTwice() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path reportFile = tempDir.resolve("payroll.csv");
+        // the second batch fails, after the first one committed
+        failPage(1);
+        assertThrows(IllegalStateException.class, () -> payrollService.pay(runId, BASE_PAY, reportFile));
+        assertEquals(3, Files.readAllLines(reportFile).size());
+
+        PayrollRunReport report = payrollService.pay(runId, BASE_PAY, reportFile);
+
+        assertEquals(runId, report.runId());
+        assertEquals(3, report.paid());
+        for (CrewMember member : crew) {
+            CrewMember paid = crewMemberRepository.findById(member.getId()).orElseThrow();
+            assertEquals(FixedPoint.toUnits(member.getCredits()) + payoutUnits(member), FixedPoint.toUnits(paid.getCredits()));
+            assertLedgerShowsOnePayout(member, runId);
+        }
+        List<String> lines = Files.readAllLines(reportFile);
+        assertEquals(6, lines.size());
+        assertEquals(PayrollService.REPORT_HEADER, lines.get(0));
+        for (int i = 0; i < crew.size(); i++) {
+            assertTrue(lines.get(i + 1).startsWith(crew.get(i).getId() + ","), lines.get(i + 1));
+        }
+
+        // a finished run pays nobody again
+        assertEquals(0, payrollService.pay(runId, BASE_PAY, reportFile).paid());
+        assertEquals(6, Files.readAllLines(reportFile).size());
+    }
+
+    @Test
+    public void testAResumedRunRestoresTheReportLinesOfBatchesPaidBeforeTheFailure() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path reportFile = tempDir.resolve("payroll.csv");
+        failPage(2);
+        assertThrows(IllegalStateException.class, () -> payrollService.pay(runId, BASE_PAY, reportFile));
+        // the second batch committed, but the run stopped before its lines reached the report
+        List<String> written = Files.readAllLines(reportFile);
+        assertEquals(5, written.size());
+        Files.write(reportFile, written.subList(0, 3));
+        Files.writeString(reportFile, written.get(3).substring(0, 5), StandardOpenOption.APPEND);
+
+        PayrollRunReport report = payrollService.pay(runId, BASE_PAY, reportFile);
+
+        assertEquals(1, report.paid());
+        for (CrewMember member : crew) {
+            assertLedgerShowsOnePayout(member, runId);
+        }
+        List<String> lines = Files.readAllLines(reportFile);
+        assertEquals(written, lines.subList(0, 5));
+        assertEquals(6, lines.size());
+        assertTrue(lines.get(5).startsWith(crew.get(4).getId() + ","), lines.get(5));
+    }
+
+    @Test
+    public void testAResumedRunDoesNotReportCrewWithNothingToPayTwice() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path reportFile = tempDir.resolve("payroll.csv");
+        // without base pay only the navigators are paid, so the first batch ends with a crew member with no entry
+        failPage(1);
+        assertThrows(IllegalStateException.class, () -> payrollService.pay(runId, 0, reportFile));
+        assertEquals(3, Files.readAllLines(reportFile).size());
+
+        PayrollRunReport report = payrollService.pay(runId, 0, reportFile);
+
+        assertEquals(3, report.paid());
+        List<String> lines = Files.readAllLines(reportFile);
+        assertEquals(6, lines.size());
+        for (int i = 0; i < crew.size(); i++) {
+            assertTrue(lines.get(i + 1).startsWith(crew.get(i).getId() + ","), lines.get(i + 1));
+        }
+        assertEquals(crew.get(1).getId() + ",\"Eng Smith, Jr\",Alpha,,0.00", lines.get(2));
+    }
+
+    /**
+     * Makes the given read of a page of crew members fail, counting from 0.
+     */
+    private void failPage(int failing) {
+        Answer<?> repository = mockingDetails(crewMemberRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicInteger pages = new AtomicInteger();
+        doAnswer(call -> {
+            if (pages.getAndIncrement() == failing) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return repository.answer(call);
+        }).when(crewMemberRepository).findPayrollPageAfter(anyLong(), anyInt());
+    }
+
+    private void assertLedgerShowsOnePayout(CrewMember member, UUID runId) {
+        List<LedgerEntry> entries = ledgerEntryRepository.findByAccountTypeAndAccountIdOrderByIdDesc(
+                LedgerAccountType.CREW_MEMBER, member.getId(), Limit.unlimited());
+        assertEquals(1, entries.size());
+        assertEquals(payoutUnits(member), entries.get(0).getAmount());
+        assertEquals(PayrollService.LEDGER_REASON_PREFIX + runId, entries.get(0).getReason());
+    }
+
+    @Test
+    public void testPayrollRunRequiresItsOwnTransactions() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> outer.executeWithoutResult(status -> {
+            try {
+                payrollService.pay(BASE_PAY, tempDir.resolve("nested.csv"));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }));
+        assertThrows(IllegalArgumentException.class, () -> payrollService.summarize(-1));
+        assertEquals(FixedPoint.toUnits(10.25), FixedPoint.toUnits(
+                crewMemberRepository.findById(crew.get(0).getId()).orElseThrow().getCredits()));
+    }
+}
@@ -0,0 +1,54 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PlanetSpatialIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlanetSpatialIndexTest {
+
+    @Autowired
+    private PlanetSpatialIndex planetSpatialIndex;
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @AfterEach
+    public void cleanup() {
+        planetRepository.deleteAll();
+    }
+
+    private List<Long> ids(List<PlanetDistance> result) {
+        return result.stream().map(PlanetDistance::planetId).toList();
+    }
+
+    @Test
+    public void testIndexFollowsCreateAndDelete() {
+        Planet earth = planetRepository.save(Planet.builder().name("Earth").position("0,0,0").build());
+        Planet vulcan = planetRepository.save(Planet.builder().name("Vulcan").position("10,5,0").build());
+        planetSpatialIndex.rebuild();
+        assertEquals(2, planetSpatialIndex.size());
+
+        Planet kronos = planetRepository.save(Planet.builder().name("Kronos").position("1,1,1").build());
+        assertEquals(List.of(earth.getId(), kronos.getId()), ids(planetSpatialIndex.findNearest(0, 0, 0, 2)));
+        assertEquals(List.of(earth.getId(), kronos.getId()), ids(planetSpatialIndex.findWithinRadius(0, 0, 0, 5)));
+
+        planetRepository.deleteById(earth.getId());
+        assertEquals(List.of(kronos.getId(), vulcan.getId()), ids(planetSpatialIndex.findNearest(0, 0, 0, 5)));
+        assertEquals(Math.sqrt(3), planetSpatialIndex.findNearest(0, 0, 0, 1).get(0).distance(), 1e-9);
+
+        planetRepository.deleteById(kronos.getId());
+        assertEquals(1, planetSpatialIndex.size());
+    }
+}
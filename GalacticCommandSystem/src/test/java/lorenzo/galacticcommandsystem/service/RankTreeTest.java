@@ -0,0 +1,53 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTreeTest {
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparingLong(SearchHit::id);
+
+    @Test
+    public void testRanksAndTopAgreeWithSortedList() {
+        Random random = new Random(3);
+        RankTree tree = new RankTree();
+        Map<Long, Double> scores = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(2_000);
+            Double old = scores.get(id);
+            if (old != null) {
+                assertTrue(tree.remove(id, old));
+                scores.remove(id);
+            }
+            if (random.nextInt(4) != 0) {
+                // few distinct scores, so ties are ranked by id
+                double score = random.nextInt(50) * 0.5;
+                tree.add(id, score);
+                scores.put(id, score);
+            }
+        }
+        List<SearchHit> expected = new ArrayList<>();
+        scores.forEach((id, score) -> expected.add(new SearchHit(id, score)));
+        expected.sort(RANKING);
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, tree.top(Integer.MAX_VALUE));
+        assertEquals(expected.subList(0, 10), tree.top(10));
+        for (int rank = 0; rank < expected.size(); rank++) {
+            SearchHit hit = expected.get(rank);
+            assertEquals(rank, tree.rank(hit.id(), hit.score()));
+        }
+        assertEquals(-1, tree.rank(5_000, 1));
+        assertFalse(tree.remove(5_000, 1));
+        assertEquals(List.of(), new RankTree().top(3));
+    }
+}
@@ -0,0 +1,95 @@
+package lorenzo.galacticcommandsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    private static int[] values(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Dense groups become bitmaps, sparse groups stay arrays, and some groups switch back and forth.
+     */
+    private static TreeSet<Integer> randomSet(Random random) {
+        TreeSet<Integer> set = new TreeSet<>();
+        int dense = 1 << 16;
+        for (int i = 0; i < 20_000; i++) {
+            set.add(dense + random.nextInt(30_000));
+        }
+        for (int i = 0; i < 500; i++) {
+            set.add(random.nextInt(1 << 16));
+            set.add((3 << 16) + random.nextInt(1 << 16));
+        }
+        set.add(Integer.MAX_VALUE);
+        return set;
+    }
+
+    @Test
+    public void testAddRemoveContains() {
+        Random random = new Random(42);
+        TreeSet<Integer> expected = randomSet(random);
+        RoaringBitmap bitmap = RoaringBitmap.of(values(expected));
+        // removals take a bitmap container below the array threshold and empty whole groups
+        for (int value : values(expected)) {
+            if (value < (1 << 16) || value != Integer.MAX_VALUE && random.nextInt(10) < 8) {
+                bitmap.remove(value);
+                expected.remove(value);
+            }
+        }
+        bitmap.remove(-1);
+
+        assertArrayEquals(values(expected), bitmap.toArray());
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertFalse(bitmap.contains(5));
+        assertTrue(bitmap.contains(expected.first()));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    public void testAndOrAtLeastAgreeWithSets() {
+        Random random = new Random(7);
+        List<TreeSet<Integer>> sets = new ArrayList<>();
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TreeSet<Integer> set = randomSet(random);
+            sets.add(set);
+            bitmaps.add(RoaringBitmap.of(values(set)));
+        }
+
+        TreeSet<Integer> intersection = new TreeSet<>(sets.get(0));
+        intersection.retainAll(sets.get(1));
+        assertArrayEquals(values(intersection), bitmaps.get(0).and(bitmaps.get(1)).toArray());
+        TreeSet<Integer> union = new TreeSet<>(sets.get(0));
+        union.addAll(sets.get(1));
+        assertArrayEquals(values(union), bitmaps.get(0).or(bitmaps.get(1)).toArray());
+
+        for (int minimum = 1; minimum <= sets.size() + 1; minimum++) {
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (TreeSet<Integer> set : sets) {
+                for (int value : set) {
+                    int finalValue = value;
+                    if (sets.stream().filter(other -> other.contains(finalValue)).count() >= minimum) {
+                        expected.add(value);
+                    }
+                }
+            }
+            assertArrayEquals(values(expected), RoaringBitmap.atLeast(bitmaps, minimum).toArray(), "at least " + minimum);
+        }
+
+        // results are independent of their operands
+        RoaringBitmap all = RoaringBitmap.atLeast(bitmaps, sets.size());
+        all.add(5);
+        RoaringBitmap any = RoaringBitmap.atLeast(List.of(bitmaps.get(0)), 1);
+        any.remove(sets.get(0).first());
+        assertArrayEquals(values(sets.get(0)), bitmaps.get(0).toArray());
+    }
+}
@@ -0,0 +1,71 @@
+package lorenzo.galacticcommandsystem.service;
+
+import lorenzo.galacticcommandsystem.model.Planet;
+import lorenzo.galacticcommandsystem.repository.PlanetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(RoutePlanner.class)
+@TestPropertySource(properties = {"galaxy.routes.jump-range=10", "galaxy.routes.speed=5", "galaxy.routes.jump-time=PT30M"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoutePlannerTest {
+
+    @Autowired
+    private RoutePlanner routePlanner;
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @AfterEach
+    public void cleanup() {
+        planetRepository.deleteAll();
+    }
+
+    private Planet planet(String name, String position) {
+        return planetRepository.save(Planet.builder().name(name).position(position).build());
+    }
+
+    @Test
+    public void testRoutesAreCachedAndSelectivelyInvalidated() {
+        Planet a = planet("Alpha", "0,0,0");
+        Planet b = planet("Beta", "8,5,0");
+        Planet c = planet("Gamma", "16,0,0");
+        Planet far = planet("Far", "500,500,0");
+        Planet farNeighbour = planet("Far Neighbour", "505,500,0");
+        routePlanner.rebuild();
+
+        Route route = routePlanner.findRoute(a.getId(), c.getId()).orElseThrow();
+        assertEquals(List.of(a.getId(), b.getId(), c.getId()), route.planetIds());
+        assertEquals(Duration.ofSeconds(Math.round(route.distance() / 5 * 3600)).plusMinutes(60), routePlanner.estimateTravelTime(a.getId(), c.getId()).orElseThrow());
+        assertTrue(routePlanner.findRoute(a.getId(), far.getId()).isEmpty());
+        routePlanner.findRoute(far.getId(), farNeighbour.getId()).orElseThrow();
+        assertEquals(3, routePlanner.cachedRoutes());
+
+        // far away from every cached route: only the unreachable pair is dropped
+        planet("Distant", "-900,0,0");
+        assertEquals(2, routePlanner.cachedRoutes());
+
+        // could shorten Alpha -> Gamma only
+        Planet shortcut = planet("Shortcut", "8,0,0");
+        assertEquals(1, routePlanner.cachedRoutes());
+        Route shorter = routePlanner.findRoute(a.getId(), c.getId()).orElseThrow();
+        assertEquals(List.of(a.getId(), shortcut.getId(), c.getId()), shorter.planetIds());
+        assertEquals(16, shorter.distance(), 1e-9);
+
+        // removing a planet drops only the routes going through it
+        planetRepository.deleteById(shortcut.getId());
+        assertEquals(1, routePlanner.cachedRoutes());
+        assertEquals(route, routePlanner.findRoute(a.getId(), c.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,111 @@
+package lorenzo.galacticcommandsystem.view;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetTableModelTest {
+
+    private final List<Long> ids = LongStream.rangeClosed(1, 1000).map(i -> i * 3).boxed().toList();
+    private final List<Long> requestedKeys = new ArrayList<>();
+
+    private List<Long> loadPage(long afterId, int limit) {
+        requestedKeys.add(afterId);
+        return ids.stream().filter(id -> id > afterId).limit(limit).toList();
+    }
+
+    private KeysetTableModel<Long> model(int pageSize, int cachedPages) {
+        return new KeysetTableModel<>(new String[]{"ID"}, ids.size(), pageSize, cachedPages,
+                this::loadPage, Long::longValue, id -> new Object[]{id});
+    }
+
+    @Test
+    public void testRowsAreLoadedOnlyWhenRequested() {
+        KeysetTableModel<Long> model = model(50, 4);
+
+        assertEquals(1000, model.getRowCount());
+        assertTrue(requestedKeys.isEmpty());
+
+        assertEquals(3L, model.getValueAt(0, 0));
+        assertEquals(150L, model.getValueAt(49, 0));
+        assertEquals(List.of(0L), requestedKeys);
+    }
+
+    @Test
+    public void testJumpingAheadSeeksThroughUnknownPages() {
+        KeysetTableModel<Long> model = model(100, 2);
+
+        assertEquals(3L * 751, model.getValueAt(750, 0));
+        assertEquals(8, requestedKeys.size());
+
+        // the page was cached, and every page start key is remembered
+        requestedKeys.clear();
+        assertEquals(3L * 760, model.getValueAt(759, 0));
+        assertTrue(requestedKeys.isEmpty());
+        assertEquals(3L * 1, model.getValueAt(0, 0));
+        assertEquals(3L * 301, model.getValueAt(300, 0));
+        assertEquals(List.of(0L, 3L * 300), requestedKeys);
+    }
+
+    @Test
+    public void testRowsPastTheEndOfAShrunkTableAreBlank() {
+        KeysetTableModel<Long> model = new KeysetTableModel<>(new String[]{"ID"}, 1500, 100, 2,
+                this::loadPage, Long::longValue, id -> new Object[]{id});
+
+        assertEquals("", model.getValueAt(1200, 0));
+        assertEquals(3000L, model.getValueAt(999, 0));
+    }
+
+    @Test
+    public void testAsyncPagesShowAPlaceholderUntilLoaded() {
+        List<CompletableFuture<List<Long>>> pending = new ArrayList<>();
+        KeysetTableModel<Long> model = new KeysetTableModel<>(new String[]{"ID"}, ids.size(), 100, 2,
+                (afterId, limit) -> {
+                    requestedKeys.add(afterId);
+                    CompletableFuture<List<Long>> future = new CompletableFuture<>();
+                    pending.add(future);
+                    return future;
+                }, Runnable::run, Long::longValue, id -> new Object[]{id});
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(250, 0));
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(251, 0));
+        assertEquals(List.of(0L), requestedKeys);
+
+        // each page arriving lets the table seek one page further
+        pending.get(0).complete(loadPage(0, 100));
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(999, events.get(0).getLastRow());
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(250, 0));
+        pending.get(1).complete(loadPage(3L * 100, 100));
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(250, 0));
+        pending.get(2).complete(loadPage(3L * 200, 100));
+
+        assertEquals(3L * 251, model.getValueAt(250, 0));
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void testCancelledModelIgnoresLatePages() {
+        CompletableFuture<List<Long>> pending = new CompletableFuture<>();
+        KeysetTableModel<Long> model = new KeysetTableModel<>(new String[]{"ID"}, ids.size(), 100, 2,
+                (afterId, limit) -> pending, Runnable::run, Long::longValue, id -> new Object[]{id});
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(0, 0));
+        model.cancel();
+
+        assertTrue(pending.isCancelled());
+        assertFalse(pending.complete(List.of(3L)));
+        assertEquals(KeysetTableModel.LOADING, model.getValueAt(0, 0));
+        assertTrue(events.isEmpty());
+    }
+}